@@ -0,0 +1,97 @@
+package generation;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import gui.Constants;
+
+/**
+ * Entry point and shared setup for the maze benchmarks.
+ * 
+ * The main method runs JMH with the given command line options
+ * and always adds the GC profiler such that results include
+ * the allocation rate ({@code gc.alloc.rate.norm} is bytes per operation).
+ * For example
+ * {@code java -jar target/benchmarks.jar MazeStagesBenchmark -p skill=9 -p builderType=Kruskal}
+ * runs the stage benchmarks for a single skill level and builder.
+ * 
+ * The setup methods build mazes the same way as {@link MazeBuilder#run()}
+ * but without any of its pauses and without an order to report progress to.
+ *
+ * @author Alex Longo
+ */
+public class MazeBenchmarks {
+	/**
+	 * Seed for all benchmarked mazes such that each invocation works on the same maze.
+	 */
+	static final int SEED = 13;
+
+	/**
+	 * Runs the benchmarks selected by the command line arguments with the GC profiler.
+	 * @param args are JMH command line options
+	 * @throws RunnerException if a benchmark fails
+	 * @throws CommandLineOptionException if the arguments are not valid JMH options
+	 */
+	public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+		new Runner(new OptionsBuilder()
+				.parent(new CommandLineOptions(args))
+				.addProfiler(GCProfiler.class)
+				.build()).run();
+	}
+
+	/**
+	 * Prepares a builder up to the point where pathways are generated:
+	 * all wallboards are up and rooms are placed.
+	 * @param skill is the skill level, an index into {@link Constants#SKILL_X}
+	 * @param builderType is the maze generation algorithm
+	 * @param perfect is true for a maze without rooms
+	 * @return the builder, ready for {@link MazeBuilder#generatePathways()}
+	 */
+	static MazeBuilder prepareBuilder(int skill, Order.Builder builderType, boolean perfect) {
+		MazeBuilder builder = MazeFactory.createBuilder(builderType);
+		builder.buildOrder(new DefaultOrder(skill, builderType, perfect, SEED));
+		builder.floorplan.initialize();
+		builder.generateRooms();
+		return builder;
+	}
+
+	/**
+	 * Builds a complete maze including its BSP tree.
+	 * @param skill is the skill level, an index into {@link Constants#SKILL_X}
+	 * @param builderType is the maze generation algorithm
+	 * @param perfect is true for a maze without rooms
+	 * @return the maze
+	 * @throws InterruptedException if the thread is interrupted during BSP generation
+	 */
+	public static Maze buildMaze(int skill, Order.Builder builderType, boolean perfect) throws InterruptedException {
+		MazeBuilder builder = prepareBuilder(skill, builderType, perfect);
+		builder.generate();
+		BSPNode root = newBSPBuilder(builder, skill).generateBSPNodes();
+		return new MazeContainer(builder.width, builder.height, builder.floorplan, builder.dists,
+				root, builder.startx, builder.starty);
+	}
+
+	/**
+	 * Creates a BSP builder for a maze where pathways and distances are computed.
+	 * There is no order, so the builder neither reports progress nor pauses.
+	 * @param builder holds the maze
+	 * @param skill is the skill level of the maze
+	 * @return the BSP builder
+	 */
+	static BSPBuilder newBSPBuilder(MazeBuilder builder, int skill) {
+		return new BSPBuilder(null, builder.dists, builder.floorplan, builder.width, builder.height,
+				colchange(), Constants.SKILL_PARTCT[skill]);
+	}
+
+	/**
+	 * Gives the color change value for walls, fixed for reproducible results.
+	 * @return the value for the colchange parameter of walls
+	 */
+	static int colchange() {
+		return SEED;
+	}
+}
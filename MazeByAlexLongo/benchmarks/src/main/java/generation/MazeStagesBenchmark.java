@@ -0,0 +1,68 @@
+package generation;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the stages of maze generation that follow the pathways:
+ * distance computation, the list of walls and the BSP tree.
+ * The maze is generated once per trial, each stage works on
+ * the same finished floorplan.
+ *
+ * @author Alex Longo
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MazeStagesBenchmark {
+	@Param({"0", "5", "9", "12", "15"})
+	int skill;
+
+	@Param({"DFS", "Prim", "Kruskal", "Eller", "Boruvka"})
+	Order.Builder builderType;
+
+	@Param({"true", "false"})
+	boolean perfect;
+
+	private MazeBuilder builder;
+	private Distance distance; // reused for computeDistances
+
+	@Setup(Level.Trial)
+	public void prepare() {
+		builder = MazeBenchmarks.prepareBuilder(skill, builderType, perfect);
+		builder.generate();
+		distance = new Distance(builder.width, builder.height);
+	}
+
+	@Benchmark
+	public int[] computeDistances() {
+		return distance.computeDistances(builder.floorplan);
+	}
+
+	@Benchmark
+	public List<Wall> generateWalls() {
+		return new ListOfWallsBuilder(builder.width, builder.height, builder.floorplan, builder.dists,
+				MazeBenchmarks.colchange()).generateWalls();
+	}
+
+	@Benchmark
+	public BSPNode generateBSPNodes() throws InterruptedException {
+		return MazeBenchmarks.newBSPBuilder(builder, skill).generateBSPNodes();
+	}
+}
@@ -0,0 +1,53 @@
+package generation;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link MazeBuilder#generatePathways()} for each builder.
+ * Each invocation starts from a fresh floorplan with all wallboards up
+ * and rooms in place, preparing it is not part of the measurement.
+ *
+ * @author Alex Longo
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PathwaysBenchmark {
+	@Param({"0", "5", "9", "12", "15"})
+	int skill;
+
+	@Param({"DFS", "Prim", "Kruskal", "Eller", "Boruvka"})
+	Order.Builder builderType;
+
+	@Param({"true", "false"})
+	boolean perfect;
+
+	private MazeBuilder builder;
+
+	@Setup(Level.Invocation)
+	public void prepare() {
+		builder = MazeBenchmarks.prepareBuilder(skill, builderType, perfect);
+	}
+
+	@Benchmark
+	public Floorplan generatePathways() {
+		builder.generatePathways();
+		return builder.floorplan;
+	}
+}
@@ -0,0 +1,114 @@
+package generation;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+import gui.Constants;
+
+/**
+ * Measures the construction of the BSP tree for each splitter strategy.
+ * Build time alone does not tell which strategy is better, a faster
+ * strategy may produce a deeper tree or more leaves, which costs
+ * time when the tree is drawn. So the benchmark reports depth and number
+ * of leaves of the tree it built as secondary results next to the build time.
+ *
+ * @author Alex Longo
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SplitterBenchmark {
+	@Param({"5", "9", "12", "15"})
+	int skill;
+
+	@Param({"sampled", "graded", "exhaustive", "axisAligned"})
+	String strategy;
+
+	@Param({"true", "false"})
+	boolean perfect;
+
+	private MazeBuilder builder;
+
+	/**
+	 * Depth and number of leaves of the last tree built in an iteration.
+	 * Public fields of an auxiliary counter state show up as secondary results.
+	 * JMH sums events over the measurement iterations, so each iteration
+	 * records its share and the result is the average tree.
+	 */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class TreeCounters {
+		public double depth;
+		public double leaves;
+		private int iterations;
+
+		@Setup(Level.Trial)
+		public void prepare(BenchmarkParams params) {
+			iterations = params.getMeasurement().getCount();
+		}
+
+		void record(BSPNode root) {
+			depth = depth(root) / (double) iterations;
+			leaves = leaves(root) / (double) iterations;
+		}
+	}
+
+	@Setup(Level.Trial)
+	public void prepare() {
+		builder = MazeBenchmarks.prepareBuilder(skill, Order.Builder.Kruskal, perfect);
+		builder.generate();
+	}
+
+	@Benchmark
+	public BSPNode generateBSPNodes(TreeCounters counters) throws InterruptedException {
+		final BSPNode root = new BSPBuilder(null, builder.dists, builder.floorplan, builder.width, builder.height,
+				MazeBenchmarks.colchange(), Constants.SKILL_PARTCT[skill], createStrategy()).generateBSPNodes();
+		counters.record(root);
+		return root;
+	}
+
+	private SplitterStrategy createStrategy() {
+		switch (strategy) {
+		case "graded":
+			return new GradedSplitterStrategy();
+		case "exhaustive":
+			return new GradedSplitterStrategy(true);
+		case "axisAligned":
+			return new AxisAlignedSplitterStrategy();
+		case "sampled":
+		default:
+			return new SampledSplitterStrategy();
+		}
+	}
+
+	private static int depth(BSPNode node) {
+		if (node.isIsleaf())
+			return 1;
+		final BSPBranch branch = (BSPBranch) node;
+		return 1 + Math.max(depth(branch.getLeftBranch()), depth(branch.getRightBranch()));
+	}
+
+	private static int leaves(BSPNode node) {
+		if (node.isIsleaf())
+			return 1;
+		final BSPBranch branch = (BSPBranch) node;
+		return leaves(branch.getLeftBranch()) + leaves(branch.getRightBranch());
+	}
+}
@@ -0,0 +1,102 @@
+package gui;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import generation.Floorplan;
+import generation.Maze;
+import generation.MazeBenchmarks;
+import generation.Order;
+
+/**
+ * Measures drawing a single frame of the first person view.
+ * Runs headless: the view draws into an offscreen image
+ * instead of the buffer image of a displayed panel.
+ * Each invocation looks into the next of the four directions
+ * from the starting position of the maze.
+ * The raycast variant draws the same frame from the floorplan alone.
+ * With software rendering walls are written into the pixels of the image
+ * instead of being drawn on its graphics.
+ *
+ * @author Alex Longo
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class FirstPersonViewBenchmark {
+	@Param({"0", "5", "9", "12", "15"})
+	int skill;
+
+	@Param({"DFS", "Prim", "Kruskal", "Eller", "Boruvka"})
+	Order.Builder builderType;
+
+	@Param({"true", "false"})
+	boolean perfect;
+
+	@Param({"false", "true"})
+	boolean raycasting;
+
+	@Param({"false", "true"})
+	boolean software;
+
+	private Maze maze;
+	private FirstPersonDrawer view;
+	private MazePanel panel;
+	private int angle;
+
+	@Setup(Level.Trial)
+	public void prepare() throws InterruptedException {
+		maze = MazeBenchmarks.buildMaze(skill, builderType, perfect);
+		Floorplan seenCells = new Floorplan(maze.getWidth()+1, maze.getHeight()+1);
+		if (raycasting) {
+			view = new RaycastFirstPersonView(Constants.VIEW_WIDTH, Constants.VIEW_HEIGHT, Constants.MAP_UNIT,
+					Constants.STEP_SIZE, seenCells, maze);
+		}
+		else {
+			view = new FirstPersonView(Constants.VIEW_WIDTH, Constants.VIEW_HEIGHT, Constants.MAP_UNIT,
+					Constants.STEP_SIZE, seenCells, maze.getCompiledTree());
+		}
+		view.setSoftwareRendering(software);
+		panel = new OffscreenPanel();
+		angle = 0;
+	}
+
+	@Benchmark
+	public MazePanel draw() {
+		final int[] start = maze.getStartingPosition();
+		view.draw(panel, start[0], start[1], 0, angle, 
+				maze.getPercentageForDistanceToExit(start[0], start[1]));
+		angle = (angle + 90) % 360;
+		return panel;
+	}
+
+	/**
+	 * Panel that creates its buffer image although it is not displayable,
+	 * graphics and framebuffer are the same as for a displayed maze panel.
+	 */
+	private static class OffscreenPanel extends MazePanel {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected BufferedImage createBufferImage() {
+			return new BufferedImage(Constants.VIEW_WIDTH, Constants.VIEW_HEIGHT, 
+					BufferedImage.TYPE_INT_RGB);
+		}
+	}
+}
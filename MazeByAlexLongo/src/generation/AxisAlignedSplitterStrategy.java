@@ -0,0 +1,119 @@
+package generation;
+
+import java.util.Arrays;
+
+/**
+ * Picks the splitter with a heuristic that exploits that every wall
+ * is either horizontal or vertical.
+ * A vertical candidate at {@code x == c} has all walls with {@code maxX <= c} on one side,
+ * all walls with {@code minX >= c} on the other side and splits the remaining ones,
+ * walls on the line {@code x == c} itself are not counted.
+ * With the minimum and maximum coordinates of all walls sorted once per node,
+ * each count is a binary search, so every candidate is graded against all walls
+ * in O(log n) instead of O(n).
+ * The grade is {@code |left-right| + 3*splits} as for {@link WallTable#calculateGrade(int, int[])}.
+ *
+ * All walls of a node are candidates, so trees differ from the ones of the other strategies.
+ * Progress is reported for at most as many candidates as the sampled strategy would consider,
+ * such that the estimated progress of the BSP builder stays calibrated.
+ *
+ * @author Alex Longo
+ */
+public class AxisAlignedSplitterStrategy implements SplitterStrategy {
+
+	/**
+	 * Grades all candidates and returns the first one with the lowest grade.
+	 */
+	@Override
+	public int findSplitter(WallTable walls, int[] rows, Progress progress) throws InterruptedException {
+		final int n = rows.length;
+		final int[] minX = new int[n];
+		final int[] maxX = new int[n];
+		final int[] minY = new int[n];
+		final int[] maxY = new int[n];
+		// coordinates of the walls that lie on a vertical or horizontal line
+		final int[] verticalX = new int[n];
+		final int[] horizontalY = new int[n];
+		int vertical = 0;
+		int horizontal = 0;
+		int candidates = 0;
+		for (int i = 0; i < n; i++) {
+			final int row = rows[i];
+			final int x = walls.getStartPositionX(row);
+			final int y = walls.getStartPositionY(row);
+			final int ex = walls.getEndPositionX(row);
+			final int ey = walls.getEndPositionY(row);
+			minX[i] = Math.min(x, ex);
+			maxX[i] = Math.max(x, ex);
+			minY[i] = Math.min(y, ey);
+			maxY[i] = Math.max(y, ey);
+			if (walls.getExtensionX(row) == 0)
+				verticalX[vertical++] = x;
+			else
+				horizontalY[horizontal++] = y;
+			if (!walls.isPartition(row))
+				candidates++;
+		}
+		progress.candidatesConsidered(Math.min(candidates, SampledSplitterStrategy.MAX_TRIES));
+		Arrays.sort(minX);
+		Arrays.sort(maxX);
+		Arrays.sort(minY);
+		Arrays.sort(maxY);
+		Arrays.sort(verticalX, 0, vertical);
+		Arrays.sort(horizontalY, 0, horizontal);
+
+		int result = -1;
+		int bestgrade = Integer.MAX_VALUE;
+		for (int i = 0; i < n; i++) {
+			final int row = rows[i];
+			if (walls.isPartition(row))
+				continue;
+			final int grade = (walls.getExtensionX(row) == 0) ?
+					grade(n, walls.getStartPositionX(row), minX, maxX, verticalX, vertical) :
+					grade(n, walls.getStartPositionY(row), minY, maxY, horizontalY, horizontal);
+			if (grade < bestgrade) {
+				bestgrade = grade;
+				result = row;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Computes the grade of a splitter on the line at coordinate c.
+	 * @param n is the number of walls
+	 * @param c is the coordinate of the splitter
+	 * @param min is the sorted minimum coordinate of each wall
+	 * @param max is the sorted maximum coordinate of each wall
+	 * @param on is the sorted coordinate of each wall parallel to the splitter
+	 * @param onSize is the number of valid entries in on
+	 * @return the grade, lower is better
+	 */
+	private static int grade(int n, int c, int[] min, int[] max, int[] on, int onSize) {
+		final int collinear = countAtMost(on, onSize, c) - countAtMost(on, onSize, c - 1);
+		final int left = countAtMost(max, n, c) - collinear;
+		final int right = n - countAtMost(min, n, c - 1) - collinear;
+		final int splits = n - left - right - collinear;
+		return Math.abs(left - right) + splits * 3;
+	}
+
+	/**
+	 * Counts the entries that are less than or equal to the given value.
+	 * @param sorted is sorted in ascending order
+	 * @param size is the number of valid entries
+	 * @param value is the upper bound, inclusive
+	 * @return number of entries {@code <= value}
+	 */
+	private static int countAtMost(int[] sorted, int size, int value) {
+		int lo = 0;
+		int hi = size;
+		while (lo < hi) {
+			final int mid = (lo + hi) >>> 1;
+			if (sorted[mid] <= value)
+				lo = mid + 1;
+			else
+				hi = mid;
+		}
+		return lo;
+	}
+}
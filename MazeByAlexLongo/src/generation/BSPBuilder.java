@@ -1,7 +1,11 @@
 package generation;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Logger;
 
 import gui.Constants;
@@ -15,12 +19,25 @@ import gui.Constants;
  * Paul Falstad granted permission to modify and use code for teaching purposes.
  * Refactored by Peter Kemper
  *
+ * The tree can be computed sequentially with {@link #generateBSPNodes()} or
+ * with fork/join tasks with {@link #generateBSPNodes(ForkJoinPool)}.
+ * Once a splitter has partitioned the walls of a node, the two subtrees share no walls,
+ * so they can be computed independently. Both variants deliver identical trees.
+ * 
+ * The wall that partitions a node is picked by a {@link SplitterStrategy}.
+ * The default strategy is the original selection, so trees are
+ * the same as those of earlier versions.
  */
 public class BSPBuilder {
 	/**
 	 * The logger is used to track execution and report issues.
 	 */
 	private static final Logger LOGGER = Logger.getLogger(BSPBuilder.class.getName());
+	/**
+	 * Minimum number of walls for a subtree to be computed by a task of its own.
+	 * Smaller subtrees are computed right away, forking them costs more than it saves.
+	 */
+	static final int PARALLEL_THRESHOLD = 256;
 
 	private final int width ; 				// width of maze
 	private final int height ; 				// height of maze
@@ -30,8 +47,14 @@ public class BSPBuilder {
 	// colchange: reason for randomization unclear, used to determine color of wall 
 	private final int expectedPartiters ; 	// comes from Constants partct array, entry chosen according to skill level
 	// only usage is in updateProgressBar to estimate progress made in the BSP tree construction
-	int partiters = 0 ; // relocated from MazeBuilder attribute partiters here. 
+	// relocated from MazeBuilder attribute partiters here, atomic as subtrees may be computed in parallel
+	final AtomicInteger partiters = new AtomicInteger(); 
 	private final Order order ; 		// current order
+	// last percentage reported to the order, used to coalesce updates
+	private final AtomicInteger reportedProgress = new AtomicInteger(-1);
+	// set if one of the parallel tasks recognized an interrupt, all other tasks stop as well
+	private volatile boolean canceled ;
+	private final SplitterStrategy splitterStrategy ; // picks the wall that partitions a node
 	/**
 	 * Constructor
 	 * @param order provides the spec for the maze to be generated, will receive the result
@@ -43,15 +66,29 @@ public class BSPBuilder {
 	 * @param expectedPartiters the expected number of partition iterations
 	 */
 	public BSPBuilder(Order order, Distance dists, Floorplan floorplan, int width, int height, int colchange, int expectedPartiters) {
+		this(order, dists, floorplan, width, height, colchange, expectedPartiters, new SampledSplitterStrategy());
+	}
+	/**
+	 * Constructor
+	 * @param order provides the spec for the maze to be generated, will receive the result
+	 * @param dists the distances to the exit
+	 * @param floorplan the floorplan
+	 * @param width the width of the maze
+	 * @param height the height of the maze
+	 * @param colchange
+	 * @param expectedPartiters the expected number of partition iterations
+	 * @param splitterStrategy picks the wall that partitions a node of the tree
+	 */
+	public BSPBuilder(Order order, Distance dists, Floorplan floorplan, int width, int height, int colchange, int expectedPartiters,
+			SplitterStrategy splitterStrategy) {
 		this.order = order ;
+		this.splitterStrategy = splitterStrategy ;
 		this.dists = dists ;
 		this.floorplan = floorplan ;
 		this.width = width ;
 		this.height = height ;
 		this.colchange = colchange ;
 		this.expectedPartiters = expectedPartiters ;
-
-		partiters = 0 ; // counter for keeping track of progress made in BSP calculation, starts at 0
 	}
 
 	/**
@@ -68,109 +105,152 @@ public class BSPBuilder {
 	 * possible in this maze application.
 	 * The code names lists rather left and right to match the terminology of trees
 	 * rather than front and back which would resemble terminology for drawing.
-	 * The code selects the wall that has the minimum grade value as the one 
-	 * for partitioning.
+	 * The splitter strategy selects the wall that is used for partitioning,
+	 * by default the one with the minimum grade value.
 	 * If all the walls in one node are partitioned, it will stop to split.
-	 * @param walls the list of walls (polygons) to partition
+	 * If requested, the right subtree of a large node is forked as a task
+	 * of its own while the current thread continues with the left subtree.
+	 * Walls are rows of a wall table, so splitting them appends rows to the table
+	 * rather than creating wall objects. A forked subtree gets a copy of its rows
+	 * in a table of its own, as a table is not thread safe.
+	 * @param table the table that holds the walls
+	 * @param walls the indices of the walls (polygons) to partition
+	 * @param parallel is true if subtrees may be forked, requires that the caller runs in a fork/join pool
 	 * @return root node for BSP tree
 	 * @throws InterruptedException if its executing thread is interrupted
 	 */
-	private BSPNode genNodes(List<Wall> walls) throws InterruptedException {
+	private BSPNode genNodes(WallTable table, int[] walls, boolean parallel) throws InterruptedException {
 		// Recursion anchor:
 		// if there is no wall with a partition bit set to false, 
 		// there is nothing else to do and we are at a leaf node
-		if (countNonPartitions(walls) == 0)
-			return new BSPLeaf(walls);
+		if (countNonPartitions(table, walls) == 0)
+			return new BSPLeaf(table, walls);
 		// Step: pick the wall that is used to partition all others into left and right
 		// Criterion: from the ones that have a partition bit set to false, 
-		// pick a candidate with a low grade
+		// the strategy picks a candidate, e.g. with a low grade
 		// Note: the splitter remains an element of the walls list but is marked as partitioned
-		Wall splitter = findSplitter(walls);
-		splitter.setPartition(true);
+		final int splitter = splitterStrategy.findSplitter(table, walls, this::candidatesConsidered);
+		table.setPartition(splitter, true);
 		
 		// Step: split all walls into two lists
 		// left the resulting list of walls for the left side of the subtree
 		// right the resulting list of walls for the right side of the subtree
-		final ArrayList<Wall> left = new ArrayList<>();
-		final ArrayList<Wall> right = new ArrayList<>();
-		splitter.splitWalls(walls, left, right, colchange);
+		final int[][] parts = table.splitWalls(splitter, walls, colchange);
+		final int[] left = parts[0];
+		final int[] right = parts[1];
 		
 		// Recursion anchor
 		// Case: from the current node, the tree has only 1 branch.
 		// Note: the splitter is in one of the 2 lists, so if one list is empty,
 		// The current node is a leaf and 
 		// we just terminate the recursion with the non-empty list.
-		if (left.isEmpty())
-			return new BSPLeaf(right);
-		if (right.isEmpty())
-			return new BSPLeaf(left);
+		if (left.length == 0)
+			return new BSPLeaf(table, right);
+		if (right.length == 0)
+			return new BSPLeaf(table, left);
 		
 		// Case: two sided recursion, need to create a node
 		// and recursively calculate subtrees for both sides.
-		return new BSPBranch(splitter.getStartPositionX(), splitter.getStartPositionY(), 
-				splitter.getExtensionX(), splitter.getExtensionY(), 
-				genNodes(left), genNodes(right)); 
+		final BSPNode leftNode;
+		final BSPNode rightNode;
+		if (parallel && right.length >= PARALLEL_THRESHOLD) {
+			final SubtreeTask rightTask = new SubtreeTask(table.copy(right), allRows(right.length));
+			rightTask.fork();
+			leftNode = genNodes(table, left, true);
+			rightNode = rightTask.join();
+		}
+		else {
+			leftNode = genNodes(table, left, parallel);
+			rightNode = genNodes(table, right, parallel);
+		}
+		return new BSPBranch(table.getStartPositionX(splitter), table.getStartPositionY(splitter), 
+				table.getExtensionX(splitter), table.getExtensionY(splitter), 
+				leftNode, rightNode); 
+	}
+	
+	/**
+	 * Computes a subtree in a fork/join pool.
+	 * Interrupts can not be thrown as checked exceptions from a task,
+	 * a task that recognizes one cancels all tasks of this builder instead.
+	 */
+	private class SubtreeTask extends RecursiveTask<BSPNode> {
+		private static final long serialVersionUID = 1L;
+		private final WallTable table;
+		private final int[] walls;
+
+		SubtreeTask(WallTable table, int[] walls) {
+			this.table = table;
+			this.walls = walls;
+		}
+
+		@Override
+		protected BSPNode compute() {
+			try {
+				return genNodes(table, walls, true);
+			} catch (InterruptedException e) {
+				canceled = true;
+				throw new CancellationException("BSP tree construction interrupted");
+			}
+		}
 	}
 	
 
     /**
 	 * Counts how many elements in the wall vector have their partition bit set to false
-	 * @param walls all walls
+	 * @param table the table that holds the walls
+	 * @param walls indices of all walls
 	 * @return number of walls where the partition flag is not set
 	 */
-	private static int countNonPartitions(List<Wall> walls) {
+	private static int countNonPartitions(WallTable table, int[] walls) {
 		int result = 0 ;
-		for (Wall wall: walls) {
-			if (!wall.isPartition())
+		for (int wall: walls) {
+			if (!table.isPartition(wall))
 				result++;
 		}
 		return result;
 	}
 
 	/**
-	 * It finds the wall which has the minimum grade value.
-	 * @param walls list of walls, remains unchanged
-	 * @return wall that is best candidate according to grade partition (smallest grade)
-	 * @throws InterruptedException if its executing thread is interrupted
+	 * @param n is the number of rows
+	 * @return the indices 0, 1, ..., n-1
 	 */
-	private Wall findSplitter(List<Wall> walls) throws InterruptedException {
-		Wall result = null ;
-		int bestgrade = 5000; // used to compute the minimum of all observed grade values, set to some high initial value
-		final int maxtries = 50; // constant, only used to determine skip
-		// consider a subset of walls proportional to the number of tries, here 50, seems to randomize the access a bit
-		int skip = (walls.size() / maxtries);
-		if (skip == 0)
-			skip = 1;
-		assert 0 < skip : "Increment for loop must be positive";
-		for (int i = 0; i < walls.size(); i += skip) {
-			Wall wall = walls.get(i);
-			// skip walls where the partition flag was set
-			if (wall.isPartition())
-				continue;
-			// provide feedback for progress bar every 32 iterations
-			partiters++;
-			if ((partiters & 31) == 0) {
-				updateProgressBar(partiters); // side effect: update progress bar
-			}
-			// check grade and keep track of minimum
-			int grade = wall.calculateGrade(walls);
-			if (grade < bestgrade) {
-				bestgrade = grade;
-				result = wall; // determine wall with smallest grade
-			}
+	private static int[] allRows(int n) {
+		final int[] result = new int[n];
+		for (int i = 0; i < n; i++) {
+			result[i] = i;
 		}
 		return result;
 	}
 
+	/**
+	 * Counts candidates for the splitter as partition iterations and
+	 * provides feedback for the progress bar every 32 iterations.
+	 * @param candidates is the number of candidates a splitter strategy considered
+	 * @throws InterruptedException if its executing thread is interrupted
+	 */
+	private void candidatesConsidered(int candidates) throws InterruptedException {
+		final int iterations = partiters.addAndGet(candidates);
+		if (((iterations - candidates) >>> 5) != (iterations >>> 5)) {
+			updateProgressBar(iterations); // side effect: update progress bar
+		}
+	}
+
 	/**
 	 * Push information on progress into maze such that UI can update progress bar.
 	 * The published progress value may reach 100 before the actual maze generation is complete but it will never exceed 100.
+	 * Updates are coalesced, the order only hears about a percentage when it increases.
+	 * With parallel tasks, updates may be observed out of order, a lower percentage is dropped then.
+	 * The thread does not pause after an update, it may be a worker of a shared pool
+	 * and the coalesced updates are rare enough for the screen to keep up.
 	 * @param partiters counting partition iterations (precise semantics obscure)
 	 * @throws InterruptedException if executing thread is interrupted
 	 */
 	private void updateProgressBar(int partiters) throws InterruptedException {
 		// During maze generation, the most time consuming part needs to occasionally update the current screen
 		// 
+		// recognize cancellation without relying on a sleep
+		if (canceled || Thread.interrupted())
+			throw new InterruptedException();
 		if (null != order) {
 			// the current level of progress is estimated
 			// the expectedPartiters value is sometimes too low
@@ -181,22 +261,22 @@ public class BSPBuilder {
 				LOGGER.warning("Progress estimate exceeds 100, set to 100 to mitigate issue");
 				percentage = 100;
 			}
+			// nothing new to report, or some other task reported progress concurrently
+			final int reported = reportedProgress.get();
+			if (percentage <= reported || !reportedProgress.compareAndSet(reported, percentage))
+				return;
 			//  update progress bar
 			order.updateProgress(percentage) ;
-			// give main thread a chance to process keyboard events
-			if (percentage < 100) {
-				Thread.sleep(10);
-			}
 		}
 	}
 
 	/**
 	 * Set the partition bit to true for walls on the border and where the direction is 0
-	 * @param walls the list of walls to consider
+	 * @param walls the table of walls to consider
 	 */
-	private void setPartitionBitForCertainWalls(List<Wall> walls) {
-	    for (Wall wall : walls) {
-			wall.updatePartitionIfBorderCase(width*Constants.MAP_UNIT, height*Constants.MAP_UNIT);
+	private void setPartitionBitForCertainWalls(WallTable walls) {
+	    for (int i = 0; i < walls.size(); i++) {
+			walls.updatePartitionIfBorderCase(i, width*Constants.MAP_UNIT, height*Constants.MAP_UNIT);
 		}
 	}
 
@@ -213,12 +293,54 @@ public class BSPBuilder {
 	 * @throws InterruptedException if executing thread is interrupted
 	 */
 	public BSPNode generateBSPNodes() throws InterruptedException {
+		final WallTable walls = prepareWalls();
+		return genNodes(walls, allRows(walls.size()), false); 
+	}
+
+	/**
+	 * Generate tree of BSP nodes for a given maze with fork/join tasks
+	 * in the given pool. The resulting tree is identical to the one
+	 * of {@link #generateBSPNodes()}, only the progress reported on the way
+	 * may differ.
+	 * @param pool executes the tasks, e.g. {@link ForkJoinPool#commonPool()}
+	 * @return the root node for the BSP tree
+	 * @throws InterruptedException if executing thread is interrupted
+	 */
+	public BSPNode generateBSPNodes(ForkJoinPool pool) throws InterruptedException {
+		final WallTable walls = prepareWalls();
+		final Future<BSPNode> root = pool.submit(new SubtreeTask(walls, allRows(walls.size())));
+		try {
+			return root.get();
+		} catch (InterruptedException e) {
+			// stop all tasks of this builder, not only the ones that have not started yet
+			canceled = true;
+			root.cancel(true);
+			throw e;
+		} catch (CancellationException e) {
+			throw new InterruptedException("BSP tree construction interrupted");
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof CancellationException)
+				throw new InterruptedException("BSP tree construction interrupted");
+			if (e.getCause() instanceof RuntimeException)
+				throw (RuntimeException) e.getCause();
+			if (e.getCause() instanceof Error)
+				throw (Error) e.getCause();
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+	/**
+	 * Determines the walls for the floorplan and marks those that are not
+	 * considered for partitioning.
+	 * @return table of walls to partition
+	 */
+	private WallTable prepareWalls() {
 		// Binary space partitioning operates on polygons (here: walls)
 		// the floorplan only lists wallboards.
 		// We need to determine walls, i.e. wallboards over multiple cells in
 		// a vertical or horizontal direction.
 		ListOfWallsBuilder builder = new ListOfWallsBuilder(width, height, floorplan, dists, colchange);
-		List<Wall> walls = builder.generateWalls(); 
+		WallTable walls = builder.generateWallTable(); 
 
 		// The size and balance of the resulting BSP tree depends on 
 		// which polygons are selected for the partitioning.
@@ -232,8 +354,6 @@ public class BSPBuilder {
 		// This may even corrupt a maze and block its exit!
 		floorplan.addWallboard(new Wallboard(0, 0, CardinalDirection.North), false);
 		
-		// Start the recursive BSP calculation for the list of polygons
-		// and return the root node of the tree
-		return genNodes(walls); 
+		return walls;
 	}
 }
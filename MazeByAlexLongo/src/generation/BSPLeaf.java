@@ -13,6 +13,8 @@ import gui.MazeFileWriter;
 
 /**
  * A leaf node for a tree of BSPNodes. It carries a list of walls. 
+ * The walls are either given as a list of wall objects or as rows of a {@link WallTable},
+ * in the latter case wall objects are only created if the list is requested.
  * 
  * This code is refactored code from Maze.java by Paul Falstad, www.falstad.com, Copyright (C) 1998, all rights reserved
  * Paul Falstad granted permission to modify and use code for teaching purposes.
@@ -25,7 +27,9 @@ public class BSPLeaf extends BSPNode {
 	private static final Logger LOGGER = Logger.getLogger(BSPLeaf.class.getName());
 
 
-	private List<Wall> allWalls; // list of walls
+	private List<Wall> allWalls; // list of walls, created on demand for a leaf with a wall table
+	private final WallTable wallTable; // table with the walls, null if walls are given as a list
+	private final int[] wallRows; // indices of the walls in the table, null if walls are given as a list
 
 	/**
 	 * Constructor
@@ -37,10 +41,32 @@ public class BSPLeaf extends BSPNode {
 		assert (!walls.isEmpty()) : "BSPLeaf needs walls, list is empty!" ;
 		// need to memorize walls 
 		allWalls = walls;
+		wallTable = null;
+		wallRows = null;
 		// update the bounds that are kept in the super class
 		updateBounds();
 	}
 
+	/**
+	 * Constructor
+	 * stores reference to given rows of a wall table and updates bounds
+	 * @param walls is the table with the walls
+	 * @param rows are the indices of the walls in the table, can not be empty
+	 */
+	public BSPLeaf(WallTable walls, int[] rows) {
+		assert (rows.length > 0) : "BSPLeaf needs walls, list is empty!" ;
+		wallTable = walls;
+		wallRows = rows;
+		setLowerBoundX(Integer.MAX_VALUE); 
+		setUpperBoundX(Integer.MIN_VALUE);
+		setLowerBoundY(Integer.MAX_VALUE); 
+		setUpperBoundY(Integer.MIN_VALUE); 
+		for (int row : rows) {
+			updateBounds(walls.getStartPositionX(row), walls.getStartPositionY(row));
+			updateBounds(walls.getEndPositionX(row), walls.getEndPositionY(row));
+		}
+	}
+
 	/**
 	 * Update bounds based on min and max values seen in start and end positions
 	 * in the internal list of walls
@@ -76,9 +102,10 @@ public class BSPLeaf extends BSPNode {
 		if (!isIsleaf())
 			LOGGER.warning("Node does not carry isleaf flag but is a BSPLeaf, this is inconsistent!");
 		// store list of walls, store total number of elements first
-		MazeFileWriter.appendChild(doc, mazeXML, "numSeg_" + number, allWalls.size()) ;
+		final List<Wall> walls = getAllWalls();
+		MazeFileWriter.appendChild(doc, mazeXML, "numSeg_" + number, walls.size()) ;
 		int i = 0 ;
-		for (Wall wall : allWalls)
+		for (Wall wall : walls)
 		{
 			wall.storeWall(doc, mazeXML, number, i);
 			i++ ;
@@ -87,11 +114,29 @@ public class BSPLeaf extends BSPNode {
 	}
 
 	/**
+	 * For a leaf with a wall table, the list is created on the first call
+	 * and holds copies of the rows at that time.
 	 * @return the list of walls 
 	 */
 	public List<Wall> getAllWalls() {
+		if (allWalls == null)
+			allWalls = wallTable.toWalls(wallRows);
 		return allWalls;
 	}
 
+	/**
+	 * @return the wall table with the walls of this leaf, null if the walls are given as a list
+	 */
+	public WallTable getWallTable() {
+		return wallTable;
+	}
+
+	/**
+	 * @return the indices of the walls of this leaf in its wall table, null if the walls are given as a list
+	 */
+	public int[] getWallRows() {
+		return wallRows;
+	}
+
 }
 
@@ -67,7 +67,16 @@ public enum CardinalDirection {
 	 * @return a random direction, distribution is uniform
 	 */
 	public CardinalDirection randomDirection() {
-		int i = SingleRandom.getRandom().nextIntWithinInterval(0, 3) ;
+		return randomDirection(SingleRandom.getRandom().split());
+	}
+	/**
+	 * Gives a random direction drawn from the given stream. 
+	 * Values are picked with equal probabilities.
+	 * @param random is the stream of random numbers to use
+	 * @return a random direction, distribution is uniform
+	 */
+	public CardinalDirection randomDirection(RandomStream random) {
+		int i = random.nextIntWithinInterval(0, 3) ;
 		switch(i) {
 		case 0 : 
 			return CardinalDirection.North ;
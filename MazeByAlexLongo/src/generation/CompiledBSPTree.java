@@ -0,0 +1,255 @@
+package generation;
+
+/**
+ * An immutable, array based copy of a tree of BSP nodes for fast traversal.
+ *
+ * Nodes are numbered in preorder, the root is node 0. For each node,
+ * parallel arrays hold its bounding box and, for a branch, its partition line
+ * and the indices of its children. The walls of all leaves are kept in a single
+ * {@link WallTable} such that the walls of each leaf form a contiguous range of indices.
+ * So traversal works with integer indices, without casts and without allocations.
+ *
+ * The compiled tree is derived from a root {@link BSPNode} with {@link #compile(BSPNode)},
+ * so it works for generated mazes and for mazes loaded from file alike.
+ * The wall table is a copy of the walls in the leaves of the original tree,
+ * so marking a wall as seen only affects the compiled tree.
+ *
+ * @author Alex Longo
+ */
+public final class CompiledBSPTree {
+	/**
+	 * Value of {@link #getLeftChild(int)} and {@link #getRightChild(int)} for a leaf.
+	 */
+	public static final int NO_CHILD = -1;
+
+	// bounding box of each node
+	private final int[] lowerX;
+	private final int[] lowerY;
+	private final int[] upperX;
+	private final int[] upperY;
+	// partition line of each branch, 0 for leaves
+	private final int[] x;
+	private final int[] y;
+	private final int[] dx;
+	private final int[] dy;
+	// children of each branch, NO_CHILD for leaves
+	private final int[] leftChild;
+	private final int[] rightChild;
+	// range of walls of each leaf in the wall table, empty for branches
+	private final int[] firstWall;
+	private final int[] endWall;
+	private final WallTable walls;
+
+	// counters used during compilation
+	private int nodeCount;
+	private int wallCount;
+
+	/**
+	 * Constructor allocates arrays for the given number of nodes and walls.
+	 */
+	private CompiledBSPTree(int nodes, int wallsTotal) {
+		lowerX = new int[nodes];
+		lowerY = new int[nodes];
+		upperX = new int[nodes];
+		upperY = new int[nodes];
+		x = new int[nodes];
+		y = new int[nodes];
+		dx = new int[nodes];
+		dy = new int[nodes];
+		leftChild = new int[nodes];
+		rightChild = new int[nodes];
+		firstWall = new int[nodes];
+		endWall = new int[nodes];
+		walls = new WallTable(wallsTotal);
+	}
+
+	/**
+	 * Compiles the tree with the given root node.
+	 * @param root is the root of the tree of BSP nodes, must not be null
+	 * @return the compiled tree
+	 */
+	public static CompiledBSPTree compile(BSPNode root) {
+		final int[] counts = new int[2]; // number of nodes, number of walls
+		count(root, counts);
+		final CompiledBSPTree tree = new CompiledBSPTree(counts[0], counts[1]);
+		tree.add(root);
+		assert tree.nodeCount == counts[0] && tree.wallCount == counts[1] : "Compiled tree does not match counts";
+		return tree;
+	}
+
+	/**
+	 * Counts nodes and walls of the subtree with the given root.
+	 */
+	private static void count(BSPNode node, int[] counts) {
+		counts[0]++;
+		if (node.isIsleaf()) {
+			final BSPLeaf leaf = (BSPLeaf) node;
+			counts[1] += (leaf.getWallRows() != null) ? leaf.getWallRows().length : leaf.getAllWalls().size();
+			return;
+		}
+		final BSPBranch branch = (BSPBranch) node;
+		count(branch.getLeftBranch(), counts);
+		count(branch.getRightBranch(), counts);
+	}
+
+	/**
+	 * Adds the subtree with the given root in preorder.
+	 * @return the index of the given node
+	 */
+	private int add(BSPNode node) {
+		final int index = nodeCount++;
+		lowerX[index] = node.getLowerBoundX();
+		lowerY[index] = node.getLowerBoundY();
+		upperX[index] = node.getUpperBoundX();
+		upperY[index] = node.getUpperBoundY();
+		if (node.isIsleaf()) {
+			leftChild[index] = NO_CHILD;
+			rightChild[index] = NO_CHILD;
+			firstWall[index] = wallCount;
+			final BSPLeaf leaf = (BSPLeaf) node;
+			if (leaf.getWallRows() != null) {
+				// leaf of a generated tree, copy rows without creating wall objects
+				for (int row : leaf.getWallRows()) {
+					walls.add(leaf.getWallTable(), row);
+				}
+			}
+			else {
+				for (Wall wall : leaf.getAllWalls()) {
+					walls.add(wall);
+				}
+			}
+			wallCount = walls.size();
+			endWall[index] = wallCount;
+			return index;
+		}
+		final BSPBranch branch = (BSPBranch) node;
+		x[index] = branch.getX();
+		y[index] = branch.getY();
+		dx[index] = branch.getDx();
+		dy[index] = branch.getDy();
+		firstWall[index] = wallCount;
+		endWall[index] = wallCount;
+		leftChild[index] = add(branch.getLeftBranch());
+		rightChild[index] = add(branch.getRightBranch());
+		return index;
+	}
+
+	/**
+	 * @return the index of the root node
+	 */
+	public int getRoot() {
+		return 0;
+	}
+	/**
+	 * @return the number of nodes
+	 */
+	public int getNodeCount() {
+		return lowerX.length;
+	}
+	/**
+	 * @return the number of walls in all leaves
+	 */
+	public int getWallCount() {
+		return walls.size();
+	}
+	/**
+	 * @param node is the index of a node
+	 * @return true if the node is a leaf, false if it is a branch
+	 */
+	public boolean isLeaf(int node) {
+		return leftChild[node] == NO_CHILD;
+	}
+	/**
+	 * @param node is the index of a branch
+	 * @return index of the left child, {@link #NO_CHILD} for a leaf
+	 */
+	public int getLeftChild(int node) {
+		return leftChild[node];
+	}
+	/**
+	 * @param node is the index of a branch
+	 * @return index of the right child, {@link #NO_CHILD} for a leaf
+	 */
+	public int getRightChild(int node) {
+		return rightChild[node];
+	}
+	/**
+	 * @param node is the index of a branch
+	 * @return x coordinate of the starting position of the partition line
+	 */
+	public int getX(int node) {
+		return x[node];
+	}
+	/**
+	 * @param node is the index of a branch
+	 * @return y coordinate of the starting position of the partition line
+	 */
+	public int getY(int node) {
+		return y[node];
+	}
+	/**
+	 * @param node is the index of a branch
+	 * @return extension of the partition line in x direction
+	 */
+	public int getDx(int node) {
+		return dx[node];
+	}
+	/**
+	 * @param node is the index of a branch
+	 * @return extension of the partition line in y direction
+	 */
+	public int getDy(int node) {
+		return dy[node];
+	}
+	/**
+	 * @param node is the index of a node
+	 * @return lower bound of the bounding box in x direction
+	 */
+	public int getLowerBoundX(int node) {
+		return lowerX[node];
+	}
+	/**
+	 * @param node is the index of a node
+	 * @return lower bound of the bounding box in y direction
+	 */
+	public int getLowerBoundY(int node) {
+		return lowerY[node];
+	}
+	/**
+	 * @param node is the index of a node
+	 * @return upper bound of the bounding box in x direction
+	 */
+	public int getUpperBoundX(int node) {
+		return upperX[node];
+	}
+	/**
+	 * @param node is the index of a node
+	 * @return upper bound of the bounding box in y direction
+	 */
+	public int getUpperBoundY(int node) {
+		return upperY[node];
+	}
+	/**
+	 * @param node is the index of a leaf
+	 * @return index of the first wall of the leaf in the wall table
+	 */
+	public int getFirstWall(int node) {
+		return firstWall[node];
+	}
+	/**
+	 * @param node is the index of a leaf
+	 * @return index after the last wall of the leaf in the wall table,
+	 * same as {@link #getFirstWall(int)} for a leaf without walls and for a branch
+	 */
+	public int getEndWall(int node) {
+		return endWall[node];
+	}
+	/**
+	 * Walls are identified by their index in the wall table,
+	 * {@code 0 <= index < getWallCount()}.
+	 * @return the wall table
+	 */
+	public WallTable getWalls() {
+		return walls;
+	}
+}
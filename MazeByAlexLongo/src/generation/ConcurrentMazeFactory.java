@@ -0,0 +1,258 @@
+package generation;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+
+/**
+ * A maze factory that works on several orders at the same time.
+ *
+ * Orders are executed by a fixed number of worker threads,
+ * further orders wait in a queue of bounded capacity.
+ * If all workers are busy and the queue is full, the factory
+ * applies backpressure: {@link #order(Order)} refuses the order
+ * right away and {@link #order(Order, long, TimeUnit)} waits
+ * for a free slot up to the given time.
+ *
+ * Each order gets a builder instance of its own, so orders do not
+ * share any state during generation and deliver independently
+ * on the worker thread that produced the maze.
+ * Orders can be canceled individually with {@link #cancel(Order)}.
+ *
+ * Worker threads are created with a configurable thread factory,
+ * e.g. one that creates virtual threads where the Java runtime supports them.
+ * The factory should be shut down with {@link #shutdown()} if it is no longer needed.
+ *
+ * @author Alex Longo
+ */
+public class ConcurrentMazeFactory implements Factory {
+	/**
+	 * The logger is used to track execution and report issues.
+	 */
+	private static final Logger LOGGER = Logger.getLogger(ConcurrentMazeFactory.class.getName());
+
+	// runs the builders, one order per task
+	private final ExecutorService executor;
+	// one permit per worker and per place in the queue,
+	// an order holds a permit from acceptance until it is done
+	private final Semaphore slots;
+	// orders that are accepted but not done yet
+	private final Map<Order, PendingOrder> pending = new ConcurrentHashMap<>();
+
+	/**
+	 * Constructor for a factory with the given number of
+	 * worker threads and queue capacity that uses platform threads.
+	 * @param workers is the number of orders that are processed at the same time, {@code 0 < workers}
+	 * @param queueCapacity is the number of orders that can wait for a worker, {@code 0 <= queueCapacity}
+	 */
+	public ConcurrentMazeFactory(int workers, int queueCapacity) {
+		this(Executors.defaultThreadFactory(), workers, queueCapacity);
+	}
+
+	/**
+	 * Constructor for a factory with the given number of
+	 * worker threads and queue capacity.
+	 * @param threadFactory creates the worker threads
+	 * @param workers is the number of orders that are processed at the same time, {@code 0 < workers}
+	 * @param queueCapacity is the number of orders that can wait for a worker, {@code 0 <= queueCapacity}
+	 */
+	public ConcurrentMazeFactory(ThreadFactory threadFactory, int workers, int queueCapacity) {
+		if (workers <= 0 || queueCapacity < 0)
+			throw new IllegalArgumentException("Need a positive number of workers and a non-negative queue capacity");
+		executor = Executors.newFixedThreadPool(workers, threadFactory);
+		slots = new Semaphore(workers + queueCapacity);
+	}
+
+	//////////////////////// Factory interface //////////////////////////////////
+	/**
+	 * Takes the order if a worker is idle or there is room in the queue,
+	 * refuses it otherwise.
+	 */
+	@Override
+	public boolean order(Order order) {
+		if (!slots.tryAcquire()) {
+			LOGGER.warning("Refusing to take order, all workers busy and queue full");
+			return false;
+		}
+		return submit(order);
+	}
+	/**
+	 * Takes the order, waits up to the given time for a worker
+	 * or room in the queue if necessary.
+	 * @param order specifies what kind of maze is wanted and the result once delivered
+	 * @param timeout is the maximum time to wait
+	 * @param unit is the time unit of the timeout
+	 * @return true if order is accepted, false if refused
+	 * @throws InterruptedException if the calling thread is interrupted while waiting
+	 */
+	public boolean order(Order order, long timeout, TimeUnit unit) throws InterruptedException {
+		if (!slots.tryAcquire(timeout, unit)) {
+			LOGGER.warning("Refusing to take order, no room after waiting " + timeout + " " + unit);
+			return false;
+		}
+		return submit(order);
+	}
+	/**
+	 * Cancels all orders that are not completed yet.
+	 */
+	@Override
+	public void cancel() {
+		LOGGER.fine("Received call to cancel all current orders");
+		for (Order order : pending.keySet()) {
+			cancel(order);
+		}
+	}
+	/**
+	 * Cancels the given order if it is not completed yet.
+	 * A waiting order does not start, a running order is interrupted
+	 * and stops without delivery as soon as its builder recognizes the interrupt,
+	 * it stays pending and holds its permit till then.
+	 * @param order is the order to cancel
+	 * @return true if the order was pending and is canceled, false otherwise
+	 */
+	public boolean cancel(Order order) {
+		PendingOrder task = pending.get(order);
+		if (null == task) {
+			LOGGER.fine("Received call to cancel an order that is not pending");
+			return false;
+		}
+		return task.future.cancel(true);
+	}
+	/**
+	 * Waits till all orders that are pending at the time of the call are
+	 * delivered or canceled.
+	 */
+	@Override
+	public void waitTillDelivered() {
+		for (Order order : pending.keySet()) {
+			waitTillDelivered(order);
+		}
+	}
+	/**
+	 * Waits till the given order is delivered or canceled.
+	 * Returns immediately if the order is not pending.
+	 * @param order is the order to wait for
+	 */
+	public void waitTillDelivered(Order order) {
+		PendingOrder task = pending.get(order);
+		if (null == task)
+			return;
+		try {
+			task.future.get();
+		} catch (InterruptedException e) {
+			LOGGER.warning("Interrupted while waiting for an order to be delivered");
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			LOGGER.severe("Maze generation failed with an exception: " + e.getCause());
+		} catch (CancellationException e) {
+			// canceled orders are not delivered, nothing to wait for
+		}
+	}
+	/**
+	 * Tells how many orders are accepted but not completed yet.
+	 * @return the number of pending orders
+	 */
+	public int getPendingOrders() {
+		return pending.size();
+	}
+	/**
+	 * Cancels all pending orders and stops the worker threads.
+	 * The factory does not accept orders afterwards.
+	 */
+	public void shutdown() {
+		cancel();
+		executor.shutdownNow();
+	}
+	///////////////////////// private methods ///////////////////////////////////
+	/**
+	 * Hands the order with a builder of its own to the executor.
+	 * Requires that the caller holds a permit, the permit is
+	 * released when the order is done or canceled or if it can not be submitted.
+	 * @param order specifies the maze
+	 * @return true if the order is submitted, false otherwise
+	 */
+	private boolean submit(Order order) {
+		final MazeBuilder builder = MazeFactory.createBuilder(order.getBuilder());
+		if (null == builder) {
+			LOGGER.severe("Missing implementation for requested algorithm: " + order.getBuilder());
+			slots.release();
+			return false;
+		}
+		final PendingOrder task = new PendingOrder(order, builder);
+		if (null != pending.putIfAbsent(order, task)) {
+			LOGGER.warning("Refusing to take order, the same order is pending already");
+			slots.release();
+			return false;
+		}
+		try {
+			executor.execute(task.future);
+		} catch (RejectedExecutionException e) {
+			LOGGER.warning("Refusing to take order, factory is shut down");
+			task.future.cancel(false); // releases the permit
+			return false;
+		}
+		return true;
+	}
+	/**
+	 * An order together with its builder as a task for the executor.
+	 * Once the task is finished, i.e. the builder is done or the order is canceled
+	 * before its builder started, the order is no longer pending and its permit is released.
+	 * For an order that is canceled while its builder runs, this happens only
+	 * once the builder stopped, so the permits keep bounding the running builders.
+	 */
+	private class PendingOrder implements Callable<Void> {
+		private final Order order;
+		private final MazeBuilder builder;
+		// set by whoever comes first, call() if the builder starts,
+		// done() if the order is canceled before, that one calls finish()
+		private final AtomicBoolean claimed = new AtomicBoolean(false);
+		// executes call(), done() covers orders that are canceled before they run
+		private final FutureTask<Void> future = new FutureTask<Void>(this) {
+			@Override
+			protected void done() {
+				if (claimed.compareAndSet(false, true)) {
+					finish();
+				}
+			}
+		};
+
+		PendingOrder(Order order, MazeBuilder builder) {
+			this.order = order;
+			this.builder = builder;
+		}
+
+		@Override
+		public Void call() {
+			if (!claimed.compareAndSet(false, true)) {
+				return null; // canceled just before the start, done() released the permit
+			}
+			try {
+				builder.buildOrder(order);
+				builder.run();
+			}
+			finally {
+				finish();
+			}
+			return null;
+		}
+
+		/**
+		 * Removes the order from the pending orders and releases its permit.
+		 */
+		private void finish() {
+			pending.remove(order, this);
+			slots.release();
+		}
+	}
+}
@@ -114,6 +114,21 @@ public class DefaultOrder implements Order {
 	 */
 	int progress;
 	
+	/**
+	 * Headless denotes that there is no user interface
+	 * waiting for the maze such that the MazeFactory
+	 * can skip all pauses during the maze generation.
+	 * Default is false.
+	 */
+	boolean headless;
+	
+	/**
+	 * Tells if the maze needs a tree of BSP nodes, which only
+	 * the FirstPersonView needs for drawing.
+	 * Default is true.
+	 */
+	boolean bspTreeRequired = true;
+	
 	/**
 	 * Constructor that initializes fields to meaningful default values.
 	 * A newly constructed object is sufficiently configured to 
@@ -250,6 +265,39 @@ public class DefaultOrder implements Order {
 		LOGGER.fine("receive info about seed for random number generation: " + seed);
 		this.seed = seed;
 	}
+	/**
+	 * @return true if there is no user interface waiting for the maze, false otherwise
+	 */
+	@Override
+	public boolean isHeadless() {
+		LOGGER.fine("provide info about headless production: " + headless);
+		return headless;
+	}
+	/**
+	 * Selects if the maze is generated for a user interface or headless,
+	 * e.g. for a batch run, where the MazeFactory does not need to pause.
+	 * @param headless if true the maze is generated as fast as possible
+	 */
+	public void setHeadless(boolean headless) {
+		LOGGER.fine("receive info about headless production: " + headless);
+		this.headless = headless;
+	}
+	/**
+	 * @return true if the maze needs a tree of BSP nodes, false otherwise
+	 */
+	@Override
+	public boolean isBSPTreeRequired() {
+		LOGGER.fine("provide info about need for a BSP tree: " + bspTreeRequired);
+		return bspTreeRequired;
+	}
+	/**
+	 * Selects if the MazeFactory computes a tree of BSP nodes for the maze.
+	 * @param bspTreeRequired if false the maze is delivered without a tree of BSP nodes
+	 */
+	public void setBSPTreeRequired(boolean bspTreeRequired) {
+		LOGGER.fine("receive info about need for a BSP tree: " + bspTreeRequired);
+		this.bspTreeRequired = bspTreeRequired;
+	}
 	/**
 	 * @return the seed to be used for the random number generation during maze generation
 	 */
@@ -0,0 +1,77 @@
+package generation;
+
+/**
+ * Array-backed disjoint-set (union-find) over the integer elements 0,1,...,size-1.
+ * In the maze builders an element is the index {@code y*width+x} of a cell
+ * and a set is a tree of cells that are connected with each other.
+ *
+ * Uses path halving in find and union by rank such that any sequence
+ * of operations runs in practically linear time.
+ * No objects are allocated after construction.
+ *
+ * @author Alex Longo
+ */
+class DisjointSet {
+	private final int[] parent; // parent[i] == i iff i is the root of its set
+	private final byte[] rank; // upper bound on height of the tree below a root
+	private int count; // current number of disjoint sets
+
+	/**
+	 * Constructor, every element starts in a set of its own.
+	 * @param size is the number of elements, {@code 0 <= size}
+	 */
+	DisjointSet(int size) {
+		parent = new int[size];
+		rank = new byte[size];
+		for (int i = 0; i < size; i++) {
+			parent[i] = i;
+		}
+		count = size;
+	}
+
+	/**
+	 * Finds the representative (root) of the set that contains the given element.
+	 * @param element of interest, {@code 0 <= element < size}
+	 * @return the root element of the set
+	 */
+	int find(int element) {
+		while (parent[element] != element) {
+			parent[element] = parent[parent[element]]; // path halving
+			element = parent[element];
+		}
+		return element;
+	}
+
+	/**
+	 * Merges the sets that contain the two given elements.
+	 * @param a first element, {@code 0 <= a < size}
+	 * @param b second element, {@code 0 <= b < size}
+	 * @return true if two different sets were merged, false if both elements already were in the same set
+	 */
+	boolean union(int a, int b) {
+		int rootA = find(a);
+		int rootB = find(b);
+		if (rootA == rootB)
+			return false;
+		if (rank[rootA] < rank[rootB]) {
+			parent[rootA] = rootB;
+		}
+		else if (rank[rootA] > rank[rootB]) {
+			parent[rootB] = rootA;
+		}
+		else {
+			parent[rootB] = rootA;
+			rank[rootA]++;
+		}
+		count--;
+		return true;
+	}
+
+	/**
+	 * Gives the current number of disjoint sets.
+	 * @return number of sets, 1 if all elements are connected
+	 */
+	int getCount() {
+		return count;
+	}
+}
@@ -1,12 +1,13 @@
 package generation;
 
+import java.util.Arrays;
+
 /**
  * This class has the responsibility to provide the distance
  * for each cell to the exit of a maze.
- * It represents this information as a matrix, a 2D integer array.
- * Its dimensions and positioning of (x,y) coordinates matches
- * with the same notion in the Cells.java class
- * that represents the walls for the maze.
+ * It represents this information as a matrix of integers
+ * that is stored in row-major order in a single array, like the cells of
+ * a {@link Floorplan}: position (x,y) is at index {@code y*width+x}.
  *  
  * All methods assume that given (x,y) coordinates are
  * with its legal range {@code[0,width-1],[0,height-1]}
@@ -39,15 +40,12 @@ public class Distance {
 	private int height; 
 	/**
 	 * A matrix of dimension (width x height) with 
-	 * distance values to the exit of a maze.
-	 * The use of indices between Distance and Cells internal 2D matrices
-	 * is consistent such that (i,j) in dists refers to the same 
-	 * position in cells.
-	 * Warning: class does not enforce encapsulation
-	 * on dists. There are ways to set this reference,
-	 * obtain it and manipulate its content. 
+	 * distance values to the exit of a maze, stored row by row.
+	 * The use of indices between Distance and Floorplan internal arrays
+	 * is consistent such that index {@code y*width+x} in dists refers to the same 
+	 * position (x,y) in the floorplan.
 	 */
-	private int[][] dists; 
+	private int[] dists; 
 	/** 
 	 * The exit position has a distance of 1
 	 * which is also the minimum of all values in dists.
@@ -68,6 +66,17 @@ public class Distance {
 	// Memo: the start position is also stored in the MazeContainer, supports a set method
 	// this could lead to inconsistent settings between MazeContainer and Distance object at runtime.
 	// TODO: avoid redundancy of start position, remove startPosition from Distance, replease with getPositionWithMaxDistance
+	/**
+	 * Work queue for the breadth first search in computeDists,
+	 * holds cell indices, allocated on demand and reused.
+	 */
+	private int[] queue;
+	/**
+	 * Positions with the maximum distance overall and on the border
+	 * as found by the most recent breadth first search.
+	 */
+	private int[] remotePosition;
+	private int[] remoteBorderPosition;
 	
 	/**
 	 * Constructor
@@ -75,14 +84,14 @@ public class Distance {
 	 * @param h is the height of the maze in the vertical direction
 	 */
 	public Distance(int w, int h) {
-		// note: method call below sets width, height, dists,
-		// exitPosition and startPosition
-		setAllDistanceValues(new int[w][h]);
+		width = w;
+		height = h;
+		dists = new int[w*h];
+		exitPosition = null;
+		startPosition = null;
 	}
 	/**
-	 * Constructor that directly uses the given reference.
-	 * Warning: the given parameter is shared, not copied. 
-	 * This breaks encapsulation and can have side effects.
+	 * Constructor that copies the values of the given matrix.
 	 * This constructor is currently only used in the
 	 * MazeFileReader to hand a 2D array
 	 * that is parsed from a file to a Distance object. 
@@ -94,19 +103,22 @@ public class Distance {
 		setAllDistanceValues(distances);
 	}
 	/**
-	 * Sets the internal attribute to the given parameter value.
-	 * Can be used to provide precomputed distance values to an object
-	 * or to use an existing array and have its values computed
-	 * by a subsequent call to {@link #computeDistances(Floorplan)} computeDistances.
-	 * Warning, the array is not copied but directly shared with the environment
-	 * that provides it! This can have undesired side effects. Handle with care!
-	 * @param distances is an array with distance values to the exit, can not be null
+	 * Sets the internal attribute to the values of the given parameter.
+	 * Can be used to provide precomputed distance values to an object.
+	 * The values are copied, dimensions are taken from the given array.
+	 * @param distances is an array with distance values to the exit, 
+	 * {@code distances[x][y]} for position (x,y), can not be null
 	 */
 	public void setAllDistanceValues(int[][] distances) {
 		// side constraint: dists must be of dimension width x height
 		width = distances.length;
 		height = distances[0].length;
-		this.dists = distances;
+		dists = new int[width*height];
+		for (int x = 0; x < width; x++) {
+			for (int y = 0; y < height; y++) {
+				dists[y*width+x] = distances[x][y];
+			}
+		}
 		// reset exit and start positions
 		// note: lazy evaluation in the sense that positions are
 		// computed on demand and then cached on corresponding
@@ -115,14 +127,18 @@ public class Distance {
 		startPosition = null;
 	}
 	/**
-	 * Gets access to a width x height array of distances. 
-	 * Warning, this exposes the internal attribute
-	 * and is intended for read access only. 
-	 * Do not modify entries of the returned array.
+	 * Gets a copy of all distances as a width x height array
+	 * such that {@code result[x][y]} is the distance for position (x,y). 
 	 * @return array with distance values
 	 */
 	public int[][] getAllDistanceValues() {
-		return dists;
+		int[][] result = new int[width][height];
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				result[x][y] = dists[y*width+x];
+			}
+		}
+		return result;
 	}
 	/**
 	 * Gets the distance value for the given (x,y) position
@@ -131,7 +147,15 @@ public class Distance {
 	 * @return the distance value for the given (x,y) position
 	 */
 	public int getDistanceValue(int x, int y) {
-		return dists[x][y] ;
+		return dists[y*width+x] ;
+	}
+	/**
+	 * Gets the distance value for the given index
+	 * @param index is {@code y*width+x} for position (x,y), see {@link Floorplan#getIndex(int, int)}
+	 * @return the distance value for the given position
+	 */
+	public int getDistanceValue(int index) {
+		return dists[index] ;
 	}
 	/**
 	 * Compute distances for given cells object of a maze.
@@ -159,11 +183,13 @@ public class Distance {
 		// (x,y) = (width/2,height/2) 
 		// which is located in the center of the maze
 		computeDists(cells, width/2, height/2);
-		// figure out which position is the farthest on the border 
-		// to find a candidate for the exit position
-		exitPosition = getPositionWithMaxDistanceOnBorder();
+		// the position that is the farthest on the border 
+		// is the candidate for the exit position
+		exitPosition = remoteBorderPosition;
 		// Step 2: compute distances with regards to the exit position
 		computeDists(cells, exitPosition[0], exitPosition[1]);
+		// the most remote position from the exit is the starting position
+		startPosition = remotePosition;
 		return exitPosition ;
 	}
 
@@ -251,9 +277,16 @@ public class Distance {
 	private int[] getPositionWithMaxDistance() {
 		int d = 0;
 		int[] result = new int[2] ;
-		for (int x = 0; x < width; x++) {
-			for (int y = 0; y < height; y++) {
-				d = keepMaxDistance(x, y, d, result);
+		// scan row by row, on ties keep the position with the smallest x, then smallest y
+		for (int y = 0; y < height; y++) {
+			final int offset = y*width;
+			for (int x = 0; x < width; x++) {
+				final int value = dists[offset+x];
+				if (value > d || (value == d && d > 0 && x < result[0])) {
+					result[0] = x;
+					result[1] = y;
+					d = value;
+				}
 			}
 		}
 		//maxDistance = d ; // memorize maximal distance for other purposes
@@ -271,10 +304,10 @@ public class Distance {
 	 * @return the new maximum distance after the comparison
 	 */
 	private int keepMaxDistance(int x, int y, int d, int[] result) {
-		if (dists[x][y] > d) {
+		if (dists[y*width+x] > d) {
 			result[0] = x;
 			result[1] = y;
-			d = dists[x][y];
+			d = dists[y*width+x];
 		}
 		return d;
 	}
@@ -287,14 +320,18 @@ public class Distance {
 	private int[] getPositionWithMinDistance() {
 		int d = INFINITY ;
 		int[] result = new int[2] ;
-		for (int x = 0; x != width; x++)
-			for (int y = 0; y != height; y++) {
-				if (dists[x][y] < d) {
+		// scan row by row, on ties keep the position with the smallest x, then smallest y
+		for (int y = 0; y != height; y++) {
+			final int offset = y*width;
+			for (int x = 0; x != width; x++) {
+				final int value = dists[offset+x];
+				if (value < d || (value == d && d < INFINITY && x < result[0])) {
 					result[0] = x;
 					result[1] = y;
-					d = dists[x][y];
+					d = value;
 				}
 			}
+		}
 		return result ;
 	}
 	
@@ -307,161 +344,102 @@ public class Distance {
 
 	/**
 	 * Computes distances to the given position (ax,ay) for all cells in array dists.
+	 * Performs a breadth first search from (ax,ay) such that each cell 
+	 * is visited exactly once and receives its exact distance when it is
+	 * taken from the queue, so a single pass of O(width*height) suffices.
+	 * Cells that can not be reached keep the value INFINITY.
+	 * While traversing the maze, the method keeps track of the position
+	 * with the maximum distance on the border and the position with the 
+	 * maximum distance overall, which saves scanning dists afterwards.
 	 * @param cells with information on wallboards for a maze, can not be null
 	 * @param ax, position, x coordinate
 	 * @param ay, position, y coordinate
 	 */
 	private void computeDists(Floorplan cells, int ax, int ay) {
-		//int x, y;
 		// initialize the distance array with a value for infinity 
 		setAllDistanceValues(INFINITY) ;
-		// set the final distance at the exit position
-		dists[ax][ay] = 1;
-		// distribute values from this position to get started
-		pushDistanceValuesDFS2(cells, ax, ay);
-		int toDoCounter = countInfinity();
-		int progress; // used to recognize fixpoint, no progress, then stop
-		// go over this array as long as we can find something to do
-		// MEMO: there are likely to be much smarter ways to distribute distances in a breadth first manner...
-		// why not push identified cells with infinite distance on a "work to do" heap
-		// TODO: limit iterations to upperbound which is #cells == width * height
-		// in each iteration at least one cell should benefit from neighbor
-		// in each iteration at least one cell should receive its final value
-		// TODO: do a final checkup for enclosed areas left over with Max Int
-		do {
-			// check all entries in the distance array
-			for (int x = 0; x != width; x++) {
-				for (int y = 0; y != height; y++) 
-				{
-					if (dists[x][y] == INFINITY) {
-						continue;
-					}
-					// if the distance is not infinite, 
-					// let's see if the cell has a neighbor that we can update and 
-					// perform a depth first search on.
-					pushDistanceValuesDFS2(cells, x, y);
-				}
+		if (null == queue || queue.length != dists.length)
+			queue = new int[dists.length];
+		// every cell enters the queue at most once, so head and tail never wrap around
+		int head = 0;
+		int tail = 0;
+		// set the final distance at the exit position and start from there
+		final int source = ay*width+ax;
+		dists[source] = 1;
+		queue[tail++] = source;
+		// positions with maximum distance seen so far, ties are resolved 
+		// in the same way as the scanning methods getPositionWithMaxDistance 
+		// and getPositionWithMaxDistanceOnBorder do
+		int maxCell = source;
+		int maxBorderCell = -1;
+		int maxBorderRank = Integer.MAX_VALUE;
+		while (head != tail) {
+			final int cell = queue[head++];
+			final int x = cell % width;
+			final int y = cell / width;
+			final int d = dists[cell];
+			// cells leave the queue in order of increasing distance, so d is at least
+			// the maximum seen so far and if it is not larger, it is a tie
+			if (d > dists[maxCell] || x < maxCell % width || (x == maxCell % width && y < maxCell / width)) {
+				maxCell = cell;
 			}
-			progress = toDoCounter - countInfinity();
-			toDoCounter -= progress; // update to current value
-		} while (0 < progress);
-		// if (0 < countInfinity())
-			//System.out.println("Distance: ERROR: All positions should have a finite distance to the exit, counted: " + countInfinity() );
-		//assert (0 == countInfinity()) : 
-			//"All positions should have a finite distance to the exit";
-		// the computation is not good enough to have truly minimum values
-		saturateDistances(cells);
-	}
-	/**
-	 * Follows a path as far as possible to push small distance values
-	 * into the maze
-	 * @param cells needed for checking wallboards, read only
-	 * @param sx starting position
-	 * @param sy starting position
-	 */
-	private void pushDistanceValuesDFS2(Floorplan cells, int sx, int sy) {
-		while (true) {
-			CardinalDirection nextn = updateNeighborDistancesAndDirection(cells, sx, sy);
-			if (nextn == null)
-				break; // exit the loop if we cannot find another cell to proceed with
-			// update coordinates for next cell
-			int[] dir = nextn.getDxDyDirection();
-			sx += dir[0];
-			sy += dir[1];
-			// follow the nextn node on a depth-first-search path
-		}
-	}
-
-	
-	/**
-	 * Sets all values in dists to given value
-	 * @param value
-	 */
-	private void setAllDistanceValues(int value) {
-		for (int x = 0; x < width; x++) {
-			for (int y = 0; y < height; y++) {
-				dists[x][y] = value ;
+			final int rank = getBorderRank(x, y);
+			if (rank >= 0 && (maxBorderCell == -1 || d > dists[maxBorderCell] || rank < maxBorderRank)) {
+				maxBorderCell = cell;
+				maxBorderRank = rank;
 			}
-		}
-	}
-	/**
-	 * Counts how often infinity values is present in matrix
-	 * @return the number of cells with an infinite distance to the exit
-	 */
-	private int countInfinity() {
-		int result = 0;
-		for (int x = 0; x < width; x++) {
-			for (int y = 0; y < height; y++) {
-				if (dists[x][y] == INFINITY)
-					result++;
+			// check all four directions for reachable neighbors 
+			// that have not been visited yet
+			final int value = cells.getValueOfCell(cell);
+			final int next = d + 1;
+			if ((value & Floorplan.CW_TOP) == 0 && y > 0 && dists[cell-width] == INFINITY) {
+				dists[cell-width] = next;
+				queue[tail++] = cell-width;
+			}
+			if ((value & Floorplan.CW_BOT) == 0 && y < height-1 && dists[cell+width] == INFINITY) {
+				dists[cell+width] = next;
+				queue[tail++] = cell+width;
+			}
+			if ((value & Floorplan.CW_LEFT) == 0 && x > 0 && dists[cell-1] == INFINITY) {
+				dists[cell-1] = next;
+				queue[tail++] = cell-1;
+			}
+			if ((value & Floorplan.CW_RIGHT) == 0 && x < width-1 && dists[cell+1] == INFINITY) {
+				dists[cell+1] = next;
+				queue[tail++] = cell+1;
 			}
 		}
-		return result;
+		// memorize results of traversal
+		remotePosition = new int[] {maxCell % width, maxCell / width};
+		remoteBorderPosition = (-1 == maxBorderCell) ? getPositionWithMaxDistanceOnBorder() :
+			new int[] {maxBorderCell % width, maxBorderCell / width};
 	}
 	/**
-	 * Updates distance values for adjacent cells that are reachable
-	 * if value can be reduced to current distance plus 1. 
-	 * @param cells with information on wallboards for a maze, can not be null, read only
-	 * @param currentX x coordinate of current position
-	 * @param currentY y coordinate of current position
-	 * @return direction for a neighbor that has been updated or null if there is none
+	 * Gives the rank of position (x,y) in the order in which
+	 * the border is scanned for its most remote position:
+	 * top and bottom row from left to right first, then
+	 * left and right column from top to bottom.
+	 * @param x the x coordinate
+	 * @param y the y coordinate
+	 * @return rank of the position, -1 if (x,y) is not on the border
 	 */
-	private CardinalDirection updateNeighborDistancesAndDirection(Floorplan cells, int currentX, int currentY) {
-		CardinalDirection result = null; // returns null by default
-		int nextDistance = dists[currentX][currentY] + 1; // distance of a neighbor
-		int[] dir;
-		int nextX;
-		int nextY;
-		// check all four directions, update distance as needed
-		for (CardinalDirection cd: CardinalDirection.values()) {
-			// check for reachable neighbors
-			if (cells.hasNoWall(currentX, currentY, cd)) {
-				// check if neighbor is on board
-				dir = cd.getDxDyDirection();
-				nextX = currentX+dir[0];
-				nextY = currentY+dir[1];
-				// check if cell at (nextX,nextY) is within bounds
-				if ((0 <= nextX && nextX < width) && (0 <= nextY && nextY < height)) {
-					// check if neigbor's distance needs update
-					if (dists[nextX][nextY] > nextDistance) {
-						// update the neighbor's distance value
-						// mark that cell as the next one
-						dists[nextX][nextY] = nextDistance;
-						result = cd;
-					}
-				}
-			}
-		}
-		return result;
+	private int getBorderRank(int x, int y) {
+		if (y == 0)
+			return 2*x;
+		if (y == height-1)
+			return 2*x+1;
+		if (x == 0)
+			return 2*width+2*y;
+		if (x == width-1)
+			return 2*width+2*y+1;
+		return -1;
 	}
 	
 	/**
-	 * Fix-point iteration on distance matrix.
-	 * @param  cells with information on wallboards for a maze, can not be null, read only
+	 * Sets all values in dists to given value
+	 * @param value
 	 */
-	private void saturateDistances(Floorplan cells) {
-		boolean progress = false; 
-		//int count = 0;
-		int[] dir = null;
-		CardinalDirection nextn;
-		do {
-			progress = false; // reset termination criterion
-			// go through all positions
-			// check if we can update a neighbor to 
-			// a shorter distance, if so we made progress
-			for (int x = 0; x < width; x++) {
-				for (int y = 0; y < height; y++) {
-					nextn = updateNeighborDistancesAndDirection(cells, x, y);
-					if (null != nextn) {
-						progress = true; // something changed
-						// follow neighbor on a depth-first-search path
-						dir = nextn.getDxDyDirection();
-						pushDistanceValuesDFS2(cells, x+dir[0], y+dir[1]);		
-					}
-				}
-			}
-			//count++;
-		} while (progress);
-		//System.out.println("Distance.saturate: #iterations needed " + count);
+	private void setAllDistanceValues(int value) {
+		Arrays.fill(dists, value);
 	}
-}
\ No newline at end of file
+}
@@ -2,6 +2,7 @@ package generation;
 
 import java.io.BufferedWriter;
 import java.io.FileWriter;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
@@ -11,13 +12,18 @@ import java.util.NoSuchElementException;
  * with a 2 dimensional grid and it encapsulates access to each 
  * cell in that grid.
  *  
- * The internal two-dimensional array matches with a grid of cells as follows:
+ * The internal array matches with a grid of cells as follows:
  * floorplan[0,y] form the left border, hence there is a wallboard on  left.
  * floorplan[width-1,y] form the right border, hence there is a wallboard on right.
  * floorplan[x,0] form the top border, hence there is a wallboard on top.
  * floorplan[x,height-1] form the bottom border, hence there is a wallboard on bottom.
  * The upper left corner is seen as position [0][0].
  * 
+ * Cells are stored in a single contiguous array in row-major order,
+ * cell (x,y) is at index {@code y*width+x}. Besides the (x,y) based methods,
+ * there are index based variants for hot loops that scan the floorplan
+ * row by row, see {@link #getIndex(int, int)}.
+ * 
  * Warning: MapDrawer locates (0,0) at the bottom-left corner on the screen
  * when it draws the map.
  * 
@@ -90,15 +96,14 @@ public class Floorplan {
 	
 	private int width;
 	private int height ;
-	private int[][] cells; // width x height array of cells, cells[width][height]
+	private int[] cells; // width * height array of cells in row-major order, cell (x,y) at cells[y*width+x]
 	// each cell contains an integer which encodes presence/absence of wallboards
-	// cells[i][j] can be read as (i,j) coordinates much like (x,y) coordinates
-	// where the first dimension x grows towards the right and 
-	// the second dimension y grows towards the bottom
+	// x grows towards the right and y grows towards the bottom
 	// as if the (0,0) position is in the top-left corner.
-	// cells[i][j] is not intuitive in terms of rows and column indices in matrix notation 
-	// as position (i,j) would be column i and row j which is opposite to the normal  
-	// use of rows and columns indices for matrices.
+	// a row of cells is contiguous in memory, so scans with y in the outer 
+	// and x in the inner loop are cache friendly.
+	private long version; // counts changes by addWallboard and deleteWallboard, see getVersion()
+	private long[] rowVersions; // version of the latest change for each row, null until the first change
 	
 	/**
 	 * Constructor
@@ -108,7 +113,7 @@ public class Floorplan {
 	public Floorplan(int w, int h) {
 		width = w ;
 		height = h ;
-		cells = new int[w][h];
+		cells = new int[w*h];
 	}
 
 	/**
@@ -118,20 +123,12 @@ public class Floorplan {
 	 * precondition input != null
 	 */
 	public Floorplan(int[][] input){
-		// Alternative, 2d array is a 1d array with arrays as elements
-		width = input.length ;
-		height = input[0].length ;
-		cells = new int[width][];
-		for(int i = 0; i < width; i++)
-		    cells[i] = input[i].clone(); // clone row
-		/* Basic version
 		this(input.length, input[0].length);
-		for (int i = 0; i < width; i++) {
-			for (int j = 0; j < height; j++) {
-				cells[i][j] = input[i][j];
+		for (int x = 0; x < width; x++) {
+			for (int y = 0; y < height; y++) {
+				cells[y*width+x] = input[x][y];
 			}
 		}
-		*/
 	}
 	
 	/**
@@ -143,10 +140,8 @@ public class Floorplan {
 	public void initialize() {
 		int x, y;
 		// Step 1: erect wallboards everywhere, reset visited flag
-		for (x = 0; x < width; x++) {
-			for (y = 0; y < height; y++) {
-				setBitToOne(x, y, (CW_VISITED | CW_ALL));
-			}
+		for (int i = 0; i < cells.length; i++) {
+			cells[i] |= (CW_VISITED | CW_ALL);
 		} 
 		// Step 2: mark wallboards on exterior walls as a border
 		// Assumption: (0,0) at top-left corner
@@ -179,13 +174,7 @@ public class Floorplan {
 		final Floorplan o = (Floorplan)other ; // type cast safe after checking class objects
 		if ((width != o.width)||(height != o.height))
 			return false ;
-		for (int i = 0; i < width; i++) {
-			for (int j = 0; j < height; j++) {
-				if (cells[i][j] != o.cells[i][j])
-					return false ;
-			}
-		}
-		return true ;
+		return Arrays.equals(cells, o.cells) ;
 	}
 	/**
 	 * Hashcode method is not implemented as it is not needed here.
@@ -206,7 +195,40 @@ public class Floorplan {
 	 */
 	public int getValueOfCell( int x, int y )
 	{
-		return cells[x][y] ;
+		return cells[y*width+x] ;
+	}
+	/**
+	 * Get the value of a cell at the given index.
+	 * @param index of cell as obtained from {@link #getIndex(int, int)}
+	 * @return value with internal encoding of wallboards and other attributes for the cell
+	 */
+	public int getValueOfCell(int index) {
+		return cells[index] ;
+	}
+	/**
+	 * Gives the index of cell (x,y) for the index based methods.
+	 * Indices are row-major: the cell to the east has index+1,
+	 * the cell to the south has index+width.
+	 * @param x coordinate of cell, {@code 0 <= x < width}
+	 * @param y coordinate of cell, {@code 0 <= y < height}
+	 * @return index {@code y*width+x}
+	 */
+	public int getIndex(int x, int y) {
+		return y*width+x ;
+	}
+	/**
+	 * Gets the width of the floorplan.
+	 * @return the number of cells in a row
+	 */
+	public int getWidth() {
+		return width ;
+	}
+	/**
+	 * Gets the height of the floorplan.
+	 * @return the number of rows
+	 */
+	public int getHeight() {
+		return height ;
 	}
 	
 	/**
@@ -279,6 +301,14 @@ public class Floorplan {
 	public boolean isFirstVisit(int x, int y) {
 		return hasMaskedBitsTrue(x, y, CW_VISITED);
 	}
+	/**
+	 * Tells if the cell at the given index is visited for the first time.
+	 * @param index of cell as obtained from {@link #getIndex(int, int)}
+	 * @return true if cell is visited for the first time
+	 */
+	public boolean isFirstVisit(int index) {
+		return (cells[index] & CW_VISITED) != 0;
+	}
 	
 	/**
 	 * Marks the given cell at position (x,y) as visited
@@ -289,6 +319,13 @@ public class Floorplan {
 	public void setCellAsVisited(int x, int y) {
 		setBitToZero(x,y,CW_VISITED) ; 
 	}
+	/**
+	 * Marks the cell at the given index as visited
+	 * @param index of cell as obtained from {@link #getIndex(int, int)}
+	 */
+	public void setCellAsVisited(int index) {
+		cells[index] &= ~CW_VISITED ; 
+	}
 	
 	/**
 	 * Establish exit position by breaking down wallboard to outside area.
@@ -424,6 +461,21 @@ public class Floorplan {
 	 * @param ryl 2nd corner, y coordinate
 	 */
 	public void markAreaAsRoom(int rw, int rh, int rx, int ry, int rxl, int ryl) {
+		markAreaAsRoom(rw, rh, rx, ry, rxl, ryl, SingleRandom.getRandom().split());
+	}
+	/**
+	 * Marks a given area as a room on the maze and positions up to five doors 
+	 * randomly, same as {@link #markAreaAsRoom(int, int, int, int, int, int)}, 
+	 * with doors drawn from the given stream of random numbers.
+	 * @param rw room width
+	 * @param rh room height
+	 * @param rx 1st corner, x coordinate
+	 * @param ry 1st corner, y coordinate
+	 * @param rxl 2nd corner, x coordinate
+	 * @param ryl 2nd corner, y coordinate
+	 * @param random is the stream of random numbers to use
+	 */
+	public void markAreaAsRoom(int rw, int rh, int rx, int ry, int rxl, int ryl, RandomStream random) {
 		// Step 1: 
 		// clear all cells in area of room from all wallboards and borders
 		// mark all cells in area as being inside the room
@@ -446,7 +498,6 @@ public class Floorplan {
 		// so a maze generation algorithm can identify
 		// these wallboards and delete them to get into the room
 		int numBoards = (rw+rh)*2; // counter for the total number of wallboards
-		SingleRandom random = SingleRandom.getRandom() ;
 		// pick at most 5 wallboards
 		for (int ct = 0; ct != 5; ct++) { 
 			int door = random.nextIntWithinInterval(0, numBoards-1); // pick a random wallboard
@@ -585,10 +636,17 @@ public class Floorplan {
 		int y = wallboard.getY();
 		int[] d = wallboard.getDirection().getDxDyDirection() ;
 		// add wallboard on (x,y)
+		int before = cells[y*width+x];
 		setWallToOne(x, y, d[0], d[1]);
+		if (before != cells[y*width+x])
+			recordChange(y);
 		// add same wallboard but for adjacent cell
-		if (internalWall)
+		if (internalWall) {
+			before = cells[(y+d[1])*width+x+d[0]];
 			setWallToOne(x+d[0], y+d[1], -d[0], -d[1]);
+			if (before != cells[(y+d[1])*width+x+d[0]])
+				recordChange(y+d[1]);
+		}
 	}
 
 	/**
@@ -610,11 +668,45 @@ public class Floorplan {
 		setWallToZero(x, y, dx, dy);
 		// delete same wallboard but for adjacent cell
 		setWallToZero(x+dx, y+dy, -dx, -dy);
+		recordChange(y);
+		if (0 != dy)
+			recordChange(y+dy);
 		/////////////////// THE FOLLOWING 2 LINES ARE USED FOR GRADING PROJECT 2, DO NOT ALTER OR DELETE /////////////////
 		if (deepdebugWall) // for debugging: track sequence of walls that are deleted
 			logWall( x,  y,  dx,  dy);
 		/////////////////// END OF SPECIAL CODE FOR GRADING //////////////////////////////////////////////////////////////
 	}
+	/**
+	 * Gives the version of the wallboards in this floorplan.
+	 * The version increases with each call of addWallboard, addWall or
+	 * deleteWallboard that changes a wallboard. Other changes,
+	 * e.g. by initialize or markAreaAsRoom, do not count.
+	 * This allows a reader like the Map to redraw only those rows
+	 * that changed since it last looked, see {@link #hasRowChangedSince(int, long)}.
+	 * @return the current version, 0 if no wallboard was changed so far
+	 */
+	public long getVersion() {
+		return version;
+	}
+	/**
+	 * Tells if a wallboard of a cell in the given row changed
+	 * after the given version.
+	 * @param y the row, {@code 0 <= y < height}
+	 * @param since a version obtained from {@link #getVersion()}
+	 * @return true if a wallboard in row y changed after that version
+	 */
+	public boolean hasRowChangedSince(int y, long since) {
+		return null != rowVersions && rowVersions[y] > since;
+	}
+	/**
+	 * Records a change of a wallboard in the given row.
+	 * @param y the row, {@code 0 <= y < height}
+	 */
+	private void recordChange(int y) {
+		if (null == rowVersions)
+			rowVersions = new long[height];
+		rowVersions[y] = ++version;
+	}
     /**
      * Add wallboards in either north or west direction for the given wall.
      * Wall coordinates need to be rescaled by map_unit to translate into
@@ -626,6 +718,25 @@ public class Floorplan {
      * @param map_unit gives the scaling factor to obtain the cell coordinates
      */
     public void addWall(Wall seg, int map_unit) {
+        addWall(seg.getStartPositionX(), seg.getStartPositionY(),
+                seg.getExtensionX(), seg.getExtensionY(), map_unit);
+    }
+    /**
+     * Add wallboards in either north or west direction for the wall
+     * in the given row of a wall table, same as {@link #addWall(Wall, int)}.
+     * @param walls is the wall table
+     * @param row gives the index of the wall whose wallboards need to be added
+     * @param map_unit gives the scaling factor to obtain the cell coordinates
+     */
+    public void addWall(WallTable walls, int row, int map_unit) {
+        addWall(walls.getStartPositionX(row), walls.getStartPositionY(row),
+                walls.getExtensionX(row), walls.getExtensionY(row), map_unit);
+    }
+    /**
+     * Add wallboards for a wall with the given position and extension,
+     * see {@link #addWall(Wall, int)}.
+     */
+    private void addWall(int startX, int startY, int extensionX, int extensionY, int map_unit) {
         // moved method from FirstPersonDrawer here
         // Why: changes seencells by adding wallboards based on info in given seg
         // only piece of information used from FirstPersonDrawer is map_unit
@@ -639,14 +750,14 @@ public class Floorplan {
         //final int sdy = seg.getExtensionY() / map_unit; // constant, only set once here
         // note: either sdx or sdy is 0
         // define constants to avoid method calls in following loop
-        final int sdsx = MazeBuilder.getSign(seg.getExtensionX()); // 0: vertical, -1,1: horizontal
-        final int sdsy = MazeBuilder.getSign(seg.getExtensionY()); // 0: horizontal, -1,1: vertical
+        final int sdsx = MazeBuilder.getSign(extensionX); // 0: vertical, -1,1: horizontal
+        final int sdsy = MazeBuilder.getSign(extensionY); // 0: horizontal, -1,1: vertical
         
         // Step 2: get initial position (sx,sy) right
-        int sx = seg.getStartPositionX() / map_unit;
+        int sx = startX / map_unit;
         if (sdsx < 0) // this direction and negative 
             sx--;
-        int sy = seg.getStartPositionY() / map_unit; 
+        int sy = startY / map_unit; 
         if (sdsy < 0) // this direction and negative
             sy--;
         
@@ -656,7 +767,7 @@ public class Floorplan {
         //if (len != seg.length() / map_unit) {
         //    System.out.print("Error: seg length wrong: " + len + " vs " + seg.length());
         //}
-        final int len = seg.getLength() / map_unit;
+        final int len = Math.abs(extensionX + extensionY) / map_unit;
         
         // check conditions
         // warning: step 2 could range for sx, sy such that starting point may be at -1,
@@ -714,6 +825,34 @@ public class Floorplan {
 	public boolean hasNoWall(int x, int y, CardinalDirection dir) {
 		return !hasMaskedBitsTrue(x, y, getCWConstantForDirection(dir));
 	}
+	/**
+	 * Tells if the cell at the given index has a wallboard in the given direction.
+	 * @param index of cell as obtained from {@link #getIndex(int, int)}
+	 * @param dir gives the cardinal direction
+	 * @return true if the cell has a wallboard in the given direction
+	 */
+	public boolean hasWall(int index, CardinalDirection dir) {
+		return (cells[index] & getCWConstantForDirection(dir)) != 0;
+	}
+	/**
+	 * Tells if the cell at the given index has no wallboard in the given direction.
+	 * @param index of cell as obtained from {@link #getIndex(int, int)}
+	 * @param dir gives the cardinal direction
+	 * @return true if the cell has no wallboard in the given direction
+	 */
+	public boolean hasNoWall(int index, CardinalDirection dir) {
+		return (cells[index] & getCWConstantForDirection(dir)) == 0;
+	}
+	/**
+	 * Tells if the wallboard of the cell at the given index in the given direction 
+	 * is part of a border.
+	 * @param index of cell as obtained from {@link #getIndex(int, int)}
+	 * @param dir gives the cardinal direction
+	 * @return true if that side is marked as a border
+	 */
+	public boolean hasBorder(int index, CardinalDirection dir) {
+		return (cells[index] & getBoundForBit(getCWConstantForDirection(dir))) != 0;
+	}
 	/**
 	 * Gives the matching bit encoded value,
 	 * the matching CW_TOP, BOT, LEFT, RIGHT constants in Constants.java
@@ -907,7 +1046,7 @@ public class Floorplan {
 	 * @param cw_bit like CW_LEFT, CW_RIGHT, CW_TOP, CW_BOTTOM
 	 */
 	private void setBitToZero(int x, int y, int cw_bit) {
-		cells[x][y] &= ~cw_bit;
+		cells[y*width+x] &= ~cw_bit;
 	}
 	/**
 	 * Sets all wallboard bits to zero for a given cell
@@ -924,10 +1063,10 @@ public class Floorplan {
 	// better to directly change client classes
 	//
 	protected boolean hasMaskedBitsTrue(int x, int y, int bitmask) {
-		return (cells[x][y] & bitmask) != 0;
+		return (cells[y*width+x] & bitmask) != 0;
 	}
 	protected boolean hasMaskedBitsFalse(int x, int y, int bitmask) {
-		return (cells[x][y] & bitmask) == 0;
+		return (cells[y*width+x] & bitmask) == 0;
 	}
 
 	/**
@@ -959,7 +1098,7 @@ public class Floorplan {
 	 * @param bitmask is the bitmask to use for adding 1's
 	 */
 	private void setBitToOne(int x, int y, int bitmask) {
-		cells[x][y] |= bitmask ;
+		cells[y*width+x] |= bitmask ;
 	}
 
 	///////////////// code for debugging ///////////////////////////////////////
@@ -977,7 +1116,7 @@ public class Floorplan {
 		{
 			prefix = " i:" + i + " j:";
 			for (int j = 0 ; j < height ; j++)
-				s += prefix + j + "=" + cells[i][j] ;
+				s += prefix + j + "=" + cells[j*width+i] ;
 			s += "\n" ;
 		}
 		return s ;
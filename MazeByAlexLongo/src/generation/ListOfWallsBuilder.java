@@ -1,6 +1,7 @@
 package generation;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 
@@ -46,7 +47,20 @@ public class ListOfWallsBuilder {
 	 * @return vector of walls
 	 */
 	public List<Wall> generateWalls() {
-		ArrayList<Wall> result = new ArrayList<>();
+		final WallTable table = generateWallTable();
+		final List<Wall> result = new ArrayList<>(table.size());
+		for (int i = 0; i < table.size(); i++) {
+			result.add(table.toWall(i));
+		}
+		return result ;
+	}
+	/**
+	 * Identifies continuous sequences of wallboards on the maze and fills a wall table,
+	 * rows are in the same order as the walls of {@link #generateWalls()}.
+	 * @return table of walls
+	 */
+	public WallTable generateWallTable() {
+		final WallTable result = new WallTable(2*(width+height));
 		generateWallsForHorizontalWallboards(result); 
 		generateWallsForVerticalWallboards(result);
 		// starting positions for walls seem to be chosen such that walls represent top or left wallboards
@@ -54,45 +68,92 @@ public class ListOfWallsBuilder {
 	}
 
 	/**
-     * Identify continuous sequences of wallboards in a vertical direction
-     * @param sl the list of walls that carries the result of the computation
+     * Identify continuous sequences of wallboards in a vertical direction.
+     * The floorplan is scanned row by row in a single pass which keeps track of
+     * the currently open sequence on the west and east side of each column.
+     * A sequence ends at a cell without a wallboard on that side or at a cell
+     * with a wallboard to the north (a crossing wallboard), just as for
+     * {@link Floorplan#iterator(int, int, CardinalDirection)}.
+     * Finished sequences are recorded in primitive arrays and are turned into walls
+     * column by column, west before east, such that the resulting order of walls is the 
+     * same as for a column by column search.
+     * @param sl the table of walls that carries the result of the computation
      */
-	   private void generateWallsForVerticalWallboards(ArrayList<Wall> sl) {
-	        int x;
-	        int y;
-	        Iterator<int[]> it;
-	        int[] cur;
-	        // we search for vertical wallboards, so for each row
-	        for (x = 0; x < width; x++) {
-	            it = floorplan.iterator(x, 0, CardinalDirection.West);
-	            while(it.hasNext()) {
-	                cur = it.next();
-	                int starty = cur[0];
-	                y = cur[1];
-	                // create wall with (x,starty) being the actual start position of the wall, 
-                    // y-starty being the positive length
-                    sl.add(new Wall(x*Constants.MAP_UNIT, starty*Constants.MAP_UNIT,
-                            0, (y-starty)*Constants.MAP_UNIT, dists.getDistanceValue(x, starty), colchange));
-	            }
-	            
-	            it = floorplan.iterator(x, 0, CardinalDirection.East);
-                while(it.hasNext()) {
-                    cur = it.next();
-                    int starty = cur[0];
-                    y = cur[1];
-                    // create wall with (x+1,y) being being one off in both directions from the last cell in this wall, starty-y being the negative length
-                    // since we are looking at right wallboards, one off in the right direction (x+1) are then cells that have this wall on its left hand side
-                    // for some reason the end position is used as a starting position and therefore the length & direction is inverse 
-                    sl.add(new Wall((x+1)*Constants.MAP_UNIT, y*Constants.MAP_UNIT,
-                            0, (starty-y)*Constants.MAP_UNIT, dists.getDistanceValue(x, starty), colchange));
-                }
-	        }
-	    }
+	private void generateWallsForVerticalWallboards(WallTable sl) {
+		// openStart[2*x] for west, openStart[2*x+1] for east side of column x: 
+		// row where current sequence started, -1 if none
+		final int[] openStart = new int[2*width];
+		Arrays.fill(openStart, -1);
+		// finished sequences: key (2*x+side), start row and end row
+		int[] keys = new int[2*width];
+		int[] starts = new int[2*width];
+		int[] ends = new int[2*width];
+		int n = 0;
+		for (int y = 0; y <= height; y++) {
+			for (int x = 0; x < width; x++) {
+				final int index = y*width+x;
+				// at y == height, all open sequences end
+				final boolean crossing = (y < height) && floorplan.hasWall(index, CardinalDirection.North);
+				for (int side = 0; side < 2; side++) {
+					final int key = 2*x+side;
+					final boolean hasWall = (y < height) 
+							&& floorplan.hasWall(index, (side == 0) ? CardinalDirection.West : CardinalDirection.East);
+					if (openStart[key] != -1 && (!hasWall || crossing)) {
+						if (n == keys.length) {
+							keys = Arrays.copyOf(keys, 2*n);
+							starts = Arrays.copyOf(starts, 2*n);
+							ends = Arrays.copyOf(ends, 2*n);
+						}
+						keys[n] = key;
+						starts[n] = openStart[key];
+						ends[n] = y;
+						n++;
+						openStart[key] = -1;
+					}
+					if (hasWall && openStart[key] == -1) {
+						openStart[key] = y;
+					}
+				}
+			}
+		}
+		// counting sort by key to deliver sequences column by column, 
+		// the sort is stable, so sequences in a column remain ordered by rows
+		final int[] first = new int[2*width+1];
+		for (int i = 0; i < n; i++) {
+			first[keys[i]+1]++;
+		}
+		for (int k = 0; k < 2*width; k++) {
+			first[k+1] += first[k];
+		}
+		final int[] order = new int[n];
+		for (int i = 0; i < n; i++) {
+			order[first[keys[i]]++] = i;
+		}
+		for (int j = 0; j < n; j++) {
+			final int i = order[j];
+			final int x = keys[i] >> 1;
+			final int starty = starts[i];
+			final int y = ends[i];
+			if ((keys[i] & 1) == 0) {
+				// west side: create wall with (x,starty) being the actual start position of the wall, 
+				// y-starty being the positive length
+				sl.add(x*Constants.MAP_UNIT, starty*Constants.MAP_UNIT,
+						0, (y-starty)*Constants.MAP_UNIT, dists.getDistanceValue(x, starty), colchange);
+			}
+			else {
+				// east side: create wall with (x+1,y) being being one off in both directions from the last cell in this wall, starty-y being the negative length
+				// since we are looking at right wallboards, one off in the right direction (x+1) are then cells that have this wall on its left hand side
+				// for some reason the end position is used as a starting position and therefore the length & direction is inverse 
+				sl.add((x+1)*Constants.MAP_UNIT, y*Constants.MAP_UNIT,
+						0, (starty-y)*Constants.MAP_UNIT, dists.getDistanceValue(x, starty), colchange);
+			}
+		}
+	}
 	/**
      * Identify continuous sequences of wallboards in a horizontal direction
-     * @param sl  the list of walls that carries the result of the computation
+     * @param sl  the table of walls that carries the result of the computation
      */
-    private void generateWallsForHorizontalWallboards(ArrayList<Wall> sl) {
+    private void generateWallsForHorizontalWallboards(WallTable sl) {
         int x;
         int y;
         Iterator<int[]> it;
@@ -107,8 +168,8 @@ public class ListOfWallsBuilder {
                 x = cur[1];
                 // create wall with (x,y) being the end positions, startx-x being the negative length
                 // note the (x,y) is not part of the wall
-                sl.add(new Wall(x*Constants.MAP_UNIT, y*Constants.MAP_UNIT,
-                        (startx-x)*Constants.MAP_UNIT, 0, dists.getDistanceValue(startx, y), colchange));
+                sl.add(x*Constants.MAP_UNIT, y*Constants.MAP_UNIT,
+                        (startx-x)*Constants.MAP_UNIT, 0, dists.getDistanceValue(startx, y), colchange);
             }
             // second round through rows, same for bottom wallboards
             it = floorplan.iterator(0,y, CardinalDirection.South);
@@ -118,8 +179,8 @@ public class ListOfWallsBuilder {
                 x = cur[1];
                 // create wall with (startx,y+1) being one below the start position, x-startx being the positive length
                 // so this may represent a wallboard at the bottom of the wall as the top wallboard one below
-                sl.add(new Wall(startx*Constants.MAP_UNIT, (y+1)*Constants.MAP_UNIT,
-                        (x-startx)*Constants.MAP_UNIT, 0, dists.getDistanceValue(startx, y), colchange));
+                sl.add(startx*Constants.MAP_UNIT, (y+1)*Constants.MAP_UNIT,
+                        (x-startx)*Constants.MAP_UNIT, 0, dists.getDistanceValue(startx, y), colchange);
             }
         }
     }
@@ -69,7 +69,7 @@ public interface Maze {
 	/**
 	 * Gets access to a tree of nodes for segments of wallboards which is
 	 * used for drawing the currently visible part.
-	 * @return the rootnode
+	 * @return the rootnode, null if the maze was produced without a tree, see {@link Order#isBSPTreeRequired()}
 	 */
 	BSPNode getRootnode();
 
@@ -78,6 +78,19 @@ public interface Maze {
 	 * @param rootnode the rootnode to set
 	 */
 	void setRootnode(BSPNode rootnode);
+
+	/**
+	 * Gives the tree of nodes for segments of wallboards in its compiled, 
+	 * array based form, which is faster to traverse for drawing.
+	 * @return the compiled tree, null if the maze was produced without a tree
+	 */
+	CompiledBSPTree getCompiledTree();
+	/**
+	 * Gives the distances from each cell to the nearest wallboard
+	 * in each cardinal direction, which is what a distance sensor measures.
+	 * @return the distances, never null for a fully initialized maze
+	 */
+	ObstacleDistances getObstacleDistances();
 	/**
 	 * Tells if (x,y) coordinate is within range.
 	 * @param x is on the horizontal axis, {@code 0 <= x < width}
@@ -1,5 +1,6 @@
 package generation;
 
+import java.util.concurrent.ForkJoinPool;
 import java.util.logging.Logger;
 
 import gui.Constants;
@@ -38,7 +39,7 @@ public class MazeBuilder implements Runnable {
 	// the distance to exit for a cell at position (i,j) in the floor plan.
 
 	// class internal local variables
-	protected SingleRandom random ; // random number stream, used to make randomized decisions, e.g for direction to go
+	protected RandomStream random ; // random number stream of the current order, used to make randomized decisions, e.g for direction to go
 	Order order; // describes what is wanted, e.g. a perfect maze or not
 	
 	// constants
@@ -59,9 +60,8 @@ public class MazeBuilder implements Runnable {
 	 */
 	public void buildOrder(Order order) {
 		this.order = order;
-		// configure and obtain the random number generator
-		SingleRandom.setSeed(order.getSeed());
-		random = SingleRandom.getRandom();
+		// each order has a random number stream of its own that only depends on its seed
+		random = new RandomStream(order.getSeed());
 		// derive parameters 
 		int skill = order.getSkillLevel() ;
 		width = Constants.SKILL_X[skill];
@@ -87,20 +87,29 @@ public class MazeBuilder implements Runnable {
 			if (rooms > 0)
 				generateRooms();
 			
-			Thread.sleep(SLEEP_INTERVAL) ; // test if thread has been interrupted, i.e. notified to stop
+			pause() ; // test if thread has been interrupted, i.e. notified to stop
 
 			// put pathways into the maze, determine its starting and end position and calculate distances
 			generate();
 
-			Thread.sleep(SLEEP_INTERVAL) ; // test if thread has been interrupted, i.e. notified to stop
+			pause() ; // test if thread has been interrupted, i.e. notified to stop
 
-			final int colchange = random.nextIntWithinInterval(0, 255); // used in the constructor for Segments  class Seg
-			final BSPBuilder b = new BSPBuilder(order, dists, floorplan, width, height, colchange, expectedPartiters) ;
-			BSPNode root = b.generateBSPNodes(); // takes a long time, updates progressbar, 
-			// it also internally checks for cancel requests
-			// and throws an interrupted exception if that happens
+			BSPNode root = null; // stays null if the order does not need a tree
+			if (order.isBSPTreeRequired()) {
+				final int colchange = random.nextIntWithinInterval(0, 255); // used in the constructor for Segments  class Seg
+				final BSPBuilder b = new BSPBuilder(order, dists, floorplan, width, height, colchange, expectedPartiters) ;
+				// subtrees are computed in parallel, the tree is the same as with a sequential computation
+				root = b.generateBSPNodes(ForkJoinPool.commonPool()); // takes a long time, updates progressbar, 
+				// it also internally checks for cancel requests
+				// and throws an interrupted exception if that happens
+			}
+			else {
+				// the BSP builder adds this wallboard to the floorplan, 
+				// do the same such that the floorplan does not depend on the tree
+				floorplan.addWallboard(new Wallboard(0, 0, CardinalDirection.North), false);
+			}
 
-			Thread.sleep(SLEEP_INTERVAL) ; // test if thread has been interrupted, i.e. notified to stop
+			pause() ; // test if thread has been interrupted, i.e. notified to stop
 
 			// communicate results back to Controller
 			order.updateProgress(100); // Order interface promises to communicate 100% upon delivery
@@ -119,6 +128,21 @@ public class MazeBuilder implements Runnable {
 		}
 	}
 	
+	/**
+	 * Takes a brief break to recognize if the thread has been interrupted.
+	 * For a headless order, there is no user interface that benefits from
+	 * a break, so the method only checks the interrupted flag.
+	 * @throws InterruptedException if the thread has been interrupted
+	 */
+	private void pause() throws InterruptedException {
+		if (null != order && order.isHeadless()) {
+			if (Thread.interrupted())
+				throw new InterruptedException();
+		}
+		else {
+			Thread.sleep(SLEEP_INTERVAL);
+		}
+	}
 	/**
 	 * Reset all fields to initial values
 	 */
@@ -189,7 +213,7 @@ public class MazeBuilder implements Runnable {
 			return false ;
 		// since the area is available, mark it for this room and remove all wallboards
 		// from this on it is clear that we can place the room on the maze
-		floorplan.markAreaAsRoom(rw, rh, rx, ry, rxl, ryl); 
+		floorplan.markAreaAsRoom(rw, rh, rx, ry, rxl, ryl, random); 
 		return true;
 	}
 
@@ -229,7 +253,7 @@ public class MazeBuilder implements Runnable {
 		final int firstx = x; 
 		final int firsty = y;
 		
-		CardinalDirection[][] origcds = new CardinalDirection[width][height]; 
+		CardinalDirection[] origcds = new CardinalDirection[width*height]; // indexed y*width+x like the floorplan
 		CardinalDirection cd = CardinalDirection.East;
 		CardinalDirection origcd = cd;
 		
@@ -242,16 +266,16 @@ public class MazeBuilder implements Runnable {
 				if (origcd == cd) {				
 					if (x == firstx && y == firsty)
 						break; 			
-					int[] dxy = origcds[x][y].getDxDyDirection();
+					int[] dxy = origcds[y*width+x].getDxDyDirection();
 					x -= dxy[0];
 					y -= dxy[1];
-					if (null == origcds[x][y]) {
+					if (null == origcds[y*width+x]) {
 						// Happens at starting position
 						assert (x == firstx && y == firsty) : "catching null elsewhere than starting position" ;
-						cd = cd.randomDirection() ;
+						cd = cd.randomDirection(random) ;
 					}
 					else
-						cd = origcds[x][y] ;
+						cd = origcds[y*width+x] ;
 					cd = cd.rotateClockwise();
 					origcd = cd;
 				}
@@ -261,8 +285,8 @@ public class MazeBuilder implements Runnable {
 				x += dxy[0];
 				y += dxy[1];
 				floorplan.setCellAsVisited(x, y);
-				origcds[x][y] = cd;
-				cd = cd.randomDirection();
+				origcds[y*width+x] = cd;
+				cd = cd.randomDirection(random);
 				origcd = cd;
 			}
 		}
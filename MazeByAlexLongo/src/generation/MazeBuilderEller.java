@@ -0,0 +1,314 @@
+package generation;
+
+import java.util.logging.Logger;
+
+
+/**
+ * This class has the responsibility to create a maze of given dimensions (width, height)
+ * together with a solution based on a distance matrix.
+ * The MazeBuilder implements Runnable such that it can be run a separate thread.
+ * The MazeFactory has a MazeBuilder and handles the thread management.
+ *
+ * The maze is built with Eller's algorithm which proceeds row by row
+ * from top to bottom and only keeps track of the set each cell of the current row
+ * belongs to. Cells in the same set are connected by some path through the rows above.
+ * For each row:
+ * 1) adjacent cells of different sets are randomly joined by tearing down the wallboard between them,
+ * 2) every set randomly extends downwards into the next row, at least once per set,
+ * 3) cells of the next row that are not reached from above start a set of their own.
+ * The last row joins all remaining sets.
+ *
+ * Working memory is a handful of primitive arrays of length width,
+ * set labels are recycled and always in the range 0,1,...,width-1.
+ * With {@link #generateRows(int, int, int, RowConsumer)} the builder runs without
+ * a floorplan and delivers each finished row to a consumer, so arbitrarily tall
+ * mazes can be generated and written out with O(width) memory.
+ *
+ * Rooms are supported when generating into a floorplan: cells that are not separated by a
+ * wallboard are treated as connected and wallboards that are part of a border are
+ * left in place unless a set has no other way to extend downwards.
+ *
+ * @author Alex Longo
+ */
+public class MazeBuilderEller extends MazeBuilder implements Runnable {
+	/**
+	 * The logger is used to track execution and report issues.
+	 */
+	private static final Logger LOGGER = Logger.getLogger(MazeBuilderEller.class.getName());
+
+	/**
+	 * Receives the rows of a maze one at a time, from top (y == 0) to bottom.
+	 */
+	public interface RowConsumer {
+		/**
+		 * Delivers a finished row. The row encodes for each cell x which wallboards are up
+		 * with the bit constants {@link Floorplan#CW_TOP}, {@link Floorplan#CW_BOT},
+		 * {@link Floorplan#CW_LEFT} and {@link Floorplan#CW_RIGHT}.
+		 * The array is reused for the next row, so it must not be kept.
+		 * @param y is the row index, {@code 0 <= y < height}
+		 * @param row holds the wallboards for cells (0,y),...,(width-1,y)
+		 */
+		void acceptRow(int y, int[] row);
+	}
+
+	// working memory for the current row, all of length width
+	private int[] sets; // sets[x] is the set label of cell (x,y), label in 0..width-1
+	private boolean[] eastOpen; // no wallboard between (x,y) and (x+1,y)
+	private boolean[] southOpen; // no wallboard between (x,y) and (x,y+1)
+	private boolean[] northOpen; // no wallboard between (x,y) and (x,y-1), southOpen of the previous row
+	private int[] row; // encoding of the current row as delivered to a consumer
+	// working memory indexed by set label
+	private boolean[] labelInUse;
+	private boolean[] setGoesDown;
+	private int[] setSize;
+	private int[] downCandidate; // randomly chosen cell of the set that may extend downwards, -1 if none
+	private int[] anyCell; // some cell of the set
+	// reused to communicate with the floorplan, if any
+	private Wallboard wallboard;
+
+	public MazeBuilderEller() {
+		super();
+		LOGGER.config("Using Eller's algorithm to generate maze.");
+	}
+
+	/**
+	 * This method generates pathways into the maze by using Eller's algorithm.
+	 * The floorplan is processed one row at a time.
+	 */
+	@Override
+	protected void generatePathways() {
+		generateRows(null);
+	}
+
+	/**
+	 * Generates a perfect maze of the given dimensions without a floorplan
+	 * and delivers each row to the given consumer as soon as it is finished.
+	 * Working memory is O(width), independent of the height.
+	 * The maze is fully enclosed, there is no exit.
+	 * @param width of the maze, {@code 0 < width}
+	 * @param height of the maze, {@code 0 < height}
+	 * @param seed for the random number generator
+	 * @param consumer receives the rows, must not be null
+	 */
+	public void generateRows(int width, int height, int seed, RowConsumer consumer) {
+		random = new RandomStream(seed);
+		this.width = width;
+		this.height = height;
+		floorplan = null;
+		generateRows(consumer);
+	}
+
+	/**
+	 * Runs Eller's algorithm over all rows. Tears down wallboards in the floorplan
+	 * if there is one and delivers rows to the consumer if there is one.
+	 * @param consumer receives the rows, may be null
+	 */
+	private void generateRows(RowConsumer consumer) {
+		allocateWorkingMemory();
+		// first row: every cell is a set of its own
+		for (int x = 0; x < width; x++) {
+			sets[x] = x;
+			northOpen[x] = false;
+		}
+		for (int y = 0; y < height; y++) {
+			final boolean lastRow = (y == height-1);
+			joinHorizontally(y, lastRow);
+			if (lastRow) {
+				for (int x = 0; x < width; x++)
+					southOpen[x] = false;
+			}
+			else {
+				extendDownwards(y);
+			}
+			if (null != consumer) {
+				encodeRow();
+				consumer.acceptRow(y, row);
+			}
+			if (!lastRow) {
+				prepareNextRow();
+			}
+		}
+		releaseWorkingMemory();
+	}
+
+	/**
+	 * Step 1: joins adjacent cells of different sets, randomly or,
+	 * in the last row, always.
+	 * @param y is the current row
+	 * @param lastRow is true iff y is the last row
+	 */
+	private void joinHorizontally(int y, boolean lastRow) {
+		for (int x = 0; x < width-1; x++) {
+			eastOpen[x] = isOpen(x, y, CardinalDirection.East);
+			if (sets[x] == sets[x+1])
+				continue;
+			if (eastOpen[x]) {
+				// already connected, e.g. inside a room
+				mergeSets(sets[x], sets[x+1]);
+			}
+			else if ((lastRow || random.nextIntWithinInterval(0, 1) == 0) && canTearDown(x, y, CardinalDirection.East)) {
+				tearDown(x, y, CardinalDirection.East);
+				eastOpen[x] = true;
+				mergeSets(sets[x], sets[x+1]);
+			}
+		}
+		eastOpen[width-1] = false;
+	}
+
+	/**
+	 * Step 2: randomly extends each set downwards into row y+1, at least once per set.
+	 * @param y is the current row, {@code y < height-1}
+	 */
+	private void extendDownwards(int y) {
+		for (int s = 0; s < width; s++) {
+			setGoesDown[s] = false;
+			setSize[s] = 0;
+			downCandidate[s] = -1;
+		}
+		for (int x = 0; x < width; x++) {
+			final int s = sets[x];
+			anyCell[s] = x;
+			southOpen[x] = isOpen(x, y, CardinalDirection.South);
+			if (southOpen[x]) {
+				// already connected, e.g. inside a room
+				setGoesDown[s] = true;
+				continue;
+			}
+			if (!canTearDown(x, y, CardinalDirection.South))
+				continue;
+			if (random.nextIntWithinInterval(0, 1) == 0) {
+				tearDown(x, y, CardinalDirection.South);
+				southOpen[x] = true;
+				setGoesDown[s] = true;
+			}
+			else {
+				// reservoir sampling: each eligible cell of the set is equally likely the candidate
+				setSize[s]++;
+				if (random.nextIntWithinInterval(1, setSize[s]) == 1)
+					downCandidate[s] = x;
+			}
+		}
+		// every set needs at least one way down or it would be cut off from the rest of the maze
+		for (int x = 0; x < width; x++) {
+			final int s = sets[x];
+			if (setGoesDown[s])
+				continue;
+			int cell = downCandidate[s];
+			if (-1 == cell) {
+				// only border wallboards below this set, e.g. the bottom of a room without a door
+				LOGGER.fine("Tearing down border wallboard to extend set downwards in row " + y);
+				cell = anyCell[s];
+			}
+			tearDown(cell, y, CardinalDirection.South);
+			southOpen[cell] = true;
+			setGoesDown[s] = true;
+		}
+	}
+
+	/**
+	 * Step 3: cells of the next row inherit the set of the cell above if connected,
+	 * all other cells get an unused set label.
+	 */
+	private void prepareNextRow() {
+		for (int s = 0; s < width; s++)
+			labelInUse[s] = false;
+		for (int x = 0; x < width; x++) {
+			northOpen[x] = southOpen[x];
+			if (southOpen[x])
+				labelInUse[sets[x]] = true;
+		}
+		int freeLabel = 0;
+		for (int x = 0; x < width; x++) {
+			if (southOpen[x])
+				continue;
+			while (labelInUse[freeLabel])
+				freeLabel++;
+			sets[x] = freeLabel;
+			labelInUse[freeLabel] = true;
+		}
+	}
+
+	/**
+	 * Relabels all cells of the current row in set b as members of set a.
+	 * @param a label of the set that remains
+	 * @param b label of the set that is merged into a
+	 */
+	private void mergeSets(int a, int b) {
+		for (int x = 0; x < width; x++) {
+			if (sets[x] == b)
+				sets[x] = a;
+		}
+	}
+
+	/**
+	 * Encodes the wallboards of the current row with the floorplan bit constants.
+	 */
+	private void encodeRow() {
+		for (int x = 0; x < width; x++) {
+			int cell = 0;
+			if (!northOpen[x])
+				cell |= Floorplan.CW_TOP;
+			if (!southOpen[x])
+				cell |= Floorplan.CW_BOT;
+			if (x == 0 || !eastOpen[x-1])
+				cell |= Floorplan.CW_LEFT;
+			if (!eastOpen[x])
+				cell |= Floorplan.CW_RIGHT;
+			row[x] = cell;
+		}
+	}
+
+	/**
+	 * Tells if there is no wallboard between (x,y) and its neighbor in the given direction.
+	 * Without a floorplan, all wallboards are up initially.
+	 */
+	private boolean isOpen(int x, int y, CardinalDirection cd) {
+		return null != floorplan && floorplan.hasNoWall(y*width+x, cd);
+	}
+
+	/**
+	 * Tells if the wallboard between (x,y) and its neighbor in the given direction
+	 * is not part of a border.
+	 */
+	private boolean canTearDown(int x, int y, CardinalDirection cd) {
+		return null == floorplan || !floorplan.hasBorder(y*width+x, cd);
+	}
+
+	/**
+	 * Deletes the wallboard between (x,y) and its neighbor in the given direction
+	 * from the floorplan, if any.
+	 */
+	private void tearDown(int x, int y, CardinalDirection cd) {
+		if (null == floorplan)
+			return;
+		wallboard.setLocationDirection(x, y, cd);
+		floorplan.deleteWallboard(wallboard);
+	}
+
+	private void allocateWorkingMemory() {
+		sets = new int[width];
+		eastOpen = new boolean[width];
+		southOpen = new boolean[width];
+		northOpen = new boolean[width];
+		row = new int[width];
+		labelInUse = new boolean[width];
+		setGoesDown = new boolean[width];
+		setSize = new int[width];
+		downCandidate = new int[width];
+		anyCell = new int[width];
+		wallboard = new Wallboard(0, 0, CardinalDirection.East);
+	}
+
+	private void releaseWorkingMemory() {
+		sets = null;
+		eastOpen = null;
+		southOpen = null;
+		northOpen = null;
+		row = null;
+		labelInUse = null;
+		setGoesDown = null;
+		setSize = null;
+		downCandidate = null;
+		anyCell = null;
+	}
+}
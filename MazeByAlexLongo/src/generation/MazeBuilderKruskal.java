@@ -0,0 +1,140 @@
+package generation;
+
+import java.util.logging.Logger;
+
+
+/**
+ * This class has the responsibility to create a maze of given dimensions (width, height)
+ * together with a solution based on a distance matrix.
+ * The MazeBuilder implements Runnable such that it can be run a separate thread.
+ * The MazeFactory has a MazeBuilder and handles the thread management.
+ *
+ * The maze is built with a randomized version of Kruskal's algorithm.
+ * All internal wallboards are considered exactly once in random order
+ * and a wallboard is torn down if the cells on either side of it
+ * are not connected yet. Connectivity is tracked with a {@link DisjointSet}
+ * over cell indices, so the algorithm runs in practically linear time.
+ *
+ * Wallboards are encoded as primitive integers {@code (y*width+x) << 1 | dir}
+ * where dir is 0 for the wallboard on the east side of cell (x,y) and 1 for the
+ * wallboard on its south side. Every internal wallboard has exactly one such encoding.
+ * Algorithm leaves wallboards in tact that carry the border flag.
+ *
+ * @author Alex Longo
+ */
+public class MazeBuilderKruskal extends MazeBuilder implements Runnable {
+	/**
+	 * The logger is used to track execution and report issues.
+	 */
+	private static final Logger LOGGER = Logger.getLogger(MazeBuilderKruskal.class.getName());
+
+	// direction bit of an encoded wallboard
+	private static final int EAST = 0;
+	private static final int SOUTH = 1;
+
+	public MazeBuilderKruskal() {
+		super();
+		LOGGER.config("Using Kruskal's algorithm to generate maze.");
+	}
+
+	/**
+	 * This method generates pathways into the maze by using Kruskal's algorithm to generate a spanning tree for an undirected graph.
+	 * The cells are the nodes of the graph and the spanning tree. An edge represents that one can move from one cell to an adjacent cell.
+	 * So an edge implies that its nodes are adjacent cells in the maze and that there is no wallboard separating these cells in the maze.
+	 */
+	@Override
+	protected void generatePathways() {
+		final DisjointSet trees = new DisjointSet(width*height);
+		// cells inside a room have no wallboards between them, they are connected already
+		connectOpenCells(trees);
+		// all wallboards that could be torn down, in random order
+		final int[] candidates = collectCandidates();
+		shuffle(candidates);
+		// Kruskal: tear down a wallboard iff it connects two different trees
+		// the random order of candidates replaces the sorting by weight
+		final Wallboard wallboard = new Wallboard(0, 0, CardinalDirection.East); // reused for each candidate
+		tearDownWallboards(candidates, trees, wallboard, false);
+		// rooms keep their borders but for the doors, if a room or area could not be
+		// reached through a door, allow tearing down border wallboards of rooms as a last resort
+		if (trees.getCount() > 1) {
+			LOGGER.fine("Maze not connected through doors, tearing down room borders");
+			tearDownWallboards(candidates, trees, wallboard, true);
+		}
+	}
+
+	/**
+	 * Merges adjacent cells that are not separated by a wallboard into the same tree.
+	 * @param trees keeps track of connected cells, must not be null
+	 */
+	private void connectOpenCells(final DisjointSet trees) {
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				final int cell = y*width+x;
+				if (x < width-1 && floorplan.hasNoWall(cell, CardinalDirection.East))
+					trees.union(cell, cell+1);
+				if (y < height-1 && floorplan.hasNoWall(cell, CardinalDirection.South))
+					trees.union(cell, cell+width);
+			}
+		}
+	}
+
+	/**
+	 * Collects the encoding of all internal wallboards that are up.
+	 * Wallboards on the outside border of the maze are not included.
+	 * @return array of encoded wallboards, exactly filled
+	 */
+	private int[] collectCandidates() {
+		final int[] result = new int[2*width*height];
+		int n = 0;
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				final int cell = y*width+x;
+				if (x < width-1 && floorplan.hasWall(cell, CardinalDirection.East))
+					result[n++] = (cell << 1) | EAST;
+				if (y < height-1 && floorplan.hasWall(cell, CardinalDirection.South))
+					result[n++] = (cell << 1) | SOUTH;
+			}
+		}
+		final int[] trimmed = new int[n];
+		System.arraycopy(result, 0, trimmed, 0, n);
+		return trimmed;
+	}
+
+	/**
+	 * Permutes the given array in place with a Fisher-Yates shuffle.
+	 * @param candidates is the array to shuffle, must not be null
+	 */
+	private void shuffle(final int[] candidates) {
+		for (int i = candidates.length-1; i > 0; i--) {
+			final int j = random.nextIntWithinInterval(0, i);
+			final int tmp = candidates[i];
+			candidates[i] = candidates[j];
+			candidates[j] = tmp;
+		}
+	}
+
+	/**
+	 * Goes through the candidates in the given order and tears down each wallboard
+	 * that separates two cells that are not connected yet.
+	 * @param candidates encoded wallboards
+	 * @param trees keeps track of connected cells, must not be null
+	 * @param wallboard is reused to communicate with the floorplan
+	 * @param tearDownBorders if true, also wallboards that are part of a border are torn down
+	 */
+	private void tearDownWallboards(final int[] candidates, final DisjointSet trees,
+			final Wallboard wallboard, boolean tearDownBorders) {
+		for (int i = 0; i < candidates.length && trees.getCount() > 1; i++) {
+			final int cell = candidates[i] >> 1;
+			final boolean south = (candidates[i] & 1) == SOUTH;
+			final int neighbor = south ? cell+width : cell+1;
+			if (trees.find(cell) == trees.find(neighbor))
+				continue;
+			final CardinalDirection cd = south ? CardinalDirection.South : CardinalDirection.East;
+			if (!tearDownBorders && floorplan.hasBorder(cell, cd))
+				continue;
+			wallboard.setLocationDirection(cell % width, cell / width, cd);
+			floorplan.deleteWallboard(wallboard);
+			trees.union(cell, neighbor);
+		}
+	}
+}
@@ -44,6 +44,8 @@ public class MazeContainer implements Maze {
 	// and is also the exit position in mazedists
 	
 	private BSPNode rootnode ; // a binary tree type search data structure to quickly locate a subset of segments
+	private CompiledBSPTree compiledTree ; // array based copy of the tree for drawing, compiled on first request
+	private ObstacleDistances obstacleDistances ; // distances to wallboards for sensors, computed on first request
 	// a segment is a continuous sequence of wallboards in vertical or horizontal direction
 	// a subset of segments need to be quickly identified for drawing
 	// the BSP tree partitions the set of all segments and provides a binary search tree for the partitions
@@ -141,6 +143,7 @@ public class MazeContainer implements Maze {
 	 */
 	public void setFloorplan(Floorplan floorplan) {
 		this.floorplan = floorplan;
+		this.obstacleDistances = null;
 	}
 
 	/**
@@ -165,7 +168,7 @@ public class MazeContainer implements Maze {
 	/**
 	 * Gives the rootnode for the tree of BSPnodes.
 	 * Warning, returns direct access to internal field.
-	 * @return the rootnode
+	 * @return the rootnode, null if the maze was produced without a tree
 	 */
 	public BSPNode getRootnode() {
 		assert(isOperational()) : 
@@ -179,6 +182,32 @@ public class MazeContainer implements Maze {
 	 */
 	public void setRootnode(BSPNode rootnode) {
 		this.rootnode = rootnode;
+		this.compiledTree = null;
+	}
+
+	/**
+	 * Gives the tree of BSPnodes in its compiled, array based form.
+	 * The tree is compiled on the first call and kept for later calls.
+	 * @return the compiled tree, null if the maze was produced without a tree
+	 */
+	public CompiledBSPTree getCompiledTree() {
+		assert(isOperational()) : 
+			"accessing content before object is fully initialized!";
+		if (null == compiledTree && null != rootnode)
+			compiledTree = CompiledBSPTree.compile(rootnode);
+		return compiledTree;
+	}
+	/**
+	 * Gives the distances from each cell to the nearest wallboard in each direction.
+	 * The distances are computed on the first call and kept for later calls.
+	 * @return the distances for the current floorplan
+	 */
+	public ObstacleDistances getObstacleDistances() {
+		assert(isOperational()) : 
+			"accessing content before object is fully initialized!";
+		if (null == obstacleDistances)
+			obstacleDistances = new ObstacleDistances(floorplan);
+		return obstacleDistances;
 	}
 	/**
 	 * Tells if the given position is inside a room.
@@ -348,8 +377,9 @@ public class MazeContainer implements Maze {
 		if (!(Constants.SKILL_Y[0] <= height && height <= Constants.SKILL_Y[last])) {
 			return false;
 		}
-		// check existence of cells, distances, bsp tree and starting position
-		if (null == floorplan || null == mazedists || null == rootnode || null == start)
+		// check existence of cells, distances and starting position,
+		// the bsp tree is optional as only the FirstPersonView needs it
+		if (null == floorplan || null == mazedists || null == start)
 			return false;
 		// the starting position must be 
 		fullyInitialized = true;
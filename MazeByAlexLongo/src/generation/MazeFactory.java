@@ -44,23 +44,12 @@ public class MazeFactory implements Factory {
 		// idle, so accept order
 		currentOrder = order;
 		// set builder according to order
-		switch (order.getBuilder()) {
-		case DFS :
-			builder = new MazeBuilder();
-			buildOrder();
-			break;
-		case Prim:
-			builder = new MazeBuilderPrim();
-			buildOrder();
-			break;
-		case Boruvka:
-			builder = new MazeBuilderBorukva();
-			buildOrder();
-			break;
-		default:
+		builder = createBuilder(order.getBuilder());
+		if (null == builder) {
 			LOGGER.severe("Missing implementation for requested algorithm: " + order.getBuilder());
 			return false;
 		}
+		buildOrder();
 		return true ;
 	}
 	@Override
@@ -92,6 +81,48 @@ public class MazeFactory implements Factory {
 		builder = null;
 		currentOrder = null;
 	}
+	/**
+	 * Builds the ordered maze on the calling thread and delivers it to the order
+	 * before returning. This is meant for callers that operate threads of their own,
+	 * e.g. a thread pool that works on many orders, and would otherwise block
+	 * one of their threads while a factory thread does the work.
+	 * If the calling thread is interrupted, the builder stops without delivery.
+	 * @param order specifies what kind of maze is wanted and receives the result
+	 * @return true if the builder ran, false if the algorithm is not supported
+	 */
+	public static boolean build(Order order) {
+		MazeBuilder builder = createBuilder(order.getBuilder());
+		if (null == builder) {
+			LOGGER.severe("Missing implementation for requested algorithm: " + order.getBuilder());
+			return false;
+		}
+		builder.buildOrder(order);
+		builder.run();
+		return true;
+	}
+	/**
+	 * Instantiates a new builder for the given algorithm.
+	 * Each builder keeps the state of a single maze generation,
+	 * so a builder must not be shared between orders that run at the same time.
+	 * @param algorithm is the requested builder algorithm
+	 * @return a new builder, null if the algorithm is not supported
+	 */
+	static MazeBuilder createBuilder(Order.Builder algorithm) {
+		switch (algorithm) {
+		case DFS :
+			return new MazeBuilder();
+		case Prim:
+			return new MazeBuilderPrim();
+		case Kruskal:
+			return new MazeBuilderKruskal();
+		case Eller:
+			return new MazeBuilderEller();
+		case Boruvka:
+			return new MazeBuilderBorukva();
+		default:
+			return null;
+		}
+	}
 	///////////////////////// private methods ///////////////////////////////////
 	/**
 	 * Provide the builder with necessary input and start its execution
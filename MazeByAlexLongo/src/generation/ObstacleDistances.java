@@ -0,0 +1,126 @@
+package generation;
+
+/**
+ * This class provides for each cell of a maze the number of steps
+ * one can move in a straight line in each cardinal direction
+ * before hitting a wallboard. This is what a distance sensor measures,
+ * so a sensor can answer with a single lookup instead of walking
+ * the maze cell by cell.
+ *
+ * The distances are stored in four arrays, one per direction,
+ * in row-major order like the cells of a {@link Floorplan}:
+ * position (x,y) is at index {@code y*width+x}.
+ * A cell that has a wallboard in a direction has distance 0 for it.
+ * A line of sight that leaves the maze through the exit does not
+ * hit any wallboard, its distance is {@code Integer.MAX_VALUE}.
+ *
+ * The distances are computed from the floorplan when an instance
+ * is created and do not follow later changes of the floorplan.
+ * Instances are immutable and can be shared between threads.
+ *
+ * @author Alex Longo
+ */
+public class ObstacleDistances {
+	/**
+	 * The width of the distance arrays, same as width of maze and floorplan
+	 */
+	private final int width;
+	/**
+	 * The height of the distance arrays, same as height of maze and floorplan
+	 */
+	private final int height;
+	/**
+	 * Distances to the nearest wallboard for each direction,
+	 * indexed by {@code y*width+x}.
+	 */
+	private final int[] north;
+	private final int[] east;
+	private final int[] south;
+	private final int[] west;
+
+	/**
+	 * Constructor, computes the distances for the given floorplan.
+	 * One pass from the top left corner gives the distances towards north and west,
+	 * one pass from the bottom right corner gives the distances towards south and east.
+	 * Each cell extends the distance of its neighbor if there is no wallboard in between.
+	 * @param floorplan gives the wallboards, must not be null
+	 */
+	public ObstacleDistances(Floorplan floorplan) {
+		width = floorplan.getWidth();
+		height = floorplan.getHeight();
+		final int size = width*height;
+		north = new int[size];
+		east = new int[size];
+		south = new int[size];
+		west = new int[size];
+		// towards north and west, neighbors have smaller indices
+		for (int y = 0, index = 0; y < height; y++) {
+			for (int x = 0; x < width; x++, index++) {
+				north[index] = floorplan.hasWall(index, CardinalDirection.North) ? 0 :
+					extend((0 == y) ? Integer.MAX_VALUE : north[index-width]);
+				west[index] = floorplan.hasWall(index, CardinalDirection.West) ? 0 :
+					extend((0 == x) ? Integer.MAX_VALUE : west[index-1]);
+			}
+		}
+		// towards south and east, neighbors have larger indices
+		for (int y = height-1, index = size-1; y >= 0; y--) {
+			for (int x = width-1; x >= 0; x--, index--) {
+				south[index] = floorplan.hasWall(index, CardinalDirection.South) ? 0 :
+					extend((height-1 == y) ? Integer.MAX_VALUE : south[index+width]);
+				east[index] = floorplan.hasWall(index, CardinalDirection.East) ? 0 :
+					extend((width-1 == x) ? Integer.MAX_VALUE : east[index+1]);
+			}
+		}
+	}
+
+	/**
+	 * Gives the distance of a cell whose neighbor has the given distance
+	 * and no wallboard in between.
+	 * @param neighborDistance distance of the neighbor, {@code Integer.MAX_VALUE} if there is none
+	 * @return the distance for the cell
+	 */
+	private static int extend(int neighborDistance) {
+		return (Integer.MAX_VALUE == neighborDistance) ? Integer.MAX_VALUE : neighborDistance + 1;
+	}
+
+	/**
+	 * Gives the number of steps from (x,y) in the given direction
+	 * until a wallboard blocks the way.
+	 * @param x is on the horizontal axis, {@code 0 <= x < width}
+	 * @param y is on the vertical axis, {@code 0 <= y < height}
+	 * @param dir is the direction in terms of North, East, South, West
+	 * @return number of steps, 0 if there is a wallboard at (x,y) in the given direction,
+	 * {@code Integer.MAX_VALUE} if the line of sight leaves the maze through the exit
+	 */
+	public int getDistance(int x, int y, CardinalDirection dir) {
+		final int index = y*width+x;
+		switch (dir) {
+		case North:
+			return north[index];
+		case East:
+			return east[index];
+		case South:
+			return south[index];
+		case West:
+			return west[index];
+		default:
+			throw new IllegalArgumentException("Unknown direction: " + dir);
+		}
+	}
+
+	/**
+	 * Gets the width of the distance arrays.
+	 * @return the number of cells in a row
+	 */
+	public int getWidth() {
+		return width;
+	}
+
+	/**
+	 * Gets the height of the distance arrays.
+	 * @return the number of rows
+	 */
+	public int getHeight() {
+		return height;
+	}
+}
@@ -58,4 +58,27 @@ public interface Order {
 	 * @param percentage of job completion
 	 */
 	void updateProgress(int percentage) ;
+	/**
+	 * Tells if the maze is produced without a user interface 
+	 * waiting for it, e.g. in a batch run or on a server.
+	 * In headless mode, the factory does not pause between stages 
+	 * to give a user interface a chance to react, it only
+	 * checks if the order has been canceled. So the time to delivery
+	 * is bounded by the computation itself.
+	 * @return true for headless production, false by default
+	 */
+	default boolean isHeadless() {
+		return false;
+	}
+	/**
+	 * Tells if the maze needs a tree of BSP nodes.
+	 * The tree is only used to draw the first person view with the 
+	 * FirstPersonView, other views work with the floorplan alone.
+	 * Computing the tree takes most of the time of the maze production,
+	 * so the factory skips it if it is not required.
+	 * @return true if the maze is delivered with a tree of BSP nodes, true by default
+	 */
+	default boolean isBSPTreeRequired() {
+		return true;
+	}
 }
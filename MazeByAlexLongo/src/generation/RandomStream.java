@@ -0,0 +1,62 @@
+package generation;
+
+import java.util.SplittableRandom;
+
+/**
+ * This class provides a stream of pseudo random numbers for a single maze generation.
+ * Each order gets a stream of its own that is derived from the seed of the order,
+ * so the same seed always yields the same sequence of random numbers, no matter
+ * how many other orders are processed at the same time.
+ * 
+ * Streams are based on {@link SplittableRandom}. An instance is not thread safe
+ * and should be used by a single thread. A computation that needs to hand out random
+ * numbers to other threads can derive independent streams with {@link #split()}.
+ * 
+ * The methods match those of {@link SingleRandom} such that builders 
+ * can use either.
+ *
+ * @author Alex Longo
+ */
+public final class RandomStream {
+	/** internal random number generator, not shared with any other stream */
+	private final SplittableRandom generator;
+
+	/**
+	 * Constructor for a stream that is fully determined by the given seed.
+	 * @param seed is the seed value for the random number generator
+	 */
+	public RandomStream(long seed) {
+		this(new SplittableRandom(seed));
+	}
+
+	private RandomStream(SplittableRandom generator) {
+		this.generator = generator;
+	}
+
+	/**
+	 * Delivers a random number.
+	 * @return random integer value
+	 */
+	public int nextInt() {
+		return generator.nextInt();
+	}
+	/**
+	 * Generate an integer random number in interval [lowerBound,upperBound] 
+	 * @param lowerBound for the interval of values (inclusive) 
+	 * @param upperBound for the interval of values (inclusive, WARNING: unusual)
+	 * @return random number within given range
+	 */
+	public int nextIntWithinInterval(final int lowerBound, final int upperBound) {
+		assert(lowerBound <= upperBound) : "parameter error, lowerbound " + lowerBound + "> upper bound" + upperBound ;
+		return lowerBound + generator.nextInt(upperBound - lowerBound + 1) ;
+	}
+	/**
+	 * Derives a new stream that is independent of this one.
+	 * The new stream is determined by the state of this stream,
+	 * so a sequence of splits is reproducible as well.
+	 * @return a new stream of random numbers
+	 */
+	public RandomStream split() {
+		return new RandomStream(generator.split());
+	}
+}
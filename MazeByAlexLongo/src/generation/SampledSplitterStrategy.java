@@ -0,0 +1,47 @@
+package generation;
+
+/**
+ * Picks the splitter with the original selection of the BSP builder.
+ * It considers up to 50 candidates spread across the list of walls
+ * and takes the one with the lowest grade according to {@link WallTable#calculateGrade(int, int[])},
+ * which in turn samples up to about 50 walls. So the effort per node is nearly constant.
+ *
+ * This is the reference for {@link GradedSplitterStrategy}, which picks the same walls.
+ *
+ * @author Alex Longo
+ */
+public class SampledSplitterStrategy implements SplitterStrategy {
+	/**
+	 * Constant, only used to determine the distance between candidates.
+	 */
+	static final int MAX_TRIES = 50;
+
+	/**
+	 * It finds the wall which has the minimum grade value.
+	 * Progress is reported for each candidate.
+	 */
+	@Override
+	public int findSplitter(WallTable walls, int[] rows, Progress progress) throws InterruptedException {
+		int result = -1 ;
+		int bestgrade = 5000; // used to compute the minimum of all observed grade values, set to some high initial value
+		// consider a subset of walls proportional to the number of tries, here 50, seems to randomize the access a bit
+		int skip = (rows.length / MAX_TRIES);
+		if (skip == 0)
+			skip = 1;
+		assert 0 < skip : "Increment for loop must be positive";
+		for (int i = 0; i < rows.length; i += skip) {
+			final int row = rows[i];
+			// skip walls where the partition flag was set
+			if (walls.isPartition(row))
+				continue;
+			progress.candidatesConsidered(1);
+			// check grade and keep track of minimum
+			int grade = walls.calculateGrade(row, rows);
+			if (grade < bestgrade) {
+				bestgrade = grade;
+				result = row; // determine wall with smallest grade
+			}
+		}
+		return result;
+	}
+}
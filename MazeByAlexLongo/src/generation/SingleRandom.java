@@ -72,6 +72,16 @@ public final class SingleRandom {
 		return lowerBound + generator.nextInt(upperBound - lowerBound + 1) ;
 	}
 
+	/**
+	 * Derives a stream of random numbers that is independent of this generator
+	 * once it is created. The stream is determined by the state of this generator,
+	 * so it is reproducible if a seed is set.
+	 * @return a new stream of random numbers
+	 */
+	public RandomStream split() {
+		return new RandomStream(generator.nextLong());
+	}
+
 	/**
 	 * Prepares the generator to start with a particular seed value.
 	 * @param seed is the seed value for the random number generator
@@ -0,0 +1,45 @@
+package generation;
+
+/**
+ * A splitter strategy picks the wall that partitions a node of the BSP tree
+ * into a left and a right subtree, see {@link BSPBuilder}.
+ * The choice determines size and balance of the resulting tree
+ * and most of the time it takes to build it.
+ * 
+ * Available strategies:
+ * {@link SampledSplitterStrategy} is the original selection with {@link WallTable#calculateGrade(int, int[])},
+ * {@link GradedSplitterStrategy} computes the same grades on primitive arrays, 
+ * optionally against all walls and in parallel,
+ * {@link AxisAlignedSplitterStrategy} counts walls on either side of each candidate 
+ * with sorted coordinates, as all walls are horizontal or vertical.
+ *
+ * @author Alex Longo
+ */
+public interface SplitterStrategy {
+	/**
+	 * Receives the number of candidates a strategy considered such that
+	 * the BSP builder can estimate its progress and recognize interrupts.
+	 */
+	@FunctionalInterface
+	interface Progress {
+		/**
+		 * Reports that the given number of candidates has been considered.
+		 * @param candidates is the number of candidates, {@code 0 <= candidates}
+		 * @throws InterruptedException if the executing thread is interrupted
+		 */
+		void candidatesConsidered(int candidates) throws InterruptedException;
+	}
+
+	/**
+	 * Picks the wall to partition all given walls.
+	 * Only walls whose partition flag is not set are candidates.
+	 * The given table and rows remain unchanged.
+	 * Implementations must be safe to use for different tables from several threads at the same time.
+	 * @param walls is the table with the walls of the current node
+	 * @param rows are the indices of the walls of the current node
+	 * @param progress receives the number of candidates considered
+	 * @return index of the splitter, -1 if no candidate is found
+	 * @throws InterruptedException if the executing thread is interrupted
+	 */
+	int findSplitter(WallTable walls, int[] rows, Progress progress) throws InterruptedException;
+}
@@ -126,6 +126,22 @@ public class Wall {
         // all fields initialized
     }
 
+    /**
+     * Constructor for a wall with all attributes given,
+     * used by {@link WallTable#toWall(int)} to turn a row into a wall.
+     */
+    Wall(final int startX, final int startY, final int extensionX, final int extensionY,
+            final int distance, final int color, final boolean partition, final boolean seen) {
+        x = startX;
+        y = startY;
+        dx = extensionX;
+        dy = extensionY;
+        dist = distance;
+        col = color;
+        this.partition = partition;
+        this.seen = seen;
+    }
+
     /**
      * @param pdx
      *            direction and length of wall in x coordinate
@@ -0,0 +1,374 @@
+package generation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Logger;
+
+import gui.ColorTheme;
+
+/**
+ * A table of walls that keeps the attributes of all walls in primitive column arrays,
+ * one row per wall, instead of one {@link Wall} object per wall.
+ * Rows are identified by their index and are only ever appended, so an index
+ * stays valid for the lifetime of the table.
+ *
+ * The BSP construction splits walls over and over again. With a table, a split
+ * appends two rows for the parts rather than allocating two wall objects,
+ * and lists of walls are arrays of row indices.
+ * Wall objects are only created on request with {@link #toWall(int)},
+ * e.g. to store a maze in a file.
+ *
+ * Attributes and operations are the same as for {@link Wall}, see there for details.
+ * A table is not thread safe, the BSP builder hands a copy of the relevant rows
+ * to each subtree that it computes in a task of its own, see {@link #copy(int[])}.
+ *
+ * @author Alex Longo
+ */
+public final class WallTable {
+	/**
+	 * The logger is used to track execution and report issues.
+	 */
+	private static final Logger LOGGER = Logger.getLogger(WallTable.class.getName());
+
+	// bits in the flags column
+	private static final byte PARTITION = 1;
+	private static final byte SEEN = 2;
+
+	private int size;
+	private int[] startX;
+	private int[] startY;
+	private int[] extensionX;
+	private int[] extensionY;
+	private int[] distance;
+	private int[] color;
+	private byte[] flags;
+
+	/**
+	 * Constructor for an empty table.
+	 * @param capacity is the number of rows to allocate storage for, the table grows as needed
+	 */
+	public WallTable(int capacity) {
+		capacity = Math.max(capacity, 16);
+		startX = new int[capacity];
+		startY = new int[capacity];
+		extensionX = new int[capacity];
+		extensionY = new int[capacity];
+		distance = new int[capacity];
+		color = new int[capacity];
+		flags = new byte[capacity];
+	}
+
+	/**
+	 * @return the number of rows
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Appends a row for a new wall, same as the {@link Wall} constructor.
+	 * @param x x coordinate of starting position of wall
+	 * @param y y coordinate of starting position of wall
+	 * @param dx direction and length of wall in x coordinate
+	 * @param dy direction and length of wall in y coordinate
+	 * @param dist of starting position of this wall to exit position of maze
+	 * @param cc used to decide which color is assigned to wall
+	 * @return the index of the new row
+	 */
+	public int add(int x, int y, int dx, int dy, int dist, int cc) {
+		assert (dx != 0 && dy == 0) || (dx == 0 && dy != 0)
+			: "Wall needs to extend into exactly one direction";
+		return append(x, y, dx, dy, dist, ColorTheme.getWallColor(dist, cc, dx), (byte) 0);
+	}
+
+	/**
+	 * Appends a row with all attributes of the given wall.
+	 * @param wall is the wall to copy
+	 * @return the index of the new row
+	 */
+	public int add(Wall wall) {
+		return append(wall.getStartPositionX(), wall.getStartPositionY(), wall.getExtensionX(), wall.getExtensionY(),
+				wall.getDistance(), wall.getColor(), flags(wall.isPartition(), wall.isSeen()));
+	}
+
+	/**
+	 * Appends a copy of a row of the given table.
+	 * @param table is the table to copy from, may be this table
+	 * @param row is the index of the row to copy
+	 * @return the index of the new row
+	 */
+	public int add(WallTable table, int row) {
+		return append(table.startX[row], table.startY[row], table.extensionX[row], table.extensionY[row],
+				table.distance[row], table.color[row], table.flags[row]);
+	}
+
+	private int append(int x, int y, int dx, int dy, int dist, int col, byte flag) {
+		if (size == startX.length)
+			grow();
+		startX[size] = x;
+		startY[size] = y;
+		extensionX[size] = dx;
+		extensionY[size] = dy;
+		distance[size] = dist;
+		color[size] = col;
+		flags[size] = flag;
+		return size++;
+	}
+
+	private void grow() {
+		final int capacity = 2 * startX.length;
+		startX = Arrays.copyOf(startX, capacity);
+		startY = Arrays.copyOf(startY, capacity);
+		extensionX = Arrays.copyOf(extensionX, capacity);
+		extensionY = Arrays.copyOf(extensionY, capacity);
+		distance = Arrays.copyOf(distance, capacity);
+		color = Arrays.copyOf(color, capacity);
+		flags = Arrays.copyOf(flags, capacity);
+	}
+
+	private static byte flags(boolean partition, boolean seen) {
+		return (byte) ((partition ? PARTITION : 0) | (seen ? SEEN : 0));
+	}
+
+	/**
+	 * Creates a new table with a copy of the given rows.
+	 * The row at position i in the given array becomes row i of the new table.
+	 * @param rows are the indices of the rows to copy
+	 * @return the new table
+	 */
+	public WallTable copy(int[] rows) {
+		final WallTable result = new WallTable(2 * rows.length);
+		for (int row : rows) {
+			result.add(this, row);
+		}
+		return result;
+	}
+
+	/**
+	 * Creates a wall object with all attributes of the given row.
+	 * The object is a copy, later changes to either one do not affect the other.
+	 * @param row is the index of the row
+	 * @return a new wall
+	 */
+	public Wall toWall(int row) {
+		return new Wall(startX[row], startY[row], extensionX[row], extensionY[row],
+				distance[row], color[row], isPartition(row), isSeen(row));
+	}
+
+	/**
+	 * Creates wall objects for the given rows.
+	 * @param rows are indices of rows
+	 * @return a new list of new walls, in the order of the given rows
+	 */
+	public List<Wall> toWalls(int[] rows) {
+		final List<Wall> result = new ArrayList<>(rows.length);
+		for (int row : rows) {
+			result.add(toWall(row));
+		}
+		return result;
+	}
+
+	////////////////////////// attributes of a row ////////////////////////////
+	public int getStartPositionX(int row) {
+		return startX[row];
+	}
+	public int getStartPositionY(int row) {
+		return startY[row];
+	}
+	public int getExtensionX(int row) {
+		return extensionX[row];
+	}
+	public int getExtensionY(int row) {
+		return extensionY[row];
+	}
+	public int getEndPositionX(int row) {
+		return startX[row] + extensionX[row];
+	}
+	public int getEndPositionY(int row) {
+		return startY[row] + extensionY[row];
+	}
+	/**
+	 * @param row is the index of the row
+	 * @return length of wall, {@code value >= 0}
+	 */
+	public int getLength(int row) {
+		return Math.abs(extensionX[row] + extensionY[row]);
+	}
+	public int getDistance(int row) {
+		return distance[row];
+	}
+	public int getColor(int row) {
+		return color[row];
+	}
+	public boolean isPartition(int row) {
+		return (flags[row] & PARTITION) != 0;
+	}
+	public void setPartition(int row, boolean partition) {
+		flags[row] = (byte) (partition ? (flags[row] | PARTITION) : (flags[row] & ~PARTITION));
+	}
+	public boolean isSeen(int row) {
+		return (flags[row] & SEEN) != 0;
+	}
+	public void setSeen(int row, boolean seen) {
+		flags[row] = (byte) (seen ? (flags[row] | SEEN) : (flags[row] & ~SEEN));
+	}
+	/**
+	 * Computes the direction of the wall in the given row, same as for {@link Wall}.
+	 * @param row is the index of the row
+	 * @return calculated direction as one of {-2,-1,1,2}
+	 */
+	int getDir(int row) {
+		if (extensionX[row] != 0) {
+			return (extensionX[row] < 0) ? 1 : -1;
+		}
+		return (extensionY[row] < 0) ? 2 : -2;
+	}
+
+	////////////////////////// operations for the BSP builder ////////////////////////////
+	/**
+	 * Sets partition bit to true for cases where the wall touches the border
+	 * of the maze and has an extension of 0, see {@link Wall#updatePartitionIfBorderCase(int, int)}.
+	 * @param row is the index of the row
+	 * @param width width of maze * Constants.MAP_UNIT
+	 * @param height height of maze * Constants.MAP_UNIT
+	 */
+	public void updatePartitionIfBorderCase(int row, int width, int height) {
+		final int x = startX[row];
+		final int y = startY[row];
+		if (((x == 0 || x == width) && extensionX[row] == 0)
+				|| ((y == 0 || y == height) && extensionY[row] == 0)) {
+			setPartition(row, true);
+		}
+	}
+
+	/**
+	 * Computes the grade of the wall in row splitter as a candidate to partition the given walls,
+	 * same as {@link Wall#calculateGrade(List)}.
+	 * @param splitter is the index of the candidate row
+	 * @param rows are the indices of the walls to partition
+	 * @return the grade, lower is better
+	 */
+	public int calculateGrade(int splitter, int[] rows) {
+		final int inc = (rows.length >= 100) ? rows.length / 50 : 1 ; // increment for iteration below
+		int lcount = 0;
+		int rcount = 0;
+		int splits = 0;
+		for (int i = 0; i < rows.length; i += inc) {
+			final int row = rows[i];
+			int dotStart = calculateDot(splitter, startX[row], startY[row]);
+			final int dotEnd = calculateDot(splitter, getEndPositionX(row), getEndPositionY(row));
+			if (Wall.getSign(dotStart) != Wall.getSign(dotEnd)) {
+				if (dotStart == 0)
+					dotStart = dotEnd;
+				else if (dotEnd != 0) {
+					splits++;
+					continue;
+				}
+			}
+			if (dotStart > 0 || (dotStart == 0 && getDir(splitter) == getDir(row))) {
+				rcount++;
+			} else if (dotStart < 0 || (dotStart == 0 && getDir(splitter) == -getDir(row))) {
+				lcount++;
+			} else {
+				LOGGER.fine("grade_partition problem: dot1 = "+dotStart+", dot2 = "+dotEnd);
+			}
+		}
+		return Math.abs(lcount-rcount) + splits * 3;
+	}
+
+	/**
+	 * Dot product of the given position relative to the start of the splitter
+	 * with the normal of the splitter.
+	 */
+	private int calculateDot(int splitter, int px, int py) {
+		return (px - startX[splitter]) * extensionY[splitter] - (py - startY[splitter]) * extensionX[splitter];
+	}
+
+	/**
+	 * Partitions the given walls into left and right walls with the wall in row splitter
+	 * as the splitter, same as {@link Wall#splitWalls(List, List, List, int)}.
+	 * Walls that cross the splitter are split into two parts, each part is appended as a new row.
+	 * @param splitter is the index of the splitter row
+	 * @param rows are the indices of the walls to partition
+	 * @param colchange is a color attribute for the parts of split walls
+	 * @return two arrays of row indices, the walls on the left side and the walls on the right side
+	 */
+	public int[][] splitWalls(int splitter, int[] rows, int colchange) {
+		int[] left = new int[rows.length];
+		int[] right = new int[rows.length];
+		int nLeft = 0;
+		int nRight = 0;
+		for (int row : rows) {
+			int dotStart = calculateDot(splitter, startX[row], startY[row]);
+			final int dotEnd = calculateDot(splitter, getEndPositionX(row), getEndPositionY(row));
+			// Case 1: wall intersects with splitter wall, split it into two walls
+			if (Wall.getSign(dotStart) != Wall.getSign(dotEnd)) {
+				if (dotStart == 0)
+					dotStart = dotEnd; // reduces cases for case 2, 3 below to checking dotStart
+				else if (dotEnd != 0) {
+					final int first = splitWall(row, splitter, colchange);
+					// both lists may need room for one more wall than there are rows
+					if (nLeft == left.length)
+						left = Arrays.copyOf(left, 2 * nLeft);
+					if (nRight == right.length)
+						right = Arrays.copyOf(right, 2 * nRight);
+					if (dotStart > 0) {
+						right[nRight++] = first;
+						left[nLeft++] = first + 1;
+					} else {
+						right[nRight++] = first + 1;
+						left[nLeft++] = first;
+					}
+					continue;
+				}
+			}
+			// Case 2 and 3: add the wall to the right or left list
+			if (dotStart > 0 || (dotStart == 0 && getDir(splitter) == getDir(row))) {
+				if (nRight == right.length)
+					right = Arrays.copyOf(right, 2 * nRight);
+				right[nRight++] = row;
+				if (dotStart == 0)
+					setPartition(row, true);
+			} else if (dotStart < 0 || (dotStart == 0 && getDir(splitter) == -getDir(row))) {
+				if (nLeft == left.length)
+					left = Arrays.copyOf(left, 2 * nLeft);
+				left[nLeft++] = row;
+				if (dotStart == 0)
+					setPartition(row, true);
+			} else {
+				LOGGER.fine("error xx 1 "+dotStart);
+			}
+		}
+		return new int[][] { Arrays.copyOf(left, nLeft), Arrays.copyOf(right, nRight) };
+	}
+
+	/**
+	 * Splits the wall in the given row where it crosses the splitter and
+	 * appends the two parts as new rows, same as for {@link Wall}.
+	 * The first part starts at the original position, the second part ends at the original end.
+	 * @param row is the index of the wall to split
+	 * @param splitter is the index of the splitter row
+	 * @param colchange is a color attribute
+	 * @return the index of the first part, the second part follows right after it
+	 */
+	private int splitWall(int row, int splitter, int colchange) {
+		// if the splitter is vertical, cut the current wall on the x-axis
+		// if the splitter is horizontal, cut on the y-axis
+		int spx = startX[row];
+		int spy = startY[row];
+		if (extensionX[splitter] == 0)
+			spx = startX[splitter];
+		else
+			spy = startY[splitter];
+		final int x = startX[row];
+		final int y = startY[row];
+		final int ex = getEndPositionX(row);
+		final int ey = getEndPositionY(row);
+		final int dist = distance[row];
+		final byte partition = (byte) (flags[row] & PARTITION);
+		final int first = append(x, y, spx - x, spy - y, dist, ColorTheme.getWallColor(dist, colchange, spx - x), partition);
+		append(spx, spy, ex - spx, ey - spy, dist, ColorTheme.getWallColor(dist, colchange, ex - spx), partition);
+		return first;
+	}
+}
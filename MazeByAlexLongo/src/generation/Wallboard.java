@@ -60,12 +60,21 @@ public class Wallboard {
 	 * @param height such that {@code 0 <= y < height}
 	 */
 	public void setRandomly(int width, int height) {
+		setRandomly(width, height, SingleRandom.getRandom().split());
+	}
+	/**
+	 * Pick a random position (x,y) and a random direction within the 
+	 * given limits from the given stream and assign these values to this wallboard.
+	 * @param width such that {@code 0 <= x < width}
+	 * @param height such that {@code 0 <= y < height}
+	 * @param random is the stream of random numbers to use
+	 */
+	public void setRandomly(int width, int height, RandomStream random) {
 		// pick position (x,y) with x being random, y being random
-		SingleRandom random = SingleRandom.getRandom() ;
 		x = random.nextIntWithinInterval(0, width-1) ;
 		y = random.nextIntWithinInterval(0, height - 1);
 		// pick a direction, 
-		d = CardinalDirection.East.randomDirection().getDxDyDirection() ;
+		d = CardinalDirection.East.randomDirection(random).getDxDyDirection() ;
 	}
 	/**
 	 * Computes the x coordinate of neighboring (adjacent) cell for internal walls.
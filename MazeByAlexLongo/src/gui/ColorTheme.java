@@ -110,34 +110,146 @@ public class ColorTheme {
 	}
 	
 	/**
-	 * Creates an opaque sRGB color with the specified combined RGB value
+	 * Provides an opaque sRGB color with the specified combined RGB value
 	 * consisting of the red component in bits 16-23,
 	 * the green component in bits 8-15,
 	 * and the blue component in bits 0-7. 
 	 * The actual color used in rendering depends on finding the best match
 	 * given the color space available for a particular output device.
 	 * Alpha is defaulted to 255.
+	 * Colors of the wall palette of the current theme are shared instances,
+	 * so drawing walls does not create a color per wall,
+	 * any other rgb value gives a new color.
 	 * @param rgb the rgb value
 	 * @return the matching instance of a color
 	 */
 	public static Color getColor(int rgb) {
-		return new Color(rgb);
+		Color result = getColorSettings().lookupPaletteColor(rgb);
+		return (null != result) ? result : new Color(rgb);
 	}
 	/**
 	 * Class encapsulates a color setting for the background and walls.
 	 * The background is black on top, darkgray on the bottom. 
 	 * All walls are lightgrey.
 	 * 
+	 * Colors are calculated once when the setting is selected
+	 * and kept in tables: a palette with all wall colors and
+	 * a gradient with GRADIENT_STEPS colors per background rectangle
+	 * for the percentage of the distance to the exit.
+	 * Lookups hand out the stored instances, so colors for drawing
+	 * a frame or creating a wall are never allocated. 
+	 * Subclasses only override the calculate methods.
+	 * 
 	 * @author Peter Kemper
 	 *
 	 */
 	private static class ColorSettings {
-		Color getColor(MazeColors color, float percentToExit) {
+		/**
+		 * Number of entries in a background gradient, 
+		 * the percentage to exit is rounded to the closest entry.
+		 */
+		static final int GRADIENT_STEPS = 256;
+		/**
+		 * Number of categories for wall colors,
+		 * see {@link #getWallRGB(int, int, int)}.
+		 */
+		static final int WALL_CATEGORIES = 6;
+		// palette entry for negative categories, which end in the default case of the switch
+		private static final int WALL_DEFAULT_ENTRY = WALL_CATEGORIES*8*2;
+		// open addressing hash table from rgb value to palette color for getColor(int), null marks a free slot
+		private static final int LOOKUP_SIZE = 256; // power of 2, > WALL_DEFAULT_ENTRY+1 
+
+		private final Color[] gradientTop = new Color[GRADIENT_STEPS];
+		private final Color[] gradientBottom = new Color[GRADIENT_STEPS];
+		private final int[] wallPaletteRGB = new int[WALL_DEFAULT_ENTRY+1];
+		private final Color[] lookupColors = new Color[LOOKUP_SIZE];
+		private final int[] lookupRGB = new int[LOOKUP_SIZE];
+
+		/**
+		 * Fills all tables with the colors of this setting.
+		 * Needs to be called once before any lookup.
+		 */
+		final void buildTables() {
+			for (int i = 0; i < GRADIENT_STEPS; i++) {
+				final float percentToExit = i / (float) (GRADIENT_STEPS-1);
+				gradientTop[i] = calculateColor(MazeColors.BACKGROUND_TOP, percentToExit);
+				gradientBottom[i] = calculateColor(MazeColors.BACKGROUND_BOTTOM, percentToExit);
+			}
+			// a distance of 4*(8*category+part) gives part as its last 3 digits 
+			// and the category for cc == 0, see getWallRGB
+			for (int category = 0; category < WALL_CATEGORIES; category++) {
+				for (int part = 0; part < 8; part++) {
+					for (int add = 0; add < 2; add++) {
+						setWallPaletteEntry(wallEntry(category, part, add), 
+								calculateWallColor(4*(8*category+part), 0, add));
+					}
+				}
+			}
+			// a negative category, cc == -1 gives -1 for distance 0
+			setWallPaletteEntry(WALL_DEFAULT_ENTRY, calculateWallColor(0, -1, 0));
+			LOGGER.log(Level.FINE, "color tables built for " + getClass().getSimpleName());
+		}
+		private void setWallPaletteEntry(int entry, Color color) {
+			wallPaletteRGB[entry] = color.getRGB();
+			// the same color can show up in several entries, it is stored once
+			int slot = lookupSlot(color.getRGB());
+			if (null == lookupColors[slot]) {
+				lookupColors[slot] = color;
+				lookupRGB[slot] = color.getRGB();
+			}
+		}
+		private static int wallEntry(int category, int part, int add) {
+			return (category*8 + part)*2 + add;
+		}
+		/**
+		 * Finds the slot of the given rgb value in the lookup table, 
+		 * which is either the slot that holds it or the first free slot.
+		 */
+		private int lookupSlot(int rgb) {
+			int slot = (rgb ^ (rgb >>> 8) ^ (rgb >>> 16)) & (LOOKUP_SIZE-1);
+			while (null != lookupColors[slot] && lookupRGB[slot] != rgb) {
+				slot = (slot + 1) & (LOOKUP_SIZE-1);
+			}
+			return slot;
+		}
+		/**
+		 * Gives the palette color for the given rgb value.
+		 * @param rgb the rgb value
+		 * @return the shared color, null if it is not in the palette
+		 */
+		final Color lookupPaletteColor(int rgb) {
+			return lookupColors[lookupSlot(rgb)];
+		}
+		/**
+		 * Gives the background color from the gradient.
+		 * @param color is BACKGROUND_TOP or BACKGROUND_BOTTOM
+		 * @param percentToExit is rounded to the closest of the GRADIENT_STEPS values
+		 * @return the shared color
+		 */
+		final Color getColor(MazeColors color, float percentToExit) {
+			// the negated comparison also maps NaN to 0
+			int index = !(percentToExit > 0) ? 0 : Math.min(GRADIENT_STEPS-1, Math.round(percentToExit*(GRADIENT_STEPS-1)));
+			return (MazeColors.BACKGROUND_TOP == color) ? gradientTop[index] : gradientBottom[index];
+		}
+		/**
+		 * Gives the wall color from the palette.
+		 * Same parameters as {@link #calculateWallColor(int, int, int)}.
+		 * @return the rgb value of the wall color
+		 */
+		final int getWallRGB(final int distance, final int cc, final int extensionX) {
+			final int d = distance / 4;
+			final int category = ((d >> 3) ^ cc) % WALL_CATEGORIES;
+			if (category < 0)
+				return wallPaletteRGB[WALL_DEFAULT_ENTRY];
+			return wallPaletteRGB[wallEntry(category, d & 7, (extensionX != 0) ? 1 : 0)];
+		}
+		//////// calculations for the tables, subclasses override these ////////
+		Color calculateColor(MazeColors color, float percentToExit) {
 			Color result = (MazeColors.BACKGROUND_TOP == color)? Color.BLACK : Color.DARK_GRAY;
 			LOGGER.log(Level.FINEST, "given:" + color + ", returns color: " + result);
 			return result;
 		}
-		Color getWallColor(final int distance, final int cc, final int extensionX) {
+		Color calculateWallColor(final int distance, final int cc, final int extensionX) {
 			LOGGER.log(Level.FINEST, "regardless of input, returns color: " + Color.LIGHT_GRAY);
 			return Color.LIGHT_GRAY;
 	    }
@@ -187,7 +299,7 @@ public class ColorTheme {
 	     *            obscure
 	     */
 	    @Override
-	    Color getWallColor(final int distance, final int cc, final int extensionX) {
+	    Color calculateWallColor(final int distance, final int cc, final int extensionX) {
 	    	Color result; 
 	    	final int d = distance / 4;
 	        // mod used to limit the number of colors to 6
@@ -252,7 +364,7 @@ public class ColorTheme {
 		 * @return the color to use for the background rectangle
 		 */
 		@Override
-		Color getColor(MazeColors color, float percentToExit) {
+		Color calculateColor(MazeColors color, float percentToExit) {
 			Color result = (MazeColors.BACKGROUND_TOP == color)? 
 					blend(yellowWM, goldWM, percentToExit) : 
 						blend(Color.lightGray, greenWM, percentToExit);
@@ -296,7 +408,7 @@ public class ColorTheme {
 	     *            obscure
 	     */
 	    @Override
-	    Color getWallColor(final int distance, final int cc, final int extensionX) {
+	    Color calculateWallColor(final int distance, final int cc, final int extensionX) {
 	    	Color result;
 	    	final int d = distance / 4;
 	        // mod used to limit the number of colors to 6
@@ -331,31 +443,46 @@ public class ColorTheme {
 	}
 	
 	/////// set up for Singleton pattern //
-	private static ColorSettings instance;
+	// volatile: walls get their colors on the threads of the maze factory,
+	// the tables of an instance are complete before it is published
+	private static volatile ColorSettings instance;
 	private static ColorThemeSelection theme = ColorThemeSelection.DEFAULT; 
 	private static ColorSettings getColorSettings() {
-		if (instance == null) {
+		ColorSettings settings = instance;
+		if (settings == null) {
 			LOGGER.log(Level.CONFIG, "Using Color Theme: " + theme);
 			switch (theme) {
 			case BASIC:
-				instance = new ColorSettingsBasic();
+				settings = new ColorSettingsBasic();
 				break;
 			case ADVANCED:
-				instance = new ColorSettingsAdvanced();
+				settings = new ColorSettingsAdvanced();
 				break;
 			case DEFAULT:
 			default:
-				instance = new ColorSettings();
+				settings = new ColorSettings();
 				break;
 			}
+			// threads that get here at the same time build equal tables, either one will do
+			settings.buildTables();
+			instance = settings;
 		}
-		return instance;
+		return settings;
 	}
 	
 	public enum ColorThemeSelection {DEFAULT, BASIC, ADVANCED};
 	
+	/**
+	 * Selects the color theme. The tables of the theme are built 
+	 * once with the next request for a color, after that
+	 * colors are looked up.
+	 * @param selection the theme to use from now on
+	 */
 	public static void setColorTheme(ColorThemeSelection selection) {
-		theme = selection;
+		if (theme != selection) {
+			theme = selection;
+			instance = null; // rebuild tables for the new theme
+		}
 	}
 	
 	
@@ -370,10 +497,11 @@ public class ColorTheme {
 	 * starting color settings of yellowWM and lightGray 
 	 * towards goldWM and greenWM as final
 	 * color settings close to the exit
+	 * The color comes from a gradient of 256 precomputed colors.
 	 * @param percentToExit describes how far it is to the exit as a percentage value
 	 * @param color is BACKGROUND_TOP for the upper rectangle or BACKGROUND_BOTTTOM
 	 * for the lower one
-	 * @return the color to use for the background rectangle
+	 * @return the color to use for the background rectangle, a shared instance
 	 */
 	public static Color getColor(MazeColors color, float percentToExit) {
 		return getColorSettings().getColor(color, percentToExit);
@@ -386,10 +514,10 @@ public class ColorTheme {
      * @param distance is the distance to the exit
      * @param cc is an obscure parameter used in Wall for color determination, just passed in here
      * @param extensionX is the wall's length and direction (sign), horizontal dimension
-     * @return the rgb value for the color of the wall
+     * @return the rgb value for the color of the wall, looked up in the palette of the theme
      */
     public static int getWallColor(int distance, int cc, int extensionX) {
-    	return getColorSettings().getWallColor(distance,cc,extensionX).getRGB(); 
+    	return getColorSettings().getWallRGB(distance,cc,extensionX); 
     };
     
  
@@ -67,6 +67,12 @@ public class Control extends JFrame implements KeyListener {
 	 * Level FINE: logs information flow.
 	 */
 	private static final Logger LOGGER = Logger.getLogger(Control.class.getName());
+	
+	/**
+	 * Time in milliseconds between the starts of the failure and repair processes
+	 * of unreliable sensors, such that they do not fail all at the same time.
+	 */
+	private static final int SENSOR_START_INTERVAL = 1300;
 
 	/**
      * Specifies if the maze is perfect, i.e., it has
@@ -84,6 +90,37 @@ public class Control extends JFrame implements KeyListener {
      * builder, and perfect remain the same.
      */
     boolean deterministic;
+    /**
+     * Selects the drawer for the first person view.
+     * If true, the RaycastFirstPersonView draws the view from the floorplan
+     * and mazes are generated without a tree of BSP nodes, which saves most
+     * of the generation time.
+     * If false, the FirstPersonView draws the walls of the tree of BSP nodes.
+     * Default is false.
+     */
+    boolean raycasting;
+    /**
+     * Selects how the first person view is put into the buffer image.
+     * If true, walls are written straight into the pixels of the image
+     * with packed RGB values, see {@link FrameBuffer}.
+     * If false, walls are drawn as polygons on the buffer graphics.
+     * Default is false.
+     */
+    boolean softwareRendering;
+    /**
+     * Selects how moves are shown while playing.
+     * If true, moves are applied instantly without an animation
+     * and the screen only shows the latest state, which lets a robot 
+     * run through the maze as fast as it can.
+     * If false, each move is animated and shown completely.
+     * Default is false.
+     */
+    boolean turbo;
+    /**
+     * The target rate for drawing the screen while playing,
+     * see {@link RenderScheduler}.
+     */
+    int framesPerSecond = RenderScheduler.DEFAULT_FRAMES_PER_SECOND;
     
 	/**
 	 * The current state of the controller and the game.
@@ -172,6 +209,71 @@ public class Control extends JFrame implements KeyListener {
     	return perfect;
     }
 
+    /**
+     * Informs if the first person view is drawn by casting rays over the floorplan.
+     * @return true for the RaycastFirstPersonView, false for the FirstPersonView
+     */
+    public boolean isRaycasting() {
+    	return raycasting;
+    }
+    /**
+     * Selects the drawer for the first person view, 
+     * takes effect for the next maze that is generated.
+     * @param raycasting is true for the RaycastFirstPersonView, false for the FirstPersonView
+     */
+    public void setRaycasting(boolean raycasting) {
+    	this.raycasting = raycasting;
+    }
+
+    /**
+     * Informs if the first person view is written straight into the pixels of the buffer image.
+     * @return true for software rendering, false for drawing on the buffer graphics
+     */
+    public boolean isSoftwareRendering() {
+    	return softwareRendering;
+    }
+    /**
+     * Selects how the first person view is put into the buffer image,
+     * takes effect for the next maze that is played.
+     * @param softwareRendering is true for software rendering, false for drawing on the buffer graphics
+     */
+    public void setSoftwareRendering(boolean softwareRendering) {
+    	this.softwareRendering = softwareRendering;
+    }
+
+    /**
+     * Informs if moves are applied instantly without an animation.
+     * @return true in the turbo setting, false if moves are animated
+     */
+    public boolean isTurbo() {
+    	return turbo;
+    }
+    /**
+     * Selects how moves are shown, takes effect for the next maze that is played.
+     * @param turbo is true for instant moves, false for animated moves
+     */
+    public void setTurbo(boolean turbo) {
+    	this.turbo = turbo;
+    }
+
+    /**
+     * Gives the target rate for drawing the screen while playing.
+     * @return the number of frames per second
+     */
+    public int getFramesPerSecond() {
+    	return framesPerSecond;
+    }
+    /**
+     * Sets the target rate for drawing the screen while playing,
+     * takes effect for the next maze that is played.
+     * @param framesPerSecond the number of frames per second, {@code 0 < framesPerSecond}
+     */
+    public void setFramesPerSecond(int framesPerSecond) {
+    	if (framesPerSecond <= 0)
+    		throw new IllegalArgumentException("Frames per second must be positive: " + framesPerSecond);
+    	this.framesPerSecond = framesPerSecond;
+    }
+
     /**
      * Gets a reference to the panel to draw on.
      * @return the panel
@@ -335,6 +437,23 @@ public class Control extends JFrame implements KeyListener {
 
 
 
+	/**
+	 * Mounts an unreliable sensor on the robot and starts its failure and repair process
+	 * with a mean time between failures of 4000 ms and a mean time to repair of 2000 ms.
+	 * @param direction is the direction to mount the sensor in
+	 * @param delay is the time in milliseconds before the process starts
+	 */
+	private void addUnreliableSensor(Direction direction, int delay)
+	{
+		UnreliableSensor sensor = new UnreliableSensor(direction);
+		this.robot.addDistanceSensor(sensor, direction);
+		try {
+			sensor.startFailureAndRepairProcess(4000, 2000, delay);
+		} catch (Exception e) {
+			LOGGER.warning("Could not start failure and repair process of sensor " + direction + ": " + e);
+		}
+	}
+
 	public void handleCommandLineInput(String[] args) 
 	{
 		
@@ -356,6 +475,18 @@ public class Control extends JFrame implements KeyListener {
 	    // Store a string for the sensor values
 	    this.sensorsString = "EMPTY";
 	    
+	    // Store the parameter for the first person view
+	    String view = "EMPTY";
+	    
+	    // Store the parameter for the rendering of the first person view
+	    String rendering = "EMPTY";
+	    
+	    // Store the parameter for the speed of moves
+	    String speed = "EMPTY";
+	    
+	    // Store the parameter for the target frames per second
+	    String fps = "EMPTY";
+	    
 	    // Parse the command line input
 	    for(int i = 0; i < args.length; i++)
 	    {
@@ -380,6 +511,34 @@ public class Control extends JFrame implements KeyListener {
 	    		this.sensorsString = args[i+1];
 	    	}
 	    	
+	    	// Check if the parameter is for the first person view
+	    	else if(args[i].equals("-v"))
+	    	{
+	    		// update view parameter
+	    		view = args[i+1];
+	    	}
+	    	
+	    	// Check if the parameter is for the rendering of the first person view
+	    	else if(args[i].equals("-f"))
+	    	{
+	    		// update rendering parameter
+	    		rendering = args[i+1];
+	    	}
+	    	
+	    	// Check if the parameter is for the speed of moves
+	    	else if(args[i].equals("-s"))
+	    	{
+	    		// update speed parameter
+	    		speed = args[i+1];
+	    	}
+	    	
+	    	// Check if the parameter is for the target frames per second
+	    	else if(args[i].equals("-fps"))
+	    	{
+	    		// update fps parameter
+	    		fps = args[i+1];
+	    	}
+	    	
 	    	// Add all input to the input string
 	    	entireInput = entireInput + " " + args[i];    	
 	    }
@@ -405,7 +564,7 @@ public class Control extends JFrame implements KeyListener {
 	    // command line input can specify the builder algorithm to use
 	    // or a filename to load an already computed maze from
 	    
-	    // possible builder algorithms are  (Prim, Boruvka, DFS)
+	    // possible builder algorithms are  (Prim, Kruskal, Eller, Boruvka, DFS)
 	    
 	    // command line input only applies to the first round of the game
 	    // so we can directly apply it to the currentState 
@@ -415,6 +574,14 @@ public class Control extends JFrame implements KeyListener {
 	    	msg = "Command line input detected: generating random maze with Prim's algorithm.";
 	        ((StateTitle)currentState).setBuilder(Order.Builder.Prim);
 	    	break;
+	    case "Kruskal":
+	    	msg = "Command line input detected: generating random maze with Kruskal's algorithm.";
+	        ((StateTitle)currentState).setBuilder(Order.Builder.Kruskal);
+	    	break;
+	    case "Eller":
+	    	msg = "Command line input detected: generating random maze with Eller's algorithm.";
+	        ((StateTitle)currentState).setBuilder(Order.Builder.Eller);
+	    	break;
 	    case "Boruvka":
 	    	msg = "Command line input detected: generating random maze with Boruvka's algorithm.";
 	        ((StateTitle)currentState).setBuilder(Order.Builder.Boruvka);
@@ -468,6 +635,75 @@ public class Control extends JFrame implements KeyListener {
 	    	break;
 	    }
 	    
+	    // command line input can specify the drawer for the first person view
+	    
+	    // possible views are  (BSP, Raycast)
+	    switch(view)
+	    {
+	    case "Raycast":
+	    	msg = "Command line input detected: drawing first person view by raycasting, mazes are generated without BSP tree."; 
+	        this.setRaycasting(true);
+	    	break;
+	    case "BSP":
+	    	msg = "Command line input detected: drawing first person view with BSP tree."; 
+	        this.setRaycasting(false);
+	    	break;
+	    case "EMPTY":
+	    	break;
+	    default:
+	    	msg = "Unknown view: " + view + " ignored, drawing first person view with BSP tree.";
+	    }
+	    
+	    // command line input can specify how the first person view gets into the buffer image
+	    
+	    // possible renderings are  (Software, Graphics)
+	    switch(rendering)
+	    {
+	    case "Software":
+	    	msg = "Command line input detected: writing first person view straight into the pixels of the buffer image."; 
+	        this.setSoftwareRendering(true);
+	    	break;
+	    case "Graphics":
+	    	msg = "Command line input detected: drawing first person view on the buffer graphics."; 
+	        this.setSoftwareRendering(false);
+	    	break;
+	    case "EMPTY":
+	    	break;
+	    default:
+	    	msg = "Unknown rendering: " + rendering + " ignored, drawing first person view on the buffer graphics.";
+	    }
+	    
+	    // command line input can specify the speed of moves
+	    
+	    // possible speeds are  (Turbo, Normal)
+	    switch(speed)
+	    {
+	    case "Turbo":
+	    	msg = "Command line input detected: applying moves instantly, drawing only the latest state."; 
+	        this.setTurbo(true);
+	    	break;
+	    case "Normal":
+	    	msg = "Command line input detected: animating moves."; 
+	        this.setTurbo(false);
+	    	break;
+	    case "EMPTY":
+	    	break;
+	    default:
+	    	msg = "Unknown speed: " + speed + " ignored, animating moves.";
+	    }
+	    
+	    // command line input can specify the target frames per second
+	    if (!fps.equals("EMPTY"))
+	    {
+	    	try {
+	    		this.setFramesPerSecond(Integer.parseInt(fps));
+	    		msg = "Command line input detected: drawing at " + fps + " frames per second.";
+	    	} catch (IllegalArgumentException e) {
+	    		// also covers NumberFormatException
+	    		msg = "Unknown frames per second: " + fps + " ignored, drawing at " + getFramesPerSecond() + " frames per second.";
+	    	}
+	    }
+	    
 	    // Handle Robot Setup if applicable
 	    if(sensorsString.equals("1111"))
 	    {
@@ -480,59 +716,27 @@ public class Control extends JFrame implements KeyListener {
 	    else if (sensorsString != "EMPTY")
 	    {
 	    	this.setRobot(new UnreliableRobot());
+	    	// unreliable sensors start their failure and repair processes 1300 ms apart,
+	    	// the shared sensor clock keeps track of the delays, no need to wait here
+	    	int delay = 0;
 	    	if(sensors[0] == 0)
 	    	{
-	    		this.robot.addDistanceSensor(new UnreliableSensor(Direction.FORWARD), Direction.FORWARD);
-	    		try {
-	    			this.robot.startFailureAndRepairProcess(Direction.FORWARD, 4000, 2000);
-				} catch (Exception e) {
-					// TODO: handle exception
-				}
+	    		addUnreliableSensor(Direction.FORWARD, delay);
 	    	}
 	    	if(sensors[1] == 0)
 	    	{
-	    		this.robot.addDistanceSensor(new UnreliableSensor(Direction.LEFT), Direction.LEFT);
-	    		try {
-					Thread.sleep(1300);
-				} catch (InterruptedException e) {
-					// TODO Auto-generated catch block
-					e.printStackTrace();
-				}
-	    		try {
-	    			this.robot.startFailureAndRepairProcess(Direction.LEFT, 4000, 2000);
-				} catch (Exception e) {
-					// TODO: handle exception
-				}	
+	    		delay += SENSOR_START_INTERVAL;
+	    		addUnreliableSensor(Direction.LEFT, delay);
 	    	}
 	    	if(sensors[2] == 0)
 	    	{
-	    		this.robot.addDistanceSensor(new UnreliableSensor(Direction.RIGHT), Direction.RIGHT);
-	    		try {
-					Thread.sleep(1300);
-				} catch (InterruptedException e) {
-					// TODO Auto-generated catch block
-					e.printStackTrace();
-				}
-	    		try {
-	    			this.robot.startFailureAndRepairProcess(Direction.RIGHT, 4000, 2000);
-				} catch (Exception e) {
-					// TODO: handle exception
-				}	
+	    		delay += SENSOR_START_INTERVAL;
+	    		addUnreliableSensor(Direction.RIGHT, delay);
 	    	}
 	    	if(sensors[3] == 0)
 	    	{
-	    		this.robot.addDistanceSensor(new UnreliableSensor(Direction.BACKWARD), Direction.BACKWARD);
-	    		try {
-					Thread.sleep(1300);
-				} catch (InterruptedException e) {
-					// TODO Auto-generated catch block
-					e.printStackTrace();
-				}
-	    		try {
-	    			this.robot.startFailureAndRepairProcess(Direction.BACKWARD, 4000, 2000);
-				} catch (Exception e) {
-					// TODO: handle exception
-				}	
+	    		delay += SENSOR_START_INTERVAL;
+	    		addUnreliableSensor(Direction.BACKWARD, delay);
 	    	}
 	    	if(sensors[0] == 1)
 	    	{
@@ -0,0 +1,578 @@
+package gui;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.logging.Logger;
+
+import generation.DefaultOrder;
+import generation.Maze;
+import generation.MazeFactory;
+import generation.Order;
+import gui.Robot.Direction;
+
+/**
+ * @author Alex Longo
+ *
+ * Class:
+ * DriverEvaluation
+ *
+ * Responsibilities:
+ * Evaluate robot drivers on many mazes without a screen.
+ * For each builder algorithm and skill level, N mazes are generated
+ * with the seeds seed, seed+1, ..., seed+N-1 and each driver runs
+ * on each maze once per sensor configuration.
+ * The runs are aggregated per builder, skill level, sensor configuration
+ * and driver into success rate, path length, energy consumption and
+ * wall clock percentiles and reported as CSV or JSON.
+ *
+ * Each maze is generated and evaluated by a task of its own on a
+ * work stealing ForkJoinPool, by default with one worker per core.
+ * Mazes depend on their seed only, so all figures except for the
+ * wall clock times are the same from one evaluation to the next.
+ *
+ * Sensor configurations are given as on the command line of Control,
+ * e.g. "1100" stands for reliable forward and left sensors and unreliable
+ * right and backward sensors. Unreliable sensors fail and repair as on the
+ * playing screen, but on the virtual clock of the simulation, so runs with
+ * unreliable sensors are reproducible as well and take no real time to wait.
+ *
+ * Command line:
+ * <pre>
+ * java gui.DriverEvaluation -n 100 -g Prim,Eller -l 0,3 -r 1111,0000 -d Wizard,Wallfollower -seed 13 -o report.csv
+ * </pre>
+ * All parameters are optional, the report is written to standard output
+ * as CSV if no file is given, a file name ending with .json gives JSON.
+ *
+ * Collaborators:
+ * MazeFactory, DefaultOrder, RobotSimulation, Wizard, WallFollower
+ */
+public class DriverEvaluation
+{
+	// Logger to track execution
+	private static final Logger LOGGER = Logger.getLogger(DriverEvaluation.class.getName());
+
+	/**
+	 * Driver names as on the command line of Control.
+	 */
+	public static final String WIZARD = "Wizard";
+	public static final String WALLFOLLOWER = "Wallfollower";
+
+	// failure and repair of unreliable sensors in milliseconds, same as for the playing screen
+	private static final int MEAN_TIME_BETWEEN_FAILURES = 4000;
+	private static final int MEAN_TIME_TO_REPAIR = 2000;
+	private static final int SENSOR_START_INTERVAL = 1300;
+
+	// what to evaluate, see setters
+	private int mazes = 10;
+	private int seed = 13;
+	private List<Order.Builder> builders = Arrays.asList(Order.Builder.values());
+	private List<Integer> skillLevels = Arrays.asList(0);
+	private List<String> sensorConfigurations = Arrays.asList("1111");
+	private List<String> drivers = Arrays.asList(WIZARD, WALLFOLLOWER);
+
+	/**
+	 * Sets the number of mazes per builder algorithm and skill level.
+	 * @param mazes is the number of mazes, {@code 0 < mazes}
+	 */
+	public void setMazes(int mazes)
+	{
+		if(mazes <= 0)
+		{
+			throw new IllegalArgumentException("Need at least one maze, got " + mazes);
+		}
+		this.mazes = mazes;
+	}
+
+	/**
+	 * Sets the seed of the first maze, the other mazes get the following seeds.
+	 * @param seed is the seed for the first maze
+	 */
+	public void setSeed(int seed)
+	{
+		this.seed = seed;
+	}
+
+	/**
+	 * Sets the builder algorithms to generate mazes with.
+	 * @param builders are the builder algorithms, not empty
+	 */
+	public void setBuilders(List<Order.Builder> builders)
+	{
+		this.builders = requireNotEmpty(builders, "builders");
+	}
+
+	/**
+	 * Sets the skill levels to generate mazes for.
+	 * @param skillLevels are the skill levels, each in the range of Constants.SKILL_X
+	 */
+	public void setSkillLevels(List<Integer> skillLevels)
+	{
+		for(int skill : requireNotEmpty(skillLevels, "skill levels"))
+		{
+			if(skill < 0 || skill >= Constants.SKILL_X.length)
+			{
+				throw new IllegalArgumentException("Unknown skill level: " + skill);
+			}
+		}
+		this.skillLevels = skillLevels;
+	}
+
+	/**
+	 * Sets the sensor configurations to mount on the robot.
+	 * @param sensorConfigurations are strings of four 1s (reliable) and 0s (unreliable)
+	 * for the forward, left, right and backward sensor
+	 */
+	public void setSensorConfigurations(List<String> sensorConfigurations)
+	{
+		for(String sensors : requireNotEmpty(sensorConfigurations, "sensor configurations"))
+		{
+			if(!sensors.matches("[01]{4}"))
+			{
+				throw new IllegalArgumentException("Unknown sensor configuration: " + sensors);
+			}
+		}
+		this.sensorConfigurations = sensorConfigurations;
+	}
+
+	/**
+	 * Sets the drivers to evaluate.
+	 * @param drivers are driver names, Wizard or Wallfollower
+	 */
+	public void setDrivers(List<String> drivers)
+	{
+		for(String driver : requireNotEmpty(drivers, "drivers"))
+		{
+			createDriver(driver); // fails for unknown names
+		}
+		this.drivers = drivers;
+	}
+
+	/**
+	 * Runs the evaluation on a pool with one worker per core.
+	 * @return the statistics, ordered by builder, skill level, sensor configuration and driver
+	 * as in the given lists
+	 * @throws InterruptedException if the calling thread is interrupted while waiting
+	 * @throws ExecutionException if the evaluation of a maze failed
+	 */
+	public List<Statistics> run() throws InterruptedException, ExecutionException
+	{
+		ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+		try
+		{
+			return run(pool);
+		}
+		finally
+		{
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Runs the evaluation on the given pool, one task per maze.
+	 * @param pool executes the tasks
+	 * @return the statistics, ordered by builder, skill level, sensor configuration and driver
+	 * as in the given lists
+	 * @throws InterruptedException if the calling thread is interrupted while waiting
+	 * @throws ExecutionException if the evaluation of a maze failed
+	 */
+	public List<Statistics> run(ForkJoinPool pool) throws InterruptedException, ExecutionException
+	{
+		List<Callable<List<Run>>> tasks = new ArrayList<Callable<List<Run>>>();
+		for(Order.Builder builder : builders)
+		{
+			for(int skill : skillLevels)
+			{
+				for(int i = 0; i < mazes; i++)
+				{
+					final int mazeSeed = seed + i;
+					tasks.add(() -> evaluateMaze(builder, skill, mazeSeed));
+				}
+			}
+		}
+		// collect in the order of the tasks, not of their completion,
+		// such that the report does not depend on the scheduling
+		LinkedHashMap<String, List<Run>> groups = new LinkedHashMap<String, List<Run>>();
+		for(Future<List<Run>> future : pool.invokeAll(tasks))
+		{
+			for(Run run : future.get())
+			{
+				String key = run.builder + "," + run.skill + "," + run.sensors + "," + run.driver;
+				groups.computeIfAbsent(key, k -> new ArrayList<Run>()).add(run);
+			}
+		}
+		List<Statistics> result = new ArrayList<Statistics>(groups.size());
+		for(List<Run> runs : groups.values())
+		{
+			result.add(new Statistics(runs));
+		}
+		return result;
+	}
+
+	/**
+	 * Private helper method that generates a maze and runs all drivers with
+	 * all sensor configurations on it. Runs on a worker of the pool.
+	 */
+	private List<Run> evaluateMaze(Order.Builder builder, int skill, int mazeSeed)
+	{
+		DefaultOrder order = new DefaultOrder(skill, builder, false, mazeSeed);
+		order.setHeadless(true);
+		order.setBSPTreeRequired(false); // drivers need no tree, nothing is drawn
+		MazeFactory.build(order);
+		Maze maze = order.getMaze();
+		if(maze == null)
+		{
+			throw new IllegalStateException("No maze delivered for " + builder + " at skill level " + skill);
+		}
+		List<Run> runs = new ArrayList<Run>(sensorConfigurations.size() * drivers.size());
+		for(String sensors : sensorConfigurations)
+		{
+			for(String driver : drivers)
+			{
+				RobotSimulation simulation = new RobotSimulation(maze);
+				mountSensors(simulation.getRobot(), sensors);
+				long start = System.nanoTime();
+				RobotSimulation.Result result = simulation.run(createDriver(driver));
+				long nanos = System.nanoTime() - start;
+				runs.add(new Run(builder, skill, sensors, driver, result, nanos));
+			}
+		}
+		return runs;
+	}
+
+	/**
+	 * Private helper method that mounts a sensor per direction, reliable for 1 and unreliable for 0,
+	 * in the order forward, left, right, backward as on the command line of Control.
+	 * Unreliable sensors start their failure and repair processes one after the other, as in Control.
+	 */
+	private static void mountSensors(SimulatedRobot robot, String sensors)
+	{
+		Direction[] directions = {Direction.FORWARD, Direction.LEFT, Direction.RIGHT, Direction.BACKWARD};
+		int delay = 0;
+		for(int i = 0; i < directions.length; i++)
+		{
+			if(sensors.charAt(i) == '1')
+			{
+				robot.addDistanceSensor(new ReliableSensor(directions[i]), directions[i]);
+				continue;
+			}
+			// a forward sensor starts right away, others wait for the previous ones, see Control
+			if(i > 0)
+			{
+				delay += SENSOR_START_INTERVAL;
+			}
+			UnreliableSensor sensor = new UnreliableSensor(directions[i]);
+			robot.addDistanceSensor(sensor, directions[i]);
+			sensor.startFailureAndRepairProcess(MEAN_TIME_BETWEEN_FAILURES, MEAN_TIME_TO_REPAIR, delay);
+		}
+	}
+
+	/**
+	 * Private helper method that creates a new driver for the given name.
+	 */
+	private static RobotDriver createDriver(String name)
+	{
+		switch(name)
+		{
+		case WIZARD:
+			return new Wizard();
+		case WALLFOLLOWER:
+			return new WallFollower();
+		default:
+			throw new IllegalArgumentException("Unknown driver: " + name);
+		}
+	}
+
+	/**
+	 * Private helper method that checks that a list has elements.
+	 */
+	private static <T> List<T> requireNotEmpty(List<T> list, String name)
+	{
+		if(list == null || list.isEmpty())
+		{
+			throw new IllegalArgumentException("Need at least one of " + name);
+		}
+		return list;
+	}
+
+	/**
+	 * Writes the statistics as CSV with a header line.
+	 * @param statistics are the statistics to write
+	 * @param out receives the CSV
+	 */
+	public static void writeCsv(List<Statistics> statistics, Writer out)
+	{
+		PrintWriter writer = new PrintWriter(out);
+		writer.println("builder,skill,sensors,driver,runs,successRate,meanPathLength,meanEnergyConsumption,"
+				+ "p50Micros,p90Micros,p99Micros,maxMicros");
+		for(Statistics s : statistics)
+		{
+			writer.println(String.format(Locale.ROOT, "%s,%d,%s,%s,%d,%.4f,%.2f,%.2f,%d,%d,%d,%d",
+					s.getBuilder(), s.getSkillLevel(), s.getSensors(), s.getDriver(), s.getRuns(),
+					s.getSuccessRate(), s.getMeanPathLength(), s.getMeanEnergyConsumption(),
+					s.getWallClockPercentile(50), s.getWallClockPercentile(90),
+					s.getWallClockPercentile(99), s.getWallClockPercentile(100)));
+		}
+		writer.flush();
+	}
+
+	/**
+	 * Writes the statistics as a JSON array with an object per line.
+	 * @param statistics are the statistics to write
+	 * @param out receives the JSON
+	 */
+	public static void writeJson(List<Statistics> statistics, Writer out)
+	{
+		PrintWriter writer = new PrintWriter(out);
+		writer.println("[");
+		for(int i = 0; i < statistics.size(); i++)
+		{
+			Statistics s = statistics.get(i);
+			writer.print(String.format(Locale.ROOT,
+					"  {\"builder\": \"%s\", \"skill\": %d, \"sensors\": \"%s\", \"driver\": \"%s\", \"runs\": %d, "
+					+ "\"successRate\": %.4f, \"meanPathLength\": %.2f, \"meanEnergyConsumption\": %.2f, "
+					+ "\"p50Micros\": %d, \"p90Micros\": %d, \"p99Micros\": %d, \"maxMicros\": %d}",
+					s.getBuilder(), s.getSkillLevel(), s.getSensors(), s.getDriver(), s.getRuns(),
+					s.getSuccessRate(), s.getMeanPathLength(), s.getMeanEnergyConsumption(),
+					s.getWallClockPercentile(50), s.getWallClockPercentile(90),
+					s.getWallClockPercentile(99), s.getWallClockPercentile(100)));
+			writer.println(i < statistics.size() - 1 ? "," : "");
+		}
+		writer.println("]");
+		writer.flush();
+	}
+
+	/**
+	 * Runs an evaluation as given on the command line, see class comment.
+	 * @param args are pairs of a parameter and its value
+	 * @throws Exception if the arguments are invalid or the evaluation fails
+	 */
+	public static void main(String[] args) throws Exception
+	{
+		DriverEvaluation evaluation = new DriverEvaluation();
+		String output = null;
+		for(int i = 0; i + 1 < args.length; i += 2)
+		{
+			String value = args[i+1];
+			switch(args[i])
+			{
+			case "-n":
+				evaluation.setMazes(Integer.parseInt(value));
+				break;
+			case "-seed":
+				evaluation.setSeed(Integer.parseInt(value));
+				break;
+			case "-g":
+				List<Order.Builder> builders = new ArrayList<Order.Builder>();
+				for(String builder : value.split(","))
+				{
+					builders.add(Order.Builder.valueOf(builder));
+				}
+				evaluation.setBuilders(builders);
+				break;
+			case "-l":
+				List<Integer> skills = new ArrayList<Integer>();
+				for(String skill : value.split(","))
+				{
+					skills.add(Integer.parseInt(skill));
+				}
+				evaluation.setSkillLevels(skills);
+				break;
+			case "-r":
+				evaluation.setSensorConfigurations(Arrays.asList(value.split(",")));
+				break;
+			case "-d":
+				evaluation.setDrivers(Arrays.asList(value.split(",")));
+				break;
+			case "-o":
+				output = value;
+				break;
+			default:
+				throw new IllegalArgumentException("Unknown parameter: " + args[i]);
+			}
+		}
+		long start = System.nanoTime();
+		List<Statistics> statistics = evaluation.run();
+		LOGGER.info("Evaluation took " + (System.nanoTime() - start) / 1000000 + " ms on "
+				+ Runtime.getRuntime().availableProcessors() + " cores");
+		if(output == null)
+		{
+			writeCsv(statistics, new PrintWriter(System.out));
+			return;
+		}
+		try(Writer out = new FileWriter(output))
+		{
+			if(output.endsWith(".json"))
+			{
+				writeJson(statistics, out);
+			}
+			else
+			{
+				writeCsv(statistics, out);
+			}
+		}
+		catch(IOException e)
+		{
+			LOGGER.severe("Could not write report to " + output + ": " + e.getMessage());
+			throw e;
+		}
+	}
+
+	/**
+	 * The outcome of a single run of a driver on a maze.
+	 */
+	private static class Run
+	{
+		final Order.Builder builder;
+		final int skill;
+		final String sensors;
+		final String driver;
+		final RobotSimulation.Result result;
+		final long nanos;
+
+		Run(Order.Builder builder, int skill, String sensors, String driver, RobotSimulation.Result result, long nanos)
+		{
+			this.builder = builder;
+			this.skill = skill;
+			this.sensors = sensors;
+			this.driver = driver;
+			this.result = result;
+			this.nanos = nanos;
+		}
+	}
+
+	/**
+	 * Aggregated runs of a driver with a sensor configuration
+	 * on the mazes of a builder algorithm and skill level.
+	 */
+	public static class Statistics
+	{
+		private final Order.Builder builder;
+		private final int skill;
+		private final String sensors;
+		private final String driver;
+		private final int runs;
+		private final int successes;
+		private final double meanPathLength;
+		private final double meanEnergyConsumption;
+		// wall clock times of the runs in ascending order
+		private final long[] nanos;
+
+		/**
+		 * Constructor
+		 * @param runs are the runs of the same builder, skill level, sensor configuration and driver, not empty
+		 */
+		private Statistics(List<Run> runs)
+		{
+			Run first = runs.get(0);
+			this.builder = first.builder;
+			this.skill = first.skill;
+			this.sensors = first.sensors;
+			this.driver = first.driver;
+			this.runs = runs.size();
+			int successes = 0;
+			long pathLength = 0;
+			double energyConsumption = 0;
+			nanos = new long[runs.size()];
+			for(int i = 0; i < nanos.length; i++)
+			{
+				RobotSimulation.Result result = runs.get(i).result;
+				if(result.isSuccess())
+				{
+					successes++;
+				}
+				pathLength += result.getPathLength();
+				energyConsumption += result.getEnergyConsumption();
+				nanos[i] = runs.get(i).nanos;
+			}
+			Arrays.sort(nanos);
+			this.successes = successes;
+			this.meanPathLength = (double) pathLength / this.runs;
+			this.meanEnergyConsumption = energyConsumption / this.runs;
+		}
+
+		public Order.Builder getBuilder()
+		{
+			return builder;
+		}
+
+		public int getSkillLevel()
+		{
+			return skill;
+		}
+
+		public String getSensors()
+		{
+			return sensors;
+		}
+
+		public String getDriver()
+		{
+			return driver;
+		}
+
+		/**
+		 * Gives the number of runs, i.e. the number of mazes.
+		 * @return the number of runs
+		 */
+		public int getRuns()
+		{
+			return runs;
+		}
+
+		/**
+		 * Gives the share of runs that reached the exit.
+		 * @return the success rate between 0 and 1
+		 */
+		public double getSuccessRate()
+		{
+			return (double) successes / runs;
+		}
+
+		/**
+		 * Gives the mean path length over all runs, a failed run
+		 * counts with the cells it traversed before it failed.
+		 * @return the mean path length
+		 */
+		public double getMeanPathLength()
+		{
+			return meanPathLength;
+		}
+
+		/**
+		 * Gives the mean energy consumption over all runs, a failed run
+		 * counts with the energy it consumed before it failed.
+		 * @return the mean energy consumption
+		 */
+		public double getMeanEnergyConsumption()
+		{
+			return meanEnergyConsumption;
+		}
+
+		/**
+		 * Gives a percentile of the wall clock time per run
+		 * with the nearest rank method.
+		 * @param percentile is the percentile, {@code 0 < percentile <= 100}
+		 * @return the wall clock time in microseconds
+		 */
+		public long getWallClockPercentile(double percentile)
+		{
+			if(percentile <= 0 || percentile > 100)
+			{
+				throw new IllegalArgumentException("Percentile out of range: " + percentile);
+			}
+			int rank = (int) Math.ceil(percentile / 100 * nanos.length);
+			return nanos[Math.max(rank, 1) - 1] / 1000;
+		}
+	}
+}
@@ -0,0 +1,30 @@
+package gui;
+
+/**
+ * A first person drawer draws the current view at the maze from a first person perspective
+ * while the user plays. StatePlaying works with either implementation:
+ * {@link FirstPersonView} draws the walls of a tree of BSP nodes,
+ * {@link RaycastFirstPersonView} casts rays over the floorplan and needs no tree.
+ * Both record the wallboards they put on display such that the Map can highlight them.
+ *
+ * @author Alex Longo
+ */
+public interface FirstPersonDrawer {
+	/**
+	 * Draws the first person view on the screen during the game
+	 * @param panel for drawing on the buffer image
+	 * @param x coordinate of current position
+	 * @param y coordinate of current position
+	 * @param walkStep a counter for intermediate steps within a single step forward or backward
+	 * @param ang gives the current viewing angle
+	 * @param percentToExit gives the distance to exit as a percentage
+	 */
+	void draw(MazePanel panel, int x, int y, int walkStep, int ang, float percentToExit);
+
+	/**
+	 * Selects if walls are written straight into the pixels of the buffer image,
+	 * see {@link MazePanel#getFrameBuffer()}, or drawn on the buffer graphics.
+	 * @param softwareRendering is true for drawing into the framebuffer of the panel
+	 */
+	void setSoftwareRendering(boolean softwareRendering);
+}
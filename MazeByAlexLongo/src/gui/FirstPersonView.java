@@ -5,14 +5,11 @@ package gui;
 
 import java.awt.Graphics;
 import java.awt.Graphics2D;
-import java.util.List;
 import java.util.logging.Logger;
 
-import generation.BSPBranch;
-import generation.BSPLeaf;
-import generation.BSPNode;
+import generation.CompiledBSPTree;
 import generation.Floorplan;
-import generation.Wall;
+import generation.WallTable;
 import gui.ColorTheme.MazeColors;
 
 /**
@@ -26,7 +23,7 @@ import gui.ColorTheme.MazeColors;
  * Paul Falstad granted permission to modify and use code for teaching purposes.
  * Refactored by Peter Kemper
  */
-public class FirstPersonView {
+public class FirstPersonView implements FirstPersonDrawer {
 	/**
 	 * The logger is used to track execution and report issues.
 	 */
@@ -54,14 +51,15 @@ public class FirstPersonView {
 	private final Floorplan seenWalls;
 	
 	/** 
-	 * The root node to a tree with walls (Wall objects) in its leaves.
+	 * The compiled tree with the walls of its leaves in a wall table.
 	 * This data structure carries the information about walls
 	 * to draw. Walls are drawn as filled polygons. 
 	 * The content for this tree is determined in MazeBuilder
 	 * when the maze is created. 
 	 * It also used to decide visibility of walls.
+	 * Nodes are traversed by index, so drawing a frame does not chase references.
 	 */
-	private final BSPNode bspRoot;
+	private final CompiledBSPTree bspTree;
 	
 	/** 
 	 * The current viewing angle. This information is used in rotations
@@ -82,6 +80,24 @@ public class FirstPersonView {
 	 */
 	private Graphics2D gc; 
 	
+	/**
+	 * If true, walls and background are written straight into the pixels 
+	 * of the buffer image with packed RGB values, 
+	 * see {@link #setSoftwareRendering(boolean)}.
+	 * If false, they are drawn as polygons on the graphics object gc.
+	 */
+	private boolean softwareRendering;
+	/**
+	 * The framebuffer of the panel, set in the draw method
+	 * if software rendering is selected, null otherwise.
+	 */
+	private FrameBuffer frameBuffer;
+	/**
+	 * The packed RGB value of the wall that is currently drawn
+	 * with software rendering.
+	 */
+	private int wallColor;
+	
 	/**
 	 * The current position (x,y) scaled by map_unit and 
 	 * modified by the view direction is stored in fields (viewX, viewY).
@@ -113,6 +129,19 @@ public class FirstPersonView {
 	 * The rset allows us to omit walls that are not needed.
 	 */
 	private RangeSet rSet; 
+	/**
+	 * Storage for intersections with the rset and for the corner
+	 * points of a polygon, reused for all walls to avoid
+	 * allocating arrays for each frame.
+	 */
+	private final int[] intersection = new int[2];
+	private final int[] xps = new int[4];
+	private final int[] yps = new int[4];
+	/**
+	 * Storage for the projection of two points, reused for all
+	 * nodes and walls to avoid allocating objects for each frame.
+	 */
+	private final RangePair rangePair = new RangePair();
 	
 	// debug stuff
 	private boolean deepDebug = false;
@@ -131,16 +160,16 @@ public class FirstPersonView {
 	 * @param mapUnit current scaling factor
 	 * @param stepSize size of steps
 	 * @param seenWalls to store which walls were put on display
-	 * @param bspRoot the root node of the bsp tree
+	 * @param bspTree the compiled bsp tree
 	 */
-	public FirstPersonView(int width, int height, int mapUnit, int stepSize, Floorplan seenWalls, BSPNode bspRoot) {
+	public FirstPersonView(int width, int height, int mapUnit, int stepSize, Floorplan seenWalls, CompiledBSPTree bspTree) {
 		// store given parameter values
 		viewWidth = width;
 		viewHeight = height;
 		this.mapUnit = mapUnit;
 		this.stepSize = stepSize;
 		this.seenWalls = seenWalls;
-		this.bspRoot = bspRoot; 
+		this.bspTree = bspTree; 
 		// constants and derived values
 		angle = 0; // angle for initial setting of direction is 0 == East, hidden constraint across classes
 		scaleZ = viewHeight/2;
@@ -157,6 +186,7 @@ public class FirstPersonView {
 	 * @param walkStep, only used to set viewX and viewY
 	 * 
 	 */
+	@Override
 	public void draw(MazePanel panel, int x, int y, int walkStep, int ang, float percentToExit) {
 		// obtain a Graphics2D object we can draw on
 		Graphics g = panel.getBufferGraphics() ;
@@ -166,6 +196,7 @@ public class FirstPersonView {
             return;
         }
         gc = (Graphics2D) g ;
+        frameBuffer = softwareRendering ? panel.getFrameBuffer() : null;
         
         // update fields angle, viewx, viewy for current position and viewing angle
         angle = ang ;
@@ -185,7 +216,21 @@ public class FirstPersonView {
         traverseNodeCounter = traverseWallSectorCounter =
         		drawRectCounter = drawRectLateCounter = drawRectWallCounter = 0;
         //
-        drawAllVisibleSectors(bspRoot);
+        drawAllVisibleSectors(bspTree.getRoot());
+	}
+	
+	/**
+	 * Selects how walls are drawn. Software rendering writes the columns 
+	 * of walls straight into the pixels of the buffer image with the 
+	 * packed RGB values from the wall table, it allocates nothing per wall. 
+	 * Otherwise walls are drawn with fillPolygon on the buffer graphics,
+	 * which uses antialiasing, so edges of walls look slightly different.
+	 * Default is false.
+	 * @param softwareRendering is true for drawing into the framebuffer of the panel
+	 */
+	@Override
+	public void setSoftwareRendering(boolean softwareRendering) {
+		this.softwareRendering = softwareRendering;
 	}
 
 
@@ -221,6 +266,13 @@ public class FirstPersonView {
 	 * @param percentToExit gives the distance to exit
 	 */
 	private void drawBackground(Graphics graphics, float percentToExit) {
+		if (null != frameBuffer) {
+			frameBuffer.fillRect(0, 0, viewWidth, viewHeight/2, 
+					ColorTheme.getColor(MazeColors.BACKGROUND_TOP,percentToExit).getRGB());
+			frameBuffer.fillRect(0, viewHeight/2, viewWidth, viewHeight/2, 
+					ColorTheme.getColor(MazeColors.BACKGROUND_BOTTOM,percentToExit).getRGB());
+			return;
+		}
 		graphics.setColor(ColorTheme.getColor(MazeColors.BACKGROUND_TOP,percentToExit));
 		graphics.fillRect(0, 0, viewWidth, viewHeight/2);
 		graphics.setColor(ColorTheme.getColor(MazeColors.BACKGROUND_BOTTOM,percentToExit));
@@ -230,40 +282,40 @@ public class FirstPersonView {
 	/**
 	 * Recursive method to explore tree of BSP nodes and draw all walls in leaf nodes 
 	 * where the bounding box is visible
-	 * @param node is the current node of interest
+	 * @param node is the index of the current node of interest
 	 */
-	private void drawAllVisibleSectors(BSPNode node) {
+	private void drawAllVisibleSectors(int node) {
 		traverseNodeCounter++; // debug
 		
 		// Anchor, stop recursion at leaf nodes
-		if (node.isIsleaf()) {
-			drawAllWallsOfASector((BSPLeaf) node);
+		if (bspTree.isLeaf(node)) {
+			drawAllWallsOfASector(node);
 			return;
 		}
 		
 		// for intermediate nodes proceed recursively through all visible branches
-		BSPBranch n = (BSPBranch) node;
+		final CompiledBSPTree n = bspTree;
 		
 		// debug code
 		if (deepDebug) {
 			dbg("                               ".substring(0, nesting) +
-					"traverse_node "+n.getX()+" "+n.getY()+" "+n.getDx()+" "+n.getDy()+" "+
-					n.getLowerBoundX()+" "+n.getLowerBoundY()+" "+n.getUpperBoundX()+" "+n.getUpperBoundY());
+					"traverse_node "+n.getX(node)+" "+n.getY(node)+" "+n.getDx(node)+" "+n.getDy(node)+" "+
+					n.getLowerBoundX(node)+" "+n.getLowerBoundY(node)+" "+n.getUpperBoundX(node)+" "+n.getUpperBoundY(node));
 		}
 		nesting++; // debug
 		
-		final int dot = (viewX-n.getX())*n.getDy() - (viewY-n.getY())*n.getDx();
+		final int dot = (viewX-n.getX(node))*n.getDy(node) - (viewY-n.getY(node))*n.getDx(node);
 		// The type of tree traversal depends on the value of dot
 		// either do right before left or vice versa
 		// but only if node is visible at all
 		
 		// if dot >= 0 consider right node before left node
-		BSPNode right = n.getRightBranch();
+		final int right = n.getRightChild(node);
 		if ((dot >= 0) && (boundingBoxIsVisible(right))) {
 			drawAllVisibleSectors(right);
 		}
 		// consider left node
-		BSPNode left = n.getLeftBranch();
+		final int left = n.getLeftChild(node);
 		if (boundingBoxIsVisible(left))
 			drawAllVisibleSectors(left);
 		// if dot < 0 consider right node now (after left node)
@@ -274,10 +326,10 @@ public class FirstPersonView {
 	}
 	/**
 	 * Decide if the bounding box is visible
-	 * @param node the current node
+	 * @param node the index of the current node
 	 * @return true if node should be drawn, false otherwise
 	 */
-	private boolean boundingBoxIsVisible(BSPNode node) {
+	private boolean boundingBoxIsVisible(int node) {
 		
 		if (allVisible) // unused feature, presumably for debugging
 			return true;
@@ -292,10 +344,10 @@ public class FirstPersonView {
 		// to check for an intersection with the range set
 		// calculate 2 intermediate points (p1x,p1y) and (p2x,p2y) first
 		// then derive x1 and x2
-		final int xmin = node.getLowerBoundX() - viewX;
-		final int ymin = node.getLowerBoundY() - viewY;
-		final int xmax = node.getUpperBoundX() - viewX;
-		final int ymax = node.getUpperBoundY() - viewY;
+		final int xmin = bspTree.getLowerBoundX(node) - viewX;
+		final int ymin = bspTree.getLowerBoundY(node) - viewY;
+		final int xmax = bspTree.getUpperBoundX(node) - viewX;
+		final int ymax = bspTree.getUpperBoundY(node) - viewY;
 		// initialize (p1x,p1y) and (p2x,p2y) with bounds
 		int p1x = xmin; 
 		int p2x = xmax;
@@ -320,7 +372,7 @@ public class FirstPersonView {
 			p1x = xmax; 
 			p2x = xmin;
 		}
-		RangePair rp = getNewRangePair(p1x, p2x, p1y, p2y);
+		RangePair rp = setRangePair(p1x, p2x, p1y, p2y);
 		if (!rp.clip3d())
 			return false;
 		// note: zscale == view_height/2 is constant
@@ -335,18 +387,18 @@ public class FirstPersonView {
 		// if interval [x1,x2] intersects with any of the intervals on 
 		// the x-axis that have not been covered with a wall (a polygon)
 		// yet, then this node might be needed.
-		return (null != rSet.getIntersection(x1, x2));
+		return rSet.intersects(x1, x2);
 	}
 	/**
-	 * Instantiates a new RangePair for the given parameters.
+	 * Sets the reused RangePair to the given parameters.
 	 * Parameter values are adjusted for the viewing direction.
 	 * @param p1x x coordinate of first point
 	 * @param p2x x coordinate of 2nd point
 	 * @param p1y y coordinate of first point
 	 * @param p2y y coordinate of 2nd point
-	 * @return new RangePair for adjusted parameters
+	 * @return the RangePair for adjusted parameters, valid until the next call
 	 */
-	private RangePair getNewRangePair(int p1x, int p2x, int p1y, int p2y) {
+	private RangePair setRangePair(int p1x, int p2x, int p1y, int p2y) {
 		int viewDX = getViewDX(angle) ;
         int viewDY = getViewDY(angle) ;
 		
@@ -355,49 +407,51 @@ public class FirstPersonView {
 		int x2 = -unscaleViewD(viewDY*p2x - viewDX*p2y);
 		int z2 = -unscaleViewD(viewDX*p2x + viewDY*p2y);
 		
-		return new RangePair(x1, z1, x2, z2);
+		rangePair.set(x1, z1, x2, z2);
+		return rangePair;
 	}
 	/**
 	 * Checks if bounding box for current node is out of view.
-	 * @param node the current node
+	 * @param node the index of the current node
 	 * @return true if any of the special cases match, false otherwise
 	 */
-	private boolean isOutOfView(BSPNode node) {
-		if (angle >= 45 && angle <= 135 && viewY > node.getUpperBoundY())
+	private boolean isOutOfView(int node) {
+		if (angle >= 45 && angle <= 135 && viewY > bspTree.getUpperBoundY(node))
 			return true;
-		if (angle >= 225 && angle <= 315 && viewY < node.getLowerBoundY())
+		if (angle >= 225 && angle <= 315 && viewY < bspTree.getLowerBoundY(node))
 			return true;
-		if (angle >= 135 && angle <= 225 && viewX < node.getLowerBoundX())
+		if (angle >= 135 && angle <= 225 && viewX < bspTree.getLowerBoundX(node))
 			return true;
-		if ((angle >= 315 || angle <= 45) && viewX > node.getUpperBoundX())
+		if ((angle >= 315 || angle <= 45) && viewX > bspTree.getUpperBoundX(node))
 			return true;
 		return false;
 	}
 
 	/**
 	 * Traverses all walls of this leaf and draws corresponding rectangles on screen
-	 * @param node is the leaf node
+	 * @param node is the index of the leaf node
 	 */
-	private void drawAllWallsOfASector(BSPLeaf node) {
-		List<Wall> allWalls = node.getAllWalls();
+	private void drawAllWallsOfASector(int node) {
 		// debug
 		traverseWallSectorCounter++;
 		if (deepDebug) {
 			dbg("                               ".substring(0, nesting) +
-					"traverseWallSector "+node.getLowerBoundX()+" "+node.getLowerBoundY()+
-					" "+node.getUpperBoundX()+" "+node.getUpperBoundY());
+					"traverseWallSector "+bspTree.getLowerBoundX(node)+" "+bspTree.getLowerBoundY(node)+
+					" "+bspTree.getUpperBoundX(node)+" "+bspTree.getUpperBoundY(node));
 		}
-		// for all walls of this node
+		// for all walls of this node, a contiguous range in the wall table
 		int i = 0;
-		for (Wall wall: allWalls) {
+		final WallTable walls = bspTree.getWalls();
+		final int end = bspTree.getEndWall(node);
+		for (int index = bspTree.getFirstWall(node); index < end; index++) {
 			// draw rectangle
-			drawWall(wall);
+			drawWall(walls, index);
 			// debug
 			if (deepDebug) {
 				dbg("                               ".substring(0, nesting) +
 						" traverseWallSector(" + i +") "+
-						wall.getStartPositionX()+" "+wall.getStartPositionY()+" "+
-						wall.getExtensionX()+" "+wall.getExtensionY());
+						walls.getStartPositionX(index)+" "+walls.getStartPositionY(index)+" "+
+						walls.getExtensionX(index)+" "+walls.getExtensionY(index));
 				i++;
 			}
 
@@ -407,20 +461,21 @@ public class FirstPersonView {
 	/**
 	 * Draws wall on screen via graphics attribute gc.
 	 * Helper method for drawAllWallsOfASector.
-	 * @param wall whose seen attribute may be set to true
+	 * @param walls is the wall table of the BSP tree
+	 * @param wall is the index of the wall whose seen attribute may be set to true
 	 */
-	private void drawWall(Wall wall) {
+	private void drawWall(WallTable walls, int wall) {
 		drawRectCounter++; // debug, counter
 		
 		// some notes: 
 		// perspective centers on (centerX,centerY) = (view_width/2,view_height/2)
 		// initialization part for x1, x2, y11, y12, y21, y22
-		final int ox1 = wall.getStartPositionX() - viewX;
-		final int ox2 = wall.getEndPositionX()   - viewX;
-		final int y1  = wall.getStartPositionY() - viewY;
-		final int y2  = wall.getEndPositionY()   - viewY;
+		final int ox1 = walls.getStartPositionX(wall) - viewX;
+		final int ox2 = walls.getEndPositionX(wall)   - viewX;
+		final int y1  = walls.getStartPositionY(wall) - viewY;
+		final int y2  = walls.getEndPositionY(wall)   - viewY;
 		
-		RangePair rp = getNewRangePair(ox1, ox2, y1, y2);
+		RangePair rp = setRangePair(ox1, ox2, y1, y2);
 		if (!rp.clip3d())
 			return;
 		// note: viewZ == 50 is a constant
@@ -439,14 +494,17 @@ public class FirstPersonView {
 		
 		// moved code for drawing bits and pieces into yet another method to 
 		// gain more clarity on what information is actually needed
-		gc.setColor(ColorTheme.getColor(wall.getColor()));
+		if (null != frameBuffer)
+			wallColor = walls.getColor(wall);
+		else
+			gc.setColor(ColorTheme.getColor(walls.getColor(wall)));
 		boolean drawn = drawPolygons(x1, x2, y11, y12, y21, y22);
 		
-		if (drawn && !wall.isSeen()) {
-			wall.setSeen(true); // updates the wall
+		if (drawn && !walls.isSeen(wall)) {
+			walls.setSeen(wall, true); // updates the wall
 			// set the seenWalls bit for all wallboards of a wall
-			// the wall parameter given is not modified
-			seenWalls.addWall(wall, mapUnit); // updates seenWalls
+			// the wall in the table is not modified
+			seenWalls.addWall(walls, wall, mapUnit); // updates seenWalls
 		}
 	}
 	
@@ -482,7 +540,6 @@ public class FirstPersonView {
 		// Loop variable is x1i, starts at x1, upper limit x2 is fixed
 		int x1i = x1; // init loop variable
 		int x2i;      // initialized inside loop
-		int[] intersect;
 		while (x1i <= x2) {
 			// check if there is an intersection, 
 			// if there is none, done, exit the loop, 
@@ -490,11 +547,10 @@ public class FirstPersonView {
 			// rset represents the to-do list of intervals on the x-axis
 			// that are not covered by a polygon yet
 			// get one intersection for our interval[x1i,x2] with rset
-			intersect = rSet.getIntersection(x1i, x2);
-			if (null == intersect)
+			if (!rSet.getIntersection(x1i, x2, intersection))
 				break; // exit point for loop
-			x1i = intersect[0]; // progress: can not be less than previous x1i
-			x2i = intersect[1]; // x1i <= x2i 
+			x1i = intersection[0]; // progress: can not be less than previous x1i
+			x2i = intersection[1]; // x1i <= x2i 
 			// draw polygon for intersection (x1i,x2i) on x-axis
 			// 4 points needed for polygon, 
 			// case 1: blocking wallboard: 
@@ -508,18 +564,24 @@ public class FirstPersonView {
 			// constant xd == x2-x1, yd1 = y21-y11, and yd2 = y22-y12
 			// the additive term for the y coordinate depends on the point's x coordinate
 			// polygon covers interval [x1i, x2i] on the x-axis
-			int[] xps = { x1i, x1i, x2i+1, x2i+1 };
+			xps[0] = x1i;
+			xps[1] = x1i;
+			xps[2] = x2i+1;
+			xps[3] = x2i+1;
 			// (x1i-x1)/xd is the percentage of what's left of [x1i,x2i] in [x1,x2]
 			// (x2i-x2)/xd is the percentage of what's right of [x1i,x2i] in [x1,x2]
 			// memo: warning for refactoring: this is integer division
-			int[] yps = { y11+(x1i-x1)*yd1/xd,
-					y12+(x1i-x1)*yd2/xd+1,
-					y22+(x2i-x2)*yd2/xd+1,
-					y21+(x2i-x2)*yd1/xd };
+			yps[0] = y11+(x1i-x1)*yd1/xd;
+			yps[1] = y12+(x1i-x1)*yd2/xd+1;
+			yps[2] = y22+(x2i-x2)*yd2/xd+1;
+			yps[3] = y21+(x2i-x2)*yd1/xd;
 			// debug
 			//dbg("polygon-x: " + xps[0] + ", " + xps[1] + ", " + xps[2] + ", " + xps[3]) ;
 			//dbg("polygon-y: " + yps[0] + ", " + yps[1] + ", " + yps[2] + ", " + yps[3]) ;
-			gc.fillPolygon(xps, yps, 4);
+			if (null != frameBuffer)
+				frameBuffer.fillColumns(xps[0], yps[0], yps[1], xps[2], yps[3], yps[2], wallColor);
+			else
+				gc.fillPolygon(xps, yps, 4);
 			// for debugging purposes, code will draw a red line around polygon
 			// this makes individual walls visible
 			/*
@@ -561,14 +623,19 @@ public class FirstPersonView {
 
 	/**
 	 * Trivial class to hold 4 integer values. Used only in FirstPersonDrawer.
+	 * A single instance is reused, so values are only valid until the next call of set.
 	 */
 	class RangePair {
 		public int x1;
 		public int z1; 
 		public int x2; 
 		public int z2;
+		private final FloatPair fp = new FloatPair(0, 1); // reused by clip3d
 
-		RangePair(int xx1, int zz1, int xx2, int zz2) {
+		/**
+		 * Assigns the given values.
+		 */
+		void set(int xx1, int zz1, int xx2, int zz2) {
 			x1 = xx1;
 			z1 = zz1;
 			x2 = xx2;
@@ -589,7 +656,8 @@ public class FirstPersonView {
 			// calculate float pair
 			final int dx = x2 - x1;
 			final int dz = z2 - z1;
-			FloatPair fp = new FloatPair(0, 1);
+			fp.p1 = 0;
+			fp.p2 = 1;
 			if (!fp.clipt(-dx - dz, x1 + z1))
 				return false;
 			if (!fp.clipt(dx - dz, -x1 + z1))
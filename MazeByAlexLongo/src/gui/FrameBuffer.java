@@ -0,0 +1,122 @@
+package gui;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+
+/**
+ * A software framebuffer on top of the pixels of a buffer image.
+ * Drawers for the first person view can fill the background and
+ * wall polygons by writing packed RGB values straight into the
+ * int array of the image instead of going through a Graphics object.
+ * This needs no Color objects and no per wall allocation.
+ * The image itself is still what the MazePanel puts on screen,
+ * so the Map and the CompassRose keep drawing on top of it
+ * with the buffer graphics.
+ *
+ * The image must be of type {@link BufferedImage#TYPE_INT_RGB},
+ * see {@link MazePanel#getFrameBuffer()}.
+ *
+ * @author Alex Longo
+ */
+public class FrameBuffer {
+	private final int width;
+	private final int height;
+	/**
+	 * The pixels of the image, row by row, one packed RGB value per pixel.
+	 */
+	private final int[] pixels;
+
+	/**
+	 * Constructor
+	 * @param image the buffer image to draw on, must be of type TYPE_INT_RGB
+	 */
+	public FrameBuffer(BufferedImage image) {
+		width = image.getWidth();
+		height = image.getHeight();
+		// note: obtaining the array makes the image unmanaged,
+		// i.e. Java2D will not cache a copy of it that could get out of sync
+		pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+	}
+
+	public int getWidth() {
+		return width;
+	}
+
+	public int getHeight() {
+		return height;
+	}
+
+	/**
+	 * Provides direct access to the pixels of the image.
+	 * @return the pixels, the pixel (x,y) is at index {@code y*width+x}
+	 */
+	public int[] getPixels() {
+		return pixels;
+	}
+
+	/**
+	 * Fills the rectangle with the given color,
+	 * same as fillRect on a Graphics object.
+	 * @param x left end of the rectangle
+	 * @param y top end of the rectangle
+	 * @param w width of the rectangle
+	 * @param h height of the rectangle
+	 * @param rgb the color as a packed RGB value
+	 */
+	public void fillRect(int x, int y, int w, int h, int rgb) {
+		final int x1 = Math.max(0, x);
+		final int x2 = Math.min(width, x + w);
+		final int y1 = Math.max(0, y);
+		final int y2 = Math.min(height, y + h);
+		if (x1 >= x2)
+			return;
+		if (x1 == 0 && x2 == width) {
+			// full rows are a contiguous range of the array
+			if (y1 < y2)
+				Arrays.fill(pixels, y1*width, y2*width, rgb);
+			return;
+		}
+		for (int row = y1; row < y2; row++) {
+			Arrays.fill(pixels, row*width + x1, row*width + x2, rgb);
+		}
+	}
+
+	/**
+	 * Fills a polygon with two vertical edges, which is the shape of
+	 * any wall in the first person view, a rectangle or a trapezoid.
+	 * The corners are the same as the ones of the corresponding
+	 * {@code fillPolygon} call: the left edge is at x coordinate xLeft,
+	 * the right edge at xRight, each with a y coordinate for its top and bottom end.
+	 * As for fillPolygon, a pixel is covered if its center is inside of the polygon.
+	 * @param xLeft the x coordinate of the left edge
+	 * @param topLeft the top end of the left edge
+	 * @param bottomLeft the bottom end of the left edge
+	 * @param xRight the x coordinate of the right edge, {@code xLeft < xRight}
+	 * @param topRight the top end of the right edge
+	 * @param bottomRight the bottom end of the right edge
+	 * @param rgb the color as a packed RGB value
+	 */
+	public void fillColumns(int xLeft, int topLeft, int bottomLeft,
+			int xRight, int topRight, int bottomRight, int rgb) {
+		final int span = xRight - xLeft;
+		if (span <= 0)
+			return;
+		final double topSlope = (topRight - topLeft) / (double) span;
+		final double bottomSlope = (bottomRight - bottomLeft) / (double) span;
+		final int first = Math.max(0, xLeft);
+		final int last = Math.min(width, xRight);
+		for (int column = first; column < last; column++) {
+			// edges at the center of the column
+			final double dx = column + 0.5 - xLeft;
+			final double top = topLeft + topSlope*dx;
+			final double bottom = bottomLeft + bottomSlope*dx;
+			// rows whose centers are in [top,bottom)
+			final int y1 = Math.max(0, (int) Math.ceil(top - 0.5));
+			final int y2 = Math.min(height, (int) Math.ceil(bottom - 0.5));
+			for (int index = y1*width + column, end = y2*width; index < end; index += width) {
+				pixels[index] = rgb;
+			}
+		}
+	}
+}
@@ -3,7 +3,6 @@
  */
 package gui;
 
-import generation.CardinalDirection;
 import generation.Floorplan;
 import generation.Maze;
 import gui.ColorTheme.MazeColors;
@@ -45,9 +44,11 @@ public class Map {
 	final int stepSize;  // set to Constants.STEP_SIZE, typical value: map_unit/4
 	
 	/**
-	 * The user can increment or decrement the scale of the map.
-	 * map_scale is used to keep track of the current setting.
-	 * Minimum value is 1.
+	 * The scale of the frame that is being drawn, minimum value is 1.
+	 * The user can zoom in and out, StatePlaying keeps track of the setting
+	 * and publishes it with each view state. Each frame sets the scale once
+	 * at its start, so all parts of a frame use the same scale.
+	 * Only used on the thread that draws, a new value rebuilds the map layer lazily.
 	 */
 	int mapScale;
 	
@@ -66,6 +67,11 @@ public class Map {
 	 * width and height of the maze
 	 */
 	final Maze maze ;
+	
+	/**
+	 * Walls of the whole maze pre-rendered for the current map scale.
+	 */
+	private final MapLayer layer ;
 
 	/**
 	 * Constructor 
@@ -74,7 +80,7 @@ public class Map {
 	 * @param mapUnit gives the map unit
 	 * @param stepSize give the step size
 	 * @param seenWalls stores information on which walls have been on display, must be non-null
-	 * @param mapScale gives the current scale, must be greater or equal 1
+	 * @param mapScale gives the initial scale, must be greater or equal 1
 	 * @param maze gives the current maze, must be non-null, a fully functional maze
 	 */
 	public Map(int width, int height, int mapUnit, int stepSize, Floorplan seenWalls, int mapScale, Maze maze){
@@ -86,6 +92,7 @@ public class Map {
 		this.seenWalls = seenWalls ;
 		this.mapScale = mapScale >= 1 ? mapScale: 1 ; // 1 <= map_scale
 		this.maze = maze ;
+		this.layer = new MapLayer(maze, seenWalls) ;
 		// correctness considerations
 		assert maze != null : "Map: maze configuration can't be null at instantiation!" ;
 		assert seenWalls != null : "Map: seencells can't be null at instantiation!" ;
@@ -95,7 +102,7 @@ public class Map {
 	 * Constructor with default settings
 	 * from Constants.java for width, height, mapUnit and stepSize.
 	 * @param seenWalls stores information on which walls have been on display, must be non-null
-	 * @param mapScale gives the current scale, must be greater or equal 1
+	 * @param mapScale gives the initial scale, must be greater or equal 1
 	 * @param maze gives the current maze, must be non-null, a fully functional maze
 	 */
 	public Map(Floorplan seenWalls, int mapScale, Maze maze){
@@ -103,22 +110,6 @@ public class Map {
     			Constants.STEP_SIZE, seenWalls, mapScale, maze);
 		}
 	
-	/**
-	 * Make the map being drawn bigger on the screen
-	 */
-	public void incrementMapScale() {
-		mapScale += 1 ;
-	}
-	
-	/**
-	 * Make the map being drawn smaller on the screen
-	 */
-	public void decrementMapScale() {
-		mapScale -= 1 ;
-		if (1 > mapScale)
-			mapScale = 1 ;
-	}
-
 	/**
 	 * Draws the current map on top of the first person view.
 	 * Method assumes that we are in the playing state and that
@@ -130,12 +121,14 @@ public class Map {
 	 * @param walkStep is a counter between 0, 1, 2, ..., 3
 	 * for in between stages for a walk operation, needed to obtain
 	 * exact location in map
+	 * @param mapScale is the scale of the map for this frame, a value below 1 counts as 1
 	 * @param showMaze if true, highlights already seen walls in white
 	 * @param showSolution if true shows a path to the exit as a yellow line,
 	 * otherwise path is not shown.
 	 */
 	public void draw(MazePanel panel, int x, int y, int angle, int walkStep,
-			boolean showMaze, boolean showSolution) {
+			int mapScale, boolean showMaze, boolean showSolution) {
+		this.mapScale = mapScale >= 1 ? mapScale: 1 ; // 1 <= map_scale
 		Graphics g = panel.getBufferGraphics() ;
         // viewers draw on the buffer graphics
         if (null == g) {
@@ -172,6 +165,8 @@ public class Map {
 	 * The map is drawn only on a small rectangle inside the maze area such that only a part of the map is actually shown.
 	 * Of course a part covering the current location needs to be displayed.
 	 * The current cell is (px,py). There is a viewing direction (view_dx, view_dy).
+	 * The walls come pre-rendered from the map layer which is
+	 * copied with the offset for the current position.
 	 * @param g graphics handler to manipulate screen
 	 * @param px current position, x index
 	 * @param py current position, y index
@@ -185,130 +180,21 @@ public class Map {
 	 */
 	private void drawMap(Graphics g, int px, int py, int walkStep, 
 			int viewDX, int viewDY, boolean showMaze, boolean showSolution) {
-		// dimensions of the maze in terms of cell ids
-		final int mazeWidth = maze.getWidth() ;
-		final int mazeHeight = maze.getHeight() ;
-		
-		g.setColor(ColorTheme.getColor(MazeColors.MAP_DEFAULT));
-		
 		// note: 1/2 of width and height is the center of the screen
 		// the whole map is centered at the current position
 		final int offsetX = getOffset(px, walkStep, viewDX, viewWidth);
 		final int offsetY = getOffset(py, walkStep, viewDY, viewHeight);
 		
-		// We need to calculate bounds for cell indices to consider
-		// for drawing. Since not the whole maze may be visible
-		// for the given screen size and the current position (px,py)
-		// is fixed to the center of the drawing area, we need
-		// to find the min and max indices for cells to consider.
-		// compute minimum for x,y
-		final int minX = getMinimum(offsetX);
-		final int minY = getMinimum(offsetY);
-		// compute maximum for x,y
-		final int maxX = getMaximum(offsetX, viewWidth, mazeWidth);
-		final int maxY = getMaximum(offsetY, viewHeight, mazeHeight);
-		
-		// iterate over integer grid between min and max of x,y indices for cells
-		for (int y = minY; y <= maxY; y++)
-			for (int x = minX; x <= maxX; x++) {
-				// starting point of line
-				int startX = mapToCoordinateX(x, offsetX);
-				int startY = mapToCoordinateY(y, offsetY);
-				if (x < mazeWidth)
-					drawHorizontalLine(g, showMaze, x, y, startX, startY);
-				if (y < mazeHeight)
-					drawVerticalLine(g, showMaze, x, y, startX, startY);
-			}
+		// the layer has the cell (0,0) at its bottom left corner,
+		// same as mapToCoordinateX and mapToCoordinateY for offsets (0,0)
+		final int originY = viewHeight - layer.getLayerHeight(mapScale) - offsetY;
+		layer.draw(g, mapScale, showMaze, offsetX, originY, viewWidth, viewHeight);
 		
 		if (showSolution) {
 			drawSolution(g, offsetX, offsetY, px, py) ;
 		}
 	}
 
-	/**
-	 * Draw a vertical line for the overall map
-	 * @param g the graphics object to draw on
-	 * @param showMaze if the whole maze is to be drawn otherwise only the visible walls
-	 * @param x current x index
-	 * @param y current y index
-	 * @param startX the x coordinate for drawing
-	 * @param startY the y coordinate for drawing
-	 */
-	private void drawVerticalLine(Graphics g, boolean showMaze, int x, int y, int startX, int startY) {
-		if (hasAVerticalWall(x, y) && 
-				(seenWalls.hasWall(x, y, CardinalDirection.West) || showMaze)) {
-			g.setColor(seenWalls.hasWall(x, y, CardinalDirection.West) ? 
-					ColorTheme.getColor(MazeColors.MAP_WALL_SEENBEFORE) : 
-						ColorTheme.getColor(MazeColors.MAP_WALL_DEFAULT));
-			g.drawLine(startX, startY, startX, startY - mapScale); 
-		}
-	}
-	
-	/**
-	 * Check if there is a wall on the west side of the (x,y) position in the maze
-	 * @param x index for position in maze
-	 * @param y index for position in maze
-	 * @return true if there is a wall on the west side
-	 */
-	private boolean hasAVerticalWall(int x, int y) {
-		return (x < maze.getWidth()) ? 
-				maze.hasWall(x, y, CardinalDirection.West) :
-					maze.hasWall((x-1), y, CardinalDirection.East);
-	}
-	
-	/**
-	 * Draw a horizontal line for the overall map
-	 * @param g the graphics object to draw on
-	 * @param showMaze if the whole maze is to be drawn
-	 * @param x current x index
-	 * @param y current y index
-	 * @param startX the x coordinate for drawing
-	 * @param startY the y coordinate for drawing
-	 */
-	private void drawHorizontalLine(Graphics g, boolean showMaze, int x, int y, int startX,
-			int startY) {
-		if (hasAHorizontalWall(x, y) && (seenWalls.hasWall(x,y, CardinalDirection.North) || showMaze) ) {
-			g.setColor(seenWalls.hasWall(x,y, CardinalDirection.North) ? 
-					ColorTheme.getColor(MazeColors.MAP_WALL_SEENBEFORE) : 
-						ColorTheme.getColor(MazeColors.MAP_WALL_DEFAULT));
-			g.drawLine(startX, startY, startX + mapScale, startY); 
-		}
-	}
-	
-	/**
-	 * Check if there is a wall on the north side of the (x,y) position in the maze
-	 * @param x index for position in maze
-	 * @param y index for position in maze
-	 * @return true if there is a wall on the north side
-	 */
-	private boolean hasAHorizontalWall(int x, int y) {
-		return (y < maze.getHeight()) ?
-				maze.hasWall(x,y, CardinalDirection.North) :
-					maze.hasWall(x,y-1, CardinalDirection.South);
-	}
-	
-	/**
-	 * Obtains the maximum for a given offset
-	 * @param offset either in x or y direction
-	 * @param viewLength is either viewWidth or viewHeight
-	 * @param mazeLength is either mazeWidth or mazeHeight
-	 * @return maximum that is bounded by mazeLength
-	 */
-	private int getMaximum(int offset, int viewLength, int mazeLength) {
-		int result = (viewLength-offset)/mapScale+1;
-		return (result >= mazeLength) ? mazeLength : result; 
-	}
-
-	/**
-	 * Obtains the minimum for a given offset
-	 * @param offset either in x or y direction
-	 * @return minimum that is greater or equal 0
-	 */
-	private int getMinimum(final int offset) {
-		final int result = -offset/mapScale;
-		return (result < 0) ? 0 : result;
-	}
-
 	/**
 	 * Calculates the offset in either x or y direction
 	 * @param coordinate is either x or y coordinate of current position
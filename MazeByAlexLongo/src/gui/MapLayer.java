@@ -0,0 +1,261 @@
+package gui;
+
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+import generation.CardinalDirection;
+import generation.Floorplan;
+import generation.Maze;
+import gui.ColorTheme.MazeColors;
+
+/**
+ * The map layer keeps the walls of the whole maze pre-rendered
+ * at the current map scale, such that drawing the map takes a copy
+ * of images rather than a line for each wallboard on display.
+ *
+ * The layer is cut into square tiles that are created once they
+ * become visible. A tile is only redrawn if a row of cells it covers
+ * got new seen walls, the Floorplan of seen walls keeps track of the rows
+ * that changed, see {@link Floorplan#getVersion()}.
+ * A change of the map scale, of the showMaze setting or of the colors
+ * discards all tiles, they are redrawn once they are visible again.
+ *
+ * Coordinates in the layer are such that the top left corner of the
+ * layer is (0,0) and the bottom left corner of the maze at (0,0) is at
+ * (0,layerHeight-1), the same layout as on the screen.
+ * Tiles are redrawn with the lines of all cells that touch them
+ * in the same order as the map draws them on the screen,
+ * so the pixels of overlapping lines come out the same.
+ *
+ * Only used by the Map and only from the thread that draws the map.
+ *
+ * @author Alex Longo
+ */
+public class MapLayer {
+	/**
+	 * Width and height of a tile in pixels.
+	 */
+	static final int TILE_SIZE = 256;
+
+	private final Maze maze;
+	private final Floorplan seenWalls;
+
+	// the settings the current tiles were drawn with, scale is 0 if there are no tiles
+	private int scale;
+	private boolean showMaze;
+	private Color seenColor;
+	private Color defaultColor;
+	private long version; // of the seen walls
+
+	private int layerWidth;
+	private int layerHeight;
+	private int tileColumns;
+	private int tileRows;
+	private BufferedImage[] tiles; // row-major, null until visible
+	private boolean[] dirty;       // row-major, true if the tile needs to be redrawn
+
+	/**
+	 * Constructor
+	 * @param maze gives the current maze, must be non-null
+	 * @param seenWalls stores information on which walls have been on display, must be non-null
+	 */
+	public MapLayer(Maze maze, Floorplan seenWalls) {
+		this.maze = maze;
+		this.seenWalls = seenWalls;
+	}
+
+	/**
+	 * Gives the height of the layer for the given map scale.
+	 * @param mapScale the scale of the map, {@code 1 <= mapScale}
+	 * @return the height in pixels
+	 */
+	public int getLayerHeight(int mapScale) {
+		return maze.getHeight()*mapScale + 1;
+	}
+
+	/**
+	 * Draws the visible part of the layer.
+	 * @param g the graphics to draw on, rendering hints are copied into the tiles
+	 * @param mapScale the current scale of the map, {@code 1 <= mapScale}
+	 * @param showMaze if true, walls that were not seen yet are drawn as well
+	 * @param originX the x coordinate of the top left corner of the layer on the screen
+	 * @param originY the y coordinate of the top left corner of the layer on the screen
+	 * @param viewWidth width of the screen
+	 * @param viewHeight height of the screen
+	 * @throws IllegalArgumentException if the map scale is less than 1
+	 */
+	public void draw(Graphics g, int mapScale, boolean showMaze, int originX, int originY,
+			int viewWidth, int viewHeight) {
+		// a scale of 0 would leave the layer without tiles and divide by zero in drawTile
+		if (mapScale < 1) {
+			throw new IllegalArgumentException("Map scale must be at least 1: " + mapScale);
+		}
+		final Color seen = ColorTheme.getColor(MazeColors.MAP_WALL_SEENBEFORE);
+		final Color unseen = ColorTheme.getColor(MazeColors.MAP_WALL_DEFAULT);
+		if (mapScale != scale || showMaze != this.showMaze ||
+				!seen.equals(seenColor) || !unseen.equals(defaultColor)) {
+			reset(mapScale, showMaze, seen, unseen);
+		}
+		else if (seenWalls.getVersion() != version) {
+			invalidateChangedRows();
+		}
+		// tiles that intersect with the screen
+		final int minColumn = Math.max(0, -originX / TILE_SIZE);
+		final int maxColumn = Math.min(tileColumns - 1, Math.floorDiv(viewWidth - 1 - originX, TILE_SIZE));
+		final int minRow = Math.max(0, -originY / TILE_SIZE);
+		final int maxRow = Math.min(tileRows - 1, Math.floorDiv(viewHeight - 1 - originY, TILE_SIZE));
+		for (int row = minRow; row <= maxRow; row++) {
+			for (int column = minColumn; column <= maxColumn; column++) {
+				final int index = row*tileColumns + column;
+				if (null == tiles[index] || dirty[index]) {
+					drawTile(g, column, row);
+				}
+				g.drawImage(tiles[index], originX + column*TILE_SIZE, originY + row*TILE_SIZE, null);
+			}
+		}
+	}
+
+	/**
+	 * Discards all tiles and sets up the layer for the given settings.
+	 */
+	private void reset(int mapScale, boolean showMaze, Color seen, Color unseen) {
+		scale = mapScale;
+		this.showMaze = showMaze;
+		seenColor = seen;
+		defaultColor = unseen;
+		version = seenWalls.getVersion();
+		layerWidth = maze.getWidth()*mapScale + 1;
+		layerHeight = getLayerHeight(mapScale);
+		tileColumns = (layerWidth + TILE_SIZE - 1) / TILE_SIZE;
+		tileRows = (layerHeight + TILE_SIZE - 1) / TILE_SIZE;
+		tiles = new BufferedImage[tileColumns*tileRows];
+		dirty = new boolean[tileColumns*tileRows];
+	}
+
+	/**
+	 * Marks the tiles as dirty that cover a row of cells
+	 * with seen walls that changed since the tiles were drawn.
+	 */
+	private void invalidateChangedRows() {
+		// the seen walls have an extra row for the walls on the top of the maze
+		final int rows = Math.min(seenWalls.getHeight(), maze.getHeight() + 1);
+		for (int y = 0; y < rows; y++) {
+			if (seenWalls.hasRowChangedSince(y, version)) {
+				// horizontal lines of row y are at bottom, vertical lines go up by scale
+				final int bottom = layerHeight - 1 - y*scale;
+				final int top = bottom - scale;
+				// one pixel more on each side in case of antialiasing
+				final int firstRow = Math.max(0, (top - 1) / TILE_SIZE);
+				final int lastRow = Math.min(tileRows - 1, (bottom + 1) / TILE_SIZE);
+				for (int row = firstRow; row <= lastRow; row++) {
+					for (int column = 0; column < tileColumns; column++) {
+						dirty[row*tileColumns + column] = true;
+					}
+				}
+			}
+		}
+		version = seenWalls.getVersion();
+	}
+
+	/**
+	 * Draws the walls of all cells that touch the given tile into the tile.
+	 * @param g the graphics of the screen to copy rendering hints from
+	 * @param column of the tile
+	 * @param row of the tile
+	 */
+	private void drawTile(Graphics g, int column, int row) {
+		final int index = row*tileColumns + column;
+		if (null == tiles[index]) {
+			tiles[index] = new BufferedImage(TILE_SIZE, TILE_SIZE, BufferedImage.TYPE_INT_ARGB_PRE);
+		}
+		dirty[index] = false;
+		final Graphics2D tg = tiles[index].createGraphics();
+		if (g instanceof Graphics2D) {
+			tg.setRenderingHints(((Graphics2D) g).getRenderingHints());
+		}
+		tg.setComposite(AlphaComposite.Clear);
+		tg.fillRect(0, 0, TILE_SIZE, TILE_SIZE);
+		tg.setComposite(AlphaComposite.SrcOver);
+		// pixels of the tile in layer coordinates
+		final int left = column*TILE_SIZE;
+		final int top = row*TILE_SIZE;
+		tg.translate(-left, -top);
+		// cells with lines that touch the tile, one cell more on each side
+		final int mazeWidth = maze.getWidth();
+		final int mazeHeight = maze.getHeight();
+		final int minX = Math.max(0, left/scale - 1);
+		final int maxX = Math.min(mazeWidth, (left + TILE_SIZE)/scale + 1);
+		final int minY = Math.max(0, (layerHeight - 1 - (top + TILE_SIZE))/scale - 1);
+		final int maxY = Math.min(mazeHeight, (layerHeight - 1 - top)/scale + 1);
+		// same order as the map used to draw on the screen
+		for (int y = minY; y <= maxY; y++) {
+			for (int x = minX; x <= maxX; x++) {
+				final int startX = x*scale;
+				final int startY = layerHeight - 1 - y*scale;
+				if (x < mazeWidth)
+					drawHorizontalLine(tg, x, y, startX, startY);
+				if (y < mazeHeight)
+					drawVerticalLine(tg, x, y, startX, startY);
+			}
+		}
+		tg.dispose();
+	}
+
+	/**
+	 * Draw a vertical line for the overall map
+	 * @param g the graphics object to draw on
+	 * @param x current x index
+	 * @param y current y index
+	 * @param startX the x coordinate for drawing
+	 * @param startY the y coordinate for drawing
+	 */
+	private void drawVerticalLine(Graphics g, int x, int y, int startX, int startY) {
+		if (hasAVerticalWall(x, y) &&
+				(seenWalls.hasWall(x, y, CardinalDirection.West) || showMaze)) {
+			g.setColor(seenWalls.hasWall(x, y, CardinalDirection.West) ? seenColor : defaultColor);
+			g.drawLine(startX, startY, startX, startY - scale);
+		}
+	}
+
+	/**
+	 * Check if there is a wall on the west side of the (x,y) position in the maze
+	 * @param x index for position in maze
+	 * @param y index for position in maze
+	 * @return true if there is a wall on the west side
+	 */
+	private boolean hasAVerticalWall(int x, int y) {
+		return (x < maze.getWidth()) ?
+				maze.hasWall(x, y, CardinalDirection.West) :
+					maze.hasWall((x-1), y, CardinalDirection.East);
+	}
+
+	/**
+	 * Draw a horizontal line for the overall map
+	 * @param g the graphics object to draw on
+	 * @param x current x index
+	 * @param y current y index
+	 * @param startX the x coordinate for drawing
+	 * @param startY the y coordinate for drawing
+	 */
+	private void drawHorizontalLine(Graphics g, int x, int y, int startX, int startY) {
+		if (hasAHorizontalWall(x, y) && (seenWalls.hasWall(x,y, CardinalDirection.North) || showMaze) ) {
+			g.setColor(seenWalls.hasWall(x,y, CardinalDirection.North) ? seenColor : defaultColor);
+			g.drawLine(startX, startY, startX + scale, startY);
+		}
+	}
+
+	/**
+	 * Check if there is a wall on the north side of the (x,y) position in the maze
+	 * @param x index for position in maze
+	 * @param y index for position in maze
+	 * @return true if there is a wall on the north side
+	 */
+	private boolean hasAHorizontalWall(int x, int y) {
+		return (y < maze.getHeight()) ?
+				maze.hasWall(x,y, CardinalDirection.North) :
+					maze.hasWall(x,y-1, CardinalDirection.South);
+	}
+}
@@ -1,20 +1,29 @@
 package gui;
 
+import java.awt.Canvas;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
-import java.awt.Image;
-import java.awt.Panel;
+import java.awt.GraphicsEnvironment;
 import java.awt.RenderingHints;
+import java.awt.Toolkit;
+import java.awt.image.BufferStrategy;
+import java.awt.image.BufferedImage;
 import java.util.logging.Logger;
 
 /**
- * Add functionality for double buffering to an AWT Panel class.
+ * Add functionality for double buffering to an AWT Canvas class.
  * Used for drawing a maze.
  * 
+ * Clients draw on a buffer image. Presenting the image on screen 
+ * goes through a BufferStrategy with two buffers, which uses 
+ * page flipping or an accelerated copy if the graphics system supports it.
+ * Without a strategy, for example headless, the image is drawn directly
+ * on the graphics of the component.
+ * 
  * @author Peter Kemper
  *
  */
-public class MazePanel extends Panel  {
+public class MazePanel extends Canvas  {
 	/**
 	 * The logger is used to track execution and report issues.
 	 */
@@ -28,10 +37,15 @@ public class MazePanel extends Panel  {
 	// bufferImage can only be initialized if the container is displayable,
 	// uses a delayed initialization and relies on client class to call initBufferImage()
 	// before first use
-	private Image bufferImage;  
+	private BufferedImage bufferImage;  
 	private Graphics2D graphics; // obtained from bufferImage, 
 	// graphics is stored to allow clients to draw on the same graphics object repeatedly
 	// has benefits if color settings should be remembered for subsequent drawing operations
+	private FrameBuffer frameBuffer; // gives access to the pixels of bufferImage
+	// presents bufferImage on screen, created with the first update once this panel is displayable
+	private BufferStrategy strategy;
+	// true if no strategy can be used, the panel falls back to drawing on its graphics 
+	private boolean strategyUnavailable;
 	
 	/**
 	 * Constructor. Object is not focusable.
@@ -40,6 +54,9 @@ public class MazePanel extends Panel  {
 		setFocusable(false);
 		bufferImage = null; // bufferImage initialized separately and later
 		graphics = null;	// same for graphics
+		frameBuffer = null; // same for frameBuffer
+		strategy = null; // same for strategy
+		strategyUnavailable = GraphicsEnvironment.isHeadless();
 	}
 	
 	@Override
@@ -47,12 +64,76 @@ public class MazePanel extends Panel  {
 		paint(g);
 	}
 	/**
-	 * Method to draw the buffer image on a graphics object that is
+	 * Method to put the buffer image on screen. 
+	 * The image is drawn on the back buffer of the buffer strategy 
+	 * which is then shown. If there is no strategy, 
+	 * the image is drawn on a graphics object that is
 	 * obtained from the superclass. 
 	 * Warning: do not override getGraphics() or drawing might fail. 
 	 */
 	public void update() {
-		paint(getGraphics());
+		if (showWithBufferStrategy())
+			return;
+		Graphics g = getGraphics();
+		paint(g);
+		if (null != g)
+			g.dispose();
+	}
+	
+	/**
+	 * Draws the buffer image on the back buffer of the buffer strategy and shows it.
+	 * Creates the strategy if necessary.
+	 * Repeats drawing if the contents of the back buffer got lost 
+	 * in the meantime, e.g. if the display mode changed.
+	 * @return true if the image is on screen, false if there is no strategy to use
+	 */
+	private synchronized boolean showWithBufferStrategy() {
+		if (strategyUnavailable || null == bufferImage)
+			return false;
+		if (null == strategy) {
+			if (!isDisplayable())
+				return false; // try again once this panel is part of a visible frame
+			// tries page flipping first, then accelerated and unaccelerated copies
+			createBufferStrategy(2);
+			strategy = getBufferStrategy();
+			if (null == strategy) {
+				LOGGER.info("No buffer strategy available, drawing on the graphics of the panel");
+				strategyUnavailable = true;
+				return false;
+			}
+			LOGGER.config("Using buffer strategy with page flipping: " + strategy.getCapabilities().isPageFlipping());
+		}
+		try {
+			do {
+				do {
+					Graphics g = strategy.getDrawGraphics();
+					try {
+						g.drawImage(bufferImage, 0, 0, null);
+					}
+					finally {
+						g.dispose();
+					}
+				} while (strategy.contentsRestored());
+				strategy.show();
+			} while (strategy.contentsLost());
+		} catch (IllegalStateException e) {
+			// the component is no longer displayable, its buffers are gone
+			LOGGER.info("Buffer strategy lost, drawing on the graphics of the panel: " + e.getMessage());
+			strategy = null;
+			return false;
+		}
+		// flushes the display on systems that buffer graphics commands, e.g. X11
+		Toolkit.getDefaultToolkit().sync();
+		return true;
+	}
+	
+	@Override
+	public void removeNotify() {
+		// the strategy belongs to the peer that goes away
+		synchronized (this) {
+			strategy = null;
+		}
+		super.removeNotify();
 	}
 	
 	/**
@@ -86,14 +167,8 @@ public class MazePanel extends Panel  {
 	public Graphics getBufferGraphics() {
 		// if necessary instantiate and store a graphics object for later use
 		if (null == graphics) { 
-			if (null == bufferImage) {
-				bufferImage = createImage(Constants.VIEW_WIDTH, Constants.VIEW_HEIGHT);
-				if (null == bufferImage)
-				{
-					LOGGER.warning("Error: creation of buffered image failed, presumedly container not displayable");
-					return null; // still no buffer image, give up
-				}		
-			}
+			if (!initBufferImage())
+				return null; // still no buffer image, give up
 			graphics = (Graphics2D) bufferImage.getGraphics();
 			if (null == graphics) {
 				LOGGER.warning("Error: creation of graphics for buffered image failed, presumedly container not displayable");
@@ -112,4 +187,51 @@ public class MazePanel extends Panel  {
 		return graphics;
 	}
 
+	/**
+	 * Obtains a framebuffer that gives direct access to the pixels of 
+	 * the buffer image. Drawing on the framebuffer and drawing on the
+	 * buffer graphics both end up in the same image, 
+	 * so clients can mix both and the update method shows the result 
+	 * on screen in a single call.
+	 * This MazePanel object internally stores the framebuffer 
+	 * and will return the same framebuffer over multiple method calls. 
+	 * @return framebuffer to draw on, null if impossible to obtain image
+	 */
+	public FrameBuffer getFrameBuffer() {
+		if (null == frameBuffer) {
+			if (!initBufferImage())
+				return null;
+			frameBuffer = new FrameBuffer(bufferImage);
+		}
+		return frameBuffer;
+	}
+
+	/**
+	 * Instantiates the buffer image if necessary.
+	 * @return true if the buffer image exists, false otherwise
+	 */
+	private boolean initBufferImage() {
+		if (null == bufferImage) {
+			bufferImage = createBufferImage();
+			if (null == bufferImage)
+			{
+				LOGGER.warning("Error: creation of buffered image failed, presumedly container not displayable");
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Creates the image that clients draw on. 
+	 * The image keeps its pixels in an int array with one packed RGB value
+	 * per pixel such that a {@link FrameBuffer} can write to it directly.
+	 * @return the buffer image, null if this panel is not displayable
+	 */
+	protected BufferedImage createBufferImage() {
+		if (!isDisplayable())
+			return null;
+		return new BufferedImage(Constants.VIEW_WIDTH, Constants.VIEW_HEIGHT, BufferedImage.TYPE_INT_RGB);
+	}
+
 }
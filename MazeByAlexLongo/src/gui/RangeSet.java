@@ -1,7 +1,5 @@
 package gui;
 
-import java.util.Vector;
-
 /**
  * Class stores a set of ranges, i.e., intervals. 
  * Its single current user is the FirstPersonDrawer class. 
@@ -13,6 +11,13 @@ import java.util.Vector;
  * into two by way of the remove method.
  * 
  * This implies that ranges are disjoint and sorted in increasing order.
+ * 
+ * Intervals are stored as pairs of bounds in a single int array:
+ * interval i is [bounds[2*i],bounds[2*i+1]]. The array only grows
+ * if a split needs more room than ever before, so once the set has 
+ * reached its working size, none of the methods allocates memory,
+ * see {@link #getIntersection(int, int, int[])} for an intersection
+ * that is written into storage provided by the caller.
  *
  * This code is refactored code from Maze.java by Paul Falstad, www.falstad.com, Copyright (C) 1998, all rights reserved
  * Paul Falstad granted permission to modify and use code for teaching purposes.
@@ -20,13 +25,22 @@ import java.util.Vector;
  */
 public class RangeSet {
 	
-	private Vector<Interval> ranges;
+	/**
+	 * Lower and upper bounds of the intervals in increasing order,
+	 * interval i is [bounds[2*i],bounds[2*i+1]], for {@code 0 <= i < size}.
+	 */
+	private int[] bounds;
+	/**
+	 * Number of intervals currently in the set.
+	 */
+	private int size;
 	
 	/**
 	 * Constructor
 	 */
 	public RangeSet() {
-		ranges = new Vector<Interval>();
+		bounds = new int[16];
+		size = 0;
 	}
 
 	/**
@@ -34,7 +48,7 @@ public class RangeSet {
 	 * @return true if the set is empty, false otherwise
 	 */
 	public boolean isEmpty() {
-		return ranges.isEmpty();
+		return 0 == size;
 	}
 
 	/**
@@ -43,8 +57,9 @@ public class RangeSet {
 	 * @param upperBound maximum value for new element
 	 */
 	public void set(int lowerBound, int upperBound) {
-		ranges.removeAllElements();
-		ranges.addElement(new Interval(lowerBound, upperBound));
+		bounds[0] = lowerBound;
+		bounds[1] = upperBound;
+		size = 1;
 	}
 
 	/**
@@ -65,57 +80,54 @@ public class RangeSet {
 		// check all elements of the set for an overlap with interval 
 		// [lowerBound, upperBound]
 		// assume that set is sorted in increasing order
-		for (int i = 0; i != ranges.size(); i++) {
-			Interval current = (Interval) ranges.elementAt(i);
-			// case 1: (current.lb <= current.ub) < (lowerBound <= upperBound)
+		for (int i = 0; i != size; i++) {
+			final int lb = bounds[2*i];
+			final int ub = bounds[2*i+1];
+			// case 1: (lb <= ub) < (lowerBound <= upperBound)
 			// current is below, so check next element as values increase
-			if (current.ub < lowerBound)
+			if (ub < lowerBound)
 				continue; 
-			// case 2: (lowerBound <= upperBound) < (current.lb <= current.ub)
+			// case 2: (lowerBound <= upperBound) < (lb <= ub)
 			// current is above, stop, no reason to check more as values only increase	
-			if (current.lb > upperBound)
+			if (lb > upperBound)
 				return;
 			// cases 3, 4, 5, 6: some overlap
-			if (lowerBound <= current.lb) { 
-				// case 3: (lowerBound <= (current.lb <= current.ub) <= upperBound)
+			if (lowerBound <= lb) { 
+				// case 3: (lowerBound <= (lb <= ub) <= upperBound)
 				// current is inside interval
 				// remove current element as it is completely covered
 				// need to continue as upperBound can overlap with next element in set
-				if (current.ub <= upperBound) { 
-					ranges.removeElementAt(i--); // adjust index i for iterating reduced set
+				if (ub <= upperBound) { 
+					removeIntervalAt(i--); // adjust index i for iterating reduced set
 					continue;
 				}
-				// else: case 4: (lowerBound <= current.lb) <= (upperBound < current.ub)
+				// else: case 4: (lowerBound <= lb) <= (upperBound < ub)
 				// current overlaps with interval, truncate current, 
 				// there is no need to proceed further as upperBound does not exceed current
-				// truncate intersection,  left over interval is [upperBound+1,current.ub]
-				current.lb = upperBound+1;  
+				// truncate intersection,  left over interval is [upperBound+1,ub]
+				bounds[2*i] = upperBound+1;  
 				return;
 			}
 			// control flow only gets here if previous checks fail, 
-			// so current.lb < lowerBound must hold at this moment
-			// case 5: current.lb <= lowerBound <= current.ub <= upperBound
-			// truncate intersection,  left over interval is [current.lb,lowerBound-1]
+			// so lb < lowerBound must hold at this moment
+			// case 5: lb <= lowerBound <= ub <= upperBound
+			// truncate intersection,  left over interval is [lb,lowerBound-1]
 			// need to check next element in set as upperBound may reach into it
-			if (lowerBound <= current.ub && upperBound >= current.ub) { 
-				current.ub = lowerBound-1; 
+			if (lowerBound <= ub && upperBound >= ub) { 
+				bounds[2*i+1] = lowerBound-1; 
 				continue;
 			}
-			// case 6: (current.lb <= upperBound) <= (lowerBound <= current.ub)
+			// case 6: (lb <= upperBound) <= (lowerBound <= ub)
 			// if all conditions fail, then [lowerBound,upperBound] lies inside 
 			// the current interval
 			// split current interval into two with left over ranges: 
-			// [current.lb,lowerBound-1] and [upperBound+1,current.ub]
-			Interval nrse = new Interval(current.lb, lowerBound-1);
-			ranges.insertElementAt(nrse, i);
+			// [lb,lowerBound-1] and [upperBound+1,ub]
 			// Note for correctness: we assume that intervals are ordered,
 			// this is the only code that adds an element to the range set
-			// lower interval goes to position i in vector, 
-			// moves current interval which becomes the higher one 
-			// to position i+1 in vector, which preserves the ordering
-			// for current one, just update the lb to make it the higher one
-			// as method returns, no need to update index i for loop progress
-			current.lb = upperBound+1; 
+			// lower interval stays at position i, 
+			// the higher one goes to position i+1, which preserves the ordering
+			insertIntervalAt(i+1, upperBound+1, ub);
+			bounds[2*i+1] = lowerBound-1; 
 			return;
 		}
 	}
@@ -127,50 +139,100 @@ public class RangeSet {
 	 * with the first interval in this set that does so is computed and returned.
 	 * For intervals, the given bounds are included. So the given bounds in
 	 * the result are both elements of the intersection.
+	 * Allocates a new array for each intersection, 
+	 * use {@link #getIntersection(int, int, int[])} to avoid this.
 	 * @param lowerBound gives the low end of the interval of interest
 	 * @param upperBound gives the high end of the interval of interest
 	 * @return [lb,ub] with lower and upper bound for the intersection, null if there is none 
 	 */
 	public int[] getIntersection(int lowerBound, int upperBound) {
+		int[] result = new int[2];
+		return getIntersection(lowerBound, upperBound, result) ? result : null;
+	}
+	/**
+	 * Computes an intersection of the given interval [lowerBound,upperBound] with the
+	 * intervals in this set, same as {@link #getIntersection(int, int)}, 
+	 * but writes the intersection into the given array.
+	 * @param lowerBound gives the low end of the interval of interest
+	 * @param upperBound gives the high end of the interval of interest
+	 * @param result array of length at least 2 that receives lower and upper bound
+	 * of the intersection at positions 0 and 1, left unchanged if there is none 
+	 * @return true if there is an intersection, false otherwise
+	 */
+	public boolean getIntersection(int lowerBound, int upperBound, int[] result) {
+		final int i = findFirstOverlap(lowerBound, upperBound);
+		if (-1 == i)
+			return false;
+		// on the low end: the bigger of the lower end of both intervals
+		// on the high end: the smaller of the higher end of both intervals
+		final int lb = bounds[2*i];
+		final int ub = bounds[2*i+1];
+		result[0] = (lb > lowerBound) ? lb : lowerBound;
+		result[1] = (ub < upperBound) ? ub : upperBound;
+		return true;
+	}
+	/**
+	 * Tells if the given interval [lowerBound,upperBound] intersects 
+	 * with any of the intervals in this set.
+	 * @param lowerBound gives the low end of the interval of interest
+	 * @param upperBound gives the high end of the interval of interest
+	 * @return true if there is an intersection, false otherwise
+	 */
+	public boolean intersects(int lowerBound, int upperBound) {
+		return -1 != findFirstOverlap(lowerBound, upperBound);
+	}
+	/**
+	 * Finds the first interval in this set that overlaps with
+	 * the given interval [lowerBound,upperBound].
+	 * @param lowerBound gives the low end of the interval of interest
+	 * @param upperBound gives the high end of the interval of interest
+	 * @return index of the interval, -1 if there is none
+	 */
+	private int findFirstOverlap(int lowerBound, int upperBound) {
 		// consider interval [lowerBound,upperBound] on x-axis
 		// assume that set is sorted in increasing order
 		// we look for an interval in rset that overlaps with [lowerBound,upperBound]
-		for (int i = 0; i != ranges.size(); i++) {
-			Interval current = (Interval) ranges.elementAt(i);
-			// case 1: (current.lb <= current.ub) < (lowerBound <= upperBound)
+		for (int i = 0; i != size; i++) {
+			// case 1: (lb <= ub) < (lowerBound <= upperBound)
 			// current is below, so check next element as values increase			
-			if (current.ub < lowerBound) 
+			if (bounds[2*i+1] < lowerBound) 
 				continue; 
-			// case 2: (lowerBound <= upperBound) < (current.lb <= current.ub)
+			// case 2: (lowerBound <= upperBound) < (lb <= ub)
 			// current is above, stop, no reason to check more as values only increase	
-			if (current.lb > upperBound) 
-				return null;
-			// at this point: lowerBound <= current.ub and current.lb <= upperBound
-			// so we have some overlap, can be at most [lb,]
-			int[] result = new int[2];
-			// on the low end: the bigger of the lower end of both intervals
-			// on the high end: the smaller of the higher end of both intervals
-			result[0] = (current.lb > lowerBound) ? current.lb : lowerBound;
-			result[1] = (current.ub < upperBound) ? current.ub : upperBound;
-			return result;
+			if (bounds[2*i] > upperBound) 
+				return -1;
+			// at this point: lowerBound <= ub and lb <= upperBound
+			// so we have some overlap
+			return i;
 		}
-		return null;
+		return -1;
 	}
 	/**
-	 * Internal class to hold a pair of two elements to represent an
-	 * interval of values on the x-axis.
+	 * Removes the interval at the given position, 
+	 * moves all intervals above it one position down.
+	 * @param i is the position of the interval, {@code 0 <= i < size}
 	 */
-	class Interval {
-		public int lb, ub;
-
-		/**
-		 * Constructor
-		 * @param lowerBound gives the lower bound for the range
-		 * @param upperBound gives the upper bound for the range
-		 */
-		Interval(int lowerBound, int upperBound) {
-			lb = lowerBound;
-			ub = upperBound;
+	private void removeIntervalAt(int i) {
+		System.arraycopy(bounds, 2*i+2, bounds, 2*i, 2*(size-i-1));
+		size--;
+	}
+	/**
+	 * Inserts the interval [lowerBound,upperBound] at the given position,
+	 * moves all intervals at or above it one position up.
+	 * The array of bounds is doubled if it is full.
+	 * @param i is the position for the interval, {@code 0 <= i <= size}
+	 * @param lowerBound gives the low end of the new interval
+	 * @param upperBound gives the high end of the new interval
+	 */
+	private void insertIntervalAt(int i, int lowerBound, int upperBound) {
+		if (2*size+2 > bounds.length) {
+			int[] tmp = new int[2*bounds.length];
+			System.arraycopy(bounds, 0, tmp, 0, 2*size);
+			bounds = tmp;
 		}
+		System.arraycopy(bounds, 2*i, bounds, 2*i+2, 2*(size-i));
+		bounds[2*i] = lowerBound;
+		bounds[2*i+1] = upperBound;
+		size++;
 	}
 }
@@ -0,0 +1,463 @@
+package gui;
+
+import java.awt.Graphics;
+import java.util.Arrays;
+import java.util.logging.Logger;
+
+import generation.CardinalDirection;
+import generation.CompiledBSPTree;
+import generation.Distance;
+import generation.Floorplan;
+import generation.ListOfWallsBuilder;
+import generation.Maze;
+import generation.WallTable;
+import generation.Wallboard;
+import gui.ColorTheme.MazeColors;
+
+/**
+ * This class draws the current view at the maze from a first person perspective
+ * by casting one ray per column of the screen through the grid of cells of the floorplan.
+ * Each ray walks from cell to cell (a DDA on the grid) until it hits a wallboard,
+ * so a frame costs O(screen width x visible cells) and needs no preprocessing,
+ * in particular no tree of BSP nodes. A maze for this drawer can be ordered
+ * without a tree, see {@link generation.Order#isBSPTreeRequired()}.
+ *
+ * Projection and background match the {@link FirstPersonView}.
+ * Seen wallboards are recorded the same way, a wallboard that is drawn marks
+ * all wallboards of its wall as seen. Walls are taken from the tree of BSP nodes
+ * if the maze has one, such that both views mark the same walls, and are
+ * determined from the floorplan otherwise, as the BSPBuilder does before it splits walls.
+ * Neighboring columns that hit the same wallboard are drawn as a single polygon.
+ * Colors are determined per wallboard from its distance to the exit, whereas
+ * the FirstPersonView uses the distance of the first cell of a whole wall,
+ * so long walls can show more than one color.
+ *
+ * @author Alex Longo
+ */
+public class RaycastFirstPersonView implements FirstPersonDrawer {
+	/**
+	 * The logger is used to track execution and report issues.
+	 */
+	private static final Logger LOGGER = Logger.getLogger(RaycastFirstPersonView.class.getName());
+
+	// Constants
+	final int viewZ = 50;  // constant from StatePlaying.java, same as in FirstPersonView
+	// minimum distance of a wall in the viewing direction, walls are clipped there as in FirstPersonView
+	private static final int MIN_DEPTH = 4;
+	// values of side for the wallboard a ray hits
+	private static final int SIDE_NONE = -1;
+	private static final int SIDE_VERTICAL = 0;   // on the west side of a cell
+	private static final int SIDE_HORIZONTAL = 1; // on the north side of a cell
+
+	private final int viewWidth;
+	private final int viewHeight;
+	private final int mapUnit;
+	private final int stepSize;
+	private final int scaleZ; // = view_height/2; which is the horizon
+
+	/**
+	 * A data structure to store which wallboards have been visible during
+	 * the game, see {@link FirstPersonView}.
+	 */
+	private final Floorplan seenWalls;
+	// the maze layout that rays are cast through
+	private final Floorplan floorplan;
+	private final Distance dists;
+	private final int width;  // of maze
+	private final int height; // of maze
+	/**
+	 * The walls whose wallboards are marked as seen together.
+	 * For each wallboard, indexed by its cell and the direction it faces,
+	 * wallOfWallboard gives the row of its wall, -1 if there is none.
+	 * Walls of the table are not modified, seenWall tells which ones are marked already.
+	 */
+	private final WallTable walls;
+	private final int[] wallOfWallboard;
+	private final boolean[] seenWall;
+	// the wall each column shows, -1 if none, and its depth, for recordSeenWalls
+	private final int[] columnWall;
+	private final double[] columnDepth;
+
+	private Graphics gc;
+	// set in draw if software rendering is selected, null otherwise
+	private FrameBuffer frameBuffer;
+	private boolean softwareRendering;
+	// current position scaled by map unit, see FirstPersonView
+	private int viewX;
+	private int viewY;
+	// current position in cells and viewing direction, rays start there
+	private double posX;
+	private double posY;
+	private double dirX;
+	private double dirY;
+
+	// result of the last cast, set by castRay
+	private int hitSide;
+	private int hitX;     // cell coordinates of the wallboard as a west or north wallboard
+	private int hitY;
+	private int hitDistance; // distance to exit of the cell the ray came from
+	private int hitWall;     // row of the wall in walls, -1 if there is none
+	private double hitDepth; // in map units along the viewing direction
+
+	// the run of columns that hit the same wallboard and are drawn as one polygon
+	private int runSide;
+	private int runX;
+	private int runY;
+	private int runDistance;
+	private int runWall;
+	private int runFirstColumn;
+	private int runLastColumn;
+	private int runTopFirst;
+	private int runBottomFirst;
+	private int runTopLast;
+	private int runBottomLast;
+
+	/**
+	 * Storage for the corner points of a polygon, reused to avoid allocations.
+	 */
+	private final int[] xps = new int[4];
+	private final int[] yps = new int[4];
+	private final Wallboard wallboard = new Wallboard(0, 0, CardinalDirection.North);
+
+	/**
+	 * Constructor
+	 * @param width of display
+	 * @param height of display
+	 * @param mapUnit current scaling factor
+	 * @param stepSize size of steps
+	 * @param seenWalls to store which walls were put on display
+	 * @param maze provides the floorplan and the distances to the exit, it needs no tree of BSP nodes
+	 */
+	public RaycastFirstPersonView(int width, int height, int mapUnit, int stepSize, Floorplan seenWalls, Maze maze) {
+		viewWidth = width;
+		viewHeight = height;
+		this.mapUnit = mapUnit;
+		this.stepSize = stepSize;
+		this.seenWalls = seenWalls;
+		floorplan = maze.getFloorplan();
+		dists = maze.getMazedists();
+		this.width = maze.getWidth();
+		this.height = maze.getHeight();
+		scaleZ = viewHeight/2;
+		final CompiledBSPTree tree = maze.getCompiledTree();
+		walls = (null != tree) ? tree.getWalls()
+				: new ListOfWallsBuilder(this.width, this.height, floorplan, dists, 0).generateWallTable();
+		wallOfWallboard = new int[this.width*this.height*CardinalDirection.values().length];
+		Arrays.fill(wallOfWallboard, -1);
+		for (int row = 0; row < walls.size(); row++) {
+			indexWallboards(row);
+		}
+		seenWall = new boolean[walls.size()];
+		columnWall = new int[viewWidth];
+		columnDepth = new double[viewWidth];
+	}
+
+	@Override
+	public void draw(MazePanel panel, int x, int y, int walkStep, int ang, float percentToExit) {
+		gc = panel.getBufferGraphics() ;
+		if (null == gc) {
+			LOGGER.warning("Can't get graphics object to draw on, mitigate this by skipping draw operation") ;
+			return;
+		}
+		frameBuffer = softwareRendering ? panel.getFrameBuffer() : null;
+		// viewing direction as in FirstPersonView, fixed point with 16 bits for the fraction
+		final int viewDX = (int) (Math.cos(ang*Math.PI/180)*(1<<16));
+		final int viewDY = (int) (Math.sin(ang*Math.PI/180)*(1<<16));
+		final int factor = stepSize*walkStep-Constants.VIEW_OFFSET;
+		viewX = (x*mapUnit+mapUnit/2) + ((viewDX*factor) >> 16);
+		viewY = (y*mapUnit+mapUnit/2) + ((viewDY*factor) >> 16);
+
+		drawBackground(percentToExit);
+
+		dirX = viewDX / (double) (1<<16);
+		dirY = viewDY / (double) (1<<16);
+		posX = viewX / (double) mapUnit;
+		posY = viewY / (double) mapUnit;
+		runSide = SIDE_NONE;
+		for (int column = 0; column < viewWidth; column++) {
+			castRay(getColumnCenter(column));
+			columnWall[column] = (hitSide == SIDE_NONE) ? -1 : hitWall;
+			columnDepth[column] = hitDepth;
+			if (hitSide == SIDE_NONE) {
+				drawRun();
+				runSide = SIDE_NONE;
+				continue;
+			}
+			final int depth = (int) Math.max(MIN_DEPTH, hitDepth*mapUnit);
+			final int top = viewHeight/2 - viewZ*scaleZ/depth;
+			final int bottom = viewHeight/2 + (100-viewZ)*scaleZ/depth;
+			if (hitSide != runSide || hitX != runX || hitY != runY) {
+				drawRun();
+				runSide = hitSide;
+				runX = hitX;
+				runY = hitY;
+				runDistance = hitDistance;
+				runWall = hitWall;
+				runFirstColumn = column;
+				runTopFirst = top;
+				runBottomFirst = bottom;
+			}
+			runLastColumn = column;
+			runTopLast = top;
+			runBottomLast = bottom;
+		}
+		drawRun();
+		recordSeenWalls();
+	}
+
+	@Override
+	public void setSoftwareRendering(boolean softwareRendering) {
+		this.softwareRendering = softwareRendering;
+	}
+
+	/**
+	 * Draws two solid rectangles to provide a background, same as in FirstPersonView.
+	 * @param percentToExit gives the distance to exit
+	 */
+	private void drawBackground(float percentToExit) {
+		if (null != frameBuffer) {
+			frameBuffer.fillRect(0, 0, viewWidth, viewHeight/2, 
+					ColorTheme.getColor(MazeColors.BACKGROUND_TOP,percentToExit).getRGB());
+			frameBuffer.fillRect(0, viewHeight/2, viewWidth, viewHeight/2, 
+					ColorTheme.getColor(MazeColors.BACKGROUND_BOTTOM,percentToExit).getRGB());
+			return;
+		}
+		gc.setColor(ColorTheme.getColor(MazeColors.BACKGROUND_TOP,percentToExit));
+		gc.fillRect(0, 0, viewWidth, viewHeight/2);
+		gc.setColor(ColorTheme.getColor(MazeColors.BACKGROUND_BOTTOM,percentToExit));
+		gc.fillRect(0, viewHeight/2, viewWidth, viewHeight/2);
+	}
+
+	/**
+	 * Gives the horizontal screen position, relative to the center of the screen,
+	 * that the ray for a column goes through.
+	 * The FirstPersonView rounds positions towards the center of the screen,
+	 * so a column covers the interval from its left to its right border,
+	 * except for the center column, which covers -1 to 1.
+	 * The ray goes through the middle of that interval.
+	 * @param column the column on the screen
+	 * @return the position
+	 */
+	private double getColumnCenter(int column) {
+		return (getColumnLeft(column) + getColumnRight(column)) / 2.0;
+	}
+
+	private int getColumnLeft(int column) {
+		return (column > viewWidth/2) ? column - viewWidth/2 : column - viewWidth/2 - 1;
+	}
+
+	private int getColumnRight(int column) {
+		return (column >= viewWidth/2) ? column - viewWidth/2 + 1 : column - viewWidth/2;
+	}
+
+	/**
+	 * Casts the ray through the given horizontal screen position. Sets the hit fields.
+	 * @param u the position relative to the center of the screen
+	 */
+	private void castRay(double u) {
+		// a point at lateral offset t for a depth of 1 appears at u,
+		// the ray goes through that point
+		final double t = u / scaleZ;
+		castRay(posX, posY, dirX + t*dirY, dirY - t*dirX);
+	}
+
+	/**
+	 * Walks along the given ray from cell to cell until it hits a wallboard
+	 * or leaves the maze through the exit. Sets the hit fields.
+	 * @param posX starting position in cells
+	 * @param posY starting position in cells
+	 * @param rayX direction of the ray, scaled such that a step of 1 along the ray
+	 * advances by 1 cell in the viewing direction
+	 * @param rayY direction of the ray
+	 */
+	private void castRay(double posX, double posY, double rayX, double rayY) {
+		int cellX = (int) Math.floor(posX);
+		int cellY = (int) Math.floor(posY);
+		// outside of the maze, e.g. halfway through the exit, walls only show their back 
+		if (cellX < 0 || cellX >= width || cellY < 0 || cellY >= height) {
+			hitSide = SIDE_NONE;
+			return;
+		}
+		final int stepX = (rayX < 0) ? -1 : 1;
+		final int stepY = (rayY < 0) ? -1 : 1;
+		// distance along the ray to cross one cell in x and y direction
+		final double deltaX = (rayX == 0) ? Double.POSITIVE_INFINITY : Math.abs(1/rayX);
+		final double deltaY = (rayY == 0) ? Double.POSITIVE_INFINITY : Math.abs(1/rayY);
+		// distance along the ray to the next vertical and horizontal grid line
+		double sideX = (rayX < 0) ? (posX - cellX)*deltaX : (cellX + 1 - posX)*deltaX;
+		double sideY = (rayY < 0) ? (posY - cellY)*deltaY : (cellY + 1 - posY)*deltaY;
+		final CardinalDirection crossX = (stepX < 0) ? CardinalDirection.West : CardinalDirection.East;
+		final CardinalDirection crossY = (stepY < 0) ? CardinalDirection.North : CardinalDirection.South;
+		while (true) {
+			if (sideX < sideY) {
+				if (floorplan.hasWall(cellX, cellY, crossX)) {
+					setHit(SIDE_VERTICAL, (stepX < 0) ? cellX : cellX+1, cellY, cellX, cellY, crossX, sideX);
+					return;
+				}
+				cellX += stepX;
+				sideX += deltaX;
+			}
+			else {
+				if (floorplan.hasWall(cellX, cellY, crossY)) {
+					setHit(SIDE_HORIZONTAL, cellX, (stepY < 0) ? cellY : cellY+1, cellX, cellY, crossY, sideY);
+					return;
+				}
+				cellY += stepY;
+				sideY += deltaY;
+			}
+			// the only way out of the maze is the exit, nothing to draw beyond
+			if (cellX < 0 || cellX >= width || cellY < 0 || cellY >= height) {
+				hitSide = SIDE_NONE;
+				return;
+			}
+		}
+	}
+
+	private void setHit(int side, int x, int y, int cellX, int cellY, CardinalDirection facing, double depth) {
+		hitSide = side;
+		hitX = x;
+		hitY = y;
+		hitDistance = dists.getDistanceValue(cellX, cellY);
+		hitWall = wallOfWallboard[getWallboardIndex(cellX, cellY, facing)];
+		hitDepth = depth;
+	}
+
+	/**
+	 * Gives the index of a wallboard in wallOfWallboard.
+	 * @param x coordinate of the cell the wallboard belongs to
+	 * @param y coordinate of the cell the wallboard belongs to
+	 * @param d direction of the wallboard as seen from the cell
+	 * @return the index
+	 */
+	private int getWallboardIndex(int x, int y, CardinalDirection d) {
+		return (y*width+x)*CardinalDirection.values().length + d.ordinal();
+	}
+
+	/**
+	 * Enters the given wall for all its wallboards into wallOfWallboard.
+	 * A wall covers the wallboards of the cells on the side it faces,
+	 * with the start position and direction as set by the ListOfWallsBuilder,
+	 * see also Floorplan.addWall.
+	 * @param row the row of the wall in walls
+	 */
+	private void indexWallboards(int row) {
+		final int sx = walls.getStartPositionX(row)/mapUnit;
+		final int sy = walls.getStartPositionY(row)/mapUnit;
+		final int ex = walls.getExtensionX(row)/mapUnit;
+		final int ey = walls.getExtensionY(row)/mapUnit;
+		// first cell, direction of the wall and the side of the cells it is on
+		final int x0;
+		final int y0;
+		final CardinalDirection d;
+		if (ey == 0) {
+			// horizontal, going west for north wallboards, east for south wallboards of the row above
+			x0 = (ex < 0) ? sx + ex : sx;
+			y0 = (ex < 0) ? sy : sy - 1;
+			d = (ex < 0) ? CardinalDirection.North : CardinalDirection.South;
+		}
+		else {
+			// vertical, going south for west wallboards, north for east wallboards of the column to the left
+			x0 = (ey > 0) ? sx : sx - 1;
+			y0 = (ey > 0) ? sy : sy + ey;
+			d = (ey > 0) ? CardinalDirection.West : CardinalDirection.East;
+		}
+		final int len = Math.abs(ex + ey);
+		for (int i = 0; i < len; i++) {
+			final int x = (ey == 0) ? x0 + i : x0;
+			final int y = (ey == 0) ? y0 : y0 + i;
+			if (0 <= x && x < width && 0 <= y && y < height) {
+				wallOfWallboard[getWallboardIndex(x, y, d)] = row;
+			}
+		}
+	}
+
+	/**
+	 * Draws the current run of columns as a polygon and records its wallboard as seen
+	 * if it belongs to no wall, walls are recorded by recordSeenWalls.
+	 * The edges of a wall are straight lines on screen, so the polygon
+	 * through the first and last column covers all columns of the run.
+	 */
+	private void drawRun() {
+		if (runSide == SIDE_NONE)
+			return;
+		xps[0] = runFirstColumn;
+		xps[1] = runFirstColumn;
+		xps[2] = runLastColumn+1;
+		xps[3] = runLastColumn+1;
+		yps[0] = runTopFirst;
+		yps[1] = runBottomFirst+1;
+		yps[2] = runBottomLast+1;
+		yps[3] = runTopLast;
+		final int rgb = ColorTheme.getWallColor(runDistance, 0, (runSide == SIDE_HORIZONTAL) ? 1 : 0);
+		if (null != frameBuffer) {
+			frameBuffer.fillColumns(xps[0], yps[0], yps[1], xps[2], yps[3], yps[2], rgb);
+		}
+		else {
+			gc.setColor(ColorTheme.getColor(rgb));
+			gc.fillPolygon(xps, yps, 4);
+		}
+		if (runWall >= 0) {
+			return;
+		}
+		// same representation as Floorplan.addWall: north or west wallboards only
+		final CardinalDirection cd = (runSide == SIDE_HORIZONTAL) ? CardinalDirection.North : CardinalDirection.West;
+		if (!seenWalls.hasWall(runX, runY, cd)) {
+			wallboard.setLocationDirection(runX, runY, cd);
+			seenWalls.addWallboard(wallboard, false);
+		}
+	}
+
+	/**
+	 * Records the walls on display as seen, with all their wallboards as in FirstPersonView.
+	 * The FirstPersonView draws walls front to back and a wall takes all columns it touches
+	 * that no wall in front of it took before. A wall that fits into a single column is not drawn.
+	 * So a wall that is on display in one or two columns only, e.g. through a small gap
+	 * between two walls in front of it, may not count as seen. This is decided with rays
+	 * through the borders of these columns.
+	 */
+	private void recordSeenWalls() {
+		int first = 0;
+		while (first < viewWidth) {
+			final int wall = columnWall[first];
+			int last = first;
+			while (last+1 < viewWidth && columnWall[last+1] == wall) {
+				last++;
+			}
+			if (wall >= 0 && !seenWall[wall] && isTaken(wall, first, last)) {
+				seenWall[wall] = true;
+				seenWalls.addWall(walls, wall, mapUnit);
+			}
+			first = last+1;
+		}
+	}
+
+	/**
+	 * Tells if a wall on display in the given columns takes any of them in the FirstPersonView.
+	 * @param wall the row of the wall in walls
+	 * @param first the first column the wall is on display in
+	 * @param last the last column, {@code first <= last}
+	 * @return true if the wall takes a column, false otherwise
+	 */
+	private boolean isTaken(int wall, int first, int last) {
+		if (last - first >= 2)
+			return true; // the inner columns show nothing but the wall
+		// at the screen border, the wall continues beyond the column
+		boolean leftContinues = true;
+		boolean leftTaken = false;
+		if (first > 0) {
+			castRay(getColumnLeft(first));
+			leftContinues = (hitSide != SIDE_NONE && hitWall == wall);
+			leftTaken = (hitSide != SIDE_NONE && hitWall != wall && hitDepth < columnDepth[first]);
+		}
+		boolean rightContinues = true;
+		boolean rightTaken = false;
+		if (last < viewWidth-1) {
+			castRay(getColumnRight(last));
+			rightContinues = (hitSide != SIDE_NONE && hitWall == wall);
+			rightTaken = (hitSide != SIDE_NONE && hitWall != wall && hitDepth < columnDepth[last]);
+		}
+		if (first < last)
+			return !(leftTaken && rightTaken);
+		return !leftTaken && !rightTaken && (leftContinues || rightContinues);
+	}
+}
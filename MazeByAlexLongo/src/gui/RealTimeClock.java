@@ -0,0 +1,55 @@
+package gui;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A sensor clock that goes with the wall clock.
+ * All events run on a single thread that is shared by all sensors,
+ * so events must be short, e.g. set a sensor broken or working.
+ *
+ * Collaborators: UnreliableSensor, SensorFailureAndRepairProcess
+ *
+ * @author Alex Longo
+ */
+public class RealTimeClock implements SensorClock
+{
+	// the one instance, the thread starts with the first scheduled event
+	private static final RealTimeClock INSTANCE = new RealTimeClock();
+
+	// runs the events, one after the other
+	private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "SensorClock");
+		thread.setDaemon(true); // must not keep the application alive
+		return thread;
+	});
+
+	private RealTimeClock()
+	{
+		// use getInstance
+	}
+
+	/**
+	 * Gives the clock that is shared by all sensors that work in real time.
+	 * @return the real time clock
+	 */
+	public static RealTimeClock getInstance()
+	{
+		return INSTANCE;
+	}
+
+	@Override
+	public long currentTimeMillis()
+	{
+		return TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+	}
+
+	@Override
+	public Scheduled schedule(Runnable event, long delayMillis)
+	{
+		ScheduledFuture<?> future = executor.schedule(event, delayMillis, TimeUnit.MILLISECONDS);
+		return () -> future.cancel(false);
+	}
+}
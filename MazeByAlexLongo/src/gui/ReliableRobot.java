@@ -651,6 +651,28 @@ public class ReliableRobot implements Robot
 		return false;
 	}
 	
+	/**
+	 * This method waits until any of the ReliableRobot's sensors is operational,
+	 * it returns as soon as a sensor is repaired, there is no fixed wait.
+	 * @param timeoutMillis is the maximum time to wait in milliseconds
+	 * @return the direction of an operational sensor, null if there is
+	 * no operational sensor after waiting
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	@Override
+	public Direction waitForOperationalSensor(long timeoutMillis) throws InterruptedException
+	{
+		// Collect the sensors, indexed by the ordinal of the mounted direction
+		DistanceSensor[] sensors = new DistanceSensor[Direction.values().length];
+		sensors[Direction.FORWARD.ordinal()] = frontSensor;
+		sensors[Direction.BACKWARD.ordinal()] = backSensor;
+		sensors[Direction.LEFT.ordinal()] = leftSensor;
+		sensors[Direction.RIGHT.ordinal()] = rightSensor;
+		
+		// Wait for a repair if none of them is operational
+		return new SensorRepairWait(sensors).await(timeoutMillis);
+	}
+	
 	/**
 	 * Helper method that sets private boolean flag stopped
 	 */
@@ -2,10 +2,9 @@ package gui;
 
 import javax.sound.midi.VoiceStatus;
 
-import org.junit.jupiter.params.provider.NullEnum;
-
 import generation.CardinalDirection;
 import generation.Maze;
+import generation.ObstacleDistances;
 import gui.Robot.Direction;
 
 
@@ -33,6 +32,9 @@ public class ReliableSensor implements DistanceSensor
 	// store a maze object used for information about the cells within it
 	private Maze maze;
 	
+	// store the distances to the nearest wall for each cell of the maze
+	private ObstacleDistances distances;
+	
 	// store the direction this sensor is mounted in
 	private Direction direction;
 	
@@ -73,50 +75,16 @@ public class ReliableSensor implements DistanceSensor
 		{
 			throw new Exception();
 		}
-		// make an incrementer to keep track of the distance to wall
-		int distanceToWall = 0;
-		int[] cellCoords = currentPosition;
-		while(!this.maze.hasWall(cellCoords[0], cellCoords[1], currentDirection))
+		// If the position is outside of the maze, throw an exception
+		if(!this.maze.isValidPosition(currentPosition[0], currentPosition[1]))
 		{
-			cellCoords = checkCell(cellCoords, currentDirection);
-			distanceToWall++;
+			throw new IllegalArgumentException("Current position is outside of the maze.");
 		}
-		return distanceToWall;
+		// look up the distance to the wall, precomputed for the whole maze
+		return this.distances.getDistance(currentPosition[0], currentPosition[1], currentDirection);
 
 	}	// end method: distanceToObstacle
 	
-	/**
-	 * Private helper method to move over to the next cell via incrementation
-	 * @param cellCoords - coords of the current cell
-	 * @param currentDirection - direction to move in
-	 * @return the next cell in that direction
-	 */
-	private int[] checkCell(int[] cellCoords, CardinalDirection currentDirection)
-	{
-		int cellXcoord = cellCoords[0];
-		int cellYcoord = cellCoords[1];
-		if(currentDirection == CardinalDirection.North)
-		{
-			cellYcoord--;
-		}
-		else if(currentDirection == CardinalDirection.East)
-		{
-			cellXcoord++;
-		}
-		else if(currentDirection == CardinalDirection.South)
-		{
-			cellYcoord++;
-		}
-		else if(currentDirection == CardinalDirection.West)
-		{
-			cellXcoord--;
-		}
-		int[] nextCellToCheck = new int[2];
-		nextCellToCheck[0] = cellXcoord;
-		nextCellToCheck[1] = cellYcoord;
-		return nextCellToCheck;
-	}
-
 	/**
 	 * This method provides the maze information that is necessary to make
 	 * a ReliableSensor able to calculate distances.
@@ -141,6 +109,9 @@ public class ReliableSensor implements DistanceSensor
 		
 		// set maze for this sensor to parameter maze
 		this.maze = maze;
+		
+		// get the distances to walls, the maze computes them only once
+		this.distances = maze.getObstacleDistances();
 	}
 
 	/**
@@ -0,0 +1,243 @@
+package gui;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The render scheduler draws the playing screen on a thread of its own
+ * at a fixed target rate of frames per second.
+ * Input from the user or a robot changes the current position and
+ * direction in StatePlaying and publishes a new immutable {@link ViewState}.
+ * The scheduler only ever draws the latest published state,
+ * so a fast sequence of moves does not pile up frames,
+ * and a move never waits for drawing.
+ * Animations of a rotation or a step are part of a view state:
+ * it knows when it was published and how long the animation takes,
+ * each frame draws the intermediate view for the current time.
+ * Frames that would look the same as the previous one are skipped.
+ *
+ * @author Alex Longo
+ */
+public class RenderScheduler {
+	/**
+	 * The logger is used to track execution and report issues.
+	 */
+	private static final Logger LOGGER = Logger.getLogger(RenderScheduler.class.getName());
+
+	/**
+	 * Default rate, matches the former 25 ms pause between intermediate views.
+	 */
+	public static final int DEFAULT_FRAMES_PER_SECOND = 40;
+	/**
+	 * Number of intermediate views for a step, walkStep goes from 1 to STEPS.
+	 */
+	public static final int STEPS = 4;
+	/**
+	 * Duration of the animation of a rotation or a step,
+	 * same as the former 4 intermediate views 25 ms apart.
+	 */
+	public static final long ANIMATION_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+	/**
+	 * Draws a view state, called on the thread of the scheduler only.
+	 */
+	public interface Renderer {
+		/**
+		 * Draws the given view state on the screen.
+		 * @param view the state to draw
+		 * @param angle the viewing angle of the current frame of its animation
+		 * @param walkStep the walk step of the current frame of its animation
+		 * @param complete is true if the animation is over
+		 */
+		void render(ViewState view, int angle, int walkStep, boolean complete);
+	}
+
+	/**
+	 * An immutable snapshot of everything that is needed to draw
+	 * the playing screen, including the animation that leads to it.
+	 */
+	public static final class ViewState {
+		final int x;          // position the view is drawn from, the old position while walking
+		final int y;
+		final int angle;      // the viewing angle at the start of the animation
+		final int turn;       // 1 for left, -1 for right, 0 for no rotation
+		final int walk;       // 1 for forward, -1 for backward, 0 for no step
+		final boolean hint;   // draw a compass rose or map as a hint once the animation is over
+		final boolean mapMode;
+		final boolean showMaze;
+		final boolean showSolution;
+		final int mapScale;   // scale of the map, at least 1
+		final long start;     // System.nanoTime() at publication
+		final long duration;  // of the animation, 0 for none
+
+		ViewState(int x, int y, int angle, int turn, int walk, boolean hint,
+				boolean mapMode, boolean showMaze, boolean showSolution, int mapScale, long start, long duration) {
+			this.x = x;
+			this.y = y;
+			this.angle = angle;
+			this.turn = turn;
+			this.walk = walk;
+			this.hint = hint;
+			this.mapMode = mapMode;
+			this.showMaze = showMaze;
+			this.showSolution = showSolution;
+			this.mapScale = mapScale;
+			this.start = start;
+			this.duration = duration;
+		}
+
+		/**
+		 * Tells if the animation is over at the given time.
+		 * @param now a value of System.nanoTime()
+		 * @return true if the final view is on display at the given time
+		 */
+		boolean isComplete(long now) {
+			return now - start >= duration;
+		}
+		/**
+		 * Gives the end of the animation.
+		 * @return the value of System.nanoTime() when the animation is over
+		 */
+		long getEnd() {
+			return start + duration;
+		}
+		/**
+		 * Gives the viewing angle for the given time.
+		 * The first frame already shows a quarter of the rotation,
+		 * same as the first of the former intermediate views.
+		 * @param now a value of System.nanoTime()
+		 * @return the angle in degrees, {@code 0 <= angle < 360}
+		 */
+		int getAngle(long now) {
+			if (0 == turn)
+				return angle;
+			final int result = isComplete(now) ? angle + turn*90 :
+				angle + (int) (turn*90*Math.min(duration, now - start + duration/STEPS)/duration);
+			return (result+1800) % 360;
+		}
+		/**
+		 * Gives the walk step for the given time,
+		 * the number of intermediate views so far.
+		 * @param now a value of System.nanoTime()
+		 * @return the walk step, {@code -STEPS <= walkStep <= STEPS}
+		 */
+		int getWalkStep(long now) {
+			if (0 == walk)
+				return 0;
+			final long elapsed = now - start;
+			final int step = (elapsed >= duration) ? STEPS : (int) Math.min(STEPS, 1 + elapsed*STEPS/duration);
+			return walk*step;
+		}
+	}
+
+	private final Renderer renderer;
+	private final long periodNanos;
+	/**
+	 * The latest published view state, null if nothing has been published yet.
+	 */
+	private final AtomicReference<ViewState> latest = new AtomicReference<ViewState>();
+	private ScheduledExecutorService executor;
+
+	// the last frame that was drawn, only accessed on the thread of the scheduler
+	private ViewState drawnView;
+	private int drawnAngle;
+	private int drawnWalkStep;
+	private boolean drawnComplete;
+
+	/**
+	 * Constructor
+	 * @param renderer draws the frames
+	 * @param framesPerSecond the target rate, {@code 0 < framesPerSecond}
+	 */
+	public RenderScheduler(Renderer renderer, int framesPerSecond) {
+		if (framesPerSecond <= 0)
+			throw new IllegalArgumentException("Frames per second must be positive: " + framesPerSecond);
+		this.renderer = renderer;
+		periodNanos = TimeUnit.SECONDS.toNanos(1) / framesPerSecond;
+	}
+
+	/**
+	 * Starts the thread that draws the frames.
+	 */
+	public synchronized void start() {
+		if (null != executor)
+			return;
+		executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "RenderScheduler");
+			thread.setDaemon(true); // must not keep the application alive
+			return thread;
+		});
+		executor.scheduleAtFixedRate(this::drawLatest, 0, periodNanos, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Stops drawing. Once this method returns, no further frame is drawn,
+	 * so the next state can take over the screen.
+	 */
+	public synchronized void stop() {
+		if (null == executor)
+			return;
+		executor.shutdown();
+		try {
+			if (!executor.awaitTermination(1, TimeUnit.SECONDS))
+				LOGGER.warning("Drawing a frame did not finish in time");
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		executor = null;
+	}
+
+	/**
+	 * Publishes the given state, the next frame draws it.
+	 * @param view the state to draw from now on
+	 */
+	public void publish(ViewState view) {
+		latest.set(view);
+	}
+
+	/**
+	 * Waits until the animation of the latest published state is over.
+	 * Moves in the normal speed setting call this such that
+	 * each animation is shown completely before the next one starts.
+	 */
+	public void awaitAnimation() {
+		final ViewState view = latest.get();
+		if (null == view)
+			return;
+		long remaining;
+		while ((remaining = view.getEnd() - System.nanoTime()) > 0) {
+			LockSupport.parkNanos(remaining);
+		}
+	}
+
+	/**
+	 * Draws a frame for the latest state unless it looks
+	 * the same as the previous frame.
+	 */
+	private void drawLatest() {
+		final ViewState view = latest.get();
+		if (null == view)
+			return;
+		final long now = System.nanoTime();
+		final int angle = view.getAngle(now);
+		final int walkStep = view.getWalkStep(now);
+		final boolean complete = view.isComplete(now);
+		if (view == drawnView && angle == drawnAngle && walkStep == drawnWalkStep && complete == drawnComplete)
+			return;
+		try {
+			renderer.render(view, angle, walkStep, complete);
+		} catch (RuntimeException e) {
+			// an exception would cancel the periodic task, keep drawing
+			LOGGER.log(Level.WARNING, "Drawing a frame failed", e);
+		}
+		drawnView = view;
+		drawnAngle = angle;
+		drawnWalkStep = walkStep;
+		drawnComplete = complete;
+	}
+}
@@ -264,6 +264,17 @@ public interface Robot {
 	 * or the sensor exists but is currently not operational
 	 */
 	boolean canSeeThroughTheExitIntoEternity(Direction direction) throws UnsupportedOperationException ;
+	/**
+	 * Waits until any of the robot's sensors is operational,
+	 * e.g. if all sensors failed at the same time.
+	 * Returns right away if a sensor is operational, otherwise
+	 * as soon as a sensor is repaired or the time is up.
+	 * @param timeoutMillis is the maximum time to wait in milliseconds
+	 * @return the direction of an operational sensor, null if there is
+	 * no operational sensor after waiting
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	Direction waitForOperationalSensor(long timeoutMillis) throws InterruptedException ;
 
 	/////// OPTIONAL METHODS /////////////////////////////////////////////
 	////// The following 2 methods will be fully implemented in 
@@ -0,0 +1,29 @@
+package gui;
+
+import generation.CardinalDirection;
+import gui.Constants.UserInput;
+
+/**
+ * A robot observer gets notified of each action a simulated robot
+ * performs, e.g. to record a run and replay it on the screen later.
+ *
+ * Actions are given as the user input that makes the playing screen
+ * perform the same action, that is UP for a step forward, LEFT and RIGHT
+ * for a quarter turn and JUMP for a jump. A turn around comes as two
+ * quarter turns to the right.
+ *
+ * Collaborators: SimulatedRobot, RobotRecording
+ *
+ * @author Alex Longo
+ */
+public interface RobotObserver
+{
+	/**
+	 * Tells the observer that the robot performed an action.
+	 * @param action is the user input that matches the action
+	 * @param x is the robot's x coordinate after the action
+	 * @param y is the robot's y coordinate after the action
+	 * @param direction is the robot's direction after the action
+	 */
+	void robotActed(UserInput action, int x, int y, CardinalDirection direction);
+}
@@ -0,0 +1,72 @@
+package gui;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import generation.CardinalDirection;
+import gui.Constants.UserInput;
+
+/**
+ * @author Alex Longo
+ *
+ * Class:
+ * RobotRecording
+ *
+ * Responsibilities:
+ * Record the actions of a simulated robot and replay them
+ * on the playing screen, such that a run that was simulated
+ * headless can be watched afterwards.
+ *
+ * Collaborators:
+ * SimulatedRobot, Control, StatePlaying
+ */
+public class RobotRecording implements RobotObserver
+{
+	// store the recorded actions in the order they happened
+	private final List<UserInput> actions = new ArrayList<UserInput>();
+
+	/**
+	 * Records the action of the robot.
+	 */
+	@Override
+	public void robotActed(UserInput action, int x, int y, CardinalDirection direction)
+	{
+		actions.add(action);
+	}
+
+	/**
+	 * Gives the recorded actions.
+	 * @return the actions in the order they happened, not to be modified
+	 */
+	public List<UserInput> getActions()
+	{
+		return actions;
+	}
+
+	/**
+	 * Replays the recorded actions on the playing screen of the given controller,
+	 * the same way the ReliableRobot operates the controller.
+	 * The replay starts in the state the simulation started in, i.e. at the
+	 * starting position facing East, and stops early if the controller
+	 * leaves the playing state.
+	 * @param controller is the controller in the playing state for the same maze
+	 * @throws IllegalArgumentException if controller is null or not in playing state
+	 */
+	public void replay(Control controller)
+	{
+		if(controller == null || !(controller.currentState instanceof StatePlaying))
+		{
+			throw new IllegalArgumentException("Can only replay on a controller in playing state.");
+		}
+		State playing = controller.currentState;
+		for(UserInput action : actions)
+		{
+			// the game may have ended, e.g. by the user
+			if(controller.currentState != playing)
+			{
+				return;
+			}
+			playing.handleUserInput(action, 0);
+		}
+	}
+}
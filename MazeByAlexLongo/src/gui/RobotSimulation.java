@@ -0,0 +1,165 @@
+package gui;
+
+import generation.Maze;
+
+/**
+ * @author Alex Longo
+ *
+ * Class:
+ * RobotSimulation
+ *
+ * Responsibilities:
+ * Run a RobotDriver on a SimulatedRobot in a given maze without
+ * a controller or a screen and report how the run went.
+ * The robot gets the same initial battery level as on the playing screen.
+ *
+ * Typical use:
+ * <pre>
+ * RobotSimulation simulation = new RobotSimulation(maze);
+ * simulation.getRobot().addDistanceSensor(new ReliableSensor(Direction.FORWARD), Direction.FORWARD);
+ * RobotSimulation.Result result = simulation.run(new Wizard());
+ * </pre>
+ * A RobotRecording set as observer of the robot keeps the run for a replay.
+ * The robot works on a virtual clock of its own, so unreliable sensors
+ * of the robot fail and repair in simulated time, the same way for each run:
+ * <pre>
+ * UnreliableSensor sensor = new UnreliableSensor(Direction.LEFT);
+ * simulation.getRobot().addDistanceSensor(sensor, Direction.LEFT);
+ * sensor.startFailureAndRepairProcess(4000, 2000, 0);
+ * </pre>
+ *
+ * Collaborators:
+ * Maze, SimulatedRobot, RobotDriver, VirtualClock
+ */
+public class RobotSimulation
+{
+	/**
+	 * Battery level at the start of a run, same as for the playing screen.
+	 */
+	public static final float INITIAL_BATTERY_LEVEL = 3500f;
+
+	// store the maze and the robot that moves in it
+	private final Maze maze;
+	private final SimulatedRobot robot;
+	// store the clock for the sensors of the robot
+	private final VirtualClock clock = new VirtualClock();
+
+	/**
+	 * Constructor for a simulation with a robot without sensors
+	 * at the starting position of the given maze, the virtual clock starts at 0.
+	 * @param maze is the maze for the run, must not be null
+	 */
+	public RobotSimulation(Maze maze)
+	{
+		this.maze = maze;
+		this.robot = new SimulatedRobot(maze);
+		this.robot.setClock(clock);
+	}
+
+	/**
+	 * Gives the robot, e.g. to add sensors or an observer before the run.
+	 * @return the robot of this simulation
+	 */
+	public SimulatedRobot getRobot()
+	{
+		return robot;
+	}
+
+	/**
+	 * Gives the virtual clock of the robot, it advances with each action of the robot.
+	 * @return the clock of this simulation
+	 */
+	public VirtualClock getClock()
+	{
+		return clock;
+	}
+
+	/**
+	 * Runs the driver on the robot until the driver is done.
+	 * This method is meant to be called once per simulation as the robot
+	 * keeps its position, battery and odometer from one run to the next.
+	 * @param driver is the driver to operate the robot, must not be null
+	 * @return the result of the run
+	 */
+	public Result run(RobotDriver driver)
+	{
+		robot.setBatteryLevel(INITIAL_BATTERY_LEVEL);
+		driver.setRobot(robot);
+		driver.setMaze(maze);
+		boolean reachedExit;
+		Exception failure = null;
+		try
+		{
+			reachedExit = driver.drive2Exit() && robot.isAtExit();
+		}
+		catch (Exception e)
+		{
+			// the driver gave up, e.g. as the robot stopped for lack of energy
+			reachedExit = false;
+			failure = e;
+		}
+		return new Result(reachedExit, driver.getPathLength(), driver.getEnergyConsumption(), failure);
+	}
+
+	/**
+	 * The outcome of a simulated run.
+	 */
+	public static class Result
+	{
+		private final boolean success;
+		private final int pathLength;
+		private final float energyConsumption;
+		private final Exception failure;
+
+		/**
+		 * Constructor
+		 * @param success tells if the robot reached the exit
+		 * @param pathLength is the path length as given by the driver
+		 * @param energyConsumption is the energy consumption as given by the driver
+		 * @param failure is the exception that ended the run, null if none
+		 */
+		Result(boolean success, int pathLength, float energyConsumption, Exception failure)
+		{
+			this.success = success;
+			this.pathLength = pathLength;
+			this.energyConsumption = energyConsumption;
+			this.failure = failure;
+		}
+
+		/**
+		 * Tells if the driver brought the robot to the exit.
+		 * @return true if the robot is at the exit, false otherwise
+		 */
+		public boolean isSuccess()
+		{
+			return success;
+		}
+
+		/**
+		 * Gives the length of the journey in number of cells traversed.
+		 * @return the path length
+		 */
+		public int getPathLength()
+		{
+			return pathLength;
+		}
+
+		/**
+		 * Gives the energy used for the journey.
+		 * @return the energy consumption
+		 */
+		public float getEnergyConsumption()
+		{
+			return energyConsumption;
+		}
+
+		/**
+		 * Gives the exception that ended the run early.
+		 * @return the exception, null if the driver finished regularly
+		 */
+		public Exception getFailure()
+		{
+			return failure;
+		}
+	}
+}
@@ -0,0 +1,44 @@
+package gui;
+
+/**
+ * A sensor clock tells the time and schedules the events of
+ * failure and repair processes of unreliable sensors.
+ *
+ * A single clock is shared by all sensors that live in the same time,
+ * so sensors need no threads of their own. The {@link RealTimeClock}
+ * runs the events on a thread of its own as time goes by, which is what
+ * the playing screen needs. A {@link VirtualClock} only advances when told so,
+ * e.g. by a simulated robot for each of its actions, and runs the events
+ * on the thread that advances it, in the same order every time.
+ *
+ * Collaborators: UnreliableSensor, SensorFailureAndRepairProcess, SimulatedRobot
+ *
+ * @author Alex Longo
+ */
+public interface SensorClock
+{
+	/**
+	 * Gives the current time of this clock.
+	 * @return the time in milliseconds
+	 */
+	long currentTimeMillis();
+
+	/**
+	 * Schedules an event to run once the given time has passed.
+	 * @param event is the event to run
+	 * @param delayMillis is the time from now in milliseconds, {@code 0 <= delayMillis}
+	 * @return the scheduled event, to cancel it
+	 */
+	Scheduled schedule(Runnable event, long delayMillis);
+
+	/**
+	 * An event that is scheduled to run.
+	 */
+	interface Scheduled
+	{
+		/**
+		 * Cancels the event, it does not run if it did not run yet.
+		 */
+		void cancel();
+	}
+}
@@ -1,59 +1,98 @@
 package gui;
 
-public class SensorFailureAndRepairProcess implements Runnable
+/**
+ * The failure and repair process of an unreliable sensor.
+ * The sensor works for the operation time, is broken for the repair time,
+ * works again and so on until the process is stopped.
+ * The process has no thread of its own, each failure and each repair is an
+ * event on a sensor clock that schedules the next one.
+ */
+public class SensorFailureAndRepairProcess
 {
-	// private variable to store the unreliable sensor that will be broken and repaired by the sensor failure and repair thread
-	private UnreliableSensor unreliableSensor;
-	
+	// private variable to store the unreliable sensor that will be broken and repaired by the process
+	private final UnreliableSensor unreliableSensor;
+
 	// private variable to keep track of the operation time of the unreliable sensor in question
-	private int unreliableSensorOperationTime;
-	
+	private final int unreliableSensorOperationTime;
+
 	// private variable to keep track of the time taken to repair the unreliable sensor in question
-	private int unreliableSensorRepairTime;
-	
-	// constructor for setting up the broken sensor repair 
-	public SensorFailureAndRepairProcess(UnreliableSensor unreliableSensor, int unreliableSensorOperationTime, int unreliableSensorRepairTime) 
+	private final int unreliableSensorRepairTime;
+
+	// private variable to store the clock that schedules failures and repairs
+	private final SensorClock clock;
+
+	// private variables to keep track of the next failure or repair and if the process is running
+	private SensorClock.Scheduled next;
+	private boolean running;
+
+	// constructor for setting up the broken sensor repair, times are in milliseconds of the given clock
+	public SensorFailureAndRepairProcess(UnreliableSensor unreliableSensor, int unreliableSensorOperationTime,
+			int unreliableSensorRepairTime, SensorClock clock)
 	{
 		this.unreliableSensor = unreliableSensor;
 		this.unreliableSensorOperationTime = unreliableSensorOperationTime;
 		this.unreliableSensorRepairTime = unreliableSensorRepairTime;
+		this.clock = clock;
 	}
-	
-	
+
 	/**
-	 * Thread for continually running the operation, breaking, and repair processes for the sensor in question
+	 * Starts the process, the sensor works for the given delay and the operation time,
+	 * then fails for the first time.
+	 * @param delay is the time before the process starts in milliseconds, e.g. to stagger sensors
 	 */
-	@Override
-	public void run() 
+	public synchronized void start(int delay)
 	{
-		// Create a variable to allow a while loop that runs continuously
-		boolean runContinually = true;
-		
-		// Attempt to run the failure and repair process
-		try 
+		running = true;
+		next = clock.schedule(this::fail, (long) delay + unreliableSensorOperationTime);
+	}
+
+	/**
+	 * Stops the process, as per the project specs the sensor is operational afterwards.
+	 */
+	public synchronized void stop()
+	{
+		running = false;
+		if(next != null)
 		{
-			// run the while loop continuously to the keep the process constant
-			while(runContinually) 
-			{
-				// Wait of the given operation time of the sensor
-				Thread.sleep(unreliableSensorOperationTime);
-				
-				// set the sensor to non-operational
-				unreliableSensor.setBroken();
-				
-				// wait the time necessary for repair
-				Thread.sleep(unreliableSensorRepairTime);
-				// set the sensor to operational
-				unreliableSensor.setWorking();
-			}
-		} 
-		
-		// Interruption to failure and repair cycle
-		catch (InterruptedException e) 
+			next.cancel();
+			next = null;
+		}
+		unreliableSensor.setWorking();
+	}
+
+	/**
+	 * Tells if the process is running.
+	 * @return true if started and not stopped, false otherwise
+	 */
+	public synchronized boolean isRunning()
+	{
+		return running;
+	}
+
+	/**
+	 * Event that sets the sensor to non-operational and schedules its repair.
+	 */
+	private synchronized void fail()
+	{
+		// the event may be due while the process is stopped
+		if(!running)
+		{
+			return;
+		}
+		unreliableSensor.setBroken();
+		next = clock.schedule(this::repair, unreliableSensorRepairTime);
+	}
+
+	/**
+	 * Event that sets the sensor to operational and schedules its next failure.
+	 */
+	private synchronized void repair()
+	{
+		if(!running)
 		{
-			// End the repair process, and as per the project specs, set operational to true
-			unreliableSensor.setWorking();
 			return;
-		}	
-	}	
-}
\ No newline at end of file
+		}
+		unreliableSensor.setWorking();
+		next = clock.schedule(this::fail, unreliableSensorOperationTime);
+	}
+}
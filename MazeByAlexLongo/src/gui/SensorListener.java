@@ -0,0 +1,23 @@
+package gui;
+
+/**
+ * A sensor listener gets notified when an unreliable sensor
+ * fails or is repaired, e.g. to stop waiting for a repair.
+ *
+ * Notifications come on the thread that changes the state of the sensor,
+ * for the failure and repair process that is the thread of its clock,
+ * so listeners must be short and must not wait themselves.
+ *
+ * Collaborators: UnreliableSensor, SensorRepairWait
+ *
+ * @author Alex Longo
+ */
+public interface SensorListener
+{
+	/**
+	 * Tells the listener that the sensor changed its state.
+	 * @param sensor is the sensor that failed or was repaired
+	 * @param operational is true if the sensor was repaired, false if it failed
+	 */
+	void operationalStateChanged(UnreliableSensor sensor, boolean operational);
+}
@@ -0,0 +1,108 @@
+package gui;
+
+import java.util.concurrent.TimeUnit;
+
+import gui.Robot.Direction;
+
+/**
+ * Waits in real time until any of the sensors of a robot is operational.
+ * The wait listens to the unreliable sensors and ends as soon as one of them
+ * is repaired, there is no polling.
+ *
+ * Collaborators: ReliableRobot, SimulatedRobot, UnreliableSensor
+ *
+ * @author Alex Longo
+ */
+class SensorRepairWait implements SensorListener
+{
+	// the sensors indexed by the ordinal of their mounted direction, null for none
+	private final DistanceSensor[] sensors;
+
+	/**
+	 * Constructor
+	 * @param sensors are the sensors indexed by the ordinal of their mounted direction, null for none
+	 */
+	SensorRepairWait(DistanceSensor[] sensors)
+	{
+		this.sensors = sensors;
+	}
+
+	/**
+	 * Gives the direction of an operational sensor, if there is one.
+	 * Reliable sensors are always operational.
+	 * @param sensors are the sensors indexed by the ordinal of their mounted direction, null for none
+	 * @return the direction of the first operational sensor in the order of Direction, null if none
+	 */
+	static Direction findOperational(DistanceSensor[] sensors)
+	{
+		for(Direction d : Direction.values())
+		{
+			DistanceSensor sensor = sensors[d.ordinal()];
+			if(sensor != null && (!(sensor instanceof UnreliableSensor) || ((UnreliableSensor) sensor).isOperational()))
+			{
+				return d;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Waits until a sensor is operational or the time is up.
+	 * Returns right away if a sensor is operational.
+	 * @param timeoutMillis is the maximum time to wait in milliseconds
+	 * @return the direction of an operational sensor, null if none is operational in time
+	 * @throws InterruptedException if the calling thread is interrupted while waiting
+	 */
+	Direction await(long timeoutMillis) throws InterruptedException
+	{
+		// listen first, such that a repair right after the check is not missed
+		for(DistanceSensor sensor : sensors)
+		{
+			if(sensor instanceof UnreliableSensor)
+			{
+				((UnreliableSensor) sensor).addSensorListener(this);
+			}
+		}
+		try
+		{
+			long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+			synchronized(this)
+			{
+				Direction operational = findOperational(sensors);
+				while(operational == null)
+				{
+					long remaining = deadline - System.nanoTime();
+					if(remaining <= 0)
+					{
+						return null;
+					}
+					TimeUnit.NANOSECONDS.timedWait(this, remaining);
+					operational = findOperational(sensors);
+				}
+				return operational;
+			}
+		}
+		finally
+		{
+			for(DistanceSensor sensor : sensors)
+			{
+				if(sensor instanceof UnreliableSensor)
+				{
+					((UnreliableSensor) sensor).removeSensorListener(this);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Wakes up the waiting thread if a sensor was repaired.
+	 */
+	@Override
+	public synchronized void operationalStateChanged(UnreliableSensor sensor, boolean operational)
+	{
+		if(operational)
+		{
+			notifyAll();
+		}
+	}
+}
@@ -0,0 +1,587 @@
+package gui;
+
+import java.util.concurrent.TimeUnit;
+
+import generation.CardinalDirection;
+import generation.Maze;
+import gui.Constants.UserInput;
+
+/**
+ * @author Alex Longo
+ *
+ * Class:
+ * SimulatedRobot
+ *
+ * Responsibilities:
+ * Keep track of position, direction, battery and odometer
+ * of a robot without a controller or a screen. Check moves
+ * against the maze directly, such that a RobotDriver can be
+ * run headless as fast as it decides on its moves.
+ * Tell an optional observer about each action, e.g. for a replay.
+ * Advance an optional virtual clock with each action, such that
+ * unreliable sensors fail and repair in simulated time.
+ *
+ * The robot starts at the starting position of the maze facing East,
+ * same as on the playing screen. Energy consumption is the same as for
+ * the ReliableRobot: 3 per quarter turn, 6 per step forward, 40 per jump,
+ * sensing is free. Turns match the playing screen, a turn to the left
+ * is a clockwise rotation of the cardinal direction as north and south
+ * are upside down on the screen.
+ *
+ * Collaborators:
+ * Maze, RobotDriver, DistanceSensor, RobotObserver, RobotSimulation, VirtualClock
+ */
+public class SimulatedRobot implements Robot
+{
+	/**
+	 * Time in milliseconds a step, a quarter turn or a jump takes on the virtual clock,
+	 * same as the animation of a move on the playing screen.
+	 */
+	public static final long ACTION_MILLIS = TimeUnit.NANOSECONDS.toMillis(RenderScheduler.ANIMATION_NANOS);
+
+	///////////////////////////////////////////////
+	// 		 Private Instance Variables	     	 //
+	///////////////////////////////////////////////
+
+	// store the maze the robot moves in
+	private final Maze maze;
+
+	// store the current position and direction of the robot
+	private int x;
+	private int y;
+	private CardinalDirection direction;
+
+	// store the charge of the battery and the distance traversed
+	private float batteryLevel;
+	private int odometer;
+
+	// store a boolean flag 'stopped' to keep track of if the robot has stopped or not
+	private boolean stopped;
+
+	// store a boolean flag 'leftMaze' to keep track of if the robot stepped out through the exit
+	private boolean leftMaze;
+
+	// store the distance sensors, indexed by the ordinal of the mounted direction
+	private final DistanceSensor[] sensors = new DistanceSensor[Direction.values().length];
+
+	// store a position and a power supply for the sensors, reused for each reading
+	private final int[] sensorPosition = new int[2];
+	private final float[] powersupply = new float[1];
+
+	// store an observer that is told about each action, may be null
+	private RobotObserver observer;
+
+	// store a virtual clock that advances with each action, may be null
+	private VirtualClock clock;
+
+	/**
+	 * Constructor for a robot at the starting position of the given maze, facing East
+	 * @param maze is the maze to move in, must not be null
+	 */
+	public SimulatedRobot(Maze maze)
+	{
+		// If maze null throw exception
+		if(maze == null)
+		{
+			throw new IllegalArgumentException("Tried to simulate a robot in a maze equal to null. Maze must not be null!");
+		}
+		this.maze = maze;
+		int[] start = maze.getStartingPosition();
+		this.x = start[0];
+		this.y = start[1];
+		this.direction = CardinalDirection.East;
+	}
+
+	/**
+	 * Sets the observer that is told about each action of the robot.
+	 * @param observer the observer, null for none
+	 */
+	public void setObserver(RobotObserver observer)
+	{
+		this.observer = observer;
+	}
+
+	/**
+	 * Sets a virtual clock that advances by {@link #ACTION_MILLIS} with each step,
+	 * quarter turn and jump. Unreliable sensors of this robot, mounted before
+	 * or after, schedule their failures and repairs on this clock.
+	 * Failure and repair processes that are already running keep their clock.
+	 * @param clock the virtual clock, null for none
+	 */
+	public void setClock(VirtualClock clock)
+	{
+		this.clock = clock;
+		for(DistanceSensor sensor : sensors)
+		{
+			if(sensor instanceof UnreliableSensor && clock != null)
+			{
+				((UnreliableSensor) sensor).setClock(clock);
+			}
+		}
+	}
+
+	/**
+	 * A simulated robot works without a controller.
+	 * @throws UnsupportedOperationException always
+	 */
+	@Override
+	public void setController(Control controller)
+	{
+		throw new UnsupportedOperationException("A simulated robot has no controller, it keeps its own position.");
+	}
+
+	/**
+	 * This method adds a distance sensor to the robot such that it measures in the given direction.
+	 * The sensor gets the maze of this robot.
+	 * @param sensor is the distance sensor to be added
+	 * @param mountedDirection is the direction that it points to relative to the robot's forward direction
+	 */
+	@Override
+	public void addDistanceSensor(DistanceSensor sensor, Direction mountedDirection)
+	{
+		sensor.setSensorDirection(mountedDirection);
+		sensor.setMaze(this.maze);
+		if(sensor instanceof UnreliableSensor && clock != null)
+		{
+			((UnreliableSensor) sensor).setClock(clock);
+		}
+		sensors[mountedDirection.ordinal()] = sensor;
+	}
+
+	/**
+	 * Gives the sensor mounted in the given direction.
+	 * @param mountedDirection is the direction relative to the robot's forward direction
+	 * @return the sensor, null if there is none
+	 */
+	public DistanceSensor getDistanceSensor(Direction mountedDirection)
+	{
+		return sensors[mountedDirection.ordinal()];
+	}
+
+	/**
+	 * This method provides the current position as (x,y) coordinates.
+	 * @return a new array of length 2, x = array[0], y = array[1]
+	 */
+	@Override
+	public int[] getCurrentPosition()
+	{
+		return new int[] {x, y};
+	}
+
+	/**
+	 * This method provides the robot's current direction.
+	 * @return cardinal direction is the robot's current direction in absolute terms
+	 */
+	@Override
+	public CardinalDirection getCurrentDirection()
+	{
+		return direction;
+	}
+
+	/**
+	 * This method returns the current battery level.
+	 * @return current battery level
+	 */
+	@Override
+	public float getBatteryLevel()
+	{
+		return batteryLevel;
+	}
+
+	/**
+	 * This method sets the current battery level.
+	 * @param level is the current battery level
+	 * @throws IllegalArgumentException if level is negative
+	 */
+	@Override
+	public void setBatteryLevel(float level)
+	{
+		if(level < 0)
+		{
+			throw new IllegalArgumentException("Attempted to set battery level to negative value. Battery level must be >= 0.");
+		}
+		this.batteryLevel = level;
+	}
+
+	/**
+	 * This method gives the energy consumption for a full 360 degree rotation.
+	 * @return energy for a full rotation
+	 */
+	@Override
+	public float getEnergyForFullRotation()
+	{
+		return 12f;
+	}
+
+	/**
+	 * This method gives the energy consumption for moving forward for
+	 * a distance of 1 step.
+	 * @return energy for a single step forward
+	 */
+	@Override
+	public float getEnergyForStepForward()
+	{
+		return 6f;
+	}
+
+	/**
+	 * This method gets the distance traveled by the robot.
+	 * @return the distance traveled measured in single-cell steps forward
+	 */
+	@Override
+	public int getOdometerReading()
+	{
+		return odometer;
+	}
+
+	/**
+     * This method resets the odometer counter to zero.
+     */
+	@Override
+	public void resetOdometer()
+	{
+		odometer = 0;
+	}
+
+	/**
+	 * This method turns the robot on the spot for 90 degrees in the direction
+	 * provided within the parameter turn, or 180 degrees to turn around.
+	 * @param turn is the direction to turn and relative to current forward direction.
+	 */
+	@Override
+	public void rotate(Turn turn)
+	{
+		if(stopped)
+		{
+			return;
+		}
+		// a turn around is two quarter turns to the right
+		if(turn == Turn.AROUND)
+		{
+			if(!consume(2*getEnergyForFullRotation()/4))
+			{
+				return;
+			}
+			direction = turnRight(direction);
+			finishAction(UserInput.RIGHT);
+			direction = turnRight(direction);
+			finishAction(UserInput.RIGHT);
+			return;
+		}
+		if(!consume(getEnergyForFullRotation()/4))
+		{
+			return;
+		}
+		if(turn == Turn.LEFT)
+		{
+			direction = turnLeft(direction);
+			finishAction(UserInput.LEFT);
+		}
+		else
+		{
+			direction = turnRight(direction);
+			finishAction(UserInput.RIGHT);
+		}
+	}
+
+	/**
+	 * This method moves the robot forward a given number of steps.
+	 * If a wallboard is in the way, the robot stops in front of it.
+	 * A step through the exit takes the robot out of the maze, which ends the run:
+	 * the robot stops and keeps the exit as its position.
+	 * @param distance is the number of cells to move in the robot's current forward direction
+	 * @throws IllegalArgumentException if distance not positive
+	 */
+	@Override
+	public void move(int distance)
+	{
+		if(distance <= 0)
+		{
+			throw new IllegalArgumentException("Attempted to move a negative distance. Distance must be positive.");
+		}
+		int[] d = direction.getDxDyDirection();
+		for(int s = 0; s < distance && !stopped; s++)
+		{
+			// would run into wall, this is not supposed to happen, stop robot
+			if(maze.hasWall(x, y, direction))
+			{
+				stopped = true;
+				return;
+			}
+			// no wall but no cell either, only the exit leads out of the maze, otherwise stop robot
+			final boolean leaving = !maze.isValidPosition(x + d[0], y + d[1]);
+			if(leaving && !isAtExit())
+			{
+				stopped = true;
+				return;
+			}
+			if(!consume(getEnergyForStepForward()))
+			{
+				return;
+			}
+			odometer++;
+			if(leaving)
+			{
+				leftMaze = true;
+				stopped = true;
+			}
+			else
+			{
+				x += d[0];
+				y += d[1];
+			}
+			finishAction(UserInput.UP);
+		}
+	}
+
+	/**
+	 * This method makes the robot move one step forward, over a wallboard
+	 * if necessary. If the robot would land outside of the maze,
+	 * it stays where it is and stops.
+	 */
+	@Override
+	public void jump()
+	{
+		if(stopped)
+		{
+			return;
+		}
+		int[] d = direction.getDxDyDirection();
+		// would jump over exterior wall, this is not supposed to happen, stop robot
+		if(!maze.isValidPosition(x + d[0], y + d[1]))
+		{
+			stopped = true;
+			return;
+		}
+		if(!consume(40f))
+		{
+			return;
+		}
+		x += d[0];
+		y += d[1];
+		finishAction(UserInput.JUMP);
+	}
+
+	/**
+	 * This method tells if the current position is right at the
+	 * exit but still inside the maze.
+	 * @return true if robot is at the exit, false otherwise
+	 */
+	@Override
+	public boolean isAtExit()
+	{
+		int[] exit = maze.getExitPosition();
+		return x == exit[0] && y == exit[1];
+	}
+
+	/**
+	 * This method tells if the robot stepped out of the maze through the exit.
+	 * The robot has stopped then and its position is the exit.
+	 * @return true if the robot left the maze, false otherwise
+	 */
+	public boolean hasLeftMaze()
+	{
+		return leftMaze;
+	}
+
+	/**
+	 * This method tells if current position is inside a room.
+	 * @return true if robot is inside a room, false otherwise
+	 */
+	@Override
+	public boolean isInsideRoom()
+	{
+		return maze.isInRoom(x, y);
+	}
+
+	/**
+	 * This method tells if the robot has stopped for reasons
+	 * like lack of energy, hitting an obstacle, etc.
+	 * @return true if the robot has stopped, false otherwise
+	 */
+	@Override
+	public boolean hasStopped()
+	{
+		return stopped;
+	}
+
+	/**
+	 * This method tells the distance to an obstacle (a wall)
+	 * in the given direction relative to the robot's forward direction.
+	 * The sensor in that direction measures in the absolute direction
+	 * it points to.
+	 * @param direction specifies the direction of interest
+	 * @return number of steps towards obstacle if obstacle is visible
+	 * in a straight line of sight, Integer.MAX_VALUE otherwise
+	 * @throws UnsupportedOperationException if the robot has no sensor in this direction
+	 * or the sensor exists but is currently not operational
+	 */
+	@Override
+	public int distanceToObstacle(Direction direction) throws UnsupportedOperationException
+	{
+		DistanceSensor sensor = sensors[direction.ordinal()];
+		if(sensor == null)
+		{
+			throw new UnsupportedOperationException("No sensor mounted in direction " + direction + ".");
+		}
+		if(sensor instanceof UnreliableSensor && !((UnreliableSensor) sensor).isOperational())
+		{
+			throw new UnsupportedOperationException("Sensor in direction " + direction + " is not operational.");
+		}
+		sensorPosition[0] = x;
+		sensorPosition[1] = y;
+		powersupply[0] = batteryLevel;
+		try
+		{
+			return sensor.distanceToObstacle(sensorPosition, getSensorDirection(direction), powersupply);
+		}
+		catch (Exception e)
+		{
+			throw new UnsupportedOperationException("Sensor in direction " + direction + " failed.", e);
+		}
+	}
+
+	/**
+	 * This method tells if a sensor can identify the exit in the given direction relative to
+	 * the robot's current forward direction from the current position.
+	 * @param direction is the direction of the sensor
+	 * @return true if the exit of the maze is visible in a straight line of sight
+	 * @throws UnsupportedOperationException if the robot has no sensor in this direction
+	 * or the sensor exists but is currently not operational
+	 */
+	@Override
+	public boolean canSeeThroughTheExitIntoEternity(Direction direction) throws UnsupportedOperationException
+	{
+		return distanceToObstacle(direction) == Integer.MAX_VALUE;
+	}
+
+	/**
+	 * Waits until any of the sensors is operational. With a virtual clock, the robot
+	 * does not block, it lets the time pass on the clock until a sensor is repaired
+	 * or the time is up. Without a virtual clock, it waits in real time.
+	 * @param timeoutMillis is the maximum time to wait in milliseconds
+	 * @return the direction of an operational sensor, null if there is
+	 * no operational sensor after waiting
+	 * @throws InterruptedException if interrupted while waiting in real time
+	 */
+	@Override
+	public Direction waitForOperationalSensor(long timeoutMillis) throws InterruptedException
+	{
+		if(clock != null)
+		{
+			clock.advanceUntil(() -> SensorRepairWait.findOperational(sensors) != null, timeoutMillis);
+			return SensorRepairWait.findOperational(sensors);
+		}
+		return new SensorRepairWait(sensors).await(timeoutMillis);
+	}
+
+	/**
+	 * Starts the failure and repair process of the sensor in the given direction.
+	 * @param direction the direction the sensor is mounted on the robot
+	 * @param meanTimeBetweenFailures is the mean time in seconds, must be greater than zero
+	 * @param meanTimeToRepair is the mean time in seconds, must be greater than zero
+	 * @throws UnsupportedOperationException if there is no sensor in that direction or it does not fail
+	 */
+	@Override
+	public void startFailureAndRepairProcess(Direction direction, int meanTimeBetweenFailures, int meanTimeToRepair)
+			throws UnsupportedOperationException
+	{
+		DistanceSensor sensor = sensors[direction.ordinal()];
+		if(sensor == null)
+		{
+			throw new UnsupportedOperationException("No sensor mounted in direction " + direction + ".");
+		}
+		sensor.startFailureAndRepairProcess(meanTimeBetweenFailures, meanTimeToRepair);
+	}
+
+	/**
+	 * Stops the failure and repair process of the sensor in the given direction.
+	 * @param direction the direction the sensor is mounted on the robot
+	 * @throws UnsupportedOperationException if there is no sensor in that direction or no process runs
+	 */
+	@Override
+	public void stopFailureAndRepairProcess(Direction direction) throws UnsupportedOperationException
+	{
+		DistanceSensor sensor = sensors[direction.ordinal()];
+		if(sensor == null)
+		{
+			throw new UnsupportedOperationException("No sensor mounted in direction " + direction + ".");
+		}
+		sensor.stopFailureAndRepairProcess();
+	}
+
+	/**
+	 * Private helper method that takes energy from the battery.
+	 * If there is not enough energy left, the battery is emptied and the robot stops.
+	 * @param energy the energy needed for an operation
+	 * @return true if there was enough energy for the operation, false otherwise
+	 */
+	private boolean consume(float energy)
+	{
+		if(batteryLevel - energy < 0)
+		{
+			batteryLevel = 0;
+			stopped = true;
+			return false;
+		}
+		batteryLevel -= energy;
+		return true;
+	}
+
+	/**
+	 * Private helper method that tells the observer about an action, if there is one,
+	 * and lets the time for the action pass on the virtual clock, if there is one.
+	 * @param action the user input that matches the action
+	 */
+	private void finishAction(UserInput action)
+	{
+		if(observer != null)
+		{
+			observer.robotActed(action, x, y, direction);
+		}
+		if(clock != null)
+		{
+			clock.advance(ACTION_MILLIS);
+		}
+	}
+
+	/**
+	 * Private helper method that gives the absolute direction a sensor points to.
+	 * @param mountedDirection is the direction relative to the robot's forward direction
+	 * @return the absolute direction
+	 */
+	private CardinalDirection getSensorDirection(Direction mountedDirection)
+	{
+		switch(mountedDirection)
+		{
+		case LEFT:
+			return turnLeft(direction);
+		case RIGHT:
+			return turnRight(direction);
+		case BACKWARD:
+			return direction.oppositeDirection();
+		default:
+			return direction;
+		}
+	}
+
+	/**
+	 * Gives the direction after a turn to the left, same as on the playing screen.
+	 * @param cd the current direction
+	 * @return the direction after the turn
+	 */
+	static CardinalDirection turnLeft(CardinalDirection cd)
+	{
+		return cd.rotateClockwise();
+	}
+
+	/**
+	 * Gives the direction after a turn to the right, same as on the playing screen.
+	 * @param cd the current direction
+	 * @return the direction after the turn
+	 */
+	static CardinalDirection turnRight(CardinalDirection cd)
+	{
+		return cd.oppositeDirection().rotateClockwise();
+	}
+}
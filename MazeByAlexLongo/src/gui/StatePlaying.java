@@ -42,13 +42,17 @@ public class StatePlaying implements State {
 	 * Level FINE: logs information flow in and out of its fields.
 	 */
 	private static final Logger LOGGER = Logger.getLogger(StatePlaying.class.getName());
+	/**
+	 * Scale of the map when the game starts.
+	 */
+	private static final int INITIAL_MAP_SCALE = 15;
 
 	/**
 	 * The first person view determines what is seen on the screen with a first person perspective.
 	 * This includes the background of two rectangles that cover the whole area.
 	 * Drawing polygons for walls is the main contribution.
 	 */
-	private FirstPersonView firstPersonView;
+	private FirstPersonDrawer firstPersonView;
 	/**
 	 * The view determines what is seen on the screen for a top view.
 	 * Drawing the maze from above as a lines for walls, the current position and direction, 
@@ -63,6 +67,19 @@ public class StatePlaying implements State {
 	 * screen, one can show at most one of the two at any point in time.
 	 */
 	private CompassRose cr; 
+	/**
+	 * The render scheduler draws the screen on a thread of its own from the
+	 * latest published view state, see {@link #publishView(int, int, int, int, int, boolean, long)}.
+	 * Moves update position and direction right away and do not wait for drawing.
+	 * Null if there is no panel to draw on.
+	 */
+	private RenderScheduler renderScheduler;
+	/**
+	 * In the turbo setting moves are applied instantly without an animation
+	 * and without waiting for the previous animation, 
+	 * the screen shows whatever state is the latest at the next frame.
+	 */
+	private boolean turbo;
 	   
     /**
      * The panel is the capability to draw on the screen.
@@ -138,6 +155,7 @@ public class StatePlaying implements State {
     private boolean showSolution;       // toggle switch to show solution in overall maze on screen
     private boolean mapMode; // true: display map of maze, false: do not display map of maze
     // mapMode is toggled by user keyboard input, causes a call to drawMap during play mode
+    private int mapScale; // scale of the map, changed by zooming in and out, at least 1
 
     // current position and direction with regard to MazeConfiguration
     int px, py ; // current position on maze grid (x,y)
@@ -178,6 +196,7 @@ public class StatePlaying implements State {
     	showMaze = false ;
     	showSolution = false ;
     	mapMode = false;
+    	mapScale = INITIAL_MAP_SCALE;
 
     	// initial position and direction in absence of maze
     	// position at [0,0], direction is east
@@ -187,6 +206,8 @@ public class StatePlaying implements State {
 
     	seenCells = null;
     	cr = null;
+    	renderScheduler = null;
+    	turbo = false;
     }
     /**
      * Provides the maze to play.
@@ -216,12 +237,14 @@ public class StatePlaying implements State {
         showMaze = false ;
         showSolution = false ;
         mapMode = false;
+        mapScale = INITIAL_MAP_SCALE;
         
         // adjust internal state of maze model
         // init data structure for visible walls
         seenCells = new Floorplan(maze.getWidth()+1,maze.getHeight()+1) ;
         // set the current position and direction consistently with the viewing direction
         setPositionDirectionViewingDirection();
+        turbo = controller.isTurbo();
 
         if (panel != null) {
         	startDrawer();
@@ -265,7 +288,9 @@ public class StatePlaying implements State {
     		} 
             catch (Exception e) 
             {
-    			// DO NOTHING, will automatically throw null pointer exception when exit is reached.
+    			// the driver gave up, e.g. the robot stopped or no sensor got repaired in time,
+    			// the winning screen checks if the robot stopped and shows a loss then
+    			LOGGER.warning("Driver did not reach the exit: " + e);
     		}
             finally 
             {
@@ -286,13 +311,25 @@ public class StatePlaying implements State {
 		cr.setPositionAndSize(Constants.VIEW_WIDTH/2,
 				(int)(0.1*Constants.VIEW_HEIGHT),35);
 
-		firstPersonView = new FirstPersonView(Constants.VIEW_WIDTH,
-				Constants.VIEW_HEIGHT, Constants.MAP_UNIT,
-				Constants.STEP_SIZE, seenCells, maze.getRootnode()) ;
+		// the raycasting drawer needs no tree of BSP nodes, 
+		// it is also the only option for a maze that comes without one
+		if (control.isRaycasting() || null == maze.getRootnode()) {
+			firstPersonView = new RaycastFirstPersonView(Constants.VIEW_WIDTH,
+					Constants.VIEW_HEIGHT, Constants.MAP_UNIT,
+					Constants.STEP_SIZE, seenCells, maze) ;
+		}
+		else {
+			firstPersonView = new FirstPersonView(Constants.VIEW_WIDTH,
+					Constants.VIEW_HEIGHT, Constants.MAP_UNIT,
+					Constants.STEP_SIZE, seenCells, maze.getCompiledTree()) ;
+		}
+		firstPersonView.setSoftwareRendering(control.isSoftwareRendering());
 		
-		mapView = new Map(seenCells, 15, maze) ;
+		mapView = new Map(seenCells, mapScale, maze) ;
 		// draw the initial screen for this state
-		draw(cd.angle(), 0);
+		renderScheduler = new RenderScheduler(this::render, control.getFramesPerSecond());
+		redraw();
+		renderScheduler.start();
 	}
     /**
      * Internal method to set the current position, the direction
@@ -310,6 +347,8 @@ public class StatePlaying implements State {
      * @param pathLength gives the length of the path
      */
     public void switchFromPlayingToWinning(int pathLength, boolean robotUsed, Robot robot) {
+    	// show the last move, then hand the screen over
+    	stopDrawing(!turbo);
     	// need to instantiate and configure the winning state
         StateWinning currentState = new StateWinning();
         
@@ -330,6 +369,7 @@ public class StatePlaying implements State {
      * Switches the controller to the initial screen.
      */
     public void switchToTitle() {
+    	stopDrawing(false);
        	// need to instantiate and configure the title state
         StateTitle currentState = new StateTitle();
         
@@ -400,57 +440,109 @@ public class StatePlaying implements State {
         	int[] tmpDxDy = cd.getDxDyDirection();
         	if (maze.isValidPosition(px + tmpDxDy[0], py + tmpDxDy[1])) {
                 setCurrentPosition(px + tmpDxDy[0], py + tmpDxDy[1]) ;
-                draw(cd.angle(), 0) ;
+                redraw();
             }
             break;
         case TOGGLELOCALMAP: // show local information: current position and visible walls
             // precondition for showMaze and showSolution to be effective
             // acts as a toggle switch
             mapMode = !mapMode;         
-            draw(cd.angle(), 0) ; 
+            redraw(); 
             break;
         case TOGGLEFULLMAP: // show the whole maze
             // acts as a toggle switch
             showMaze = !showMaze;       
-            draw(cd.angle(), 0) ; 
+            redraw(); 
             break;
         case TOGGLESOLUTION: // show the solution as a yellow line towards the exit
             // acts as a toggle switch
             showSolution = !showSolution;       
-            draw(cd.angle(), 0) ;
+            redraw();
             break;
         case ZOOMIN: // zoom into map
-        	mapView.incrementMapScale(); 
-            draw(cd.angle(), 0) ;
+        	mapScale += 1;
+            redraw();
             break ;
         case ZOOMOUT: // zoom out of map
-        	mapView.decrementMapScale(); 
-            draw(cd.angle(), 0) ; 
+        	// a single write, such that a published view never has a scale below 1
+        	mapScale = Math.max(1, mapScale - 1);
+            redraw();
             break ;
         } // end of internal switch statement for playing state
         return true;
     }
     /**
-     * Draws the current content on panel to show it on screen.
-     * @param angle the current viewing angle, east == 0 degrees, south == 90, west == 180, north == 270
-     * @param walkStep a counter for intermediate steps within a single step forward or backward
+     * Publishes the current position, direction and settings for drawing
+     * without an animation and without a hint.
      */
-    protected void draw(int angle, int walkStep) {
-    	 
-    	if (panel == null) {
+    private void redraw() {
+    	publishView(px, py, cd.angle(), 0, 0, false, 0);
+    }
+    
+    /**
+     * Publishes a new view state for the render scheduler.
+     * Without a panel, there is nothing to draw and the state is dropped.
+     * @param x coordinate of the position to draw from
+     * @param y coordinate of the position to draw from
+     * @param angle the viewing angle at the start of the animation
+     * @param turn 1 for a rotation to the left, -1 to the right, 0 for none
+     * @param walk 1 for a step forward, -1 backward, 0 for none
+     * @param hint true if a hint should be drawn once the animation is over
+     * @param duration of the animation in nanoseconds
+     */
+    private void publishView(int x, int y, int angle, int turn, int walk, boolean hint, long duration) {
+    	if (null == renderScheduler) {
     		printWarning();
     		return;
     	}
-    	// draw the first person view and the map view if wanted
-    	firstPersonView.draw(panel, px, py, walkStep, angle, 
-    			maze.getPercentageForDistanceToExit(px, py)) ;
-        if (isInMapMode()) {
-			mapView.draw(panel, px, py, angle, walkStep,
-					isInShowMazeMode(),isInShowSolutionMode()) ;
-		}
+    	renderScheduler.publish(new RenderScheduler.ViewState(x, y, angle, turn, walk, hint,
+    			mapMode, showMaze, showSolution, mapScale, System.nanoTime(), duration));
+    }
+    
+    /**
+     * Stops the render scheduler such that the next state can draw on the panel.
+     * @param showLastAnimation is true to wait for the animation of the last move first
+     */
+    private void stopDrawing(boolean showLastAnimation) {
+    	if (null == renderScheduler)
+    		return;
+    	if (showLastAnimation)
+    		renderScheduler.awaitAnimation();
+    	renderScheduler.stop();
+    }
+    
+    /**
+     * Draws a frame for the given view state, called by the render scheduler
+     * on its thread.
+     * @param view the view state to draw
+     * @param angle the viewing angle for this frame of the animation
+     * @param walkStep the walk step for this frame of the animation
+     * @param complete is true if the animation is over
+     */
+    private void render(RenderScheduler.ViewState view, int angle, int walkStep, boolean complete) {
+    	draw(view, angle, walkStep);
+    	if (complete && view.hint) {
+    		drawHintIfNecessary(view, CardinalDirection.getDirection(angle));
+    	}
 		// update the screen with the buffer graphics
         panel.update() ;
     }
+    
+    /**
+     * Draws the content for the given view state on the buffer image.
+     * @param view the view state with position and settings
+     * @param angle the current viewing angle, east == 0 degrees, south == 90, west == 180, north == 270
+     * @param walkStep a counter for intermediate steps within a single step forward or backward
+     */
+    protected void draw(RenderScheduler.ViewState view, int angle, int walkStep) {
+    	// draw the first person view and the map view if wanted
+    	firstPersonView.draw(panel, view.x, view.y, walkStep, angle, 
+    			maze.getPercentageForDistanceToExit(view.x, view.y)) ;
+        if (view.mapMode) {
+			mapView.draw(panel, view.x, view.y, angle, walkStep,
+					view.mapScale, view.showMaze, view.showSolution) ;
+		}
+    }
 
     /**
      * Prints the warning about a missing panel only once
@@ -509,68 +601,58 @@ public class StatePlaying implements State {
         }
     }
     /**
-     * Draws and waits. Used to obtain a smooth appearance for rotate and move operations
+     * Lets the previous animation finish unless in the turbo setting,
+     * such that each move is on display completely.
+     * Without a panel there are no animations to wait for.
      */
-    private void slowedDownRedraw(int angle, int walkStep) {
-    	LOGGER.fine("Drawing intermediate figures: angle " + angle + ", walkStep " + walkStep);
-        draw(angle, walkStep) ;
-        try {
-            Thread.sleep(25);
-        } catch (Exception e) { 
-        	// may happen if thread is interrupted
-        	// no reason to do anything about it, ignore exception
-        }
+    private void awaitPreviousAnimation() {
+    	if (!turbo && null != renderScheduler)
+    		renderScheduler.awaitAnimation();
+    }
+    
+    /**
+     * Duration of the animation for a move.
+     * @return the duration in nanoseconds, 0 in the turbo setting
+     */
+    private long animationDuration() {
+    	return turbo ? 0 : RenderScheduler.ANIMATION_NANOS;
     }
  	
     /**
-     * Performs a rotation with 4 intermediate views, 
-     * updates the screen and the internal direction
+     * Performs a rotation, updates the internal direction
+     * and publishes an animation with 4 intermediate views 
+     * for the render scheduler.
      * @param dir for current direction, values are either 1 or -1
      */
     private synchronized void rotate(int dir) {
-        final int originalAngle = cd.angle();//angle;
-        final int steps = 4;
-        int angle = originalAngle; // just in case for loop is skipped
-        for (int i = 0; i != steps; i++) {
-            // add 1/4 of 90 degrees per step 
-            // if dir is -1 then subtract instead of addition
-            angle = originalAngle + dir*(90*(i+1))/steps; 
-            angle = (angle+1800) % 360;
-            // draw method is called and uses angle field for direction
-            // information.
-			slowedDownRedraw(angle, 0);
-        }
-        // update maze direction only after intermediate steps are done
-        // because choice of direction values are more limited.
+    	awaitPreviousAnimation();
+        final int originalAngle = cd.angle();
+        // add 90 degrees, if dir is -1 then subtract instead of addition
+        final int angle = (originalAngle + dir*90 + 1800) % 360;
         cd = CardinalDirection.getDirection(angle);
+        publishView(px, py, originalAngle, dir, 0, true, animationDuration());
         logPosition(); // debugging
-        drawHintIfNecessary(); 
     }
 	
     /**
-     * Moves in the given direction with 4 intermediate steps,
-     * updates the screen and the internal position
+     * Moves in the given direction, updates the internal position
+     * and publishes an animation with 4 intermediate steps 
+     * for the render scheduler.
      * @param dir, only possible values are 1 (forward) and -1 (backward)
      */
     private synchronized void walk(int dir) {
     	// check if there is a wall in the way
         if (!wayIsClear(dir))
             return;
-        int walkStep = 0;
+    	awaitPreviousAnimation();
+        // the animation starts at the old position, 
         // walkStep is a parameter of FirstPersonView.draw()
         // it is used there for scaling steps
-        // so walkStep is implicitly used in slowedDownRedraw
-        // which triggers the draw operation in 
-        // FirstPersonView and Map
-        for (int step = 0; step != 4; step++) {
-            walkStep += dir;
-            slowedDownRedraw(cd.angle(), walkStep);
-        }
+        publishView(px, py, cd.angle(), 0, dir, true, animationDuration());
         // update position to neighbor
         int[] tmpDxDy = cd.getDxDyDirection();
         setCurrentPosition(px + dir*tmpDxDy[0], py + dir*tmpDxDy[1]) ;
         logPosition(); // debugging
-        drawHintIfNecessary();  
     }
 
     /**
@@ -587,29 +669,33 @@ public class StatePlaying implements State {
      * map is on display anyway. 
      * This is the map if current position faces a dead end
      * otherwise it is a compass rose.
+     * @param view the view state after a move is over
+     * @param dir the direction after the move
      */
-    private void drawHintIfNecessary() {
-    	if (isInMapMode())
+    private void drawHintIfNecessary(RenderScheduler.ViewState view, CardinalDirection dir) {
+    	if (view.mapMode)
     		return; // no need for help
-    	// in testing environments, there is sometimes no panel to draw on
-    	// or the panel is unable to deliver a graphics object
+    	// the panel is sometimes unable to deliver a graphics object
     	// check this and quietly move on if drawing is impossible
-    	if ((panel == null || panel.getBufferGraphics() == null)) {
+    	if (panel.getBufferGraphics() == null) {
     		printWarning();
     		return;
     	}
+    	// the position after the move
+    	final int[] tmpDxDy = dir.getDxDyDirection();
+    	final int x = view.x + view.walk*tmpDxDy[0];
+    	final int y = view.y + view.walk*tmpDxDy[1];
     	// if current position faces a dead end, show map with solution
     	// for guidance
-    	if (maze.isFacingDeadEnd(px, py, cd)) {
+    	if (maze.isValidPosition(x, y) && maze.isFacingDeadEnd(x, y, dir)) {
         	//System.out.println("Facing deadend, help by showing solution");
-        	mapView.draw(panel, px, py, cd.angle(), 0, true, true) ;
+        	mapView.draw(panel, x, y, dir.angle(), 0, view.mapScale, true, true) ;
         }
     	else {
     		// draw compass rose
-    		cr.setCurrentDirection(cd);
+    		cr.setCurrentDirection(dir);
     		cr.paintComponent(panel.getBufferGraphics());
     	}
-    	panel.update();
     }
  
     /////////////////////// Methods for debugging ////////////////////////////////
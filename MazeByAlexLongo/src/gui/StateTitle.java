@@ -221,6 +221,8 @@ public class StateTitle implements State {
         	seed = rnd.nextInt();
         }
         nextState.setSeed(seed);
+        // 5) whether the maze needs a tree of BSP nodes for drawing
+        nextState.setBSPTreeRequired(!control.isRaycasting());
         
         nextState.setRobot(this.robot);
         
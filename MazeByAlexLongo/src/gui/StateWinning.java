@@ -1,7 +1,5 @@
 package gui;
 
-import static org.junit.Assert.assertFalse;
-
 import java.util.logging.Logger;
 
 import gui.Constants.UserInput;
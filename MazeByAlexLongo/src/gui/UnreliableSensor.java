@@ -1,5 +1,8 @@
 package gui;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
 import gui.Robot.Direction;
 
 /**
@@ -20,11 +23,18 @@ import gui.Robot.Direction;
  */
 public class UnreliableSensor extends ReliableSensor
 {
-	// Private variable to keep track of whether is the sensor is broken or working
-	boolean isOperational = true;
+	// Private variable to keep track of whether is the sensor is broken or working,
+	// volatile as the failure and repair process changes it on the thread of its clock
+	volatile boolean isOperational = true;
+	
+	// Protected variable for the failure and repair cycle of the sensor, null if there is none
+	protected SensorFailureAndRepairProcess failureAndRepairProcess;
+	
+	// Private variable for the clock that schedules failures and repairs, shared with other sensors
+	private SensorClock clock = RealTimeClock.getInstance();
 	
-	// Protected thread for the failure and repair cycle of the sensor
-	protected Thread failureAndRepairThread;
+	// Private list of listeners that are told when the sensor fails or is repaired
+	private final List<SensorListener> listeners = new CopyOnWriteArrayList<SensorListener>();
 	
 	// Call the superclass constructor: reliable sensor, with parameter input specifying the mounted direction
 	public UnreliableSensor(Direction direction) 
@@ -32,6 +42,16 @@ public class UnreliableSensor extends ReliableSensor
 		super(direction);
 	}
 	
+	/**
+	 * Sets the clock for the failure and repair process, e.g. a virtual clock
+	 * for a simulation. Applies to processes that start afterwards.
+	 * @param clock is the clock, by default the shared real time clock
+	 */
+	public void setClock(SensorClock clock)
+	{
+		this.clock = clock;
+	}
+	
 	/**
 	 * Method starts a concurrent, independent failure and repair
 	 * process that makes the sensor fail and repair itself.
@@ -50,21 +70,33 @@ public class UnreliableSensor extends ReliableSensor
 	@Override
 	public void startFailureAndRepairProcess(int meanTimeBetweenFailures, int meanTimeToRepair) throws UnsupportedOperationException 
 	{
-		// Attempt to run the failure and repair process thread for this sensor
-		try 
+		startFailureAndRepairProcess(meanTimeBetweenFailures, meanTimeToRepair, 0);
+	}
+	
+	/**
+	 * Method starts the failure and repair process like
+	 * {@link #startFailureAndRepairProcess(int, int)}, but the first up time
+	 * begins after the given delay. Sensors that start with different delays
+	 * fail at different times, the clock keeps track of the delay,
+	 * the caller does not need to wait.
+	 * A process that is already running for this sensor is stopped first.
+	 * 
+	 * @param meanTimeBetweenFailures is the mean time in milliseconds, must be greater than zero
+	 * @param meanTimeToRepair is the mean time in milliseconds, must be greater than zero
+	 * @param delay is the time in milliseconds before the process starts, must not be negative
+	 */
+	public void startFailureAndRepairProcess(int meanTimeBetweenFailures, int meanTimeToRepair, int delay)
+	{
+		if (meanTimeBetweenFailures <= 0 || meanTimeToRepair <= 0 || delay < 0)
 		{
-			// start the failure and repair cycle thread
-			SensorFailureAndRepairProcess sensorCycle = new SensorFailureAndRepairProcess(this, meanTimeBetweenFailures, meanTimeToRepair);
-			failureAndRepairThread = new Thread(sensorCycle);
-			failureAndRepairThread.start();
-		} 
-		// Thread ran into an error, catch so code does not crash
-		catch (Exception e) 
+			throw new IllegalArgumentException("Need positive up and down times and a non-negative delay");
+		}
+		if (failureAndRepairProcess != null)
 		{
-			// set the thread to null
-			failureAndRepairThread = null;
+			failureAndRepairProcess.stop();
 		}
-		
+		failureAndRepairProcess = new SensorFailureAndRepairProcess(this, meanTimeBetweenFailures, meanTimeToRepair, clock);
+		failureAndRepairProcess.start(delay);
 	}
 
 	/**
@@ -85,39 +117,77 @@ public class UnreliableSensor extends ReliableSensor
 	@Override
 	public void stopFailureAndRepairProcess() throws UnsupportedOperationException 
 	{
-		// Check if a thread is is actually running
-		if (!(failureAndRepairThread == null) && failureAndRepairThread.isAlive()) 
+		// Check if a process is is actually running
+		if (failureAndRepairProcess != null && failureAndRepairProcess.isRunning()) 
 		{
-			// thread running, terminate the failure and repair cycle thread
-			failureAndRepairThread.interrupt();
+			// process running, terminate the failure and repair cycle, this sets the sensor to operational
+			failureAndRepairProcess.stop();
 			
-			// set the sensor to operational
-			this.setWorking();
-			
-			// reset thread to null
-			failureAndRepairThread = null;
+			// reset process to null
+			failureAndRepairProcess = null;
 		} 
-		// Thread is not running, throw error
+		// Process is not running, throw error
 		else 
 		{
-			throw new UnsupportedOperationException("Can't stop a thread that is not running");
+			throw new UnsupportedOperationException("Can't stop a process that is not running");
 		}
 	}
 	
+	/**
+	 * Adds a listener that is told each time the sensor fails or is repaired.
+	 * @param listener is the listener to add
+	 */
+	public void addSensorListener(SensorListener listener)
+	{
+		listeners.add(listener);
+	}
+	
+	/**
+	 * Removes a listener that was added before.
+	 * @param listener is the listener to remove
+	 */
+	public void removeSensorListener(SensorListener listener)
+	{
+		listeners.remove(listener);
+	}
+	
 	/**
 	 * This method sets the sensor to an unoperational state via the internal private variable isOperational
+	 * and tells the listeners if the sensor was operational before
 	 */
 	public void setBroken()
 	{
-		this.isOperational = false;
+		setOperational(false);
 	}
 	
 	/**
 	 * This method sets the sensor to an operational state via the internal private variable isOperational
+	 * and tells the listeners if the sensor was not operational before
 	 */
 	public void setWorking()
 	{
-		this.isOperational = true;
+		setOperational(true);
+	}
+	
+	/**
+	 * Private helper method that changes the state and tells the listeners about a change.
+	 * Listeners are told outside of the lock, so they may call back the sensor.
+	 * @param operational is the new state
+	 */
+	private void setOperational(boolean operational)
+	{
+		synchronized(this)
+		{
+			if(this.isOperational == operational)
+			{
+				return;
+			}
+			this.isOperational = operational;
+		}
+		for(SensorListener listener : listeners)
+		{
+			listener.operationalStateChanged(this, operational);
+		}
 	}
 	
 	/**
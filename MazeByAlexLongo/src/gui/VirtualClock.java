@@ -0,0 +1,151 @@
+package gui;
+
+import java.util.PriorityQueue;
+import java.util.function.BooleanSupplier;
+
+/**
+ * A sensor clock that only advances when told so.
+ * Time starts at 0, events run on the thread that advances the clock,
+ * in the order of their time and, for the same time, in the order
+ * they were scheduled. So a simulation that advances the clock
+ * the same way sees the same failures and repairs every time,
+ * and hours of failures and repairs take no more than the
+ * time to run their events.
+ *
+ * Collaborators: SimulatedRobot, UnreliableSensor, SensorFailureAndRepairProcess
+ *
+ * @author Alex Longo
+ */
+public class VirtualClock implements SensorClock
+{
+	// events that did not run yet, earliest first
+	private final PriorityQueue<Event> events = new PriorityQueue<Event>();
+	// the current time and a counter that orders events for the same time
+	private long now;
+	private long sequence;
+
+	@Override
+	public synchronized long currentTimeMillis()
+	{
+		return now;
+	}
+
+	@Override
+	public synchronized Scheduled schedule(Runnable event, long delayMillis)
+	{
+		if(delayMillis < 0)
+		{
+			throw new IllegalArgumentException("Can't schedule an event in the past: " + delayMillis);
+		}
+		Event e = new Event(event, now + delayMillis, sequence++);
+		events.add(e);
+		return e;
+	}
+
+	/**
+	 * Advances the clock by the given time and runs all events that are due
+	 * on the way. An event sees the clock at its own time, events it schedules
+	 * run as well if they are due before the end of the given time.
+	 * @param millis is the time to advance in milliseconds, {@code 0 <= millis}
+	 */
+	public void advance(long millis)
+	{
+		advanceUntil(() -> false, millis);
+	}
+
+	/**
+	 * Advances the clock event by event until the condition holds,
+	 * at most by the given time. If the condition holds after an event,
+	 * the clock stays at the time of that event, the wait is over then.
+	 * @param condition is checked before the first and after each event
+	 * @param millis is the maximum time to advance in milliseconds, {@code 0 <= millis}
+	 * @return true if the condition holds, false if the time is up
+	 */
+	public boolean advanceUntil(BooleanSupplier condition, long millis)
+	{
+		if(millis < 0)
+		{
+			throw new IllegalArgumentException("Can't turn back the clock: " + millis);
+		}
+		long end;
+		synchronized(this)
+		{
+			end = now + millis;
+		}
+		while(!condition.getAsBoolean())
+		{
+			Event e = nextEventUntil(end);
+			if(e == null)
+			{
+				// no more events until the end, the clock is at the end now
+				return condition.getAsBoolean();
+			}
+			// run outside the lock, the event may schedule or cancel events
+			e.run();
+		}
+		return true;
+	}
+
+	/**
+	 * Private helper method that takes the next event that is due until the given time
+	 * and sets the clock to its time, or to the given time if there is none.
+	 * @return the next event to run, null if there is none
+	 */
+	private synchronized Event nextEventUntil(long end)
+	{
+		while(!events.isEmpty() && events.peek().time <= end)
+		{
+			Event e = events.poll();
+			if(!e.canceled)
+			{
+				now = e.time;
+				return e;
+			}
+		}
+		now = Math.max(now, end);
+		return null;
+	}
+
+	/**
+	 * An event with its time.
+	 */
+	private static class Event implements Scheduled, Comparable<Event>
+	{
+		private final Runnable event;
+		private final long time;
+		private final long sequence;
+		// canceled events stay in the queue and are skipped when due
+		private volatile boolean canceled;
+
+		Event(Runnable event, long time, long sequence)
+		{
+			this.event = event;
+			this.time = time;
+			this.sequence = sequence;
+		}
+
+		void run()
+		{
+			if(!canceled)
+			{
+				event.run();
+			}
+		}
+
+		@Override
+		public void cancel()
+		{
+			canceled = true;
+		}
+
+		@Override
+		public int compareTo(Event other)
+		{
+			if(time != other.time)
+			{
+				return Long.compare(time, other.time);
+			}
+			return Long.compare(sequence, other.sequence);
+		}
+	}
+}
@@ -1,5 +1,7 @@
 package gui;
 
+import java.util.Arrays;
+
 import javax.swing.CellEditor;
 
 import generation.CardinalDirection;
@@ -32,6 +34,9 @@ public class WallFollower implements RobotDriver
 	// store a maze object that the Wizard uses to find the exit
 	private Maze maze;
 	
+	// store the maximum time in milliseconds to wait for a sensor repair if no sensor is operational
+	private static final long SENSOR_REPAIR_TIMEOUT = 2000;
+	
 	/**
 	 * This method assigns a robot platform to the Wallfollower. 
 	 * The Wallfollower uses a robot to perform, this method provides it with this necessary information.
@@ -93,8 +98,14 @@ public class WallFollower implements RobotDriver
 	@Override
 	public boolean drive1Step2Exit() throws Exception 
 	{
+		// Check if robot has stopped, e.g. for lack of energy, it can't go on then
+		if(this.robot.hasStopped())
+		{
+			throw new Exception("Robot has stopped, it can't reach the exit.");
+		}
+		
 		// Check if robot is at exit position
-		if(this.maze.getExitPosition().equals(this.robot.getCurrentPosition()))
+		if(Arrays.equals(this.maze.getExitPosition(), this.robot.getCurrentPosition()))
 		{
 			// Check if robot is facing the exit using private helper method
 			if(this.robotIsFacingExit())
@@ -208,11 +219,9 @@ public class WallFollower implements RobotDriver
 								// right sensor not operational, no sensors operational, wait then try right sensor again
 								} catch (Exception e4) 
 								{
-									// wait 2 seconds, then try again
+									// wait until a sensor is repaired, then try again
 									try {
-										Thread.sleep(2000);
-										// right sensor operational, check if facing exit 
-										if(this.robot.distanceToObstacle(Direction.RIGHT) == 0)
+										if(this.distanceToObstacleOnceRepaired(Direction.RIGHT) == 0)
 										{
 											// reset robot back to original direction and update frontWall
 											this.robot.rotate(Turn.RIGHT);
@@ -311,11 +320,9 @@ public class WallFollower implements RobotDriver
 								// front sensor not operational, no sensors operational, wait then try front sensor again
 								} catch (Exception e4) 
 								{
-									// wait 2 seconds, then try again
+									// wait until a sensor is repaired, then try again
 									try {
-										Thread.sleep(2000);
-										// front sensor operational, check for wall
-										if(this.robot.distanceToObstacle(Direction.FORWARD) == 0)
+										if(this.distanceToObstacleOnceRepaired(Direction.FORWARD) == 0)
 										{
 											// reset robot back to original direction and update leftWall
 											this.robot.rotate(Turn.RIGHT);
@@ -417,11 +424,9 @@ public class WallFollower implements RobotDriver
 								// right sensor not operational, no sensors operational, wait then try right sensor again
 								} catch (Exception e4) 
 								{
-									// wait 2 seconds, then try again
+									// wait until a sensor is repaired, then try again
 									try {
-										Thread.sleep(2000);
-										// right sensor operational, check if facing exit 
-										if(this.robot.distanceToObstacle(Direction.BACKWARD) == 0)
+										if(this.distanceToObstacleOnceRepaired(Direction.BACKWARD) == 0)
 										{
 											// reset robot back to original direction and update rightWall
 											this.robot.rotate(Turn.RIGHT);
@@ -552,6 +557,70 @@ public class WallFollower implements RobotDriver
 		return pathLength;
 	}
 
+	/**
+	 * This is a private helper method for when
+	 * no sensor is operational. It waits until
+	 * any sensor is repaired, rotates the robot
+	 * such that the repaired sensor points where
+	 * the given direction pointed, senses and 
+	 * rotates the robot back.
+	 * @param direction - the direction to sense in, relative to the robot's current forward direction
+	 * @return - the distance to the obstacle in the given direction
+	 * @throws UnsupportedOperationException if no sensor is repaired in time
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	private int distanceToObstacleOnceRepaired(Direction direction) throws InterruptedException
+	{
+		// wait for a repair, returns right away if a sensor is operational already
+		Direction repaired = this.robot.waitForOperationalSensor(SENSOR_REPAIR_TIMEOUT);
+		if(repaired == null)
+		{
+			throw new UnsupportedOperationException("No sensor operational after waiting " + SENSOR_REPAIR_TIMEOUT + " ms.");
+		}
+		
+		// each right turn makes a sensor point where the next sensor clockwise pointed before,
+		// e.g. the left sensor where the forward sensor pointed
+		int turns = (clockwiseIndex(direction) - clockwiseIndex(repaired) + 4) % 4;
+		for(int i = 0; i < turns; i++)
+		{
+			this.robot.rotate(Turn.RIGHT);
+		}
+		try
+		{
+			return this.robot.distanceToObstacle(repaired);
+		}
+		finally
+		{
+			// reset robot back to original direction
+			for(int i = 0; i < turns; i++)
+			{
+				this.robot.rotate(Turn.LEFT);
+			}
+		}
+	}
+	
+	/**
+	 * This is a private helper method that gives
+	 * the position of a direction going clockwise
+	 * around the robot, starting with forward.
+	 * @param direction - the direction relative to the robot
+	 * @return - 0 for forward, 1 for right, 2 for backward, 3 for left
+	 */
+	private static int clockwiseIndex(Direction direction)
+	{
+		switch(direction)
+		{
+		case FORWARD:
+			return 0;
+		case RIGHT:
+			return 1;
+		case BACKWARD:
+			return 2;
+		default:
+			return 3;
+		}
+	}
+
 	/**
 	 * This is a private helper method that 
 	 * determines whether the robot is facing 
@@ -633,11 +702,9 @@ public class WallFollower implements RobotDriver
 						// right sensor not operational, no sensors operational, wait then try right sensor again
 						} catch (Exception e4) 
 						{
-							// wait 2 seconds, then try again
+							// wait until a sensor is repaired, then try again
 							try {
-								Thread.sleep(2000);
-								// right sensor operational, check if facing exit 
-								if(this.robot.canSeeThroughTheExitIntoEternity(Direction.RIGHT))
+								if(this.distanceToObstacleOnceRepaired(Direction.RIGHT) == Integer.MAX_VALUE)
 								{
 									// reset robot back to original direction and return true
 									this.robot.rotate(Turn.RIGHT);
@@ -1171,14 +1238,14 @@ public class WallFollower implements RobotDriver
 				// Check if the robot direction is North
 				if(robot.getCurrentDirection() == CardinalDirection.North)
 				{
-					// Robot direction North, rotate to the right
-					robot.rotate(Turn.RIGHT);
+					// Robot direction North, rotate to the left
+					robot.rotate(Turn.LEFT);
 				}
 				// Check if the robot direction is South
 				else if(robot.getCurrentDirection() == CardinalDirection.South)
 				{
-					// Robot direction South, rotate to the left
-					robot.rotate(Turn.LEFT);
+					// Robot direction South, rotate to the right
+					robot.rotate(Turn.RIGHT);
 				}
 				// Robot is facing West
 				else 
@@ -1195,14 +1262,14 @@ public class WallFollower implements RobotDriver
 				// Check if the robot direction is North
 				if(robot.getCurrentDirection() == CardinalDirection.North)
 				{
-					// Robot direction North, rotate to the left
-					robot.rotate(Turn.LEFT);
+					// Robot direction North, rotate to the right
+					robot.rotate(Turn.RIGHT);
 				}
 				// Check if the robot direction is South
 				else if(robot.getCurrentDirection() == CardinalDirection.South)
 				{
-					// Robot direction South, rotate to the right
-					robot.rotate(Turn.RIGHT);
+					// Robot direction South, rotate to the left
+					robot.rotate(Turn.LEFT);
 				}
 				// Robot is facing East
 				else 
@@ -1219,14 +1286,14 @@ public class WallFollower implements RobotDriver
 				// Check if the robot direction is East
 				if(robot.getCurrentDirection() == CardinalDirection.East)
 				{
-					// Robot direction East, rotate to the left
-					robot.rotate(Turn.LEFT);
+					// Robot direction East, rotate to the right
+					robot.rotate(Turn.RIGHT);
 				}
 				// Check if the robot direction is West
 				else if(robot.getCurrentDirection() == CardinalDirection.West)
 				{
-					// Robot direction West, rotate to the right
-					robot.rotate(Turn.RIGHT);
+					// Robot direction West, rotate to the left
+					robot.rotate(Turn.LEFT);
 				}
 				// Robot is facing South
 				else 
@@ -1243,14 +1310,14 @@ public class WallFollower implements RobotDriver
 				// Check if the robot direction is East
 				if(robot.getCurrentDirection() == CardinalDirection.East)
 				{
-					// Robot direction East, rotate to the right
-					robot.rotate(Turn.RIGHT);
+					// Robot direction East, rotate to the left
+					robot.rotate(Turn.LEFT);
 				}
 				// Check if the robot direction is West
 				else if(robot.getCurrentDirection() == CardinalDirection.West)
 				{
-					// Robot direction West, rotate to the left
-					robot.rotate(Turn.LEFT);
+					// Robot direction West, rotate to the right
+					robot.rotate(Turn.RIGHT);
 				}
 				// Robot is facing North
 				else 
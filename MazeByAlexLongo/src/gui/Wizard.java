@@ -1,5 +1,7 @@
 package gui;
 
+import java.util.Arrays;
+
 import generation.CardinalDirection;
 import generation.Maze;
 import gui.Robot.Turn;
@@ -136,8 +138,14 @@ public class Wizard implements RobotDriver
 	@Override
 	public boolean drive1Step2Exit() throws Exception 
 	{
+		// Check if robot has stopped, e.g. for lack of energy, it can't go on then
+		if(this.robot.hasStopped())
+		{
+			throw new Exception("Robot has stopped, it can't reach the exit.");
+		}
+		
 		// Check if robot is at exit position
-		if(this.maze.getExitPosition().equals(this.robot.getCurrentPosition()))
+		if(Arrays.equals(this.maze.getExitPosition(), this.robot.getCurrentPosition()))
 		{
 			// Check if robot is facing the exit using private helper method
 			if(this.robotIsFacingExit())
@@ -166,7 +174,13 @@ public class Wizard implements RobotDriver
 			if(this.robotIsFacingCellCloserToExit())
 			{
 				// Robot is already facing neighboring cell closer to exit, move 1 step in that direction
-				this.robot.move(1);	
+				this.robot.move(1);
+				
+				// Check if robot has stopped on its way, e.g. for lack of energy
+				if(this.robot.hasStopped())
+				{
+					throw new Exception("Robot has stopped, it can't reach the exit.");
+				}
 				
 				// use an assert statement to determine that the robot has successfully moved
 				assert ((this.robot.getCurrentPosition()[0] == cellCloserToExit[0]) && (this.robot.getCurrentPosition()[1] == cellCloserToExit[1]));
@@ -183,6 +197,12 @@ public class Wizard implements RobotDriver
 				// Move the robot 1 step forward
 				this.robot.move(1);
 				
+				// Check if robot has stopped on its way, e.g. for lack of energy
+				if(this.robot.hasStopped())
+				{
+					throw new Exception("Robot has stopped, it can't reach the exit.");
+				}
+				
 				// use an assert statement to determine that the robot has successfully moved
 				assert ((this.robot.getCurrentPosition()[0] == cellCloserToExit[0]) && (this.robot.getCurrentPosition()[1] == cellCloserToExit[1]));
 				
@@ -413,14 +433,14 @@ public class Wizard implements RobotDriver
 			// Check if the robot direction is North
 			if(robot.getCurrentDirection() == CardinalDirection.North)
 			{
-				// Robot direction North, rotate to the right
-				robot.rotate(Turn.RIGHT);
+				// Robot direction North, rotate to the left
+				robot.rotate(Turn.LEFT);
 			}
 			// Check if the robot direction is South
 			else if(robot.getCurrentDirection() == CardinalDirection.South)
 			{
-				// Robot direction South, rotate to the left
-				robot.rotate(Turn.LEFT);
+				// Robot direction South, rotate to the right
+				robot.rotate(Turn.RIGHT);
 			}
 			// Robot is facing West
 			else 
@@ -437,14 +457,14 @@ public class Wizard implements RobotDriver
 			// Check if the robot direction is North
 			if(robot.getCurrentDirection() == CardinalDirection.North)
 			{
-				// Robot direction North, rotate to the left
-				robot.rotate(Turn.LEFT);
+				// Robot direction North, rotate to the right
+				robot.rotate(Turn.RIGHT);
 			}
 			// Check if the robot direction is South
 			else if(robot.getCurrentDirection() == CardinalDirection.South)
 			{
-				// Robot direction South, rotate to the right
-				robot.rotate(Turn.RIGHT);
+				// Robot direction South, rotate to the left
+				robot.rotate(Turn.LEFT);
 			}
 			// Robot is facing East
 			else 
@@ -461,14 +481,14 @@ public class Wizard implements RobotDriver
 			// Check if the robot direction is East
 			if(robot.getCurrentDirection() == CardinalDirection.East)
 			{
-				// Robot direction East, rotate to the left
-				robot.rotate(Turn.LEFT);
+				// Robot direction East, rotate to the right
+				robot.rotate(Turn.RIGHT);
 			}
 			// Check if the robot direction is West
 			else if(robot.getCurrentDirection() == CardinalDirection.West)
 			{
-				// Robot direction West, rotate to the right
-				robot.rotate(Turn.RIGHT);
+				// Robot direction West, rotate to the left
+				robot.rotate(Turn.LEFT);
 			}
 			// Robot is facing South
 			else 
@@ -485,14 +505,14 @@ public class Wizard implements RobotDriver
 			// Check if the robot direction is East
 			if(robot.getCurrentDirection() == CardinalDirection.East)
 			{
-				// Robot direction East, rotate to the right
-				robot.rotate(Turn.RIGHT);
+				// Robot direction East, rotate to the left
+				robot.rotate(Turn.LEFT);
 			}
 			// Check if the robot direction is West
 			else if(robot.getCurrentDirection() == CardinalDirection.West)
 			{
-				// Robot direction West, rotate to the left
-				robot.rotate(Turn.LEFT);
+				// Robot direction West, rotate to the right
+				robot.rotate(Turn.RIGHT);
 			}
 			// Robot is facing North
 			else 
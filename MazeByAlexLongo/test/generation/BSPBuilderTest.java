@@ -0,0 +1,162 @@
+package generation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import generation.Order.Builder;
+
+/**
+ * Tests that the parallel construction of the BSP tree in BSPBuilder
+ * delivers the same tree as the sequential one and that the splitter
+ * strategies deliver complete trees.
+ *
+ * @author Alex Longo
+ *
+ */
+class BSPBuilderTest
+{
+	/**
+	 * Private helper method that generates the floorplan and distances of a maze
+	 * without computing its BSP tree.
+	 */
+	private MazeBuilder prepareMaze(int skillLevel, boolean perfect)
+	{
+		MazeBuilder builder = new MazeBuilderKruskal();
+		DefaultOrder order = new DefaultOrder(skillLevel, Builder.Kruskal, perfect, 13);
+		order.setHeadless(true);
+		builder.buildOrder(order);
+		builder.floorplan.initialize();
+		if (!perfect)
+		{
+			builder.generateRooms();
+		}
+		builder.generate();
+		return builder;
+	}
+
+	/**
+	 * Private helper method that asserts that two trees match in structure,
+	 * bounds, splitters and walls.
+	 */
+	private void assertSameTree(BSPNode expected, BSPNode actual)
+	{
+		assertEquals(expected.getClass(), actual.getClass());
+		assertEquals(expected.getLowerBoundX(), actual.getLowerBoundX());
+		assertEquals(expected.getUpperBoundX(), actual.getUpperBoundX());
+		assertEquals(expected.getLowerBoundY(), actual.getLowerBoundY());
+		assertEquals(expected.getUpperBoundY(), actual.getUpperBoundY());
+		if (expected.isIsleaf())
+		{
+			assertEquals(((BSPLeaf) expected).getAllWalls(), ((BSPLeaf) actual).getAllWalls());
+			return;
+		}
+		BSPBranch e = (BSPBranch) expected;
+		BSPBranch a = (BSPBranch) actual;
+		assertEquals(e.getX(), a.getX());
+		assertEquals(e.getY(), a.getY());
+		assertEquals(e.getDx(), a.getDx());
+		assertEquals(e.getDy(), a.getDy());
+		assertSameTree(e.getLeftBranch(), a.getLeftBranch());
+		assertSameTree(e.getRightBranch(), a.getRightBranch());
+	}
+
+	/**
+	 * Private helper method that sums up the length of all walls in the leaves of a tree.
+	 */
+	private int totalLength(BSPNode node)
+	{
+		if (node.isIsleaf())
+		{
+			int sum = 0;
+			for (Wall wall : ((BSPLeaf) node).getAllWalls())
+			{
+				sum += wall.getLength();
+			}
+			return sum;
+		}
+		return this.totalLength(((BSPBranch) node).getLeftBranch()) + this.totalLength(((BSPBranch) node).getRightBranch());
+	}
+
+	/**
+	 * Private helper method that builds the tree of a maze with the given strategy.
+	 */
+	private BSPNode buildTree(MazeBuilder builder, SplitterStrategy strategy) throws InterruptedException
+	{
+		return new BSPBuilder(null, builder.dists, builder.floorplan,
+				builder.width, builder.height, 42, 1000, strategy).generateBSPNodes();
+	}
+
+	/**
+	 * This test determines if grading on primitive arrays picks the same splitters
+	 * as the original sampled grading, such that trees are identical.
+	 */
+	@Test
+	void testGradedStrategyMatchesSampledStrategy() throws InterruptedException
+	{
+		for (boolean perfect : new boolean[] {true, false})
+		{
+			MazeBuilder builder = this.prepareMaze(6, perfect);
+			BSPNode sampled = this.buildTree(builder, new SampledSplitterStrategy());
+			BSPNode graded = this.buildTree(builder, new GradedSplitterStrategy());
+
+			this.assertSameTree(sampled, graded);
+		}
+	}
+
+	/**
+	 * This test determines if the exhaustive grading and the axis aligned heuristic
+	 * deliver trees that hold all walls: splitting preserves the total length of walls.
+	 */
+	@Test
+	void testOtherStrategiesKeepAllWalls() throws InterruptedException
+	{
+		MazeBuilder builder = this.prepareMaze(4, false);
+		int expected = this.totalLength(this.buildTree(builder, new SampledSplitterStrategy()));
+
+		assertEquals(expected, this.totalLength(this.buildTree(builder, new GradedSplitterStrategy(true))));
+		assertEquals(expected, this.totalLength(this.buildTree(builder, new AxisAlignedSplitterStrategy())));
+	}
+
+	/**
+	 * This test determines if the fork/join construction delivers a tree that is
+	 * identical to the sequential one for a maze that is large enough to fork subtrees,
+	 * with and without rooms.
+	 */
+	@Test
+	void testParallelTreeMatchesSequentialTree() throws InterruptedException
+	{
+		ForkJoinPool pool = new ForkJoinPool(4);
+		for (boolean perfect : new boolean[] {true, false})
+		{
+			MazeBuilder builder = this.prepareMaze(6, perfect);
+			BSPNode sequential = new BSPBuilder(null, builder.dists, builder.floorplan,
+					builder.width, builder.height, 42, 1000).generateBSPNodes();
+			BSPBuilder parallelBuilder = new BSPBuilder(null, builder.dists, builder.floorplan,
+					builder.width, builder.height, 42, 1000);
+			BSPNode parallel = parallelBuilder.generateBSPNodes(pool);
+
+			this.assertSameTree(sequential, parallel);
+		}
+		pool.shutdown();
+	}
+
+	/**
+	 * This test determines if an interrupt of the thread that waits for the
+	 * fork/join construction stops it with an InterruptedException.
+	 */
+	@Test
+	void testParallelConstructionIsInterruptible()
+	{
+		ForkJoinPool pool = new ForkJoinPool(2);
+		MazeBuilder builder = this.prepareMaze(9, true);
+		BSPBuilder bspBuilder = new BSPBuilder(null, builder.dists, builder.floorplan,
+				builder.width, builder.height, 42, 1000);
+		Thread.currentThread().interrupt();
+		assertThrows(InterruptedException.class, () -> bspBuilder.generateBSPNodes(pool));
+		assertFalse(Thread.interrupted());
+		pool.shutdown();
+	}
+}
@@ -0,0 +1,91 @@
+package generation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import generation.Order.Builder;
+
+/**
+ * Tests that the CompiledBSPTree is a faithful copy of a tree of BSP nodes.
+ *
+ * @author Alex Longo
+ *
+ */
+class CompiledBSPTreeTest
+{
+	/**
+	 * Private helper method that checks the subtree of the compiled tree at the given index
+	 * against the given node and returns the index of the next node in preorder.
+	 */
+	private int assertSameSubtree(BSPNode expected, CompiledBSPTree tree, int node)
+	{
+		assertEquals(expected.getLowerBoundX(), tree.getLowerBoundX(node));
+		assertEquals(expected.getUpperBoundX(), tree.getUpperBoundX(node));
+		assertEquals(expected.getLowerBoundY(), tree.getLowerBoundY(node));
+		assertEquals(expected.getUpperBoundY(), tree.getUpperBoundY(node));
+		assertEquals(expected.isIsleaf(), tree.isLeaf(node));
+		if (expected.isIsleaf())
+		{
+			List<Wall> walls = ((BSPLeaf) expected).getAllWalls();
+			assertEquals(walls.size(), tree.getEndWall(node) - tree.getFirstWall(node));
+			for (int i = 0; i < walls.size(); i++)
+			{
+				assertEquals(walls.get(i), tree.getWalls().toWall(tree.getFirstWall(node) + i));
+			}
+			assertEquals(CompiledBSPTree.NO_CHILD, tree.getLeftChild(node));
+			return node + 1;
+		}
+		BSPBranch branch = (BSPBranch) expected;
+		assertEquals(branch.getX(), tree.getX(node));
+		assertEquals(branch.getY(), tree.getY(node));
+		assertEquals(branch.getDx(), tree.getDx(node));
+		assertEquals(branch.getDy(), tree.getDy(node));
+		// preorder: the left child follows its parent
+		assertEquals(node + 1, tree.getLeftChild(node));
+		int next = this.assertSameSubtree(branch.getLeftBranch(), tree, tree.getLeftChild(node));
+		assertEquals(next, tree.getRightChild(node));
+		return this.assertSameSubtree(branch.getRightBranch(), tree, tree.getRightChild(node));
+	}
+
+	/**
+	 * This test determines if compiling the tree of a generated maze keeps
+	 * all nodes, bounding boxes, partition lines and walls, with the walls of each leaf
+	 * in a contiguous range of the wall table.
+	 */
+	@Test
+	void testCompiledTreeMatchesTree()
+	{
+		DefaultOrder order = new DefaultOrder(4, Builder.Kruskal, false, 13);
+		order.setHeadless(true);
+		MazeFactory factory = new MazeFactory();
+		factory.order(order);
+		factory.waitTillDelivered();
+		Maze maze = order.getMaze();
+
+		CompiledBSPTree tree = maze.getCompiledTree();
+
+		int nodes = this.assertSameSubtree(maze.getRootnode(), tree, tree.getRoot());
+		assertEquals(tree.getNodeCount(), nodes);
+		assertEquals(tree.getEndWall(tree.getNodeCount() - 1), tree.getWallCount());
+		assertSame(tree, maze.getCompiledTree());
+	}
+
+	/**
+	 * This test determines if a tree that is a single leaf compiles into a single node.
+	 */
+	@Test
+	void testSingleLeaf()
+	{
+		Wall wall = new Wall(0, 0, 128, 0, 1, 0);
+		CompiledBSPTree tree = CompiledBSPTree.compile(new BSPLeaf(List.of(wall)));
+
+		assertEquals(1, tree.getNodeCount());
+		assertTrue(tree.isLeaf(tree.getRoot()));
+		assertEquals(1, tree.getWallCount());
+		assertEquals(wall, tree.getWalls().toWall(0));
+		assertEquals(wall.getColor(), tree.getWalls().getColor(0));
+	}
+}
@@ -0,0 +1,131 @@
+package generation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import generation.Order.Builder;
+
+/**
+ * Tests the ConcurrentMazeFactory for concurrent delivery,
+ * backpressure with a bounded queue and cancellation of single orders.
+ *
+ * @author Alex Longo
+ *
+ */
+class ConcurrentMazeFactoryTest
+{
+	/**
+	 * Private helper method that creates a headless order, which is generated as fast as possible.
+	 */
+	private DefaultOrder createHeadlessOrder(int skillLevel, Builder builder, boolean perfect)
+	{
+		DefaultOrder order = new DefaultOrder(skillLevel, builder, perfect, 13);
+		order.setHeadless(true);
+		return order;
+	}
+
+	/**
+	 * This test determines if a number of orders that exceeds the number of workers
+	 * is accepted and delivered, each with a maze of the ordered size.
+	 */
+	@Test
+	void testConcurrentOrdersAreDelivered()
+	{
+		ConcurrentMazeFactory factory = new ConcurrentMazeFactory(2, 8);
+		Builder[] builders = Builder.values();
+		DefaultOrder[] orders = new DefaultOrder[10];
+		for (int i = 0; i < orders.length; i++)
+		{
+			orders[i] = this.createHeadlessOrder(i % 6, builders[i % builders.length], i % 2 == 0);
+			assertTrue(factory.order(orders[i]));
+		}
+		factory.waitTillDelivered();
+		for (DefaultOrder order : orders)
+		{
+			assertNotNull(order.getMaze());
+			assertEquals(gui.Constants.SKILL_X[order.getSkillLevel()], order.getMaze().getWidth());
+		}
+		assertEquals(0, factory.getPendingOrders());
+		factory.shutdown();
+	}
+
+	/**
+	 * This test determines if orders with the same seed deliver the same maze
+	 * while they are generated at the same time, for each builder with rooms.
+	 * Each order draws from a random number stream of its own, so concurrent orders
+	 * must not influence each other.
+	 */
+	@Test
+	void testSameSeedGivesSameMazeConcurrently()
+	{
+		ConcurrentMazeFactory factory = new ConcurrentMazeFactory(4, 0);
+		for (Builder builder : Builder.values())
+		{
+			DefaultOrder[] orders = new DefaultOrder[4];
+			for (int i = 0; i < orders.length; i++)
+			{
+				orders[i] = this.createHeadlessOrder(4, builder, false);
+				assertTrue(factory.order(orders[i]));
+			}
+			factory.waitTillDelivered();
+			for (int i = 1; i < orders.length; i++)
+			{
+				assertEquals(orders[0].getMaze().getFloorplan(), orders[i].getMaze().getFloorplan());
+				assertArrayEquals(orders[0].getMaze().getStartingPosition(), orders[i].getMaze().getStartingPosition());
+			}
+		}
+		factory.shutdown();
+	}
+
+	/**
+	 * This test determines if the factory refuses orders when its
+	 * single worker is busy and its queue is full, and accepts orders again
+	 * once there is room.
+	 */
+	@Test
+	void testBoundedQueueRefusesOrders()
+	{
+		ConcurrentMazeFactory factory = new ConcurrentMazeFactory(1, 1);
+		// regular orders pause during generation, so they keep the worker busy for a while
+		DefaultOrder running = new DefaultOrder(1, Builder.DFS, true, 13);
+		DefaultOrder waiting = new DefaultOrder(1, Builder.DFS, true, 13);
+		assertTrue(factory.order(running));
+		assertTrue(factory.order(waiting));
+		assertFalse(factory.order(this.createHeadlessOrder(0, Builder.DFS, true)));
+		assertEquals(2, factory.getPendingOrders());
+		
+		factory.waitTillDelivered();
+		assertNotNull(running.getMaze());
+		assertNotNull(waiting.getMaze());
+		
+		DefaultOrder later = this.createHeadlessOrder(0, Builder.DFS, true);
+		assertTrue(factory.order(later));
+		factory.waitTillDelivered(later);
+		assertNotNull(later.getMaze());
+		factory.shutdown();
+	}
+
+	/**
+	 * This test determines if a single waiting order can be canceled
+	 * without affecting the order that is running.
+	 */
+	@Test
+	void testCancelSingleOrder()
+	{
+		ConcurrentMazeFactory factory = new ConcurrentMazeFactory(1, 2);
+		DefaultOrder running = new DefaultOrder(1, Builder.DFS, true, 13);
+		DefaultOrder canceled = this.createHeadlessOrder(0, Builder.DFS, true);
+		assertTrue(factory.order(running));
+		assertTrue(factory.order(canceled));
+		
+		assertTrue(factory.cancel(canceled));
+		assertFalse(factory.cancel(canceled));
+		factory.waitTillDelivered();
+		
+		assertNotNull(running.getMaze());
+		assertNull(canceled.getMaze());
+		assertEquals(0, factory.getPendingOrders());
+		factory.shutdown();
+	}
+}
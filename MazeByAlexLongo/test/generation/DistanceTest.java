@@ -0,0 +1,142 @@
+package generation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import generation.Order.Builder;
+
+/**
+ * Tests the computation of distance values, exit and starting position
+ * in the Distance class.
+ *
+ * @author Alex Longo
+ *
+ */
+class DistanceTest
+{
+	/**
+	 * Test case: distances in a straight corridor of 3 cells
+	 * <p>
+	 * Method under test: computeDistances, getExitPosition, getStartPosition
+	 * <p>
+	 * Correct behavior: the search starts in the middle cell, both ends are
+	 * equally far away on the border, the left one is picked as the exit.
+	 * The starting position is the other end of the corridor.
+	 */
+	@Test
+	void testCorridor()
+	{
+		Floorplan floorplan = new Floorplan(3, 1);
+		floorplan.initialize();
+		floorplan.deleteWallboard(new Wallboard(0, 0, CardinalDirection.East));
+		floorplan.deleteWallboard(new Wallboard(1, 0, CardinalDirection.East));
+		Distance dists = new Distance(3, 1);
+
+		int[] exit = dists.computeDistances(floorplan);
+
+		assertArrayEquals(new int[] {0, 0}, exit);
+		assertArrayEquals(new int[] {0, 0}, dists.getExitPosition());
+		assertArrayEquals(new int[] {2, 0}, dists.getStartPosition());
+		assertEquals(1, dists.getDistanceValue(0, 0));
+		assertEquals(2, dists.getDistanceValue(1, 0));
+		assertEquals(3, dists.getDistanceValue(2, 0));
+		assertEquals(1, dists.getMinDistance());
+		assertEquals(3, dists.getMaxDistance());
+	}
+
+	/**
+	 * Test case: distances in an open area without any internal wallboards
+	 * <p>
+	 * Method under test: computeDistances, getDistanceValue
+	 * <p>
+	 * Correct behavior: with many paths of different length, every position
+	 * gets its shortest distance which is its manhattan distance to the exit
+	 * plus 1. Exit and start are opposite corners.
+	 */
+	@Test
+	void testOpenArea()
+	{
+		final int width = 4;
+		final int height = 4;
+		Floorplan floorplan = new Floorplan(width, height);
+		floorplan.initialize();
+		for (int x = 0; x < width; x++)
+		{
+			for (int y = 0; y < height; y++)
+			{
+				if (x < width - 1)
+					floorplan.deleteWallboard(new Wallboard(x, y, CardinalDirection.East));
+				if (y < height - 1)
+					floorplan.deleteWallboard(new Wallboard(x, y, CardinalDirection.South));
+			}
+		}
+		Distance dists = new Distance(width, height);
+
+		int[] exit = dists.computeDistances(floorplan);
+
+		assertArrayEquals(new int[] {0, 0}, exit);
+		assertArrayEquals(new int[] {width - 1, height - 1}, dists.getStartPosition());
+		for (int x = 0; x < width; x++)
+		{
+			for (int y = 0; y < height; y++)
+			{
+				assertEquals(x + y + 1, dists.getDistanceValue(x, y));
+			}
+		}
+	}
+
+	/**
+	 * Test case: distances in a generated maze with rooms
+	 * <p>
+	 * Method under test: computeDistances, getStartPosition
+	 * <p>
+	 * Correct behavior: the exit is on the border and has distance 1, every other
+	 * position has a neighbor without a wallboard in between that is one step closer
+	 * to the exit and no neighbor that is more than one step closer.
+	 * The starting position has the maximum distance.
+	 */
+	@Test
+	void testGeneratedMaze()
+	{
+		MazeBuilder builder = new MazeBuilderKruskal();
+		builder.buildOrder(new DefaultOrder(5, Builder.Kruskal, false, 13));
+		builder.floorplan.initialize();
+		builder.generateRooms();
+		builder.generatePathways();
+		final int width = builder.width;
+		final int height = builder.height;
+		Distance dists = new Distance(width, height);
+
+		int[] exit = dists.computeDistances(builder.floorplan);
+
+		assertTrue(exit[0] == 0 || exit[0] == width - 1 || exit[1] == 0 || exit[1] == height - 1);
+		assertEquals(1, dists.getDistanceValue(exit[0], exit[1]));
+		int max = 0;
+		for (int x = 0; x < width; x++)
+		{
+			for (int y = 0; y < height; y++)
+			{
+				final int d = dists.getDistanceValue(x, y);
+				assertTrue(d < Distance.INFINITY);
+				max = Math.max(max, d);
+				boolean closerNeighbor = false;
+				for (CardinalDirection cd : CardinalDirection.values())
+				{
+					final int[] dxy = cd.getDxDyDirection();
+					final int nx = x + dxy[0];
+					final int ny = y + dxy[1];
+					if (0 <= nx && nx < width && 0 <= ny && ny < height && builder.floorplan.hasNoWall(x, y, cd))
+					{
+						final int nd = dists.getDistanceValue(nx, ny);
+						assertTrue(nd >= d - 1);
+						closerNeighbor |= (nd == d - 1);
+					}
+				}
+				assertTrue(d == 1 || closerNeighbor);
+			}
+		}
+		int[] start = dists.getStartPosition();
+		assertEquals(max, dists.getDistanceValue(start[0], start[1]));
+	}
+}
@@ -0,0 +1,214 @@
+package generation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import generation.Order.Builder;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class MazeBuilderEllerTest extends MazeFactoryTest
+{
+	
+	/**
+	 * Private class variables that will be setup to determine what mazes will be built for testing
+	 * 
+	 * Skill levels that will be tested:
+	 * 0  -  smallest possible maze
+	 * 1  -  smallest possible maze with rooms
+	 * 3  -  smallest possible maze that is not a square (width != height)
+	 * 7  -  scaled up maze, demonstrates that tests still passed when size is scaled up
+	 * 
+	 * For each skill level tested, perfect and not perfect mazes will be tested
+	 * 0  -  no rooms should be possible even if set to not perfect
+	 * 1  -  should have rooms for not perfect, no rooms for perfect
+	 * 3  -  should have rooms for not perfect, no rooms for perfect
+	 * 7  -  should have rooms for not perfect, no rooms for perfect
+	 */
+	
+	//////////////////////////////////////////////////////////////////////////////
+	///////////////// Setup Mazes with Eller Builder Algorithm ///////////////// 
+	//////////////////////////////////////////////////////////////////////////////
+	
+	// Setup a test maze: skillLVL=0, Algorithm=Eller, Perfect
+	private Maze testMaze0PerfectEller = this.completeMazeSetup(0, Builder.Eller, true);
+	
+	// Setup a test maze: skillLVL=0, Algorithm=Eller, NotPerfect
+	private Maze testMaze0NotPerfectEller = this.completeMazeSetup(0, Builder.Eller, false);
+	
+	// Setup a test maze: skillLVL=1, Algorithm=Eller, Perfect
+	private Maze testMaze1PerfectEller = this.completeMazeSetup(1, Builder.Eller, true);
+	
+	// Setup a test maze: skillLVL=1, Algorithm=Eller, NotPerfect
+	private Maze testMaze1NotPerfectEller = this.completeMazeSetup(1, Builder.Eller, false);
+	
+	// Setup a test maze: skillLVL=3, Algorithm=Eller, Perfect
+	private Maze testMaze3PerfectEller = this.completeMazeSetup(3, Builder.Eller, true);
+	
+	// Setup a test maze: skillLVL=3, Algorithm=Eller, NotPerfect
+	private Maze testMaze3NotPerfectEller = this.completeMazeSetup(3, Builder.Eller, false);
+	
+	// Setup a test maze: skillLVL=7, Algorithm=Eller, Perfect
+	private Maze testMaze7PerfectEller = this.completeMazeSetup(7, Builder.Eller, true);
+	
+	// Setup a test maze: skillLVL=7, Algorithm=Eller, NotPerfect
+	private Maze testMaze7NotPerfectEller = this.completeMazeSetup(7, Builder.Eller, false);
+	
+	
+	//////////////////////////////////////////////////////////////////////////////////////////////
+	/////// Call the Superclass's Blackbox Tests for the Correctness of any Generated Maze /////// 
+	//////////////////////////////////////////////////////////////////////////////////////////////
+	
+	@Test
+	void testOnlyOneExit() 
+	{
+		// Update all test mazes to ones build by Eller's algorithm
+		testMaze0Perfect = testMaze0PerfectEller;
+		testMaze0NotPerfect = testMaze0NotPerfectEller;
+		testMaze1Perfect = testMaze1PerfectEller;
+		testMaze1NotPerfect = testMaze1NotPerfectEller;
+		testMaze3Perfect = testMaze3PerfectEller;
+		testMaze3NotPerfect = testMaze3NotPerfectEller;
+		testMaze7Perfect = testMaze7PerfectEller;
+		testMaze7NotPerfect = testMaze7NotPerfectEller;
+		super.testOnlyOneExit();
+	}
+	
+	@Test
+	void testExitReachableFromAnywhere() 
+	{
+		// Update all test mazes to ones build by Eller's algorithm
+		testMaze0Perfect = testMaze0PerfectEller;
+		testMaze0NotPerfect = testMaze0NotPerfectEller;
+		testMaze1Perfect = testMaze1PerfectEller;
+		testMaze1NotPerfect = testMaze1NotPerfectEller;
+		testMaze3Perfect = testMaze3PerfectEller;
+		testMaze3NotPerfect = testMaze3NotPerfectEller;
+		testMaze7Perfect = testMaze7PerfectEller;
+		testMaze7NotPerfect = testMaze7NotPerfectEller;
+		super.testExitReachableFromAnywhere();
+	}
+	
+	@Test
+	void testNumInternalWalls() 
+	{
+		// Update all test mazes to ones build by Eller's algorithm
+		testMaze0Perfect = testMaze0PerfectEller;
+		testMaze0NotPerfect = testMaze0NotPerfectEller;
+		testMaze1Perfect = testMaze1PerfectEller;
+		testMaze1NotPerfect = testMaze1NotPerfectEller;
+		testMaze3Perfect = testMaze3PerfectEller;
+		testMaze3NotPerfect = testMaze3NotPerfectEller;
+		testMaze7Perfect = testMaze7PerfectEller;
+		testMaze7NotPerfect = testMaze7NotPerfectEller;
+		super.testNumInternalWalls();
+	}
+	
+	@Test
+	void testPerfectMazeNoRooms() 
+	{
+		// Update all test mazes to ones build by Eller's algorithm
+		testMaze0Perfect = testMaze0PerfectEller;
+		testMaze0NotPerfect = testMaze0NotPerfectEller;
+		testMaze1Perfect = testMaze1PerfectEller;
+		testMaze1NotPerfect = testMaze1NotPerfectEller;
+		testMaze3Perfect = testMaze3PerfectEller;
+		testMaze3NotPerfect = testMaze3NotPerfectEller;
+		testMaze7Perfect = testMaze7PerfectEller;
+		testMaze7NotPerfect = testMaze7NotPerfectEller;
+		super.testPerfectMazeNoRooms();
+	}
+	
+	@Test
+	void testNotPerfectMazeHasRooms() 
+	{
+		// Update all test mazes to ones build by Eller's algorithm
+		testMaze0Perfect = testMaze0PerfectEller;
+		testMaze0NotPerfect = testMaze0NotPerfectEller;
+		testMaze1Perfect = testMaze1PerfectEller;
+		testMaze1NotPerfect = testMaze1NotPerfectEller;
+		testMaze3Perfect = testMaze3PerfectEller;
+		testMaze3NotPerfect = testMaze3NotPerfectEller;
+		testMaze7Perfect = testMaze7PerfectEller;
+		testMaze7NotPerfect = testMaze7NotPerfectEller;
+		super.testNotPerfectMazeHasRooms();
+	}
+	
+	
+	//////////////////////////////////////////////////////////////////////////////
+	///////////// Whitebox Test Methods Specific to MazeBuilder Eller //////////// 
+	//////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Test method for the streaming mode of MazeBuilderEller.
+	 * 
+	 * Given the same seed, the rows delivered in streaming mode
+	 * must match the floorplan that the builder produces for a 
+	 * perfect maze of the same size, row by row and in order.
+	 */
+	@Test
+	void testStreamedRowsMatchFloorplan()
+	{
+		int seed = 4711;
+		
+		// Generate a perfect maze of skillLVL=3 into a floorplan
+		MazeBuilderEller floorplanBuilder = new MazeBuilderEller();
+		floorplanBuilder.buildOrder(new DefaultOrder(3, Builder.Eller, true, seed));
+		floorplanBuilder.floorplan.initialize();
+		floorplanBuilder.generatePathways();
+		Floorplan floorplan = floorplanBuilder.floorplan;
+		int width = floorplanBuilder.width;
+		int height = floorplanBuilder.height;
+		
+		// Generate the same maze in streaming mode and compare each row as it is delivered
+		int[] nextRow = new int[1];
+		new MazeBuilderEller().generateRows(width, height, seed, (y, row) -> 
+		{
+			assertEquals(nextRow[0], y);
+			assertEquals(width, row.length);
+			for (int x = 0; x < width; x++)
+			{
+				assertEquals(floorplan.hasWall(x, y, CardinalDirection.North), (row[x] & Floorplan.CW_TOP) != 0);
+				assertEquals(floorplan.hasWall(x, y, CardinalDirection.South), (row[x] & Floorplan.CW_BOT) != 0);
+				assertEquals(floorplan.hasWall(x, y, CardinalDirection.West), (row[x] & Floorplan.CW_LEFT) != 0);
+				assertEquals(floorplan.hasWall(x, y, CardinalDirection.East), (row[x] & Floorplan.CW_RIGHT) != 0);
+			}
+			nextRow[0]++;
+		});
+		assertEquals(height, nextRow[0]);
+	}
+	
+	/**
+	 * Test method for the streaming mode of MazeBuilderEller on a tall maze.
+	 * 
+	 * A perfect maze is a spanning tree, so the number of 
+	 * wallboards torn down must be exactly one less than the number
+	 * of cells, even if the maze is far taller than any skill level.
+	 */
+	@Test
+	void testStreamedTallMazeIsSpanningTree()
+	{
+		int width = 20;
+		int height = 20000;
+		long[] openings = new long[1];
+		new MazeBuilderEller().generateRows(width, height, 13, (y, row) -> 
+		{
+			for (int x = 0; x < width; x++)
+			{
+				// count each opening once: towards the east and towards the south
+				if (x < width-1 && (row[x] & Floorplan.CW_RIGHT) == 0)
+				{
+					openings[0]++;
+				}
+				if (y < height-1 && (row[x] & Floorplan.CW_BOT) == 0)
+				{
+					openings[0]++;
+				}
+			}
+		});
+		assertEquals((long)width*height - 1, openings[0]);
+	}
+	
+
+}	// end class: MazeBuilderEllerTest
@@ -0,0 +1,186 @@
+package generation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import generation.Order.Builder;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class MazeBuilderKruskalTest extends MazeFactoryTest
+{
+	
+	/**
+	 * Private class variables that will be setup to determine what mazes will be built for testing
+	 * 
+	 * Skill levels that will be tested:
+	 * 0  -  smallest possible maze
+	 * 1  -  smallest possible maze with rooms
+	 * 3  -  smallest possible maze that is not a square (width != height)
+	 * 7  -  scaled up maze, demonstrates that tests still passed when size is scaled up
+	 * 
+	 * For each skill level tested, perfect and not perfect mazes will be tested
+	 * 0  -  no rooms should be possible even if set to not perfect
+	 * 1  -  should have rooms for not perfect, no rooms for perfect
+	 * 3  -  should have rooms for not perfect, no rooms for perfect
+	 * 7  -  should have rooms for not perfect, no rooms for perfect
+	 */
+	
+	//////////////////////////////////////////////////////////////////////////////
+	//////////////// Setup Mazes with Kruskal Builder Algorithm ////////////////// 
+	//////////////////////////////////////////////////////////////////////////////
+	
+	// Setup a test maze: skillLVL=0, Algorithm=Kruskal, Perfect
+	private Maze testMaze0PerfectKruskal = this.completeMazeSetup(0, Builder.Kruskal, true);
+	
+	// Setup a test maze: skillLVL=0, Algorithm=Kruskal, NotPerfect
+	private Maze testMaze0NotPerfectKruskal = this.completeMazeSetup(0, Builder.Kruskal, false);
+	
+	// Setup a test maze: skillLVL=1, Algorithm=Kruskal, Perfect
+	private Maze testMaze1PerfectKruskal = this.completeMazeSetup(1, Builder.Kruskal, true);
+	
+	// Setup a test maze: skillLVL=1, Algorithm=Kruskal, NotPerfect
+	private Maze testMaze1NotPerfectKruskal = this.completeMazeSetup(1, Builder.Kruskal, false);
+	
+	// Setup a test maze: skillLVL=3, Algorithm=Kruskal, Perfect
+	private Maze testMaze3PerfectKruskal = this.completeMazeSetup(3, Builder.Kruskal, true);
+	
+	// Setup a test maze: skillLVL=3, Algorithm=Kruskal, NotPerfect
+	private Maze testMaze3NotPerfectKruskal = this.completeMazeSetup(3, Builder.Kruskal, false);
+	
+	// Setup a test maze: skillLVL=7, Algorithm=Kruskal, Perfect
+	private Maze testMaze7PerfectKruskal = this.completeMazeSetup(7, Builder.Kruskal, true);
+	
+	// Setup a test maze: skillLVL=7, Algorithm=Kruskal, NotPerfect
+	private Maze testMaze7NotPerfectKruskal = this.completeMazeSetup(7, Builder.Kruskal, false);
+	
+	
+	//////////////////////////////////////////////////////////////////////////////////////////////
+	/////// Call the Superclass's Blackbox Tests for the Correctness of any Generated Maze /////// 
+	//////////////////////////////////////////////////////////////////////////////////////////////
+	
+	@Test
+	void testOnlyOneExit() 
+	{
+		// Update all test mazes to ones build by Kruskal's algorithm
+		testMaze0Perfect = testMaze0PerfectKruskal;
+		testMaze0NotPerfect = testMaze0NotPerfectKruskal;
+		testMaze1Perfect = testMaze1PerfectKruskal;
+		testMaze1NotPerfect = testMaze1NotPerfectKruskal;
+		testMaze3Perfect = testMaze3PerfectKruskal;
+		testMaze3NotPerfect = testMaze3NotPerfectKruskal;
+		testMaze7Perfect = testMaze7PerfectKruskal;
+		testMaze7NotPerfect = testMaze7NotPerfectKruskal;
+		super.testOnlyOneExit();
+	}
+	
+	@Test
+	void testExitReachableFromAnywhere() 
+	{
+		// Update all test mazes to ones build by Kruskal's algorithm
+		testMaze0Perfect = testMaze0PerfectKruskal;
+		testMaze0NotPerfect = testMaze0NotPerfectKruskal;
+		testMaze1Perfect = testMaze1PerfectKruskal;
+		testMaze1NotPerfect = testMaze1NotPerfectKruskal;
+		testMaze3Perfect = testMaze3PerfectKruskal;
+		testMaze3NotPerfect = testMaze3NotPerfectKruskal;
+		testMaze7Perfect = testMaze7PerfectKruskal;
+		testMaze7NotPerfect = testMaze7NotPerfectKruskal;
+		super.testExitReachableFromAnywhere();
+	}
+	
+	@Test
+	void testNumInternalWalls() 
+	{
+		// Update all test mazes to ones build by Kruskal's algorithm
+		testMaze0Perfect = testMaze0PerfectKruskal;
+		testMaze0NotPerfect = testMaze0NotPerfectKruskal;
+		testMaze1Perfect = testMaze1PerfectKruskal;
+		testMaze1NotPerfect = testMaze1NotPerfectKruskal;
+		testMaze3Perfect = testMaze3PerfectKruskal;
+		testMaze3NotPerfect = testMaze3NotPerfectKruskal;
+		testMaze7Perfect = testMaze7PerfectKruskal;
+		testMaze7NotPerfect = testMaze7NotPerfectKruskal;
+		super.testNumInternalWalls();
+	}
+	
+	@Test
+	void testPerfectMazeNoRooms() 
+	{
+		// Update all test mazes to ones build by Kruskal's algorithm
+		testMaze0Perfect = testMaze0PerfectKruskal;
+		testMaze0NotPerfect = testMaze0NotPerfectKruskal;
+		testMaze1Perfect = testMaze1PerfectKruskal;
+		testMaze1NotPerfect = testMaze1NotPerfectKruskal;
+		testMaze3Perfect = testMaze3PerfectKruskal;
+		testMaze3NotPerfect = testMaze3NotPerfectKruskal;
+		testMaze7Perfect = testMaze7PerfectKruskal;
+		testMaze7NotPerfect = testMaze7NotPerfectKruskal;
+		super.testPerfectMazeNoRooms();
+	}
+	
+	@Test
+	void testNotPerfectMazeHasRooms() 
+	{
+		// Update all test mazes to ones build by Kruskal's algorithm
+		testMaze0Perfect = testMaze0PerfectKruskal;
+		testMaze0NotPerfect = testMaze0NotPerfectKruskal;
+		testMaze1Perfect = testMaze1PerfectKruskal;
+		testMaze1NotPerfect = testMaze1NotPerfectKruskal;
+		testMaze3Perfect = testMaze3PerfectKruskal;
+		testMaze3NotPerfect = testMaze3NotPerfectKruskal;
+		testMaze7Perfect = testMaze7PerfectKruskal;
+		testMaze7NotPerfect = testMaze7NotPerfectKruskal;
+		super.testNotPerfectMazeHasRooms();
+	}
+	
+	
+	//////////////////////////////////////////////////////////////////////////////
+	//////////// Whitebox Test Methods Specific to MazeBuilder Kruskal /////////// 
+	//////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Test method for a larger skill level in MazeBuilderKruskal.
+	 * 
+	 * A perfect maze of skill level 9 (60x60) must be a spanning tree: 
+	 * every cell is reachable from the exit and the number of 
+	 * internal walls matches that of a tree.
+	 */
+	@Test
+	void testLargerPerfectMazeIsSpanningTree()
+	{
+		Maze testMaze9Perfect = this.completeMazeSetup(9, Builder.Kruskal, true);
+		int width = testMaze9Perfect.getWidth();
+		int height = testMaze9Perfect.getHeight();
+		
+		// count internal walls and cells that can not reach the exit
+		int internalWalls = 0;
+		int unreachableCells = 0;
+		for (int y = 0; y < height; y++)
+		{
+			for (int x = 0; x < width; x++)
+			{
+				if (x < width-1 && testMaze9Perfect.hasWall(x, y, CardinalDirection.East))
+				{
+					internalWalls++;
+				}
+				if (y < height-1 && testMaze9Perfect.hasWall(x, y, CardinalDirection.South))
+				{
+					internalWalls++;
+				}
+				if (testMaze9Perfect.getDistanceToExit(x, y) < 1 || testMaze9Perfect.getDistanceToExit(x, y) == Integer.MAX_VALUE)
+				{
+					unreachableCells++;
+				}
+			}
+		}
+		
+		// a spanning tree over w*h cells has w*h-1 edges, all other internal wallboards remain
+		int allInternalWallboards = (width-1)*height + width*(height-1);
+		assertEquals(allInternalWallboards - (width*height - 1), internalWalls);
+		assertEquals(0, unreachableCells);
+	}
+	
+
+}	// end class: MazeBuilderKruskalTest
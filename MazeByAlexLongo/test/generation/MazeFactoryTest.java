@@ -475,4 +475,52 @@ class MazeFactoryTest
 		// Check that there are rooms
 		assertEquals(false, this.noRooms(testMaze7NotPerfect));
 	}
+	
+	/**
+	 * This test determines if a headless order, which skips
+	 * all pauses during generation, delivers the same maze
+	 * as a regular order with the same seed.
+	 */
+	@Test
+	void testHeadlessOrderDeliversSameMaze()
+	{
+		// Create two equal orders, one of them headless
+		DefaultOrder regularOrder = this.createOrder(3, Builder.DFS, false, this.mySeed);
+		DefaultOrder headlessOrder = this.createOrder(3, Builder.DFS, false, this.mySeed);
+		headlessOrder.setHeadless(true);
+		
+		Maze regularMaze = this.createMaze(this.createMazeFactory(), regularOrder);
+		Maze headlessMaze = this.createMaze(this.createMazeFactory(), headlessOrder);
+		
+		// Check that both mazes have the same layout and starting position
+		assertNotNull(headlessMaze);
+		assertEquals(regularMaze.getFloorplan(), headlessMaze.getFloorplan());
+		assertArrayEquals(regularMaze.getStartingPosition(), headlessMaze.getStartingPosition());
+	}
+	
+	/**
+	 * This test determines if an order that does not require a BSP tree
+	 * delivers a maze without a tree but with the same layout
+	 * as a regular order with the same seed.
+	 */
+	@Test
+	void testOrderWithoutBSPTreeDeliversSameLayout()
+	{
+		// Create two equal orders, one of them without a BSP tree
+		DefaultOrder regularOrder = this.createOrder(3, Builder.DFS, false, this.mySeed);
+		DefaultOrder noTreeOrder = this.createOrder(3, Builder.DFS, false, this.mySeed);
+		regularOrder.setHeadless(true);
+		noTreeOrder.setHeadless(true);
+		noTreeOrder.setBSPTreeRequired(false);
+		
+		Maze regularMaze = this.createMaze(this.createMazeFactory(), regularOrder);
+		Maze noTreeMaze = this.createMaze(this.createMazeFactory(), noTreeOrder);
+		
+		// Check that only the regular maze has a tree and that both have the same layout
+		assertNotNull(regularMaze.getRootnode());
+		assertNull(noTreeMaze.getRootnode());
+		assertNull(noTreeMaze.getCompiledTree());
+		assertEquals(regularMaze.getFloorplan(), noTreeMaze.getFloorplan());
+		assertArrayEquals(regularMaze.getStartingPosition(), noTreeMaze.getStartingPosition());
+	}
 }
@@ -0,0 +1,97 @@
+package generation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import generation.Order.Builder;
+
+/**
+ * Tests the precomputed distances to the nearest wallboard
+ * in the ObstacleDistances class.
+ *
+ * @author Alex Longo
+ *
+ */
+class ObstacleDistancesTest
+{
+	/**
+	 * Test case: distances in a straight corridor of 3 cells with an exit
+	 * <p>
+	 * Method under test: getDistance
+	 * <p>
+	 * Correct behavior: looking along the corridor gives the number of cells
+	 * to its end, looking at a side wall gives 0, looking through the exit
+	 * gives Integer.MAX_VALUE.
+	 */
+	@Test
+	void testCorridor()
+	{
+		Floorplan floorplan = new Floorplan(3, 1);
+		floorplan.initialize();
+		floorplan.deleteWallboard(new Wallboard(0, 0, CardinalDirection.East));
+		floorplan.deleteWallboard(new Wallboard(1, 0, CardinalDirection.East));
+		floorplan.setExitPosition(0, 0);
+
+		ObstacleDistances distances = new ObstacleDistances(floorplan);
+
+		assertEquals(3, distances.getWidth());
+		assertEquals(1, distances.getHeight());
+		assertEquals(2, distances.getDistance(0, 0, CardinalDirection.East));
+		assertEquals(1, distances.getDistance(1, 0, CardinalDirection.East));
+		assertEquals(0, distances.getDistance(2, 0, CardinalDirection.East));
+		assertEquals(0, distances.getDistance(1, 0, CardinalDirection.North));
+		assertEquals(0, distances.getDistance(1, 0, CardinalDirection.South));
+		assertEquals(Integer.MAX_VALUE, distances.getDistance(0, 0, CardinalDirection.West));
+		assertEquals(Integer.MAX_VALUE, distances.getDistance(2, 0, CardinalDirection.West));
+	}
+
+	/**
+	 * Test case: distances for every position and direction in a generated maze
+	 * <p>
+	 * Method under test: getDistance, Maze.getObstacleDistances
+	 * <p>
+	 * Correct behavior: each distance is the number of steps one can walk
+	 * from the position in a straight line without passing a wallboard.
+	 */
+	@Test
+	void testMatchesWalkingTheMaze()
+	{
+		DefaultOrder order = new DefaultOrder(4, Builder.Prim, false, 13);
+		order.setHeadless(true);
+		MazeFactory factory = new MazeFactory();
+		factory.order(order);
+		factory.waitTillDelivered();
+		Maze maze = order.getMaze();
+
+		ObstacleDistances distances = maze.getObstacleDistances();
+
+		assertSame(distances, maze.getObstacleDistances());
+		for (int y = 0; y < maze.getHeight(); y++)
+		{
+			for (int x = 0; x < maze.getWidth(); x++)
+			{
+				for (CardinalDirection dir : CardinalDirection.values())
+				{
+					int[] d = dir.getDxDyDirection();
+					int expected = 0;
+					int cx = x;
+					int cy = y;
+					while (!maze.hasWall(cx, cy, dir))
+					{
+						cx += d[0];
+						cy += d[1];
+						if (!maze.isValidPosition(cx, cy))
+						{
+							expected = Integer.MAX_VALUE;
+							break;
+						}
+						expected++;
+					}
+					assertEquals(expected, distances.getDistance(x, y, dir),
+							"position (" + x + "," + y + ") looking " + dir);
+				}
+			}
+		}
+	}
+}
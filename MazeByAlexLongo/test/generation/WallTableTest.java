@@ -0,0 +1,106 @@
+package generation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that the rows of a WallTable behave like Wall objects
+ * for grading and splitting.
+ *
+ * @author Alex Longo
+ *
+ */
+class WallTableTest
+{
+	/**
+	 * Private helper method that creates walls in all four directions,
+	 * some of them cross the vertical line at x == 256.
+	 */
+	private List<Wall> createWalls()
+	{
+		List<Wall> walls = new ArrayList<Wall>();
+		walls.add(new Wall(256, 0, 0, 512, 3, 0)); // vertical, the splitter
+		walls.add(new Wall(0, 128, 512, 0, 4, 0)); // horizontal, crosses the splitter
+		walls.add(new Wall(512, 384, -384, 0, 5, 0)); // horizontal, crosses the splitter
+		walls.add(new Wall(128, 0, 0, 256, 6, 0)); // vertical, left of the splitter
+		walls.add(new Wall(384, 512, 0, -128, 7, 0)); // vertical, right of the splitter
+		walls.add(new Wall(256, 512, 0, 128, 8, 0)); // vertical, on the line of the splitter
+		walls.add(new Wall(0, 256, 256, 0, 9, 0)); // horizontal, ends at the splitter
+		return walls;
+	}
+
+	/**
+	 * Private helper method that copies the given walls into a new table.
+	 */
+	private WallTable createTable(List<Wall> walls)
+	{
+		WallTable table = new WallTable(1);
+		for (Wall wall : walls)
+		{
+			table.add(wall);
+		}
+		return table;
+	}
+
+	/**
+	 * This test determines if rows keep all attributes of the walls they were created from.
+	 */
+	@Test
+	void testRowsMatchWalls()
+	{
+		List<Wall> walls = this.createWalls();
+		walls.get(2).setPartition(true);
+		walls.get(3).setSeen(true);
+		WallTable table = this.createTable(walls);
+
+		assertEquals(walls.size(), table.size());
+		for (int i = 0; i < walls.size(); i++)
+		{
+			assertEquals(walls.get(i), table.toWall(i));
+			assertEquals(walls.get(i).getColor(), table.getColor(i));
+			assertEquals(walls.get(i).getLength(), table.getLength(i));
+			assertEquals(walls.get(i).isPartition(), table.isPartition(i));
+			assertEquals(walls.get(i).isSeen(), table.isSeen(i));
+		}
+	}
+
+	/**
+	 * This test determines if grading and splitting rows gives the same grades,
+	 * the same parts and the same partition flags as for Wall objects.
+	 */
+	@Test
+	void testSplitMatchesWalls()
+	{
+		List<Wall> walls = this.createWalls();
+		WallTable table = this.createTable(walls);
+		int[] rows = {0, 1, 2, 3, 4, 5, 6};
+		for (int i = 0; i < walls.size(); i++)
+		{
+			assertEquals(walls.get(i).calculateGrade(walls), table.calculateGrade(i, rows));
+		}
+
+		List<Wall> left = new ArrayList<Wall>();
+		List<Wall> right = new ArrayList<Wall>();
+		walls.get(0).splitWalls(walls, left, right, 1);
+		int[][] parts = table.splitWalls(0, rows, 1);
+
+		// two walls are split, each one adds two rows
+		assertEquals(walls.size() + 4, table.size());
+		assertEquals(left.size(), parts[0].length);
+		assertEquals(right.size(), parts[1].length);
+		for (int i = 0; i < left.size(); i++)
+		{
+			assertEquals(left.get(i), table.toWall(parts[0][i]));
+			assertEquals(left.get(i).getColor(), table.getColor(parts[0][i]));
+		}
+		for (int i = 0; i < right.size(); i++)
+		{
+			assertEquals(right.get(i), table.toWall(parts[1][i]));
+			assertEquals(right.get(i).getColor(), table.getColor(parts[1][i]));
+		}
+	}
+}
@@ -0,0 +1,94 @@
+package gui;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Color;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import gui.ColorTheme.ColorThemeSelection;
+import gui.ColorTheme.MazeColors;
+
+/**
+ * Tests that the ColorTheme hands out shared colors from its tables
+ * and rebuilds the tables when the theme is switched.
+ *
+ * @author Alex Longo
+ *
+ */
+class ColorThemeTest
+{
+	/**
+	 * The theme is global, restore the default for other tests.
+	 */
+	@AfterEach
+	void restoreDefaultTheme()
+	{
+		ColorTheme.setColorTheme(ColorThemeSelection.DEFAULT);
+	}
+
+	/**
+	 * This test determines if colors for the background and for walls
+	 * are shared instances rather than new colors for each call.
+	 */
+	@Test
+	void testColorsAreShared()
+	{
+		ColorTheme.setColorTheme(ColorThemeSelection.ADVANCED);
+		for (int i = 0; i <= 10; i++)
+		{
+			float percentToExit = i / 10f;
+			assertSame(ColorTheme.getColor(MazeColors.BACKGROUND_TOP, percentToExit),
+					ColorTheme.getColor(MazeColors.BACKGROUND_TOP, percentToExit));
+			assertSame(ColorTheme.getColor(MazeColors.BACKGROUND_BOTTOM, percentToExit),
+					ColorTheme.getColor(MazeColors.BACKGROUND_BOTTOM, percentToExit));
+		}
+		for (int distance = 0; distance < 400; distance++)
+		{
+			int rgb = ColorTheme.getWallColor(distance, 3, distance & 1);
+			Color color = ColorTheme.getColor(rgb);
+			assertEquals(rgb, color.getRGB());
+			assertSame(color, ColorTheme.getColor(rgb));
+		}
+	}
+
+	/**
+	 * This test determines if the background gradient goes from the start colors
+	 * to the final colors of the advanced theme and handles values out of range.
+	 */
+	@Test
+	void testBackgroundGradient()
+	{
+		ColorTheme.setColorTheme(ColorThemeSelection.ADVANCED);
+		assertEquals(Color.decode("#115740"), ColorTheme.getColor(MazeColors.BACKGROUND_BOTTOM, 0));
+		assertEquals(Color.LIGHT_GRAY, ColorTheme.getColor(MazeColors.BACKGROUND_BOTTOM, 1));
+		assertEquals(Color.decode("#916f41"), ColorTheme.getColor(MazeColors.BACKGROUND_TOP, 0));
+		assertEquals(Color.decode("#FFFF99"), ColorTheme.getColor(MazeColors.BACKGROUND_TOP, 1));
+		assertSame(ColorTheme.getColor(MazeColors.BACKGROUND_TOP, 0),
+				ColorTheme.getColor(MazeColors.BACKGROUND_TOP, -1));
+		assertSame(ColorTheme.getColor(MazeColors.BACKGROUND_TOP, 1),
+				ColorTheme.getColor(MazeColors.BACKGROUND_TOP, 2));
+		assertSame(ColorTheme.getColor(MazeColors.BACKGROUND_TOP, 0),
+				ColorTheme.getColor(MazeColors.BACKGROUND_TOP, Float.NaN));
+	}
+
+	/**
+	 * This test determines if switching the theme switches the colors of walls and background.
+	 */
+	@Test
+	void testSwitchingThemeRebuildsTables()
+	{
+		ColorTheme.setColorTheme(ColorThemeSelection.DEFAULT);
+		assertEquals(Color.LIGHT_GRAY.getRGB(), ColorTheme.getWallColor(100, 0, 1));
+		assertEquals(Color.BLACK, ColorTheme.getColor(MazeColors.BACKGROUND_TOP, 0.5f));
+
+		ColorTheme.setColorTheme(ColorThemeSelection.BASIC);
+		// distance 100 gives 25 for the category 3 and the part 1
+		assertEquals(new Color(115, 115, 20).getRGB(), ColorTheme.getWallColor(100, 0, 1));
+		assertEquals(new Color(106, 106, 20).getRGB(), ColorTheme.getWallColor(100, 0, 0));
+
+		ColorTheme.setColorTheme(ColorThemeSelection.DEFAULT);
+		assertEquals(Color.LIGHT_GRAY.getRGB(), ColorTheme.getWallColor(100, 0, 1));
+	}
+}
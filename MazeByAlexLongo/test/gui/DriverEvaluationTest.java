@@ -0,0 +1,117 @@
+package gui;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import generation.Order.Builder;
+
+/**
+ * Tests that a batch evaluation of drivers is reproducible
+ * and that its runs are aggregated per configuration.
+ *
+ * @author Alex Longo
+ *
+ */
+class DriverEvaluationTest
+{
+	/**
+	 * Private helper method that creates an evaluation of both drivers on small mazes.
+	 */
+	private DriverEvaluation createEvaluation()
+	{
+		DriverEvaluation evaluation = new DriverEvaluation();
+		evaluation.setMazes(5);
+		evaluation.setSeed(7);
+		evaluation.setBuilders(Arrays.asList(Builder.DFS, Builder.Prim));
+		evaluation.setSkillLevels(Arrays.asList(0, 2));
+		evaluation.setSensorConfigurations(Arrays.asList("1111", "0110"));
+		evaluation.setDrivers(Arrays.asList(DriverEvaluation.WIZARD, DriverEvaluation.WALLFOLLOWER));
+		return evaluation;
+	}
+
+	/**
+	 * This test determines if there is one statistic per configuration in the given order
+	 * and if all drivers reach the exit.
+	 */
+	@Test
+	void testAggregation() throws Exception
+	{
+		List<DriverEvaluation.Statistics> statistics = createEvaluation().run(new ForkJoinPool(4));
+
+		assertEquals(2 * 2 * 2 * 2, statistics.size());
+		DriverEvaluation.Statistics first = statistics.get(0);
+		assertEquals(Builder.DFS, first.getBuilder());
+		assertEquals(0, first.getSkillLevel());
+		assertEquals("1111", first.getSensors());
+		assertEquals(DriverEvaluation.WIZARD, first.getDriver());
+		assertEquals(DriverEvaluation.WALLFOLLOWER, statistics.get(1).getDriver());
+		assertEquals("0110", statistics.get(2).getSensors());
+		assertEquals(2, statistics.get(4).getSkillLevel());
+		assertEquals(Builder.Prim, statistics.get(8).getBuilder());
+		for(DriverEvaluation.Statistics s : statistics)
+		{
+			assertEquals(5, s.getRuns());
+			assertEquals(1.0, s.getSuccessRate());
+			assertTrue(s.getMeanPathLength() > 0);
+			assertTrue(s.getWallClockPercentile(50) <= s.getWallClockPercentile(99));
+		}
+	}
+
+	/**
+	 * This test determines if two evaluations with the same seed give the same figures,
+	 * regardless of the number of workers.
+	 */
+	@Test
+	void testReproducible() throws Exception
+	{
+		List<DriverEvaluation.Statistics> one = createEvaluation().run(new ForkJoinPool(1));
+		List<DriverEvaluation.Statistics> other = createEvaluation().run(new ForkJoinPool(4));
+
+		assertEquals(one.size(), other.size());
+		for(int i = 0; i < one.size(); i++)
+		{
+			assertEquals(one.get(i).getDriver(), other.get(i).getDriver());
+			assertEquals(one.get(i).getSuccessRate(), other.get(i).getSuccessRate());
+			assertEquals(one.get(i).getMeanPathLength(), other.get(i).getMeanPathLength());
+			assertEquals(one.get(i).getMeanEnergyConsumption(), other.get(i).getMeanEnergyConsumption());
+		}
+	}
+
+	/**
+	 * This test determines if the CSV report has a header and a line per statistic.
+	 */
+	@Test
+	void testCsv() throws Exception
+	{
+		DriverEvaluation evaluation = createEvaluation();
+		evaluation.setBuilders(Arrays.asList(Builder.Kruskal));
+		List<DriverEvaluation.Statistics> statistics = evaluation.run(new ForkJoinPool(2));
+		StringWriter out = new StringWriter();
+
+		DriverEvaluation.writeCsv(statistics, out);
+
+		String[] lines = out.toString().split("\\R");
+		assertEquals(statistics.size() + 1, lines.length);
+		assertTrue(lines[0].startsWith("builder,skill,sensors,driver,runs,successRate"));
+		assertTrue(lines[1].startsWith("Kruskal,0,1111,Wizard,5,1.0000,"));
+	}
+
+	/**
+	 * This test determines if invalid configurations are refused.
+	 */
+	@Test
+	void testInvalidConfiguration()
+	{
+		DriverEvaluation evaluation = new DriverEvaluation();
+		assertThrows(IllegalArgumentException.class, () -> evaluation.setSensorConfigurations(Arrays.asList("111")));
+		assertThrows(IllegalArgumentException.class, () -> evaluation.setDrivers(Arrays.asList("Manual")));
+		assertThrows(IllegalArgumentException.class, () -> evaluation.setSkillLevels(Arrays.asList(16)));
+		assertThrows(IllegalArgumentException.class, () -> evaluation.setMazes(0));
+	}
+}
@@ -0,0 +1,93 @@
+package gui;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that the FrameBuffer writes the same pixels into the image
+ * as the corresponding operations on the graphics of the image.
+ *
+ * @author Alex Longo
+ *
+ */
+class FrameBufferTest
+{
+	private static final int SIZE = 32;
+	private static final int RGB = 0x00c08040;
+
+	/**
+	 * Private helper method that checks that the column x is set exactly for rows [y1,y2).
+	 */
+	private void assertColumn(BufferedImage image, int x, int y1, int y2)
+	{
+		for (int y = 0; y < SIZE; y++)
+		{
+			int expected = (y1 <= y && y < y2) ? RGB : 0;
+			assertEquals(expected, image.getRGB(x, y) & 0xffffff, "pixel (" + x + "," + y + ")");
+		}
+	}
+
+	/**
+	 * This test determines if drawing into the framebuffer is visible in the image
+	 * and if fillRect matches fillRect of the graphics, including clipping at the borders.
+	 */
+	@Test
+	void testFillRectMatchesGraphics()
+	{
+		BufferedImage expected = new BufferedImage(SIZE, SIZE, BufferedImage.TYPE_INT_RGB);
+		BufferedImage actual = new BufferedImage(SIZE, SIZE, BufferedImage.TYPE_INT_RGB);
+		Graphics2D g = expected.createGraphics();
+		g.setColor(new Color(RGB));
+		g.fillRect(-4, 3, 10, 7);
+		g.fillRect(0, 20, SIZE, 20);
+		FrameBuffer frameBuffer = new FrameBuffer(actual);
+		frameBuffer.fillRect(-4, 3, 10, 7, RGB);
+		frameBuffer.fillRect(0, 20, SIZE, 20, RGB);
+
+		assertEquals(SIZE, frameBuffer.getWidth());
+		assertEquals(SIZE, frameBuffer.getHeight());
+		assertArrayEquals(expected.getRGB(0, 0, SIZE, SIZE, null, 0, SIZE),
+				actual.getRGB(0, 0, SIZE, SIZE, null, 0, SIZE));
+	}
+
+	/**
+	 * This test determines if a wall without perspective, i.e. a rectangle,
+	 * covers the same pixels as fillPolygon for the same corners.
+	 */
+	@Test
+	void testFillColumnsRectangleMatchesGraphics()
+	{
+		BufferedImage expected = new BufferedImage(SIZE, SIZE, BufferedImage.TYPE_INT_RGB);
+		BufferedImage actual = new BufferedImage(SIZE, SIZE, BufferedImage.TYPE_INT_RGB);
+		Graphics2D g = expected.createGraphics();
+		g.setColor(new Color(RGB));
+		g.fillPolygon(new int[] {5, 5, 12, 12}, new int[] {-3, 21, 21, -3}, 4);
+		new FrameBuffer(actual).fillColumns(5, -3, 21, 12, -3, 21, RGB);
+
+		assertArrayEquals(expected.getRGB(0, 0, SIZE, SIZE, null, 0, SIZE),
+				actual.getRGB(0, 0, SIZE, SIZE, null, 0, SIZE));
+	}
+
+	/**
+	 * This test determines if a wall with perspective, i.e. a trapezoid,
+	 * covers the rows between its edges at the center of each column.
+	 */
+	@Test
+	void testFillColumnsTrapezoid()
+	{
+		BufferedImage image = new BufferedImage(SIZE, SIZE, BufferedImage.TYPE_INT_RGB);
+		new FrameBuffer(image).fillColumns(0, 0, 10, 4, 2, 8, RGB);
+
+		// top edge at 0.25, 0.75, 1.25, 1.75 and bottom edge at 9.75, 9.25, 8.75, 8.25
+		this.assertColumn(image, 0, 0, 10);
+		this.assertColumn(image, 1, 1, 9);
+		this.assertColumn(image, 2, 1, 9);
+		this.assertColumn(image, 3, 2, 8);
+		this.assertColumn(image, 4, 0, 0);
+	}
+}
@@ -0,0 +1,165 @@
+package gui;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import generation.CardinalDirection;
+import generation.DefaultOrder;
+import generation.Floorplan;
+import generation.Maze;
+import generation.MazeFactory;
+import generation.Order.Builder;
+import generation.Wallboard;
+import gui.ColorTheme.MazeColors;
+
+/**
+ * Tests that the MapLayer puts the same pixels on the screen
+ * as drawing a line for each wallboard, also after seen walls change.
+ *
+ * @author Alex Longo
+ *
+ */
+class MapLayerTest
+{
+	private static final int SIZE = 300;
+
+	private Maze maze;
+	private Floorplan seenWalls;
+	private MapLayer layer;
+
+	/**
+	 * Sets up a maze with an empty set of seen walls, same dimensions as in StatePlaying.
+	 */
+	@BeforeEach
+	void setUp()
+	{
+		DefaultOrder order = new DefaultOrder(3, Builder.DFS, false, 13);
+		order.setHeadless(true);
+		MazeFactory factory = new MazeFactory();
+		factory.order(order);
+		factory.waitTillDelivered();
+		maze = order.getMaze();
+		seenWalls = new Floorplan(maze.getWidth()+1, maze.getHeight()+1);
+		layer = new MapLayer(maze, seenWalls);
+	}
+
+	/**
+	 * Private helper method that marks every wallboard of every other row as seen.
+	 */
+	private void seeEveryOtherRow(int firstRow)
+	{
+		for (int y = firstRow; y < maze.getHeight(); y += 2)
+			for (int x = 0; x < maze.getWidth(); x++)
+				for (CardinalDirection d : CardinalDirection.values())
+					if (maze.hasWall(x, y, d))
+						seenWalls.addWallboard(new Wallboard(x, y, d), false);
+	}
+
+	/**
+	 * Private helper method that draws the map with one line per wallboard,
+	 * the way the Map did without a layer.
+	 */
+	private BufferedImage drawLines(int scale, boolean showMaze, int offsetX, int offsetY)
+	{
+		BufferedImage image = new BufferedImage(SIZE, SIZE, BufferedImage.TYPE_INT_RGB);
+		Graphics g = image.getGraphics();
+		Color seen = ColorTheme.getColor(MazeColors.MAP_WALL_SEENBEFORE);
+		Color unseen = ColorTheme.getColor(MazeColors.MAP_WALL_DEFAULT);
+		for (int y = 0; y <= maze.getHeight(); y++)
+			for (int x = 0; x <= maze.getWidth(); x++)
+			{
+				int startX = x*scale + offsetX;
+				int startY = SIZE-1-(y*scale + offsetY);
+				if (x < maze.getWidth() && (y < maze.getHeight() ? maze.hasWall(x, y, CardinalDirection.North)
+						: maze.hasWall(x, y-1, CardinalDirection.South))
+						&& (showMaze || seenWalls.hasWall(x, y, CardinalDirection.North)))
+				{
+					g.setColor(seenWalls.hasWall(x, y, CardinalDirection.North) ? seen : unseen);
+					g.drawLine(startX, startY, startX + scale, startY);
+				}
+				if (y < maze.getHeight() && (x < maze.getWidth() ? maze.hasWall(x, y, CardinalDirection.West)
+						: maze.hasWall(x-1, y, CardinalDirection.East))
+						&& (showMaze || seenWalls.hasWall(x, y, CardinalDirection.West)))
+				{
+					g.setColor(seenWalls.hasWall(x, y, CardinalDirection.West) ? seen : unseen);
+					g.drawLine(startX, startY, startX, startY - scale);
+				}
+			}
+		g.dispose();
+		return image;
+	}
+
+	/**
+	 * Private helper method that draws the map with the layer.
+	 */
+	private BufferedImage drawLayer(int scale, boolean showMaze, int offsetX, int offsetY)
+	{
+		BufferedImage image = new BufferedImage(SIZE, SIZE, BufferedImage.TYPE_INT_RGB);
+		Graphics g = image.getGraphics();
+		layer.draw(g, scale, showMaze, offsetX, SIZE - layer.getLayerHeight(scale) - offsetY, SIZE, SIZE);
+		g.dispose();
+		return image;
+	}
+
+	/**
+	 * Private helper method that checks that the layer and the lines give the same pixels.
+	 */
+	private void assertSamePixels(int scale, boolean showMaze, int offsetX, int offsetY)
+	{
+		assertArrayEquals(drawLines(scale, showMaze, offsetX, offsetY).getRGB(0, 0, SIZE, SIZE, null, 0, SIZE),
+				drawLayer(scale, showMaze, offsetX, offsetY).getRGB(0, 0, SIZE, SIZE, null, 0, SIZE),
+				"scale " + scale + " showMaze " + showMaze + " offset (" + offsetX + "," + offsetY + ")");
+	}
+
+	/**
+	 * This test determines if the layer matches the lines for different scales,
+	 * offsets and settings for showMaze.
+	 */
+	@Test
+	void testLayerMatchesLines()
+	{
+		seeEveryOtherRow(0);
+		for (int scale = 1; scale <= 15; scale += 7)
+		{
+			assertSamePixels(scale, true, 0, 0);
+			assertSamePixels(scale, false, -37, 51);
+			assertSamePixels(scale, true, 113, -270);
+		}
+	}
+
+	/**
+	 * This test determines if the layer shows walls that were seen
+	 * after it was drawn, without a change of the scale.
+	 */
+	@Test
+	void testLayerShowsNewlySeenWalls()
+	{
+		seeEveryOtherRow(0);
+		long version = seenWalls.getVersion();
+		assertSamePixels(10, false, -20, -20);
+		seeEveryOtherRow(1);
+		assertTrue(seenWalls.getVersion() > version);
+		assertTrue(seenWalls.hasRowChangedSince(1, version));
+		assertFalse(seenWalls.hasRowChangedSince(0, seenWalls.getVersion()));
+		assertSamePixels(10, false, -20, -20);
+	}
+
+	/**
+	 * This test determines if the layer refuses a scale below 1
+	 * and still draws afterwards.
+	 */
+	@Test
+	void testLayerRefusesScaleZero()
+	{
+		seeEveryOtherRow(0);
+		assertSamePixels(10, false, 0, 0);
+		assertThrows(IllegalArgumentException.class, () -> drawLayer(0, false, 0, 0));
+		assertSamePixels(10, false, 0, 0);
+	}
+}
@@ -1,5 +1,6 @@
 package gui;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
@@ -246,4 +247,37 @@ class RangeSetTest {
 		}
 		assertTrue(sut.isEmpty());
 	}
+	/**
+	 * Test for the intersection methods that do not allocate a result.
+	 * Scenario: we split [0,100] into many small intervals by removing
+	 * every third value, which requires the set to grow, and check that 
+	 * the intersection written into a given array and the intersects method 
+	 * agree with the intersection method that returns a new array.
+	 */
+	@Test
+	final void testGetIntersectionIntoGivenArray() {
+		RangeSet sut = new RangeSet();
+		sut.set(0, 100);
+		for (int i = 1; i < 100; i += 3) {
+			sut.remove(i, i);
+		}
+		int[] result = new int[2];
+		for (int lb = -2; lb <= 102; lb++) {
+			for (int ub = lb; ub <= lb+4; ub++) {
+				int[] intersect = sut.getIntersection(lb, ub);
+				assertEquals(null != intersect, sut.getIntersection(lb, ub, result));
+				assertEquals(null != intersect, sut.intersects(lb, ub));
+				if (null != intersect) {
+					assertTrue(intersect[0] == result[0] && intersect[1] == result[1]);
+				}
+			}
+		}
+		// the removed values are gone, the others are still there
+		assertFalse(sut.intersects(1, 1));
+		assertFalse(sut.intersects(97, 97));
+		assertTrue(sut.getIntersection(2, 4, result));
+		assertTrue(2 == result[0] && 3 == result[1]);
+		assertTrue(sut.getIntersection(99, 105, result));
+		assertTrue(99 == result[0] && 100 == result[1]);
+	}
 }
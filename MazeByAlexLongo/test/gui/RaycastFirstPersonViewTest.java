@@ -0,0 +1,184 @@
+package gui;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.image.BufferedImage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import generation.CardinalDirection;
+import generation.DefaultOrder;
+import generation.Floorplan;
+import generation.Maze;
+import generation.MazeFactory;
+import generation.Order.Builder;
+import gui.ColorTheme.MazeColors;
+
+/**
+ * Tests that the RaycastFirstPersonView records the same seen wallboards
+ * as the FirstPersonView, such that the map shows the same walls,
+ * and that it draws nothing beyond the exit.
+ *
+ * @author Alex Longo
+ *
+ */
+class RaycastFirstPersonViewTest
+{
+	private Maze maze;
+
+	/**
+	 * A maze panel that draws into an image without being displayed.
+	 */
+	private static class ImagePanel extends MazePanel
+	{
+		private static final long serialVersionUID = 1L;
+		private BufferedImage image;
+
+		@Override
+		protected BufferedImage createBufferImage()
+		{
+			image = new BufferedImage(Constants.VIEW_WIDTH, Constants.VIEW_HEIGHT, BufferedImage.TYPE_INT_RGB);
+			return image;
+		}
+
+		BufferedImage getImage()
+		{
+			return image;
+		}
+	}
+
+	/**
+	 * Sets up a maze with rooms and a tree of BSP nodes for the FirstPersonView.
+	 */
+	@BeforeEach
+	void setUp()
+	{
+		DefaultOrder order = new DefaultOrder(3, Builder.Prim, false, 13);
+		order.setHeadless(true);
+		MazeFactory factory = new MazeFactory();
+		factory.order(order);
+		factory.waitTillDelivered();
+		maze = order.getMaze();
+	}
+
+	/**
+	 * Private helper method that creates an empty set of seen walls, same dimensions as in StatePlaying.
+	 */
+	private Floorplan createSeenWalls()
+	{
+		return new Floorplan(maze.getWidth()+1, maze.getHeight()+1);
+	}
+
+	/**
+	 * Private helper method that creates a raycasting view that records into the given seen walls.
+	 */
+	private RaycastFirstPersonView createRaycastView(Floorplan seenWalls)
+	{
+		return new RaycastFirstPersonView(Constants.VIEW_WIDTH, Constants.VIEW_HEIGHT,
+				Constants.MAP_UNIT, Constants.STEP_SIZE, seenWalls, maze);
+	}
+
+	/**
+	 * Private helper method that gives the direction that leads out of the maze at the exit.
+	 */
+	private CardinalDirection getExitDirection()
+	{
+		int[] exit = maze.getExitPosition();
+		for (CardinalDirection d : CardinalDirection.values())
+		{
+			int[] dxdy = d.getDxDyDirection();
+			if (!maze.hasWall(exit[0], exit[1], d) && !maze.isValidPosition(exit[0] + dxdy[0], exit[1] + dxdy[1]))
+				return d;
+		}
+		fail("exit does not lead out of the maze");
+		return null;
+	}
+
+	/**
+	 * This test determines if both views record the same seen wallboards
+	 * on a walk from the start to the exit that looks around at every position
+	 * and draws the steps in between. Seen wallboards add up over the walk as in the game,
+	 * a wall that shows in a gap of a column or two may be recorded a frame earlier or later.
+	 */
+	@Test
+	void testSameSeenWallsAsFirstPersonView()
+	{
+		ImagePanel panel = new ImagePanel();
+		Floorplan seenByTree = createSeenWalls();
+		Floorplan seenByRays = createSeenWalls();
+		FirstPersonView treeView = new FirstPersonView(Constants.VIEW_WIDTH, Constants.VIEW_HEIGHT,
+				Constants.MAP_UNIT, Constants.STEP_SIZE, seenByTree, maze.getCompiledTree());
+		RaycastFirstPersonView rayView = createRaycastView(seenByRays);
+		int[] exit = maze.getExitPosition();
+		int[] pos = maze.getStartingPosition();
+		while (true)
+		{
+			for (int angle = 0; angle < 360; angle += 30)
+			{
+				treeView.draw(panel, pos[0], pos[1], 0, angle, 0.5f);
+				rayView.draw(panel, pos[0], pos[1], 0, angle, 0.5f);
+			}
+			if (pos[0] == exit[0] && pos[1] == exit[1])
+				break;
+			int[] next = maze.getNeighborCloserToExit(pos[0], pos[1]);
+			int angle = CardinalDirection.getDirection(next[0] - pos[0], next[1] - pos[1]).angle();
+			for (int walkStep = 1; walkStep < 4; walkStep++)
+			{
+				treeView.draw(panel, pos[0], pos[1], walkStep, angle, 0.5f);
+				rayView.draw(panel, pos[0], pos[1], walkStep, angle, 0.5f);
+			}
+			pos = next;
+		}
+		assertNotEquals(createSeenWalls(), seenByTree);
+		assertEquals(seenByTree, seenByRays);
+	}
+
+	/**
+	 * This test determines if the view at the exit, looking out of the maze,
+	 * shows the background straight ahead, as rays through the exit hit no wall.
+	 */
+	@Test
+	void testLookingOutThroughExit()
+	{
+		ImagePanel panel = new ImagePanel();
+		Floorplan seenWalls = createSeenWalls();
+		int[] exit = maze.getExitPosition();
+
+		createRaycastView(seenWalls).draw(panel, exit[0], exit[1], 0, getExitDirection().angle(), 1f);
+
+		int column = Constants.VIEW_WIDTH/2;
+		assertEquals(ColorTheme.getColor(MazeColors.BACKGROUND_TOP, 1f).getRGB(),
+				panel.getImage().getRGB(column, 0));
+		assertEquals(ColorTheme.getColor(MazeColors.BACKGROUND_TOP, 1f).getRGB(),
+				panel.getImage().getRGB(column, Constants.VIEW_HEIGHT/2 - 1));
+		assertEquals(ColorTheme.getColor(MazeColors.BACKGROUND_BOTTOM, 1f).getRGB(),
+				panel.getImage().getRGB(column, Constants.VIEW_HEIGHT/2));
+		assertEquals(ColorTheme.getColor(MazeColors.BACKGROUND_BOTTOM, 1f).getRGB(),
+				panel.getImage().getRGB(column, Constants.VIEW_HEIGHT - 1));
+	}
+
+	/**
+	 * This test determines if a position outside of the maze, halfway through the exit,
+	 * shows the background only and records no seen wallboards.
+	 */
+	@Test
+	void testPositionOutsideOfMaze()
+	{
+		ImagePanel panel = new ImagePanel();
+		Floorplan seenWalls = createSeenWalls();
+		int[] exit = maze.getExitPosition();
+		// from the middle of the exit cell, 4 steps go a full cell and the view is a bit behind
+		int walkStep = 3;
+
+		createRaycastView(seenWalls).draw(panel, exit[0], exit[1], walkStep, getExitDirection().angle(), 1f);
+
+		int top = ColorTheme.getColor(MazeColors.BACKGROUND_TOP, 1f).getRGB();
+		int bottom = ColorTheme.getColor(MazeColors.BACKGROUND_BOTTOM, 1f).getRGB();
+		for (int x = 0; x < Constants.VIEW_WIDTH; x++)
+			for (int y = 0; y < Constants.VIEW_HEIGHT; y++)
+				assertEquals(y < Constants.VIEW_HEIGHT/2 ? top : bottom, panel.getImage().getRGB(x, y),
+						"pixel (" + x + "," + y + ")");
+		assertEquals(createSeenWalls(), seenWalls);
+	}
+}
@@ -0,0 +1,133 @@
+package gui;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import gui.RenderScheduler.ViewState;
+
+/**
+ * Tests the animation of view states and that the render scheduler
+ * draws the latest published state.
+ *
+ * @author Alex Longo
+ *
+ */
+class RenderSchedulerTest
+{
+	private static final long DURATION = RenderScheduler.ANIMATION_NANOS;
+
+	/**
+	 * Private helper method that creates a view state published at time 0.
+	 */
+	private ViewState createView(int angle, int turn, int walk, long duration)
+	{
+		return new ViewState(3, 4, angle, turn, walk, true, false, false, false, 1, 0, duration);
+	}
+
+	/**
+	 * This test determines if a rotation shows the same intermediate angles
+	 * as the former 4 intermediate views 25 ms apart.
+	 */
+	@Test
+	void testRotationMatchesIntermediateViews()
+	{
+		ViewState left = this.createView(0, 1, 0, DURATION);
+		ViewState right = this.createView(0, -1, 0, DURATION);
+		int[] leftAngles = {22, 45, 67, 90};
+		int[] rightAngles = {338, 315, 293, 270};
+		for (int i = 0; i < 4; i++)
+		{
+			long now = i * DURATION / 4;
+			assertEquals(leftAngles[i], left.getAngle(now));
+			assertEquals(rightAngles[i], right.getAngle(now));
+			assertEquals(0, left.getWalkStep(now));
+			assertFalse(left.isComplete(now));
+		}
+		assertEquals(90, left.getAngle(DURATION));
+		assertEquals(90, left.getAngle(10 * DURATION));
+		assertTrue(left.isComplete(DURATION));
+	}
+
+	/**
+	 * This test determines if a step shows the walk steps 1 to 4
+	 * and stays at the final step.
+	 */
+	@Test
+	void testWalkMatchesIntermediateSteps()
+	{
+		ViewState forward = this.createView(90, 0, 1, DURATION);
+		ViewState backward = this.createView(90, 0, -1, DURATION);
+		for (int i = 0; i < 4; i++)
+		{
+			long now = i * DURATION / 4;
+			assertEquals(i + 1, forward.getWalkStep(now));
+			assertEquals(-(i + 1), backward.getWalkStep(now));
+			assertEquals(90, forward.getAngle(now));
+		}
+		assertEquals(RenderScheduler.STEPS, forward.getWalkStep(DURATION));
+		assertEquals(RenderScheduler.STEPS, forward.getWalkStep(10 * DURATION));
+	}
+
+	/**
+	 * This test determines if a move without animation, as in the turbo setting,
+	 * shows its final view right away.
+	 */
+	@Test
+	void testNoAnimation()
+	{
+		ViewState view = this.createView(180, 1, 0, 0);
+		assertTrue(view.isComplete(0));
+		assertEquals(270, view.getAngle(0));
+		assertEquals(RenderScheduler.STEPS, this.createView(180, 0, 1, 0).getWalkStep(0));
+	}
+
+	/**
+	 * This test determines if the scheduler draws the latest of several published states
+	 * once and skips frames that look the same.
+	 */
+	@Test
+	void testDrawsLatestStateOnce() throws InterruptedException
+	{
+		List<ViewState> drawn = new ArrayList<ViewState>();
+		CountDownLatch firstFrame = new CountDownLatch(1);
+		RenderScheduler scheduler = new RenderScheduler((view, angle, walkStep, complete) -> {
+			synchronized (drawn)
+			{
+				drawn.add(view);
+			}
+			firstFrame.countDown();
+		}, 200);
+		ViewState first = new ViewState(0, 0, 0, 0, 0, false, false, false, false, 1, System.nanoTime(), 0);
+		ViewState latest = new ViewState(1, 0, 0, 0, 0, false, false, false, false, 1, System.nanoTime(), 0);
+		scheduler.publish(first);
+		scheduler.publish(latest);
+		scheduler.start();
+		assertTrue(firstFrame.await(5, TimeUnit.SECONDS));
+		// many more periods of the scheduler, nothing changes
+		Thread.sleep(100);
+		scheduler.stop();
+		synchronized (drawn)
+		{
+			assertEquals(List.of(latest), drawn);
+		}
+	}
+
+	/**
+	 * This test determines if waiting for an animation returns once it is over.
+	 */
+	@Test
+	void testAwaitAnimation()
+	{
+		RenderScheduler scheduler = new RenderScheduler((view, angle, walkStep, complete) -> { }, 40);
+		long start = System.nanoTime();
+		scheduler.publish(new ViewState(0, 0, 0, 1, 0, true, false, false, false, 1, start, DURATION));
+		scheduler.awaitAnimation();
+		assertTrue(System.nanoTime() - start >= DURATION);
+	}
+}
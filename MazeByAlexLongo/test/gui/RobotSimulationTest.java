@@ -0,0 +1,200 @@
+package gui;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import generation.CardinalDirection;
+import generation.DefaultOrder;
+import generation.Maze;
+import generation.MazeFactory;
+import generation.Order.Builder;
+import gui.Constants.UserInput;
+import gui.Robot.Direction;
+import gui.Robot.Turn;
+
+/**
+ * Tests that drivers can be run headless on a SimulatedRobot
+ * and that the robot checks its moves against the maze.
+ *
+ * @author Alex Longo
+ *
+ */
+class RobotSimulationTest
+{
+	private Maze maze;
+
+	/**
+	 * Sets up a maze with rooms.
+	 */
+	@BeforeEach
+	void setUp()
+	{
+		DefaultOrder order = new DefaultOrder(3, Builder.Prim, false, 13);
+		order.setHeadless(true);
+		MazeFactory factory = new MazeFactory();
+		factory.order(order);
+		factory.waitTillDelivered();
+		maze = order.getMaze();
+	}
+
+	/**
+	 * Private helper method that creates a simulation with four reliable sensors.
+	 */
+	private RobotSimulation createSimulation()
+	{
+		RobotSimulation simulation = new RobotSimulation(maze);
+		for (Direction d : Direction.values())
+			simulation.getRobot().addDistanceSensor(new ReliableSensor(d), d);
+		return simulation;
+	}
+
+	/**
+	 * Private helper method that checks that a driver takes the shortest path to the exit.
+	 */
+	private void assertShortestPathToExit(RobotDriver driver)
+	{
+		RobotSimulation simulation = createSimulation();
+		int[] start = maze.getStartingPosition();
+
+		RobotSimulation.Result result = simulation.run(driver);
+
+		assertNull(result.getFailure());
+		assertTrue(result.isSuccess());
+		assertTrue(simulation.getRobot().isAtExit());
+		assertFalse(simulation.getRobot().hasStopped());
+		assertEquals(maze.getDistanceToExit(start[0], start[1]) - 1, result.getPathLength());
+		assertEquals(RobotSimulation.INITIAL_BATTERY_LEVEL - simulation.getRobot().getBatteryLevel(),
+				result.getEnergyConsumption());
+		// the robot faces the exit, so it can look into eternity
+		assertTrue(simulation.getRobot().canSeeThroughTheExitIntoEternity(Direction.FORWARD));
+	}
+
+	/**
+	 * This test determines if the Wizard brings the simulated robot to the exit on the shortest path.
+	 */
+	@Test
+	void testWizardReachesExit()
+	{
+		assertShortestPathToExit(new Wizard());
+	}
+
+	/**
+	 * This test determines if the WallFollower brings the simulated robot to the exit.
+	 */
+	@Test
+	void testWallFollowerReachesExit()
+	{
+		assertShortestPathToExit(new WallFollower());
+	}
+
+	/**
+	 * This test determines if the robot stops in front of a wall and does not move anymore.
+	 */
+	@Test
+	void testMoveIntoWallStops()
+	{
+		SimulatedRobot robot = createSimulation().getRobot();
+		robot.setBatteryLevel(RobotSimulation.INITIAL_BATTERY_LEVEL);
+		while (robot.distanceToObstacle(Direction.FORWARD) > 0)
+			robot.rotate(Turn.LEFT);
+		int[] position = robot.getCurrentPosition();
+
+		robot.move(1);
+
+		assertTrue(robot.hasStopped());
+		assertArrayEquals(position, robot.getCurrentPosition());
+		assertEquals(0, robot.getOdometerReading());
+	}
+
+	/**
+	 * This test determines if a step through the exit takes the robot out of the maze
+	 * and ends the run, without leaving the exit as its position.
+	 */
+	@Test
+	void testMoveOutThroughExitStops()
+	{
+		RobotSimulation simulation = createSimulation();
+		simulation.run(new Wizard());
+		SimulatedRobot robot = simulation.getRobot();
+		int[] exit = maze.getExitPosition();
+		int odometer = robot.getOdometerReading();
+		assertFalse(robot.hasLeftMaze());
+
+		robot.move(2);
+
+		assertTrue(robot.hasLeftMaze());
+		assertTrue(robot.hasStopped());
+		assertArrayEquals(exit, robot.getCurrentPosition());
+		assertEquals(odometer + 1, robot.getOdometerReading());
+
+		robot.move(1);
+
+		assertArrayEquals(exit, robot.getCurrentPosition());
+		assertEquals(odometer + 1, robot.getOdometerReading());
+	}
+
+	/**
+	 * This test determines if sensors measure in the direction they are mounted
+	 * and if turns match the playing screen.
+	 */
+	@Test
+	void testSensorsAndTurns()
+	{
+		SimulatedRobot robot = createSimulation().getRobot();
+		robot.setBatteryLevel(RobotSimulation.INITIAL_BATTERY_LEVEL);
+		int[] p = robot.getCurrentPosition();
+		assertEquals(CardinalDirection.East, robot.getCurrentDirection());
+		int forward = robot.distanceToObstacle(Direction.FORWARD);
+		int left = robot.distanceToObstacle(Direction.LEFT);
+		int right = robot.distanceToObstacle(Direction.RIGHT);
+		int back = robot.distanceToObstacle(Direction.BACKWARD);
+
+		robot.rotate(Turn.LEFT);
+
+		// a left turn on the screen goes from east to south, see StatePlaying.rotate
+		assertEquals(CardinalDirection.South, robot.getCurrentDirection());
+		assertEquals(left, robot.distanceToObstacle(Direction.FORWARD));
+		assertEquals(forward, robot.distanceToObstacle(Direction.RIGHT));
+		assertEquals(back, robot.distanceToObstacle(Direction.LEFT));
+		assertEquals(right, robot.distanceToObstacle(Direction.BACKWARD));
+		assertEquals(maze.getObstacleDistances().getDistance(p[0], p[1], CardinalDirection.West), back);
+		assertEquals(RobotSimulation.INITIAL_BATTERY_LEVEL - 3, robot.getBatteryLevel());
+	}
+
+	/**
+	 * This test determines if the driver fails once the battery runs empty.
+	 */
+	@Test
+	void testEmptyBatteryFails()
+	{
+		RobotSimulation simulation = createSimulation();
+		RobotDriver driver = new Wizard();
+		driver.setRobot(simulation.getRobot());
+		driver.setMaze(maze);
+		simulation.getRobot().setBatteryLevel(10f);
+
+		assertThrows(Exception.class, () -> driver.drive2Exit());
+		assertTrue(simulation.getRobot().hasStopped());
+		assertEquals(0f, simulation.getRobot().getBatteryLevel());
+	}
+
+	/**
+	 * This test determines if a recording has one entry per step and per quarter turn.
+	 */
+	@Test
+	void testRecording()
+	{
+		RobotSimulation simulation = createSimulation();
+		RobotRecording recording = new RobotRecording();
+		simulation.getRobot().setObserver(recording);
+
+		RobotSimulation.Result result = simulation.run(new Wizard());
+
+		long steps = recording.getActions().stream().filter(a -> a == UserInput.UP).count();
+		long turns = recording.getActions().size() - steps;
+		assertEquals(result.getPathLength(), steps);
+		assertEquals(6f*steps + 3f*turns, result.getEnergyConsumption());
+	}
+}
@@ -0,0 +1,147 @@
+package gui;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import generation.DefaultOrder;
+import generation.Maze;
+import generation.MazeFactory;
+import generation.Order.Builder;
+import gui.Robot.Direction;
+
+/**
+ * Tests that unreliable sensors tell listeners about failures and repairs
+ * and that a robot waits for a repair without a fixed wait.
+ *
+ * @author Alex Longo
+ *
+ */
+class SensorRepairWaitTest
+{
+	private Maze maze;
+
+	/**
+	 * Sets up a small maze.
+	 */
+	@BeforeEach
+	void setUp()
+	{
+		DefaultOrder order = new DefaultOrder(0, Builder.DFS, true, 13);
+		order.setHeadless(true);
+		MazeFactory.build(order);
+		maze = order.getMaze();
+	}
+
+	/**
+	 * Private helper method that mounts broken unreliable sensors in all directions.
+	 */
+	private UnreliableSensor[] mountBrokenSensors(SimulatedRobot robot)
+	{
+		UnreliableSensor[] sensors = new UnreliableSensor[Direction.values().length];
+		for(Direction d : Direction.values())
+		{
+			sensors[d.ordinal()] = new UnreliableSensor(d);
+			robot.addDistanceSensor(sensors[d.ordinal()], d);
+			sensors[d.ordinal()].setBroken();
+		}
+		return sensors;
+	}
+
+	/**
+	 * This test determines if listeners are told about changes of the state only.
+	 */
+	@Test
+	void testListenerGetsTransitions()
+	{
+		UnreliableSensor sensor = new UnreliableSensor(Direction.FORWARD);
+		List<Boolean> states = new ArrayList<Boolean>();
+		SensorListener listener = (s, operational) -> states.add(operational);
+		sensor.addSensorListener(listener);
+
+		sensor.setWorking();
+		sensor.setBroken();
+		sensor.setBroken();
+		sensor.setWorking();
+		sensor.removeSensorListener(listener);
+		sensor.setBroken();
+
+		assertEquals(List.of(false, true), states);
+	}
+
+	/**
+	 * This test determines if the robot stops waiting as soon as a sensor is repaired.
+	 */
+	@Test
+	void testWaitEndsWithRepair() throws Exception
+	{
+		SimulatedRobot robot = new SimulatedRobot(maze);
+		UnreliableSensor[] sensors = mountBrokenSensors(robot);
+		Thread repair = new Thread(() -> {
+			try {
+				Thread.sleep(50);
+			} catch (InterruptedException e) {
+				return;
+			}
+			sensors[Direction.BACKWARD.ordinal()].setWorking();
+		});
+		long start = System.nanoTime();
+		repair.start();
+
+		Direction operational = robot.waitForOperationalSensor(10000);
+
+		assertEquals(Direction.BACKWARD, operational);
+		assertTrue(System.nanoTime() - start < 5000000000L);
+		repair.join();
+	}
+
+	/**
+	 * This test determines if the robot gives up once the time is up
+	 * and does not wait if a sensor is operational.
+	 */
+	@Test
+	void testWaitTimesOut() throws Exception
+	{
+		SimulatedRobot robot = new SimulatedRobot(maze);
+		UnreliableSensor[] sensors = mountBrokenSensors(robot);
+
+		assertNull(robot.waitForOperationalSensor(20));
+
+		sensors[Direction.LEFT.ordinal()].setWorking();
+		assertEquals(Direction.LEFT, robot.waitForOperationalSensor(0));
+	}
+
+	/**
+	 * This test determines if a robot with a virtual clock lets the time pass
+	 * until the first repair instead of blocking.
+	 */
+	@Test
+	void testWaitOnVirtualClock() throws Exception
+	{
+		RobotSimulation simulation = new RobotSimulation(maze);
+		SimulatedRobot robot = simulation.getRobot();
+		int delay = 0;
+		for(Direction d : new Direction[] {Direction.FORWARD, Direction.LEFT, Direction.RIGHT, Direction.BACKWARD})
+		{
+			UnreliableSensor sensor = new UnreliableSensor(d);
+			robot.addDistanceSensor(sensor, d);
+			sensor.startFailureAndRepairProcess(4000, 2000, delay);
+			delay += 100;
+		}
+		// all sensors are down from 4300 to 6000
+		simulation.getClock().advance(4300);
+		assertNull(robot.waitForOperationalSensor(0));
+
+		assertEquals(Direction.FORWARD, robot.waitForOperationalSensor(10000));
+		assertEquals(6000, simulation.getClock().currentTimeMillis());
+
+		// all sensors are down again from 10300 to 12000, a wait that is too short lets the whole time pass
+		simulation.getClock().advance(4300);
+		assertNull(robot.waitForOperationalSensor(50));
+		assertEquals(10350, simulation.getClock().currentTimeMillis());
+	}
+}
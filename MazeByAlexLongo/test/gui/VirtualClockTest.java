@@ -0,0 +1,125 @@
+package gui;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import generation.DefaultOrder;
+import generation.MazeFactory;
+import generation.Order.Builder;
+import gui.Robot.Direction;
+import gui.Robot.Turn;
+
+/**
+ * Tests that a virtual clock runs its events in a fixed order
+ * and that unreliable sensors fail and repair on it.
+ *
+ * @author Alex Longo
+ *
+ */
+class VirtualClockTest
+{
+	/**
+	 * This test determines if events run in the order of their time,
+	 * events for the same time in the order they were scheduled,
+	 * and only once the clock advanced far enough.
+	 */
+	@Test
+	void testEventOrder()
+	{
+		VirtualClock clock = new VirtualClock();
+		List<String> events = new ArrayList<String>();
+		clock.schedule(() -> events.add("b" + clock.currentTimeMillis()), 20);
+		clock.schedule(() -> events.add("a" + clock.currentTimeMillis()), 10);
+		clock.schedule(() -> events.add("c" + clock.currentTimeMillis()), 20);
+		// an event that schedules another one, due within the same advance
+		clock.schedule(() -> clock.schedule(() -> events.add("d" + clock.currentTimeMillis()), 5), 10);
+
+		clock.advance(15);
+		assertEquals(List.of("a10", "d15"), events);
+		assertEquals(15, clock.currentTimeMillis());
+
+		clock.advance(100);
+		assertEquals(List.of("a10", "d15", "b20", "c20"), events);
+		assertEquals(115, clock.currentTimeMillis());
+	}
+
+	/**
+	 * This test determines if a canceled event does not run.
+	 */
+	@Test
+	void testCancel()
+	{
+		VirtualClock clock = new VirtualClock();
+		List<String> events = new ArrayList<String>();
+		SensorClock.Scheduled scheduled = clock.schedule(() -> events.add("canceled"), 10);
+		clock.schedule(() -> events.add("kept"), 10);
+
+		scheduled.cancel();
+		clock.advance(10);
+
+		assertEquals(List.of("kept"), events);
+		assertThrows(IllegalArgumentException.class, () -> clock.advance(-1));
+	}
+
+	/**
+	 * This test determines if an unreliable sensor fails after the delay and the up time,
+	 * is repaired after the down time and is operational once the process is stopped.
+	 */
+	@Test
+	void testFailureAndRepair()
+	{
+		VirtualClock clock = new VirtualClock();
+		UnreliableSensor sensor = new UnreliableSensor(Direction.LEFT);
+		sensor.setClock(clock);
+		sensor.startFailureAndRepairProcess(4000, 2000, 1300);
+
+		clock.advance(5299);
+		assertTrue(sensor.isOperational());
+		clock.advance(1);
+		assertFalse(sensor.isOperational());
+		clock.advance(1999);
+		assertFalse(sensor.isOperational());
+		clock.advance(1);
+		assertTrue(sensor.isOperational());
+		// hours of failures and repairs
+		clock.advance(3600000 + 4000);
+		assertFalse(sensor.isOperational());
+
+		sensor.stopFailureAndRepairProcess();
+		assertTrue(sensor.isOperational());
+		clock.advance(100000);
+		assertTrue(sensor.isOperational());
+		assertThrows(UnsupportedOperationException.class, () -> sensor.stopFailureAndRepairProcess());
+	}
+
+	/**
+	 * This test determines if a simulated robot advances its clock with each action
+	 * and if its unreliable sensors fail in simulated time.
+	 */
+	@Test
+	void testRobotAdvancesClock()
+	{
+		DefaultOrder order = new DefaultOrder(0, Builder.DFS, true, 13);
+		order.setHeadless(true);
+		MazeFactory.build(order);
+		RobotSimulation simulation = new RobotSimulation(order.getMaze());
+		SimulatedRobot robot = simulation.getRobot();
+		robot.setBatteryLevel(RobotSimulation.INITIAL_BATTERY_LEVEL);
+		UnreliableSensor sensor = new UnreliableSensor(Direction.FORWARD);
+		robot.addDistanceSensor(sensor, Direction.FORWARD);
+		sensor.startFailureAndRepairProcess(4000, 2000, 0);
+
+		for(int i = 0; i < 40; i++)
+		{
+			robot.rotate(Turn.LEFT);
+		}
+
+		assertEquals(40 * SimulatedRobot.ACTION_MILLIS, simulation.getClock().currentTimeMillis());
+		assertFalse(sensor.isOperational());
+		assertThrows(UnsupportedOperationException.class, () -> robot.distanceToObstacle(Direction.FORWARD));
+	}
+}